@@ -0,0 +1,93 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.AsyncLog;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks what logging a failed request costs the request thread during an error storm: a
+ * synchronous {@code println} of the exception to a console-like stream, as the handlers used to
+ * do, against handing the event with its fields to {@link AsyncLog}. Both write to /dev/null, so
+ * the synchronous case measures the stream lock and the write call, not a terminal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AsyncLogBenchmark {
+
+  private static final Exception FAILURE =
+      new IllegalStateException("Cannot invoke \"Department.addPersonToMajor()\"");
+
+  /** A console-like stream and an asynchronous log writing to another one. */
+  @State(Scope.Benchmark)
+  public static class Sinks {
+    PrintStream console;
+    AsyncLog log;
+
+    /**
+     * Opens the streams.
+     *
+     * @throws FileNotFoundException if /dev/null is missing.
+     */
+    @Setup(Level.Trial)
+    public void open() throws FileNotFoundException {
+      console = new PrintStream(new FileOutputStream("/dev/null"), true);
+      log = new AsyncLog(new PrintStream(new FileOutputStream("/dev/null"), false), 8192);
+    }
+
+    /** Prints how many events the asynchronous log dropped. */
+    @TearDown(Level.Trial)
+    public void close() {
+      System.out.println("\nAsyncLog dropped " + log.droppedCount() + " events");
+      console.close();
+    }
+  }
+
+  /**
+   * Prints the failure synchronously.
+   *
+   * @param sinks the streams.
+   */
+  @Benchmark
+  public void println(Sinks sinks) {
+    sinks.console.println(FAILURE.toString());
+  }
+
+  /**
+   * Hands the failure and its fields to the asynchronous log.
+   *
+   * @param sinks the streams.
+   */
+  @Benchmark
+  public void asyncLog(Sinks sinks) {
+    sinks.log.warn(
+        "Request failed",
+        FAILURE,
+        "route",
+        "/addMajorToDept",
+        "deptCode",
+        "coms",
+        "courseCode",
+        null,
+        "latency_ms",
+        0.412);
+  }
+}
@@ -0,0 +1,127 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.BinaryCatalogFormat;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading a catalog through {@link MyFileDatabase} from a legacy Java-serialized data
+ * file and from a {@link BinaryCatalogFormat} file, which the database memory-maps and decodes
+ * lazily, against decoding the binary file eagerly. The file sizes of both formats are printed
+ * during setup. Run with {@code -prof gc} to compare allocation per load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogFormatBenchmark {
+
+  @Param({"100000", "250000"})
+  private int courses;
+
+  private Path legacyFile;
+  private Path binaryFile;
+
+  /**
+   * Writes the same generated catalog in both formats.
+   *
+   * @throws IOException if the files cannot be written.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    Map<String, Department> mapping = SyntheticCatalog.generate(200, courses);
+    legacyFile = Files.createTempFile("catalog-legacy", ".txt");
+    binaryFile = Files.createTempFile("catalog-binary", ".txt");
+    try (ObjectOutputStream out =
+        new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(legacyFile)))) {
+      out.writeObject(new HashMap<>(mapping));
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(binaryFile))) {
+      BinaryCatalogFormat.write(mapping, out);
+    }
+    System.out.printf(
+        "%n%d courses: legacy %,d bytes, binary %,d bytes%n",
+        courses, Files.size(legacyFile), Files.size(binaryFile));
+  }
+
+  /**
+   * Removes the generated files.
+   *
+   * @throws IOException if the files cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(legacyFile);
+    Files.deleteIfExists(binaryFile);
+  }
+
+  /**
+   * Loads the Java-serialized file.
+   *
+   * @return the loaded mapping.
+   */
+  @Benchmark
+  public Map<String, Department> loadLegacy() {
+    return new MyFileDatabase(0, legacyFile.toString()).getDepartmentMapping();
+  }
+
+  /**
+   * Loads the binary catalog file, which maps it and reads only the department directory.
+   *
+   * @return the loaded mapping.
+   */
+  @Benchmark
+  public Map<String, Department> loadBinary() {
+    return new MyFileDatabase(0, binaryFile.toString()).getDepartmentMapping();
+  }
+
+  /**
+   * Loads the binary catalog file and looks up one department, the cost of a first request.
+   *
+   * @return the department.
+   */
+  @Benchmark
+  public Department loadBinaryAndGetOne() {
+    return new MyFileDatabase(0, binaryFile.toString())
+        .getDepartmentMapping()
+        .get(SyntheticCatalog.departmentCode(0));
+  }
+
+  /**
+   * Decodes every department of the binary catalog file up front.
+   *
+   * @return the decoded mapping.
+   * @throws IOException if the file cannot be read.
+   */
+  @Benchmark
+  public Map<String, Department> loadBinaryEager() throws IOException {
+    try (InputStream in = Files.newInputStream(binaryFile)) {
+      return BinaryCatalogFormat.read(in);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogImporter;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.Department;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CatalogImporter} on a generated catalog of 100k courses in 1000 departments,
+ * in CSV and NDJSON, with one worker and with every core. Scores are rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogImportBenchmark {
+
+  private static final int DEPARTMENTS = 1000;
+  private static final int COURSES = 100_000;
+  private static final int ROWS = DEPARTMENTS + COURSES;
+
+  @Param({"1", "0"})
+  private int workers;
+
+  private ForkJoinPool pool;
+  private String csv;
+  private String ndjson;
+
+  /** Renders the generated catalog in both formats and starts the pool; 0 workers means all. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool = new ForkJoinPool(workers == 0 ? Runtime.getRuntime().availableProcessors() : workers);
+    StringBuilder csvOut = new StringBuilder();
+    StringBuilder jsonOut = new StringBuilder();
+    Map<String, Department> catalog = SyntheticCatalog.generate(DEPARTMENTS, COURSES);
+    for (Department department : catalog.values()) {
+      String code = department.getDepartmentCode();
+      csvOut.append("D,").append(code).append(',').append(department.getDepartmentChair())
+          .append(',').append(department.getNumberOfMajors()).append('\n');
+      jsonOut.append("{\"type\":\"department\",\"deptCode\":\"").append(code)
+          .append("\",\"chair\":\"").append(department.getDepartmentChair())
+          .append("\",\"majors\":").append(department.getNumberOfMajors()).append("}\n");
+      for (Map.Entry<String, Course> entry : department.getCourseSelection().entrySet()) {
+        Course course = entry.getValue();
+        csvOut.append("C,").append(code).append(',').append(entry.getKey()).append(',')
+            .append(course.getInstructorName()).append(',').append(course.getCourseLocation())
+            .append(',').append(course.getCourseTimeSlot()).append(',')
+            .append(course.getEnrollmentCapacity()).append(',')
+            .append(course.getEnrolledStudentCount()).append('\n');
+        jsonOut.append("{\"type\":\"course\",\"deptCode\":\"").append(code)
+            .append("\",\"courseId\":\"").append(entry.getKey())
+            .append("\",\"instructor\":\"").append(course.getInstructorName())
+            .append("\",\"location\":\"").append(course.getCourseLocation())
+            .append("\",\"timeSlot\":\"").append(course.getCourseTimeSlot())
+            .append("\",\"capacity\":").append(course.getEnrollmentCapacity())
+            .append(",\"enrolled\":").append(course.getEnrolledStudentCount()).append("}\n");
+      }
+    }
+    csv = csvOut.toString();
+    ndjson = jsonOut.toString();
+  }
+
+  /** Stops the pool. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Imports the CSV catalog.
+   *
+   * @return the import report.
+   * @throws IOException never, the input is in memory.
+   */
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public CatalogImporter.Report importCsv() throws IOException {
+    return new CatalogImporter(pool, 4096)
+        .importFrom(new BufferedReader(new StringReader(csv)), CatalogImporter.Format.CSV);
+  }
+
+  /**
+   * Imports the NDJSON catalog.
+   *
+   * @return the import report.
+   * @throws IOException never, the input is in memory.
+   */
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public CatalogImporter.Report importNdjson() throws IOException {
+    return new CatalogImporter(pool, 4096)
+        .importFrom(new BufferedReader(new StringReader(ndjson)), CatalogImporter.Format.NDJSON);
+  }
+}
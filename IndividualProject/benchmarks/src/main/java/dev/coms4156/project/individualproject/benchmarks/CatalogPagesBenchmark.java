@@ -0,0 +1,91 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogPages;
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the catalog one page of 100 courses at a time through {@link CatalogPages}
+ * against rendering all of it with {@link MyFileDatabase#toString()}, the only listing before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogPagesBenchmark {
+
+  private static final int PAGE = 100;
+
+  @Param({"10000", "100000"})
+  private int courses;
+
+  private Path dataFile;
+  private MyFileDatabase database;
+  private CatalogSnapshot snapshot;
+  private String cursor;
+
+  /**
+   * Publishes a generated catalog.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    dataFile = Files.createTempFile("catalog-pages", ".txt");
+    database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(50, courses));
+    snapshot = database.getSnapshot();
+  }
+
+  /**
+   * Closes the database and removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    database.close();
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Reads the page after the previous one, starting over after the last.
+   *
+   * @return the page.
+   */
+  @Benchmark
+  public CatalogPages.Page<CatalogPages.CourseSummary> page() {
+    CatalogPages.Page<CatalogPages.CourseSummary> page = snapshot.listCourses(null, cursor, PAGE);
+    cursor = page.nextCursor();
+    return page;
+  }
+
+  /**
+   * Renders the whole catalog into one string.
+   *
+   * @return the catalog.
+   */
+  @Benchmark
+  public String everything() {
+    return database.toString();
+  }
+}
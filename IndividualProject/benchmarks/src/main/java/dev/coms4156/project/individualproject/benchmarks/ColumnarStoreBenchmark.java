@@ -0,0 +1,99 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.ColumnarCourseStore;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.Department;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Compares the {@link ColumnarCourseStore} with the object model it is built from. The retained
+ * heap of both, per course, is measured with JOL and printed during setup, together with the
+ * store's own overhead excluding the strings it shares with the object model. The benchmarks time
+ * a full scan that counts full courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djdk.attach.allowAttachSelf=true"})
+public class ColumnarStoreBenchmark {
+
+  @Param({"100000", "1000000"})
+  private int courses;
+
+  private List<Course> courseObjects;
+  private ColumnarCourseStore store;
+
+  /** Generates the catalog, builds the store and prints the footprint of both. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Map<String, Department> mapping = SyntheticCatalog.generate(500, courses);
+    store = ColumnarCourseStore.of(mapping);
+    courseObjects = new ArrayList<>(courses);
+    for (Department department : mapping.values()) {
+      courseObjects.addAll(department.getCourseSelection().values());
+    }
+
+    GraphLayout objectLayout = GraphLayout.parseInstance(mapping);
+    GraphLayout storeLayout = GraphLayout.parseInstance(store);
+    long objectBytes = objectLayout.totalSize();
+    long storeBytes = storeLayout.totalSize();
+    long ownBytes = storeLayout.subtract(objectLayout).totalSize();
+    System.out.printf(
+        "%n%d courses: object model %.1f B/course, columnar %.1f B/course"
+            + " (%.1f B/course excluding shared strings)%n",
+        courses,
+        (double) objectBytes / courses,
+        (double) storeBytes / courses,
+        (double) ownBytes / courses);
+  }
+
+  /**
+   * Counts full courses by visiting every Course object.
+   *
+   * @return the number of full courses.
+   */
+  @Benchmark
+  public int countFullObjects() {
+    int full = 0;
+    for (Course course : courseObjects) {
+      if (course.isCourseFull()) {
+        full++;
+      }
+    }
+    return full;
+  }
+
+  /**
+   * Counts full courses by scanning the capacity and enrolled columns.
+   *
+   * @return the number of full courses.
+   */
+  @Benchmark
+  public int countFullColumnar() {
+    int full = 0;
+    for (int row = 0; row < store.size(); row++) {
+      if (store.isCourseFull(row)) {
+        full++;
+      }
+    }
+    return full;
+  }
+}
@@ -0,0 +1,131 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.CourseAttributeIndex;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares finding every course of an instructor through the {@link CourseAttributeIndex} of a
+ * snapshot against visiting every course of every department, and measures the cost the index
+ * adds to a reassignment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseAttributeBenchmark {
+
+  private static final int KEYS = 1024;
+
+  @Param({"10000", "100000"})
+  private int courses;
+
+  private Path dataFile;
+  private Map<String, Department> mapping;
+  private CatalogSnapshot snapshot;
+  private String[] instructors;
+  private Course reassigned;
+  private int next;
+
+  /**
+   * Publishes a generated catalog, builds its attribute index and picks the instructors to look
+   * up.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    int departments = 50;
+    dataFile = Files.createTempFile("catalog-attributes", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(departments, courses));
+    snapshot = database.getSnapshot();
+    mapping = snapshot.getDepartmentMapping();
+    snapshot.findCourses(CourseAttributeIndex.Attribute.INSTRUCTOR, "");
+
+    Random random = new Random(4156);
+    instructors = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      // SyntheticCatalog draws from courses / 20 instructors
+      instructors[i] = "Instructor " + random.nextInt(courses / 20);
+    }
+    reassigned =
+        mapping.get(SyntheticCatalog.departmentCode(0)).getCourse(SyntheticCatalog.courseNumber(0));
+  }
+
+  /**
+   * Removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Finds the courses of an instructor through the index.
+   *
+   * @return the courses.
+   */
+  @Benchmark
+  public List<CourseAttributeIndex.Match> index() {
+    String instructor = instructors[next++ & (KEYS - 1)];
+    return snapshot.findCourses(CourseAttributeIndex.Attribute.INSTRUCTOR, instructor);
+  }
+
+  /**
+   * Finds the courses of an instructor by visiting every course, as callers had to before.
+   *
+   * @return the courses.
+   */
+  @Benchmark
+  public List<Course> scan() {
+    String instructor = instructors[next++ & (KEYS - 1)];
+    List<Course> found = new ArrayList<>();
+    for (Department department : mapping.values()) {
+      for (Course course : department.getCourseSelection().values()) {
+        if (course.getInstructorName().equalsIgnoreCase(instructor)) {
+          found.add(course);
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Reassigns the instructor of a course, which moves it between two buckets of the index.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course reassignInstructor() {
+    reassigned.reassignInstructor(instructors[next++ & (KEYS - 1)]);
+    return reassigned;
+  }
+}
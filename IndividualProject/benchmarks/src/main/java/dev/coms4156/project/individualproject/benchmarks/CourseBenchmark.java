@@ -0,0 +1,146 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.Course;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the per-course hot paths: enrolling and dropping a student, both on a course used by
+ * one thread and on a course contended by four, enrolling in several courses at once, and
+ * validating a time slot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseBenchmark {
+
+  /** A course with room to spare, so enrolling always succeeds. */
+  @State(Scope.Thread)
+  public static class OwnCourse {
+    final Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 1_000_000);
+  }
+
+  /** A registration of three courses, the last of which is full. */
+  @State(Scope.Thread)
+  public static class OwnBatch {
+    final List<Course> open =
+        List.of(
+            new Course("Adam Cannon", "417 IAB", "11:40-12:55", 1_000_000),
+            new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 1_000_000),
+            new Course("Jae Lee", "417 IAB", "4:10-5:25", 1_000_000));
+    final List<Course> lastFull;
+
+    /** Fills a copy of the last course. */
+    public OwnBatch() {
+      Course full = new Course("Jae Lee", "417 IAB", "4:10-5:25", 1);
+      full.setEnrolledStudentCount(1);
+      lastFull = List.of(open.get(0), open.get(1), full);
+    }
+  }
+
+  /** A course shared by every thread of a benchmark group. */
+  @State(Scope.Group)
+  public static class SharedCourse {
+    final Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 1_000_000);
+
+    /** Starts half full, so concurrent drops do not run the count down to zero. */
+    public SharedCourse() {
+      course.setEnrolledStudentCount(500_000);
+    }
+  }
+
+  /** Time slots to validate, valid and invalid. */
+  @State(Scope.Thread)
+  public static class TimeSlotInput {
+    final String[] timeSlots = {"11:40-12:55", "1:10-3:40", "24:00-1:00", "not a slot"};
+    int next;
+  }
+
+  /**
+   * Enrolls and then drops a student on an uncontended course.
+   *
+   * @param state the course of this thread.
+   * @return whether the drop succeeded.
+   */
+  @Benchmark
+  public boolean enrollThenDrop(OwnCourse state) {
+    state.course.enrollStudent();
+    return state.course.dropStudent();
+  }
+
+  /**
+   * Enrolls a student in three courses at once and drops them again.
+   *
+   * @param state the courses of this thread.
+   * @return whether the batch succeeded.
+   */
+  @Benchmark
+  public boolean enrollAllThenDrop(OwnBatch state) {
+    boolean enrolled = Course.enrollAll(state.open);
+    for (Course course : state.open) {
+      course.dropStudent();
+    }
+    return enrolled;
+  }
+
+  /**
+   * Attempts a three-course batch whose last course is full, so it rolls back.
+   *
+   * @param state the courses of this thread.
+   * @return whether the batch succeeded, always false.
+   */
+  @Benchmark
+  public boolean enrollAllRolledBack(OwnBatch state) {
+    return Course.enrollAll(state.lastFull);
+  }
+
+  /**
+   * Enrolls students while two other threads drop them from the same course.
+   *
+   * @param state the shared course.
+   * @return whether the enrollment succeeded.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(2)
+  public boolean contendedEnroll(SharedCourse state) {
+    return state.course.enrollStudent();
+  }
+
+  /**
+   * Drops students while two other threads enroll them in the same course.
+   *
+   * @param state the shared course.
+   * @return whether the drop succeeded.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(2)
+  public boolean contendedDrop(SharedCourse state) {
+    return state.course.dropStudent();
+  }
+
+  /**
+   * Validates a time slot.
+   *
+   * @param input the time slots to cycle through.
+   * @return whether the slot is valid.
+   */
+  @Benchmark
+  public boolean isValidTimeSlot(TimeSlotInput input) {
+    return Course.isValidTimeSlot(input.timeSlots[input.next++ & 3]);
+  }
+}
@@ -0,0 +1,127 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.CourseIndex;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares resolving a course by department code and course number through the
+ * {@link CourseIndex} of a snapshot against the department mapping, and against the lookup chain
+ * the controller used before, which rendered the department to check that it exists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseLookupBenchmark {
+
+  private static final int KEYS = 4096;
+
+  @Param({"10000"})
+  private int courses;
+
+  private Path dataFile;
+  private Map<String, Department> mapping;
+  private CatalogSnapshot snapshot;
+  private String[] deptCodes;
+  private int[] courseCodes;
+  private int next;
+
+  /**
+   * Publishes a generated catalog and picks the course keys to look up.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    int departments = 50;
+    dataFile = Files.createTempFile("catalog-lookup", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(departments, courses));
+    snapshot = database.getSnapshot();
+    mapping = snapshot.getDepartmentMapping();
+
+    Random random = new Random(4156);
+    deptCodes = new String[KEYS];
+    courseCodes = new int[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      // fresh strings, as a request parameter would be
+      deptCodes[i] = new String(SyntheticCatalog.departmentCode(random.nextInt(departments)));
+      courseCodes[i] = SyntheticCatalog.courseNumber(random.nextInt(courses / departments));
+    }
+  }
+
+  /**
+   * Removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Resolves a course through the snapshot's course index.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course index() {
+    int i = next++ & (KEYS - 1);
+    return snapshot.findCourse(deptCodes[i], courseCodes[i]);
+  }
+
+  /**
+   * Resolves a course through the department mapping and the course-code string.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course mapping() {
+    int i = next++ & (KEYS - 1);
+    return mapping.get(deptCodes[i]).getCourseSelection().get(Integer.toString(courseCodes[i]));
+  }
+
+  /**
+   * Resolves a course the way the controller did before the index: an existence check that
+   * renders the department, then the lookups again for the course itself.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course previousControllerPath() {
+    int i = next++ & (KEYS - 1);
+    String deptCode = deptCodes[i];
+    int courseCode = courseCodes[i];
+    if (mapping.get(deptCode).toString().isEmpty()
+        || !mapping.get(deptCode).getCourseSelection().containsKey(Integer.toString(courseCode))) {
+      return null;
+    }
+    mapping.get(deptCode).getCourseSelection().get(Integer.toString(courseCode)).toString();
+    return mapping.get(deptCode).getCourseSelection().get(Integer.toString(courseCode));
+  }
+}
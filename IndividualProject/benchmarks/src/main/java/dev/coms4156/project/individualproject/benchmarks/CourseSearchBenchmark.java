@@ -0,0 +1,159 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.CourseAttributeIndex;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares finding the first ten courses matching a typeahead query through the prefix tries of
+ * the {@link CourseAttributeIndex} of a snapshot against visiting every course, and measures the
+ * cost the tries add to renaming an instructor. Each course is filed under four terms, so 250k
+ * courses make a million entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CourseSearchBenchmark {
+
+  private static final int KEYS = 1024;
+  private static final int LIMIT = 10;
+
+  @Param({"25000", "250000"})
+  private int courses;
+
+  private Path dataFile;
+  private Map<String, Department> mapping;
+  private CatalogSnapshot snapshot;
+  private String[] queries;
+  private String[] instructors;
+  private Course renamed;
+  private int next;
+
+  /**
+   * Publishes a generated catalog, builds its index and draws queries as typed: a department and
+   * the start of a course number, the start of a course number, or the start of an instructor's
+   * name.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    int departments = 50;
+    dataFile = Files.createTempFile("catalog-search", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(departments, courses));
+    snapshot = database.getSnapshot();
+    mapping = snapshot.getDepartmentMapping();
+    long start = System.nanoTime();
+    snapshot.searchCourses("a", 1);
+    System.out.printf(
+        "%nindex of %d courses built in %d ms%n",
+        courses, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    Random random = new Random(4156);
+    queries = new String[KEYS];
+    instructors = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      String number =
+          Integer.toString(SyntheticCatalog.courseNumber(random.nextInt(courses / departments)));
+      String instructor = "Instructor " + random.nextInt(courses / 20);
+      String typed =
+          switch (i % 3) {
+            case 0 -> SyntheticCatalog.departmentCode(random.nextInt(departments)) + " " + number;
+            case 1 -> number;
+            default -> instructor;
+          };
+      queries[i] = typed.substring(0, 1 + random.nextInt(typed.length()));
+      instructors[i] = instructor;
+    }
+    renamed =
+        mapping.get(SyntheticCatalog.departmentCode(0)).getCourse(SyntheticCatalog.courseNumber(0));
+  }
+
+  /**
+   * Removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Finds the first courses matching a query through the prefix tries.
+   *
+   * @return the courses.
+   */
+  @Benchmark
+  public List<CourseAttributeIndex.Match> prefix() {
+    return snapshot.searchCourses(queries[next++ & (KEYS - 1)], LIMIT);
+  }
+
+  /**
+   * Finds the first courses matching a query by visiting every course and sorting the matches,
+   * as a search without an index has to.
+   *
+   * @return the courses.
+   */
+  @Benchmark
+  public List<String> scan() {
+    String query = queries[next++ & (KEYS - 1)].toLowerCase(Locale.ROOT);
+    List<String> found = new ArrayList<>();
+    for (Map.Entry<String, Department> department : mapping.entrySet()) {
+      String deptCode = department.getKey().toLowerCase(Locale.ROOT);
+      for (Map.Entry<String, Course> course : department.getValue().getCourseSelection()
+          .entrySet()) {
+        String name = course.getValue().getInstructorName().toLowerCase(Locale.ROOT);
+        String code = deptCode + ' ' + course.getKey();
+        if (code.startsWith(query)
+            || course.getKey().startsWith(query)
+            || name.startsWith(query)
+            || name.contains(" " + query)) {
+          found.add(code);
+        }
+      }
+    }
+    found.sort(Comparator.naturalOrder());
+    return found.subList(0, Math.min(LIMIT, found.size()));
+  }
+
+  /**
+   * Renames the instructor of a course, which moves it between the terms of two names.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course reassignInstructor() {
+    renamed.reassignInstructor(instructors[next++ & (KEYS - 1)]);
+    return renamed;
+  }
+}
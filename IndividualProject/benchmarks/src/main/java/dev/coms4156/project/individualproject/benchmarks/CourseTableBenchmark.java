@@ -0,0 +1,97 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.CourseTable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Compares the int-keyed {@link CourseTable} with the {@code HashMap<String, Course>} that
+ * {@code Department} has always used, for lookups by an int course code as the controller
+ * receives it. The retained size of both structures, excluding the courses themselves, is
+ * measured with JOL and printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf=true")
+public class CourseTableBenchmark {
+
+  private static final int KEYS = 4096;
+
+  @Param({"10000", "100000", "1000000"})
+  private int courses;
+
+  private Map<String, Course> hashMap;
+  private CourseTable table;
+  private int[] courseCodes;
+  private int next;
+
+  /** Fills both structures with the same courses and picks the codes to look up. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    hashMap = new HashMap<>();
+    table = new CourseTable();
+    Course[] values = new Course[courses];
+    for (int i = 0; i < courses; i++) {
+      values[i] = new Course("Instructor", "417 IAB", "11:40-12:55", 100);
+      int courseCode = SyntheticCatalog.courseNumber(i);
+      hashMap.put(Integer.toString(courseCode), values[i]);
+      table.put(courseCode, values[i]);
+    }
+
+    Random random = new Random(4156);
+    courseCodes = new int[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      courseCodes[i] = SyntheticCatalog.courseNumber(random.nextInt(courses));
+    }
+
+    GraphLayout courseLayout = GraphLayout.parseInstance((Object[]) values);
+    long mapBytes = GraphLayout.parseInstance(hashMap).subtract(courseLayout).totalSize();
+    long tableBytes = GraphLayout.parseInstance(table).subtract(courseLayout).totalSize();
+    System.out.printf(
+        "%n%d courses: HashMap %,d bytes (%.1f/course), CourseTable %,d bytes (%.1f/course)%n",
+        courses,
+        mapBytes,
+        (double) mapBytes / courses,
+        tableBytes,
+        (double) tableBytes / courses);
+  }
+
+  /**
+   * Looks up a course in the int-keyed table.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course courseTable() {
+    return table.get(courseCodes[next++ & (KEYS - 1)]);
+  }
+
+  /**
+   * Looks up a course in the String-keyed map, converting the code first.
+   *
+   * @return the course.
+   */
+  @Benchmark
+  public Course hashMap() {
+    return hashMap.get(Integer.toString(courseCodes[next++ & (KEYS - 1)]));
+  }
+}
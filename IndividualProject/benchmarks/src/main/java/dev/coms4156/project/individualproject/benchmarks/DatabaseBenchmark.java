@@ -0,0 +1,100 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link MyFileDatabase} saving a catalog to its data file, which includes the fsync,
+ * and loading it back, at several catalog sizes. Loading maps the file and decodes nothing, so
+ * {@code loadAndRender} also renders the whole catalog to measure a full load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int courses;
+
+  private Path dataFile;
+  private MyFileDatabase database;
+  private PrintStream stdout;
+
+  /**
+   * Publishes a generated catalog and saves it once, so there is a file to load.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    dataFile = Files.createTempFile("catalog-db", ".txt");
+    database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(Math.max(1, courses / 100), courses));
+    database.saveContentsToFile();
+    // saveContentsToFile() reports every save on stdout
+    stdout = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  /**
+   * Restores stdout, closes the database and removes the data file.
+   *
+   * @throws IOException if the files cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System.setOut(stdout);
+    database.close();
+    Files.deleteIfExists(dataFile);
+    Files.deleteIfExists(Path.of(dataFile + ".wal"));
+  }
+
+  /** Saves the catalog, replacing the data file. */
+  @Benchmark
+  public void save() {
+    database.saveContentsToFile();
+  }
+
+  /**
+   * Opens the data file.
+   *
+   * @return the loaded mapping.
+   */
+  @Benchmark
+  public Map<String, Department> load() {
+    return new MyFileDatabase(0, dataFile.toString()).getDepartmentMapping();
+  }
+
+  /**
+   * Opens the data file and renders every department, which decodes all of them.
+   *
+   * @return the rendered catalog.
+   */
+  @Benchmark
+  public String loadAndRender() {
+    return new MyFileDatabase(0, dataFile.toString()).toString();
+  }
+}
@@ -0,0 +1,47 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.Department;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks rendering a department with {@link Department#toString()} at several sizes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepartmentBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int courses;
+
+  private Department department;
+
+  /** Generates a single department with the given number of courses. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    department = SyntheticCatalog.generate(1, courses).values().iterator().next();
+  }
+
+  /**
+   * Renders the department.
+   *
+   * @return the department's string form.
+   */
+  @Benchmark
+  public String departmentToString() {
+    return department.toString();
+  }
+}
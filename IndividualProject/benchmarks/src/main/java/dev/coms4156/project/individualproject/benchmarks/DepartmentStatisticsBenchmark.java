@@ -0,0 +1,125 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.DepartmentStatistics;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the campus-wide enrollment totals kept by {@link DepartmentStatistics} against
+ * adding them up from every course, and measures what keeping them adds to an enrollment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepartmentStatisticsBenchmark {
+
+  @Param({"10000", "100000"})
+  private int courses;
+
+  private Path dataFile;
+  private CatalogSnapshot snapshot;
+  private Department department;
+  private Course course;
+
+  /**
+   * Publishes a generated catalog.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    dataFile = Files.createTempFile("catalog-statistics", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(50, courses));
+    snapshot = database.getSnapshot();
+    department = snapshot.getDepartmentMapping().get(SyntheticCatalog.departmentCode(0));
+    course = department.getCourse(SyntheticCatalog.courseNumber(0));
+    course.setEnrolledStudentCount(0);
+  }
+
+  /**
+   * Removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Reads the totals of one department.
+   *
+   * @return the totals.
+   */
+  @Benchmark
+  public DepartmentStatistics.Totals department() {
+    return department.getStatistics();
+  }
+
+  /**
+   * Reads the totals of every department and sums them up.
+   *
+   * @return the totals.
+   */
+  @Benchmark
+  public DepartmentStatistics.Report campus() {
+    return snapshot.statistics();
+  }
+
+  /**
+   * Adds up the campus totals from every course, as a dashboard had to before.
+   *
+   * @return the totals.
+   */
+  @Benchmark
+  public DepartmentStatistics.Totals scan() {
+    long count = 0;
+    long capacity = 0;
+    long enrolled = 0;
+    long full = 0;
+    for (Department each : snapshot.getDepartmentMapping().values()) {
+      for (Course c : each.getCourseSelection().values()) {
+        count++;
+        capacity += c.getEnrollmentCapacity();
+        enrolled += c.getEnrolledStudentCount();
+        full += c.isCourseFull() ? 1 : 0;
+      }
+    }
+    return new DepartmentStatistics.Totals(
+        count, capacity, enrolled, full, 100.0 * enrolled / capacity);
+  }
+
+  /**
+   * Enrolls a student and drops them again, each change passed on to the department's totals.
+   *
+   * @return whether the drop succeeded.
+   */
+  @Benchmark
+  public boolean enrollAndDrop() {
+    course.enrollStudent();
+    return course.dropStudent();
+  }
+}
@@ -0,0 +1,195 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop registration load against a running application: every simulated student enrolls
+ * in a random course of one department with {@code PATCH /enrollStudentInCourses}, drops it again
+ * with {@code PATCH /dropStudentFromCourse}, and immediately sends its next request. Both requests
+ * wait for the write-ahead log sync before they are answered, so this is the load under which a
+ * fixed pool of request threads runs out.
+ *
+ * <p>Students are chains of asynchronous requests, not threads, so the generator can keep
+ * thousands of requests in flight. Prints requests per second and latency percentiles of the
+ * measured period.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar \
+ *     dev.coms4156.project.individualproject.benchmarks.RegistrationLoadTest \
+ *     [baseUrl] [students] [seconds] [warmupSeconds] [deptCode]
+ * </pre>
+ */
+public final class RegistrationLoadTest {
+
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(10))
+          .build();
+  private final String baseUrl;
+  private final String deptCode;
+  private final List<String> courseCodes;
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private volatile long measureFrom;
+  private volatile long stopAt;
+
+  private RegistrationLoadTest(String baseUrl, String deptCode, List<String> courseCodes) {
+    this.baseUrl = baseUrl;
+    this.deptCode = deptCode;
+    this.courseCodes = courseCodes;
+  }
+
+  /**
+   * Runs the load test and prints its results.
+   *
+   * @param args base URL (http://localhost:8080), students (200), measured seconds (30), warmup
+   *     seconds (10) and department code (COMS).
+   * @throws Exception if the department cannot be read.
+   */
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+    int students = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+    int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+    String deptCode = args.length > 4 ? args[4] : "COMS";
+
+    RegistrationLoadTest test =
+        new RegistrationLoadTest(baseUrl, deptCode, fetchCourseCodes(baseUrl, deptCode));
+    long start = System.nanoTime();
+    test.measureFrom = start + warmupSeconds * 1_000_000_000L;
+    test.stopAt = test.measureFrom + seconds * 1_000_000_000L;
+
+    List<Student> running = new ArrayList<>(students);
+    for (int i = 0; i < students; i++) {
+      Student student = test.new Student();
+      running.add(student);
+      student.next();
+    }
+    long total = 0;
+    long[][] all = new long[students][];
+    for (int i = 0; i < students; i++) {
+      running.get(i).done.join();
+      all[i] = running.get(i).latencies();
+      total += all[i].length;
+    }
+    long[] latencies = new long[(int) total];
+    int at = 0;
+    for (long[] some : all) {
+      System.arraycopy(some, 0, latencies, at, some.length);
+      at += some.length;
+    }
+    Arrays.sort(latencies);
+
+    System.out.printf(
+        "students=%d seconds=%d requests=%d (course full: %d) failures=%d"
+            + " throughput=%.0f req/s%n",
+        students,
+        seconds,
+        latencies.length,
+        test.rejected.sum(),
+        test.failures.sum(),
+        latencies.length / (double) seconds);
+    System.out.printf(
+        "latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+        percentile(latencies, 0.50),
+        percentile(latencies, 0.90),
+        percentile(latencies, 0.99),
+        percentile(latencies, 0.999),
+        latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+  }
+
+  private static List<String> fetchCourseCodes(String baseUrl, String deptCode)
+      throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        HttpClient.newHttpClient()
+            .send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/retrieveDept?deptCode=" + deptCode))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(deptCode + ": " + response.body());
+    }
+    List<String> codes = new ArrayList<>();
+    JsonNode courses = new ObjectMapper().readTree(response.body()).get("courses");
+    courses.fieldNames().forEachRemaining(codes::add);
+    return codes;
+  }
+
+  private static double percentile(long[] sorted, double fraction) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(fraction * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+
+  /** One simulated student: a chain of requests, each sent when the previous one is answered. */
+  private final class Student {
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private long[] latencies = new long[1024];
+    private int count;
+    private String enrolledIn;
+
+    void next() {
+      long now = System.nanoTime();
+      if (now >= stopAt) {
+        done.complete(null);
+        return;
+      }
+      boolean enrolling = enrolledIn == null;
+      String courseCode =
+          enrolling
+              ? courseCodes.get(ThreadLocalRandom.current().nextInt(courseCodes.size()))
+              : enrolledIn;
+      String path = enrolling ? "/enrollStudentInCourses" : "/dropStudentFromCourse";
+      URI uri = URI.create(baseUrl + path + "?deptCode=" + deptCode + "&courseCode=" + courseCode);
+      HttpRequest request =
+          HttpRequest.newBuilder(uri).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+      client
+          .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, error) -> {
+                long end = System.nanoTime();
+                int status = error == null ? response.statusCode() : -1;
+                // only a seat this student holds is dropped; a full course is tried again later
+                enrolledIn = enrolling && status == 200 ? courseCode : null;
+                if (end >= measureFrom && end < stopAt) {
+                  if (status == 200 || status == 400) {
+                    if (status == 400) {
+                      rejected.increment();
+                    }
+                    record(end - now);
+                  } else {
+                    failures.increment();
+                  }
+                }
+                next();
+              });
+    }
+
+    private void record(long nanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+    }
+
+    long[] latencies() {
+      return Arrays.copyOf(latencies, count);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.IndividualProjectApplication;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import dev.coms4156.project.individualproject.RouteController;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Calls {@link RouteController} handler methods directly, end to end from the request parameters
+ * to the {@code ResponseEntity}, without HTTP and Spring MVC dispatch. {@code changeCourseTeacher}
+ * includes the durable write-ahead log append, and therefore an fsync, like the real endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteControllerBenchmark {
+
+  private static final int KEYS = 1024;
+
+  @Param({"10000"})
+  private int courses;
+
+  private final RouteController controller = new RouteController();
+  private Path dataFile;
+  private PrintStream stdout;
+  private String[] deptCodes;
+  private int[] courseCodes;
+  private String[] fullTags;
+  private int next;
+
+  /**
+   * Installs a database holding a generated catalog and picks the courses to request.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    int departments = 50;
+    dataFile = Files.createTempFile("catalog-routes", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(departments, courses));
+    IndividualProjectApplication.overrideDatabase(database);
+
+    Random random = new Random(4156);
+    deptCodes = new String[KEYS];
+    courseCodes = new int[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      deptCodes[i] = SyntheticCatalog.departmentCode(random.nextInt(departments));
+      courseCodes[i] = SyntheticCatalog.courseNumber(random.nextInt(courses / departments));
+    }
+    fullTags = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      fullTags[i] =
+          controller.isCourseFull(deptCodes[i], courseCodes[i], null).getHeaders().getETag();
+    }
+    // the first logged update checkpoints the catalog and reports it on stdout
+    stdout = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  /**
+   * Restores stdout, closes the database and removes the data file and its log.
+   *
+   * @throws IOException if the files cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    System.setOut(stdout);
+    IndividualProjectApplication.myFileDatabase.close();
+    Files.deleteIfExists(dataFile);
+    Files.deleteIfExists(Path.of(dataFile + ".wal"));
+  }
+
+  /**
+   * Calls GET /retrieveCourse.
+   *
+   * @return the response.
+   */
+  @Benchmark
+  public ResponseEntity<?> retrieveCourse() {
+    int i = next++ & (KEYS - 1);
+    return controller.retrieveCourse(deptCodes[i], courseCodes[i], null);
+  }
+
+  /**
+   * Calls GET /isCourseFull.
+   *
+   * @return the response.
+   */
+  @Benchmark
+  public ResponseEntity<?> isCourseFull() {
+    int i = next++ & (KEYS - 1);
+    return controller.isCourseFull(deptCodes[i], courseCodes[i], null);
+  }
+
+  /**
+   * Calls GET /isCourseFull as a poller whose copy is current, which gets a 304.
+   *
+   * @return the response.
+   */
+  @Benchmark
+  public ResponseEntity<?> isCourseFullNotModified() {
+    int i = next++ & (KEYS - 1);
+    return controller.isCourseFull(deptCodes[i], courseCodes[i], fullTags[i]);
+  }
+
+  /**
+   * Calls GET /findCourseTime.
+   *
+   * @return the response.
+   */
+  @Benchmark
+  public ResponseEntity<?> findCourseTime() {
+    int i = next++ & (KEYS - 1);
+    return controller.findCourseTime(deptCodes[i], courseCodes[i], null);
+  }
+
+  /**
+   * Calls GET /retrieveDept and streams the department's JSON, as the servlet would.
+   *
+   * @return the response.
+   * @throws IOException never, the output is discarded.
+   */
+  @Benchmark
+  public ResponseEntity<?> retrieveDepartment() throws IOException {
+    ResponseEntity<StreamingResponseBody> response =
+        controller.retrieveDepartment(deptCodes[next++ & (KEYS - 1)], null);
+    response.getBody().writeTo(OutputStream.nullOutputStream());
+    return response;
+  }
+
+  /**
+   * Calls PATCH /changeCourseTeacher, including the durable log append.
+   *
+   * @return the response.
+   */
+  @Benchmark
+  public ResponseEntity<?> changeCourseTeacher() {
+    int i = next++ & (KEYS - 1);
+    return controller.changeCourseTeacher(deptCodes[i], courseCodes[i], "Instructor " + i);
+  }
+}
@@ -0,0 +1,90 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.RouteMetrics;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks what the request metrics add to every request: reading the clock twice and recording
+ * the latency and outcome of a route, on one thread and on four threads hitting the same route. The
+ * clock reads alone are the baseline. Scraping all routes is measured as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteMetricsBenchmark {
+
+  private static final String[] ROUTES = {
+    "/retrieveCourse", "/retrieveDept", "/isCourseFull", "/findCourseTime", "/idDeptChair",
+    "/enrollStudentInCourses", "/dropStudentFromCourse", "/changeCourseTime"
+  };
+
+  /** Metrics shared by every thread, with every route already seen. */
+  @State(Scope.Benchmark)
+  public static class SharedMetrics {
+    final RouteMetrics metrics = new RouteMetrics();
+
+    /** Records one request per route, so that scraping writes all of them. */
+    public SharedMetrics() {
+      for (String route : ROUTES) {
+        metrics.record(route, 200, false, 150_000);
+      }
+    }
+  }
+
+  /**
+   * Reads the clock before and after a request, like the interceptor does, without recording.
+   *
+   * @return the elapsed time.
+   */
+  @Benchmark
+  public long clockOnly() {
+    long start = System.nanoTime();
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Times a request and records it, on one thread.
+   *
+   * @param state the metrics.
+   */
+  @Benchmark
+  public void record(SharedMetrics state) {
+    long start = System.nanoTime();
+    state.metrics.record("/retrieveCourse", 200, false, System.nanoTime() - start + 150_000);
+  }
+
+  /**
+   * Times a request and records it, on four threads recording the same route.
+   *
+   * @param state the metrics.
+   */
+  @Benchmark
+  @Threads(4)
+  public void recordContended(SharedMetrics state) {
+    long start = System.nanoTime();
+    state.metrics.record("/retrieveCourse", 200, false, System.nanoTime() - start + 150_000);
+  }
+
+  /**
+   * Writes every metric in the Prometheus text format.
+   *
+   * @param state the metrics.
+   * @return the text.
+   */
+  @Benchmark
+  public String scrape(SharedMetrics state) {
+    return state.metrics.scrape();
+  }
+}
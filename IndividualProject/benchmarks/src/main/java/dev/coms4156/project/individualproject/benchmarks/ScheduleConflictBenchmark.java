@@ -0,0 +1,123 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.CatalogSnapshot;
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.CourseAttributeIndex;
+import dev.coms4156.project.individualproject.Department;
+import dev.coms4156.project.individualproject.MyFileDatabase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the schedule conflict report of the {@link CourseAttributeIndex}, which queries the
+ * interval trees of each course's room and instructor with the departments in parallel, against
+ * comparing every pair of courses. Also measures the conflict check of one reassignment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleConflictBenchmark {
+
+  @Param({"5000", "20000"})
+  private int courses;
+
+  private Path dataFile;
+  private CatalogSnapshot snapshot;
+  private List<Course> all;
+  private Course checked;
+
+  /**
+   * Publishes a generated catalog and builds its index.
+   *
+   * @throws IOException if the temporary data file cannot be created.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    dataFile = Files.createTempFile("catalog-conflicts", ".txt");
+    MyFileDatabase database = new MyFileDatabase(1, dataFile.toString());
+    database.setMapping(SyntheticCatalog.generate(50, courses));
+    snapshot = database.getSnapshot();
+    snapshot.findConflicts();
+    all = new ArrayList<>();
+    for (Department department : snapshot.getDepartmentMapping().values()) {
+      all.addAll(department.getCourseSelection().values());
+    }
+    checked = all.get(0);
+  }
+
+  /**
+   * Removes the temporary data file.
+   *
+   * @throws IOException if the file cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dataFile);
+  }
+
+  /**
+   * Reports every clash through the index.
+   *
+   * @return the clashes.
+   */
+  @Benchmark
+  public List<CourseAttributeIndex.Conflict> index() {
+    return snapshot.findConflicts();
+  }
+
+  /**
+   * Counts the clashes by comparing every pair of courses.
+   *
+   * @return the number of clashes.
+   */
+  @Benchmark
+  public int pairwise() {
+    int clashes = 0;
+    for (int i = 0; i < all.size(); i++) {
+      Course a = all.get(i);
+      for (int j = i + 1; j < all.size(); j++) {
+        Course b = all.get(j);
+        if (a.getStartMinute() < b.getEndMinute() && b.getStartMinute() < a.getEndMinute()) {
+          if (a.getCourseLocation().equalsIgnoreCase(b.getCourseLocation())) {
+            clashes++;
+          }
+          if (a.getInstructorName().equalsIgnoreCase(b.getInstructorName())) {
+            clashes++;
+          }
+        }
+      }
+    }
+    return clashes;
+  }
+
+  /**
+   * Checks a reassignment of a course to its own time slot, which its existing clashes refuse.
+   *
+   * @return the clashes.
+   */
+  @Benchmark
+  public List<CourseAttributeIndex.Conflict> reassignCheck() {
+    return snapshot.reassignCourse(
+        checked, CourseAttributeIndex.Attribute.TIME_SLOT, checked.getCourseTimeSlot());
+  }
+}
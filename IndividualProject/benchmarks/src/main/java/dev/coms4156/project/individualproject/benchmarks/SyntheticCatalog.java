@@ -0,0 +1,80 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.Course;
+import dev.coms4156.project.individualproject.Department;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible catalogs of arbitrary size for the benchmarks. Instructors, rooms and
+ * time slots are drawn from small pools, as in a real catalog where many sections share them.
+ */
+public final class SyntheticCatalog {
+
+  private static final String[] TIME_SLOTS = {
+    "8:40-9:55", "10:10-11:25", "11:40-12:55", "1:10-2:25", "2:40-3:55", "4:10-5:25",
+    "5:40-6:55", "7:10-8:25", "9:00-10:15", "13:10-14:25", "16:10-17:25", "18:10-19:25"
+  };
+
+  private SyntheticCatalog() {}
+
+  /**
+   * Builds a catalog with the given number of courses spread evenly over the departments.
+   *
+   * @param departments the number of departments.
+   * @param courses the total number of courses.
+   * @return a mapping of department codes to Department objects.
+   */
+  public static Map<String, Department> generate(int departments, int courses) {
+    Random random = new Random(4156);
+    int instructors = Math.max(1, courses / 20);
+    int rooms = Math.max(1, courses / 50);
+    Map<String, Department> mapping = new LinkedHashMap<>();
+    for (int d = 0; d < departments; d++) {
+      String deptCode = departmentCode(d);
+      int perDepartment = courses / departments + (d < courses % departments ? 1 : 0);
+      Map<String, Course> deptCourses = new HashMap<>(perDepartment * 4 / 3 + 1);
+      for (int c = 0; c < perDepartment; c++) {
+        int capacity = 20 + random.nextInt(380);
+        Course course =
+            new Course(
+                "Instructor " + random.nextInt(instructors),
+                (100 + random.nextInt(900)) + " BLDG" + random.nextInt(rooms),
+                TIME_SLOTS[random.nextInt(TIME_SLOTS.length)],
+                capacity);
+        course.setEnrolledStudentCount(random.nextInt(capacity + 1));
+        deptCourses.put(Integer.toString(courseNumber(c)), course);
+      }
+      mapping.put(deptCode, new Department(deptCode, deptCourses, "Chair " + d, d * 7));
+    }
+    return mapping;
+  }
+
+  /**
+   * Returns the course number used for the i-th course of every generated department.
+   *
+   * @param index the position of the course within its department.
+   * @return the course number.
+   */
+  public static int courseNumber(int index) {
+    return 1000 + index;
+  }
+
+  /**
+   * Returns the code of the i-th generated department.
+   *
+   * @param index the position of the department.
+   * @return a four letter department code.
+   */
+  public static String departmentCode(int index) {
+    char[] code = new char[4];
+    int value = index;
+    for (int i = 3; i >= 0; i--) {
+      code[i] = (char) ('A' + value % 26);
+      value /= 26;
+    }
+    return new String(code);
+  }
+}
@@ -0,0 +1,71 @@
+package dev.coms4156.project.individualproject.benchmarks;
+
+import dev.coms4156.project.individualproject.TimeSlots;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares validating a time slot with {@code String.matches}, as {@code Course.isValidTimeSlot}
+ * used to, with a precompiled pattern and with the hand-written {@link TimeSlots} parser. The
+ * inputs mix valid and invalid slots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSlotParseBenchmark {
+
+  private static final String REGEX = "^([01]?\\d|2[0-3]):[0-5]\\d-([01]?\\d|2[0-3]):[0-5]\\d$";
+  private static final Pattern PATTERN = Pattern.compile(REGEX);
+
+  private final String[] timeSlots = {
+    "11:40-12:55", "1:10-3:40", "09:00-10:15", "18:10-19:25", "4:10-5:25", "24:00-1:00",
+    "1:60-2:00", "not a slot"
+  };
+  private int next;
+
+  private String nextSlot() {
+    return timeSlots[next++ & 7];
+  }
+
+  /**
+   * Validates with {@code String.matches}, which compiles the pattern on every call.
+   *
+   * @return whether the slot is valid.
+   */
+  @Benchmark
+  public boolean stringMatches() {
+    return nextSlot().matches(REGEX);
+  }
+
+  /**
+   * Validates with a precompiled pattern.
+   *
+   * @return whether the slot is valid.
+   */
+  @Benchmark
+  public boolean precompiledPattern() {
+    return PATTERN.matcher(nextSlot()).matches();
+  }
+
+  /**
+   * Validates and parses with the hand-written parser.
+   *
+   * @return the packed start and end minutes, or {@link TimeSlots#INVALID}.
+   */
+  @Benchmark
+  public int timeSlots() {
+    return TimeSlots.parse(nextSlot());
+  }
+}
@@ -0,0 +1,277 @@
+package dev.coms4156.project.individualproject;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log lines from a background thread, so that logging never makes a request wait on the
+ * console. A line has a timestamp, a level, a message and structured fields in logfmt:
+ *
+ * <pre>
+ * 2024-02-01T10:15:30.123Z WARN msg="Request failed" route=/retrieveCourse deptCode=COMS
+ *     courseCode=1004 latency_ms=0.412 error="java.lang.NullPointerException"
+ * </pre>
+ *
+ * <p>Callers only put the event into a bounded ring buffer with one compare-and-set, without
+ * locking or formatting. When the buffer is full the new event is dropped and counted, and the
+ * number of dropped events is logged once there is room again, so an error storm costs the
+ * requests nothing but lost lines. A single writer thread formats the events and prints each batch
+ * with one write.
+ */
+public final class AsyncLog {
+
+  /** The severity of a log line. */
+  public enum Level {
+    INFO,
+    WARN,
+    ERROR
+  }
+
+  private static final int DEFAULT_CAPACITY = 8192;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final AsyncLog INSTANCE = new AsyncLog(System.out, DEFAULT_CAPACITY);
+
+  private final PrintStream out;
+  private final int mask;
+  private final AtomicReferenceArray<Event> slots;
+  // sequence of each slot: equal to the next position to write when free, position + 1 when full
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong written = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread writer;
+  // read by the writer thread only
+  private long head;
+  private long droppedReported;
+  @SuppressWarnings("PMD.AvoidUsingVolatile") // the writer's sleep flag, checked by every caller
+  private volatile boolean idle;
+
+  /**
+   * Constructs a log and starts its writer thread.
+   *
+   * @param out where the lines are printed.
+   * @param capacity the number of events the buffer holds, a power of two.
+   */
+  public AsyncLog(PrintStream out, int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two.");
+    }
+    this.out = out;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    writer = new Thread(this::writeLoop, "async-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Gets the log of the application, which prints to standard output.
+   *
+   * @return the shared instance.
+   */
+  public static AsyncLog shared() {
+    return INSTANCE;
+  }
+
+  /**
+   * Logs an informational message.
+   *
+   * @param message the message.
+   * @param fields alternating field names and values; fields whose value is null are left out.
+   */
+  public void info(String message, Object... fields) {
+    log(Level.INFO, message, null, fields);
+  }
+
+  /**
+   * Logs a failure that was handled, with the exception's description.
+   *
+   * @param message the message.
+   * @param error the failure, or null.
+   * @param fields alternating field names and values.
+   */
+  public void warn(String message, Throwable error, Object... fields) {
+    log(Level.WARN, message, error, fields);
+  }
+
+  /**
+   * Logs a failure with the exception's stack trace.
+   *
+   * @param message the message.
+   * @param error the failure, or null.
+   * @param fields alternating field names and values.
+   */
+  public void error(String message, Throwable error, Object... fields) {
+    log(Level.ERROR, message, error, fields);
+  }
+
+  /**
+   * Gets the number of events dropped because the buffer was full.
+   *
+   * @return the number of dropped events since startup.
+   */
+  public long droppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Waits until every event logged before this call has been printed.
+   *
+   * @param timeoutMillis how long to wait at most.
+   * @return true if everything was printed within the timeout.
+   */
+  public boolean flush(long timeoutMillis) {
+    long target = tail.get();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (written.get() < target) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    return true;
+  }
+
+  private void log(Level level, String message, Throwable error, Object... fields) {
+    if (!offer(new Event(System.currentTimeMillis(), level, message, error, fields))) {
+      dropped.increment();
+      return;
+    }
+    if (idle) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  private boolean offer(Event event) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.set(index, event);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (available < 0) {
+        // the writer has not freed this slot yet: the buffer is full
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  private Event poll() {
+    int index = (int) head & mask;
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    Event event = slots.getAndSet(index, null);
+    sequences.set(index, head + mask + 1);
+    head++;
+    return event;
+  }
+
+  private void writeLoop() {
+    StringBuilder batch = new StringBuilder(4096);
+    while (true) {
+      Event event = poll();
+      if (event == null) {
+        idle = true;
+        // a caller that published before seeing the flag is polled here
+        event = poll();
+        if (event == null) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+          idle = false;
+          continue;
+        }
+        idle = false;
+      }
+      long count = 0;
+      for (; event != null; event = poll()) {
+        event.appendTo(batch);
+        count++;
+      }
+      long droppedNow = dropped.sum();
+      if (droppedNow != droppedReported) {
+        new Event(
+                System.currentTimeMillis(),
+                Level.WARN,
+                "Log events dropped",
+                null,
+                new Object[] {"dropped", droppedNow - droppedReported})
+            .appendTo(batch);
+        droppedReported = droppedNow;
+      }
+      out.print(batch);
+      out.flush();
+      batch.setLength(0);
+      written.addAndGet(count);
+    }
+  }
+
+  /** One log line, formatted by the writer thread. */
+  private record Event(
+      long timeMillis, Level level, String message, Throwable error, Object[] fields) {
+
+    void appendTo(StringBuilder line) {
+      line.append(Instant.ofEpochMilli(timeMillis)).append(' ').append(level).append(" msg=");
+      appendValue(line, message);
+      for (int i = 0; i + 1 < fields.length; i += 2) {
+        // absent fields, such as the course of a department request, are left out
+        if (fields[i + 1] != null) {
+          line.append(' ').append(fields[i]).append('=');
+          appendValue(line, fields[i + 1]);
+        }
+      }
+      if (error != null) {
+        line.append(" error=");
+        appendValue(line, error.toString());
+      }
+      line.append('\n');
+      if (error != null && level == Level.ERROR) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        line.append(trace);
+      }
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+      String text = String.valueOf(value);
+      boolean plain = !text.isEmpty();
+      for (int i = 0; i < text.length() && plain; i++) {
+        char c = text.charAt(i);
+        plain = c > ' ' && c != '"' && c != '=' && c != '\\';
+      }
+      if (plain) {
+        line.append(text);
+        return;
+      }
+      line.append('"');
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        switch (c) {
+          case '"', '\\' -> line.append('\\').append(c);
+          case '\n' -> line.append("\\n");
+          default -> line.append(c);
+        }
+      }
+      line.append('"');
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package dev.coms4156.project.individualproject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Reads and writes the department mapping in a compact, versioned binary format.
+ *
+ * <p>Every distinct string (department codes, course ids, chairs, instructor names, locations and
+ * time slots) is stored once in a string table and referenced by index, so the many courses that
+ * share an instructor, room or time slot cost four bytes per reference and load as one shared
+ * {@code String}. All values are big-endian. Layout:
+ *
+ * <pre>
+ * header      int magic ('CATL'), short version
+ * strings     int count, int dataLength, int[count + 1] offsets into data, byte[dataLength] UTF-8
+ * directory   int departmentCount, then per department: int codeId, long offset, int length
+ * departments per department at its offset: int chairId, int numberOfMajors, int courseCount,
+ *             then per course: int courseIdId, int instructorId, int locationId, int timeSlotId,
+ *             int capacity, int enrolled
+ * </pre>
+ *
+ * <p>Offsets are absolute positions in the file, and every section is fixed-width or
+ * length-prefixed, so a reader can locate any department or string without decoding the rest.
+ */
+public final class BinaryCatalogFormat {
+
+  /** First four bytes of every binary catalog file. */
+  public static final int MAGIC = 0x4341544C;
+
+  /** Format version written by this class. */
+  public static final short VERSION = 1;
+
+  /** Size in bytes of one course record in a department body. */
+  static final int COURSE_RECORD_BYTES = 6 * Integer.BYTES;
+
+  /** Size in bytes of one department directory entry. */
+  static final int DIRECTORY_ENTRY_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+  /** Size in bytes of the fixed part of a department body. */
+  static final int DEPARTMENT_HEADER_BYTES = 3 * Integer.BYTES;
+
+  private BinaryCatalogFormat() {}
+
+  /**
+   * Checks whether the given leading bytes of a file start a binary catalog.
+   *
+   * @param header the first bytes of the file.
+   * @param length the number of valid bytes in {@code header}.
+   * @return true if the bytes begin with {@link #MAGIC}.
+   */
+  public static boolean isBinaryCatalog(byte[] header, int length) {
+    return length >= Integer.BYTES && ByteBuffer.wrap(header, 0, length).getInt() == MAGIC;
+  }
+
+  /**
+   * Writes the mapping in the binary format. Departments are written in the mapping's iteration
+   * order.
+   *
+   * @param mapping the mapping of department codes to Department objects.
+   * @param output the stream to write to; it is flushed but not closed.
+   * @throws IOException if the stream cannot be written.
+   */
+  public static void write(Map<String, Department> mapping, OutputStream output)
+      throws IOException {
+    Map<String, Integer> stringIds = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    List<Integer> codeIds = new ArrayList<>();
+    ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+    DataOutputStream body = new DataOutputStream(bodies);
+    List<Integer> bodyOffsets = new ArrayList<>();
+
+    for (Map.Entry<String, Department> entry : mapping.entrySet()) {
+      Department department = entry.getValue();
+      codeIds.add(intern(entry.getKey(), stringIds, strings));
+      bodyOffsets.add(body.size());
+      Map<String, Course> courses = department.getCourseSelection();
+      body.writeInt(intern(department.getDepartmentChair(), stringIds, strings));
+      body.writeInt(department.getNumberOfMajors());
+      body.writeInt(courses.size());
+      for (Map.Entry<String, Course> courseEntry : courses.entrySet()) {
+        Course course = courseEntry.getValue();
+        body.writeInt(intern(courseEntry.getKey(), stringIds, strings));
+        body.writeInt(intern(course.getInstructorName(), stringIds, strings));
+        body.writeInt(intern(course.getCourseLocation(), stringIds, strings));
+        body.writeInt(intern(course.getCourseTimeSlot(), stringIds, strings));
+        body.writeInt(course.getEnrollmentCapacity());
+        body.writeInt(course.getEnrolledStudentCount());
+      }
+    }
+    bodyOffsets.add(body.size());
+
+    List<byte[]> encoded = new ArrayList<>(strings.size());
+    int dataLength = 0;
+    for (String string : strings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      dataLength += bytes.length;
+    }
+
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    out.writeInt(encoded.size());
+    out.writeInt(dataLength);
+    int offset = 0;
+    out.writeInt(offset);
+    for (byte[] bytes : encoded) {
+      offset += bytes.length;
+      out.writeInt(offset);
+    }
+    for (byte[] bytes : encoded) {
+      out.write(bytes);
+    }
+
+    int departmentCount = codeIds.size();
+    long bodiesStart = out.size() + Integer.BYTES + (long) departmentCount * DIRECTORY_ENTRY_BYTES;
+    out.writeInt(departmentCount);
+    for (int i = 0; i < departmentCount; i++) {
+      out.writeInt(codeIds.get(i));
+      out.writeLong(bodiesStart + bodyOffsets.get(i));
+      out.writeInt(bodyOffsets.get(i + 1) - bodyOffsets.get(i));
+    }
+    bodies.writeTo(out);
+    out.flush();
+  }
+
+  private static int intern(String value, Map<String, Integer> ids, List<String> strings) {
+    Integer id = ids.get(value);
+    if (id == null) {
+      id = strings.size();
+      ids.put(value, id);
+      strings.add(value);
+    }
+    return id;
+  }
+
+  /**
+   * Reads a complete mapping written by {@link #write}. Departments keep the order in which they
+   * were written.
+   *
+   * @param input the stream to read; it is read to the end but not closed.
+   * @return the mapping of department codes to Department objects.
+   * @throws IOException if the stream cannot be read or is not a valid binary catalog.
+   */
+  public static Map<String, Department> read(InputStream input) throws IOException {
+    return read(ByteBuffer.wrap(input.readAllBytes()));
+  }
+
+  /**
+   * Decodes a complete mapping from a buffer holding a binary catalog.
+   *
+   * @param buffer the buffer positioned at the start of the catalog.
+   * @return the mapping of department codes to Department objects.
+   * @throws IOException if the buffer is not a valid binary catalog.
+   */
+  public static Map<String, Department> read(ByteBuffer buffer) throws IOException {
+    try {
+      String[] strings = readStrings(buffer);
+      int departmentCount = buffer.getInt();
+      Map<String, Department> mapping = new LinkedHashMap<>();
+      for (int i = 0; i < departmentCount; i++) {
+        String deptCode = strings[buffer.getInt()];
+        long offset = buffer.getLong();
+        buffer.getInt();
+        mapping.put(
+            deptCode,
+            readDepartment(buffer, (int) offset, deptCode, id -> strings[id], null));
+      }
+      return mapping;
+    } catch (BufferUnderflowException
+        | IndexOutOfBoundsException
+        | IllegalArgumentException e) {
+      throw new IOException("Truncated or corrupt binary catalog.", e);
+    }
+  }
+
+  /** Reads and validates the header, then decodes the whole string table. */
+  private static String[] readStrings(ByteBuffer buffer) throws IOException {
+    checkHeader(buffer);
+    int count = buffer.getInt();
+    int dataLength = buffer.getInt();
+    int[] offsets = new int[count + 1];
+    for (int i = 0; i <= count; i++) {
+      offsets[i] = buffer.getInt();
+    }
+    int dataStart = buffer.position();
+    String[] strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      strings[i] = decodeString(buffer, dataStart + offsets[i], offsets[i + 1] - offsets[i]);
+    }
+    buffer.position(dataStart + dataLength);
+    return strings;
+  }
+
+  /**
+   * Reads the magic number and version at the buffer's position.
+   *
+   * @param buffer the buffer positioned at the start of the catalog.
+   * @throws IOException if the magic number or version is not recognized.
+   */
+  static void checkHeader(ByteBuffer buffer) throws IOException {
+    if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a binary catalog file.");
+    }
+    short version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IOException("Unsupported binary catalog version: " + version);
+    }
+  }
+
+  /**
+   * Decodes one UTF-8 string from an absolute position without moving the buffer's position.
+   *
+   * @param buffer the buffer holding the catalog.
+   * @param position the absolute position of the string's first byte.
+   * @param length the number of bytes in the string.
+   * @return the decoded string.
+   */
+  static String decodeString(ByteBuffer buffer, int position, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(position, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Decodes one department body from an absolute position without moving the buffer's position.
+   *
+   * @param buffer the buffer holding the catalog.
+   * @param offset the absolute position of the department body.
+   * @param deptCode the code of the department.
+   * @param strings resolves a string id from the string table.
+   * @param campus the totals the department's totals are also added to, or null.
+   * @return the decoded department.
+   * @throws IllegalArgumentException if a record holds an invalid value.
+   */
+  static Department readDepartment(
+      ByteBuffer buffer,
+      int offset,
+      String deptCode,
+      IntFunction<String> strings,
+      DepartmentStatistics campus) {
+    int position = offset;
+    String chair = strings.apply(buffer.getInt(position));
+    final int numberOfMajors = buffer.getInt(position + Integer.BYTES);
+    int courseCount = buffer.getInt(position + 2 * Integer.BYTES);
+    position += DEPARTMENT_HEADER_BYTES;
+    // the department copies the courses into its own concurrent map, whose order follows the
+    // course ids rather than the order they were written in
+    Map<String, Course> courses = new HashMap<>(courseCount * 4 / 3 + 1);
+    for (int i = 0; i < courseCount; i++) {
+      Course course =
+          new Course(
+              strings.apply(buffer.getInt(position + Integer.BYTES)),
+              strings.apply(buffer.getInt(position + 2 * Integer.BYTES)),
+              strings.apply(buffer.getInt(position + 3 * Integer.BYTES)),
+              buffer.getInt(position + 4 * Integer.BYTES),
+              buffer.getInt(position + 5 * Integer.BYTES));
+      courses.put(strings.apply(buffer.getInt(position)), course);
+      position += COURSE_RECORD_BYTES;
+    }
+    return new Department(deptCode, courses, chair, numberOfMajors, campus);
+  }
+
+  /**
+   * Sums the capacities and enrolled counts of one department body from an absolute position,
+   * without decoding its strings or moving the buffer's position.
+   *
+   * @param buffer the buffer holding the catalog.
+   * @param offset the absolute position of the department body.
+   * @return the totals of the courses of the department as written.
+   */
+  static DepartmentStatistics.Totals readTotals(ByteBuffer buffer, int offset) {
+    int courseCount = buffer.getInt(offset + 2 * Integer.BYTES);
+    long capacity = 0;
+    long enrolled = 0;
+    long fullCourses = 0;
+    int position = offset + DEPARTMENT_HEADER_BYTES;
+    for (int i = 0; i < courseCount; i++) {
+      int courseCapacity = buffer.getInt(position + 4 * Integer.BYTES);
+      int courseEnrolled = buffer.getInt(position + 5 * Integer.BYTES);
+      capacity += courseCapacity;
+      enrolled += courseEnrolled;
+      if (courseEnrolled >= courseCapacity) {
+        fullCourses++;
+      }
+      position += COURSE_RECORD_BYTES;
+    }
+    return DepartmentStatistics.Totals.of(courseCount, capacity, enrolled, fullCourses);
+  }
+}
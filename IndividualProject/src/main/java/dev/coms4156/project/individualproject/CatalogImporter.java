@@ -0,0 +1,424 @@
+package dev.coms4156.project.individualproject;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports a catalog from a CSV or newline-delimited JSON file into a mapping of department codes to
+ * Department objects, ready for {@link MyFileDatabase#setMapping}.
+ *
+ * <p>Each line is one record. In CSV, a department is {@code D,deptCode,chair,majors} and a course
+ * is {@code C,deptCode,courseId,instructor,location,timeSlot,capacity,enrolled}; fields may be
+ * double-quoted, and blank lines and lines starting with {@code #} are skipped. In NDJSON, each
+ * line is an object with {@code "type": "department"} or {@code "type": "course"} and fields named
+ * after the CSV columns.
+ *
+ * <p>The input is streamed: lines are read in chunks, and each chunk is parsed and validated on a
+ * fork-join pool while the next one is read. Only a bounded number of chunks is in flight, so the
+ * raw input is never held in memory as a whole. Chunks are merged in input order, so the result
+ * does not depend on scheduling. Records that break the Course or Department rules are skipped and
+ * reported with their line number rather than failing the whole import.
+ */
+public final class CatalogImporter {
+
+  /** Input formats understood by the importer. */
+  public enum Format {
+    CSV,
+    NDJSON;
+
+    /**
+     * Picks the format from a file name: {@code .ndjson} and {@code .jsonl} files are NDJSON,
+     * everything else is CSV.
+     *
+     * @param fileName the file name.
+     * @return the format.
+     */
+    public static Format forFileName(String fileName) {
+      String lower = fileName.toLowerCase(Locale.ENGLISH);
+      return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+  }
+
+  private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+  /** Number of errors kept in a report; further errors are only counted. */
+  private static final int MAX_REPORTED_ERRORS = 100;
+
+  private static final String DEPARTMENT = "department";
+  private static final String COURSE = "course";
+  private static final String CSV_DEPARTMENT = "D";
+  private static final String CSV_COURSE = "C";
+  private static final char QUOTE = '"';
+  private static final char SEPARATOR = ',';
+  private static final char COMMENT = '#';
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final int maxChunksInFlight;
+
+  /** Constructs an importer that validates on the common pool. */
+  public CatalogImporter() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructs an importer.
+   *
+   * @param pool the pool that parses and validates chunks.
+   * @param chunkSize the number of lines per chunk, must be positive.
+   */
+  public CatalogImporter(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be a positive number.");
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    // enough to keep every worker busy while the reader fills the next chunk
+    this.maxChunksInFlight = pool.getParallelism() * 2;
+  }
+
+  /**
+   * Imports a catalog file, picking the format from its name.
+   *
+   * @param file the file to import.
+   * @return the imported departments and the import statistics.
+   * @throws IOException if the file cannot be read.
+   */
+  public Report importFile(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return importFrom(reader, Format.forFileName(file.getFileName().toString()));
+    }
+  }
+
+  /**
+   * Imports a catalog from a reader. The reader is not closed.
+   *
+   * @param reader the reader to import from.
+   * @param format the format of the input.
+   * @return the imported departments and the import statistics.
+   * @throws IOException if the reader fails.
+   */
+  public Report importFrom(BufferedReader reader, Format format) throws IOException {
+    final long start = System.nanoTime();
+    Merger merger = new Merger();
+    Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+    List<String> lines = new ArrayList<>(chunkSize);
+    int firstLine = 1;
+    int lineNumber = 0;
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      lineNumber++;
+      lines.add(line);
+      if (lines.size() == chunkSize) {
+        if (inFlight.size() == maxChunksInFlight) {
+          merger.merge(inFlight.poll().join());
+        }
+        inFlight.add(submit(lines, firstLine, format));
+        lines = new ArrayList<>(chunkSize);
+        firstLine = lineNumber + 1;
+      }
+    }
+    if (!lines.isEmpty()) {
+      inFlight.add(submit(lines, firstLine, format));
+    }
+    while (!inFlight.isEmpty()) {
+      merger.merge(inFlight.poll().join());
+    }
+    return merger.finish(System.nanoTime() - start);
+  }
+
+  private ForkJoinTask<Chunk> submit(List<String> lines, int firstLine, Format format) {
+    return pool.submit(() -> parseChunk(lines, firstLine, format));
+  }
+
+  /** Parses and validates one chunk; runs on the pool. */
+  private static Chunk parseChunk(List<String> lines, int firstLine, Format format) {
+    Chunk chunk = new Chunk();
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      if (line.isBlank() || format == Format.CSV && line.charAt(0) == COMMENT) {
+        continue;
+      }
+      int lineNumber = firstLine + i;
+      chunk.rows++;
+      try {
+        Map<String, String> fields = format == Format.CSV ? csvRecord(line) : jsonRecord(line);
+        chunk.records.add(toRecord(fields, lineNumber));
+      } catch (IllegalArgumentException | IOException e) {
+        chunk.errors.add("line " + lineNumber + ": " + e.getMessage());
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * Builds a validated record, running the same checks as the Department and Course constructors.
+   */
+  private static Record toRecord(Map<String, String> fields, int lineNumber) {
+    String type = require(fields, "type");
+    String deptCode = require(fields, "deptCode").toUpperCase(Locale.ENGLISH);
+    if (DEPARTMENT.equals(type)) {
+      Department department =
+          new Department(
+              deptCode,
+              new HashMap<>(),
+              fields.get("chair"),
+              parseInt(require(fields, "majors"), "majors"));
+      return new Record(lineNumber, deptCode, null, department, null);
+    }
+    if (!COURSE.equals(type)) {
+      throw new IllegalArgumentException("Unknown record type: " + type);
+    }
+    String courseId = fields.get("courseId");
+    if (courseId == null || courseId.trim().isEmpty()) {
+      throw new IllegalArgumentException("courseId cannot be null or empty.");
+    }
+    int capacity = parseInt(require(fields, "capacity"), "capacity");
+    String enrolledField = fields.get("enrolled");
+    int enrolled = enrolledField == null ? 0 : parseInt(enrolledField, "enrolled");
+    Course course =
+        new Course(
+            fields.get("instructor"),
+            fields.get("location"),
+            fields.get("timeSlot"),
+            capacity,
+            enrolled);
+    if (enrolled > capacity) {
+      throw new IllegalArgumentException("Enrolled student count exceeds capacity.");
+    }
+    return new Record(lineNumber, deptCode, courseId, null, course);
+  }
+
+  private static String require(Map<String, String> fields, String name) {
+    String value = fields.get(name);
+    if (value == null || value.isEmpty()) {
+      throw new IllegalArgumentException("Missing field: " + name);
+    }
+    return value;
+  }
+
+  private static int parseInt(String value, String name) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Field " + name + " is not a number: " + value, e);
+    }
+  }
+
+  private static Map<String, String> csvRecord(String line) {
+    List<String> values = splitCsv(line);
+    String kind = values.get(0);
+    String[] names;
+    Map<String, String> fields = new HashMap<>();
+    if (CSV_DEPARTMENT.equals(kind)) {
+      fields.put("type", DEPARTMENT);
+      names = new String[] {"deptCode", "chair", "majors"};
+    } else if (CSV_COURSE.equals(kind)) {
+      fields.put("type", COURSE);
+      names =
+          new String[] {
+            "deptCode", "courseId", "instructor", "location", "timeSlot", "capacity", "enrolled"
+          };
+    } else {
+      throw new IllegalArgumentException("Unknown record type: " + kind);
+    }
+    if (values.size() != names.length + 1) {
+      throw new IllegalArgumentException(
+          "Expected " + (names.length + 1) + " fields but found " + values.size());
+    }
+    for (int i = 0; i < names.length; i++) {
+      fields.put(names[i], values.get(i + 1));
+    }
+    return fields;
+  }
+
+  /** Splits one CSV line; quoted fields may contain commas and doubled quotes. */
+  private static List<String> splitCsv(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != QUOTE) {
+          value.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+          value.append(QUOTE);
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == QUOTE) {
+        quoted = true;
+      } else if (c == SEPARATOR) {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field.");
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private static Map<String, String> jsonRecord(String line) throws IOException {
+    JsonNode node = JSON.readTree(line);
+    if (node == null || !node.isObject()) {
+      throw new IllegalArgumentException("Record is not a JSON object.");
+    }
+    Map<String, String> fields = new HashMap<>();
+    node.fields()
+        .forEachRemaining(
+            field -> {
+              if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+              }
+            });
+    return fields;
+  }
+
+  /** A validated department or course record. */
+  private record Record(
+      int lineNumber, String deptCode, String courseId, Department department, Course course) {}
+
+  /** The records and errors of one chunk of lines. */
+  private static final class Chunk {
+    private final List<Record> records = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private int rows;
+  }
+
+  /** Assembles departments from chunks, which are merged one at a time in input order. */
+  private static final class Merger {
+    private final Map<String, Department> departments = new HashMap<>();
+    // courses whose department record has not been seen yet
+    private final Map<String, List<Record>> pending = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private long rows;
+    private long rejected;
+    private long courses;
+
+    void merge(Chunk chunk) {
+      rows += chunk.rows;
+      rejected += chunk.errors.size();
+      chunk.errors.forEach(this::recordError);
+      for (Record record : chunk.records) {
+        if (record.department() != null) {
+          addDepartment(record);
+        } else {
+          Department department = departments.get(record.deptCode());
+          if (department == null) {
+            pending.computeIfAbsent(record.deptCode(), code -> new ArrayList<>()).add(record);
+          } else {
+            addCourse(department, record);
+          }
+        }
+      }
+    }
+
+    private void addDepartment(Record record) {
+      if (departments.containsKey(record.deptCode())) {
+        reject(record, "Duplicate department " + record.deptCode());
+        return;
+      }
+      departments.put(record.deptCode(), record.department());
+      List<Record> waiting = pending.remove(record.deptCode());
+      if (waiting != null) {
+        for (Record course : waiting) {
+          addCourse(record.department(), course);
+        }
+      }
+    }
+
+    private void addCourse(Department department, Record record) {
+      if (department.getCourseSelection().containsKey(record.courseId())) {
+        reject(record, "Duplicate course " + record.deptCode() + " " + record.courseId());
+        return;
+      }
+      department.addCourse(record.courseId(), record.course());
+      courses++;
+    }
+
+    private void reject(Record record, String message) {
+      rejected++;
+      recordError("line " + record.lineNumber() + ": " + message);
+    }
+
+    private void recordError(String message) {
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(message);
+      }
+    }
+
+    Report finish(long elapsedNanos) {
+      for (List<Record> orphans : pending.values()) {
+        for (Record record : orphans) {
+          reject(record, "Unknown department " + record.deptCode());
+        }
+      }
+      return new Report(
+          departments, rows, rejected, courses, Collections.unmodifiableList(errors), elapsedNanos);
+    }
+  }
+
+  /**
+   * The outcome of an import.
+   *
+   * @param departments the imported departments by department code.
+   * @param rows the number of records read, not counting blank and comment lines.
+   * @param rejected the number of records that were skipped because they were invalid.
+   * @param courses the number of courses imported.
+   * @param errors the first errors found, each prefixed with its line number.
+   * @param elapsedNanos the time the import took.
+   */
+  public record Report(
+      Map<String, Department> departments,
+      long rows,
+      long rejected,
+      long courses,
+      List<String> errors,
+      long elapsedNanos) {
+
+    /**
+     * Gets the import throughput.
+     *
+     * @return the number of records read per second.
+     */
+    public double rowsPerSecond() {
+      return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.ENGLISH,
+          "Imported %d departments and %d courses from %d rows (%d rejected) in %.1f ms,"
+              + " %.0f rows/s",
+          departments.size(),
+          courses,
+          rows,
+          rejected,
+          elapsedNanos / 1_000_000.0,
+          rowsPerSecond());
+    }
+  }
+}
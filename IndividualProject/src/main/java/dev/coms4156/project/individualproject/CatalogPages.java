@@ -0,0 +1,219 @@
+package dev.coms4156.project.individualproject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cursor-paginated listings of the departments and courses of a {@link CatalogSnapshot}, in a
+ * stable order: departments by code, courses by department code and then course id.
+ *
+ * <p>A cursor names the last item of a page rather than its position, so the next page starts
+ * right after that item even if courses were added in between, and nothing is listed twice or
+ * skipped because of them. Pages are found by binary search in sorted arrays of department codes
+ * and course ids shared by every request, so a request holds nothing but its page. The codes of a
+ * snapshot never change and are sorted once; the ids of a department are sorted again on the
+ * first listing after a course was added to it.
+ */
+public final class CatalogPages {
+
+  /**
+   * One page of a listing.
+   *
+   * @param items the items of the page, in listing order.
+   * @param nextCursor the cursor of the next page, or null if this is the last one.
+   * @param <T> the type of the items.
+   */
+  public record Page<T>(List<T> items, String nextCursor) {}
+
+  /**
+   * A department as listed.
+   *
+   * @param deptCode the department code.
+   * @param departmentChair the department chair.
+   * @param numberOfMajors the number of majors.
+   * @param courseCount the number of courses offered.
+   */
+  public record DepartmentSummary(
+      String deptCode, String departmentChair, int numberOfMajors, int courseCount) {}
+
+  /**
+   * A course as listed.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the id of the course within its department.
+   * @param instructorName the instructor teaching the course.
+   * @param courseLocation where the course is held.
+   * @param courseTimeSlot when the course meets.
+   * @param enrollmentCapacity the number of seats.
+   * @param enrolledStudentCount the number of students enrolled.
+   */
+  public record CourseSummary(
+      String deptCode,
+      String courseCode,
+      String instructorName,
+      String courseLocation,
+      String courseTimeSlot,
+      int enrollmentCapacity,
+      int enrolledStudentCount) {}
+
+  private static final String[] NO_IDS = {};
+
+  private final Map<String, Department> mapping;
+  private final Map<String, SortedIds> courseIds = new ConcurrentHashMap<>();
+  @SuppressWarnings("PMD.AvoidUsingVolatile") // sorted by the first listing, then only read
+  private volatile String[] sortedDeptCodes;
+
+  /**
+   * Constructs the listings of the given mapping, which is read on the first listing.
+   *
+   * @param mapping the unmodifiable mapping of department codes to Department objects to list.
+   */
+  CatalogPages(Map<String, Department> mapping) {
+    this.mapping = mapping;
+  }
+
+  /**
+   * Lists the departments that follow the cursor.
+   *
+   * @param cursor the {@code nextCursor} of the previous page, or null for the first page.
+   * @param limit the number of departments to list at most, positive.
+   * @return the page.
+   * @throws IllegalArgumentException if the cursor was not returned by this listing.
+   */
+  public Page<DepartmentSummary> departments(String cursor, int limit) {
+    checkLimit(limit);
+    String[] codes = deptCodes();
+    int from = cursor == null ? 0 : after(codes, decode(cursor, 1)[0]);
+    int to = Math.min(codes.length, from + limit);
+    List<DepartmentSummary> items = new ArrayList<>(Math.max(0, to - from));
+    for (int i = from; i < to; i++) {
+      Department department = mapping.get(codes[i]);
+      Map<String, Course> courses = department.getCourseSelection();
+      items.add(
+          new DepartmentSummary(
+              codes[i],
+              department.getDepartmentChair(),
+              department.getNumberOfMajors(),
+              courses == null ? 0 : courses.size()));
+    }
+    return new Page<>(items, to < codes.length ? encode(codes[to - 1]) : null);
+  }
+
+  /**
+   * Lists the courses that follow the cursor, of every department or of one.
+   *
+   * @param deptCode the department to list the courses of, or null for every department.
+   * @param cursor the {@code nextCursor} of the previous page, or null for the first page.
+   * @param limit the number of courses to list at most, positive.
+   * @return the page.
+   * @throws IllegalArgumentException if the cursor was not returned by this listing.
+   */
+  public Page<CourseSummary> courses(String deptCode, String cursor, int limit) {
+    checkLimit(limit);
+    String[] codes = deptCode == null ? deptCodes() : new String[] {deptCode};
+    String afterDept = null;
+    String afterId = null;
+    if (cursor != null) {
+      String[] key = decode(cursor, 2);
+      afterDept = key[0];
+      afterId = key[1];
+    }
+    List<CourseSummary> items = new ArrayList<>(Math.min(limit, 64));
+    for (int d = afterDept == null ? 0 : lowerBound(codes, afterDept); d < codes.length; d++) {
+      Department department = mapping.get(codes[d]);
+      if (department == null) {
+        continue;
+      }
+      String[] ids = sortedIds(codes[d], department);
+      for (int i = codes[d].equals(afterDept) ? after(ids, afterId) : 0; i < ids.length; i++) {
+        if (items.size() == limit) {
+          CourseSummary last = items.get(limit - 1);
+          return new Page<>(items, encode(last.deptCode(), last.courseCode()));
+        }
+        Course course = department.getCourseSelection().get(ids[i]);
+        items.add(
+            new CourseSummary(
+                codes[d],
+                ids[i],
+                course.getInstructorName(),
+                course.getCourseLocation(),
+                course.getCourseTimeSlot(),
+                course.getEnrollmentCapacity(),
+                course.getEnrolledStudentCount()));
+      }
+    }
+    return new Page<>(items, null);
+  }
+
+  private String[] deptCodes() {
+    String[] codes = this.sortedDeptCodes;
+    if (codes == null) {
+      codes = mapping.keySet().toArray(new String[0]);
+      Arrays.sort(codes);
+      this.sortedDeptCodes = codes;
+    }
+    return codes;
+  }
+
+  private String[] sortedIds(String deptCode, Department department) {
+    Map<String, Course> courses = department.getCourseSelection();
+    if (courses == null) {
+      return NO_IDS;
+    }
+    // read before the ids, so that a course added meanwhile leaves the copy stale, not wrong
+    int version = department.getVersion();
+    SortedIds cached = courseIds.get(deptCode);
+    if (cached != null && cached.version() == version && cached.ids().length == courses.size()) {
+      return cached.ids();
+    }
+    String[] ids = courses.keySet().toArray(new String[0]);
+    Arrays.sort(ids);
+    courseIds.put(deptCode, new SortedIds(version, ids));
+    return ids;
+  }
+
+  private static void checkLimit(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be positive.");
+    }
+  }
+
+  /** The index of the first key not less than the given one. */
+  private static int lowerBound(String[] keys, String key) {
+    int index = Arrays.binarySearch(keys, key);
+    return index < 0 ? -index - 1 : index;
+  }
+
+  /** The index of the first key greater than the given one. */
+  private static int after(String[] keys, String key) {
+    int index = Arrays.binarySearch(keys, key);
+    return index < 0 ? -index - 1 : index + 1;
+  }
+
+  private static String encode(String... key) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(String.join("\n", key).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String[] decode(String cursor, int parts) {
+    String[] key;
+    try {
+      key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n");
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor.", e);
+    }
+    if (key.length != parts) {
+      throw new IllegalArgumentException("Invalid cursor.");
+    }
+    return key;
+  }
+
+  /** The course ids of a department in order, as of a department version. */
+  private record SortedIds(int version, String[] ids) {}
+}
@@ -0,0 +1,691 @@
+package dev.coms4156.project.individualproject;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers the read routes for both {@link RouteController} and {@link ReactiveRouteController},
+ * so that responses, entity tags, the response cache and the /seatAvailability stream are the same
+ * in both modes and exist once. Reads only touch memory and never block, and nothing here depends
+ * on the kind of server: a department is returned as a {@link Body} that each mode writes its own
+ * way, and seat events are sent to a {@link SeatAvailabilityStream.Sink}.
+ */
+@Component
+public final class CatalogReads implements AutoCloseable {
+  private static final String DEPARTMENT_NOT_FOUND = "Department Not Found";
+  private static final String COURSE_NOT_FOUND = "Course Not Found";
+
+  /** Total size of the response bodies kept by the response cache. */
+  private static final long RESPONSE_CACHE_BYTES = 16L * 1024 * 1024;
+
+  /** Departments with more courses are streamed by /retrieveDept without being cached. */
+  private static final int MAX_CACHED_DEPARTMENT_COURSES = 2048;
+
+  /** Number of courses /search returns at most, whatever limit is asked for. */
+  private static final int MAX_SEARCH_RESULTS = 100;
+
+  /** Number of items /departments and /courses list at most per page. */
+  private static final int MAX_PAGE_ITEMS = 1000;
+
+  /** Interval within which changes to a course are coalesced into one /seatAvailability event. */
+  private static final long SEAT_EVENT_WINDOW_MILLIS = 250;
+
+  private final ResponseCache responseCache = new ResponseCache(RESPONSE_CACHE_BYTES);
+
+  // a lambda, not a method reference, so that the database is looked up on every flush
+  @SuppressWarnings("PMD.LambdaCanBeMethodReference")
+  private final SeatAvailabilityStream seatStream =
+      new SeatAvailabilityStream(
+          () -> IndividualProjectApplication.myFileDatabase.getSnapshot(),
+          SEAT_EVENT_WINDOW_MILLIS);
+
+  /** A response body that is written to the response when it is sent. */
+  @FunctionalInterface
+  public interface Body {
+
+    /**
+     * Writes the body.
+     *
+     * @param out the response.
+     * @throws IOException if the response cannot be written.
+     */
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  /**
+   * Gets the welcome text of the homepage.
+   *
+   * @return the text.
+   */
+  public String index() {
+    return """
+        Welcome, in order to make an API call direct your browser or Postman to an endpoint \
+
+
+        This can be done using the following format:\s
+
+        http:127.0.0.1:8080/endpoint?arg=value""";
+  }
+
+  /**
+   * Looks up a course through the course index of the current snapshot, matching the department
+   * code case-insensitively.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @return the course, or null if the department or the course does not exist.
+   */
+  public Course findCourse(String deptCode, int courseCode) {
+    return IndividualProjectApplication.myFileDatabase
+        .getSnapshot()
+        .findCourse(CatalogSnapshot.normalizeDeptCode(deptCode), courseCode);
+  }
+
+  /**
+   * Finds a department of the current snapshot by its code in any case, see
+   * {@link CatalogSnapshot#findDepartment(String)}.
+   *
+   * @param deptCode the department.
+   * @return the department, or null if it does not exist.
+   */
+  public Department findDepartment(String deptCode) {
+    return IndividualProjectApplication.myFileDatabase.getSnapshot().findDepartment(deptCode);
+  }
+
+  /**
+   * Answers /isCourseFull, see {@link RouteController#isCourseFull}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the answer, or an appropriate message and status.
+   */
+  public ResponseEntity<?> isCourseFull(String deptCode, int courseCode, String ifNoneMatch) {
+    return courseResponse(
+        ResponseCache.Endpoint.IS_COURSE_FULL,
+        deptCode,
+        courseCode,
+        ifNoneMatch,
+        c -> Boolean.toString(c.isCourseFull()));
+  }
+
+  /**
+   * Answers /retrieveCourse, see {@link RouteController#retrieveCourse}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the details, or an appropriate message and status.
+   */
+  public ResponseEntity<?> retrieveCourse(String deptCode, int courseCode, String ifNoneMatch) {
+    try {
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
+        return cachedResponse(
+            ResponseCache.Endpoint.RETRIEVE_COURSE,
+            deptCode,
+            courseCode,
+            course,
+            ifNoneMatch,
+            Course::toString);
+      } else if (findDepartment(deptCode) != null) {
+        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
+      } else {
+        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /findCourseLocation, see {@link RouteController#findCourseLocation}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the location, or an appropriate message and status.
+   */
+  public ResponseEntity<?> findCourseLocation(
+      String deptCode, int courseCode, String ifNoneMatch) {
+    return courseResponse(
+        ResponseCache.Endpoint.FIND_COURSE_LOCATION,
+        deptCode,
+        courseCode,
+        ifNoneMatch,
+        c -> c.getCourseLocation() + " is where the course " + "is located.");
+  }
+
+  /**
+   * Answers /findCourseInstructor, see {@link RouteController#findCourseInstructor}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the instructor, or an appropriate message and status.
+   */
+  public ResponseEntity<?> findCourseInstructor(
+      String deptCode, int courseCode, String ifNoneMatch) {
+    return courseResponse(
+        ResponseCache.Endpoint.FIND_COURSE_INSTRUCTOR,
+        deptCode,
+        courseCode,
+        ifNoneMatch,
+        c -> c.getInstructorName() + " is the instructor for the course.");
+  }
+
+  /**
+   * Answers /findCourseTime, see {@link RouteController#findCourseTime}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the time slot, or an appropriate message and status.
+   */
+  public ResponseEntity<?> findCourseTime(String deptCode, int courseCode, String ifNoneMatch) {
+    return courseResponse(
+        ResponseCache.Endpoint.FIND_COURSE_TIME,
+        deptCode,
+        courseCode,
+        ifNoneMatch,
+        c -> "The course meets at: " + c.getCourseTimeSlot() + " ");
+  }
+
+  /**
+   * Answers /retrieveDept, see {@link RouteController#retrieveDepartment}. Departments with up to
+   * {@link #MAX_CACHED_DEPARTMENT_COURSES} courses are written from the response cache, larger
+   * ones are streamed by {@link DepartmentJsonWriter} as the body is written.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the department as JSON, or an appropriate message and status.
+   */
+  public ResponseEntity<Body> retrieveDepartment(String deptCode, String ifNoneMatch) {
+    try {
+      long snapshotVersion = snapshotVersion();
+      Department department = findDepartment(deptCode);
+      if (department == null) {
+        return new ResponseEntity<>(textBody(DEPARTMENT_NOT_FOUND), HttpStatus.NOT_FOUND);
+      }
+      long version = department.getModificationCount();
+      String tag =
+          departmentTag(
+              snapshotVersion,
+              ResponseCache.Endpoint.RETRIEVE_DEPT,
+              department.getDepartmentCode(),
+              version);
+      if (EntityTags.matches(ifNoneMatch, tag)) {
+        return notModified(tag);
+      }
+      Body body;
+      if (department.getCourseSelection().size() > MAX_CACHED_DEPARTMENT_COURSES) {
+        body = out -> DepartmentJsonWriter.write(department, out);
+      } else {
+        byte[] json =
+            responseCache.get(
+                ResponseCache.Endpoint.RETRIEVE_DEPT,
+                department.getDepartmentCode(),
+                ResponseCache.NO_COURSE,
+                department,
+                version,
+                () -> renderDepartment(department));
+        body = out -> out.write(json);
+      }
+      // a streamed body does not pick up the produces type by itself
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).eTag(tag).body(body);
+    } catch (Exception e) {
+      RouteMetricsInterceptor.recordFailure(e);
+      return new ResponseEntity<>(textBody("An Error has occurred"), HttpStatus.OK);
+    }
+  }
+
+  /**
+   * Answers /getMajorCountFromDept, see {@link RouteController#getMajorCtFromDept}.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the number of majors, or an appropriate message and status.
+   */
+  public ResponseEntity<?> getMajorCtFromDept(String deptCode, String ifNoneMatch) {
+    return departmentResponse(
+        ResponseCache.Endpoint.GET_MAJOR_COUNT,
+        deptCode,
+        ifNoneMatch,
+        dept -> "There are: " + dept.getNumberOfMajors() + " majors in the department");
+  }
+
+  /**
+   * Answers /idDeptChair, see {@link RouteController#identifyDeptChair}.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the chair, or an appropriate message and status.
+   */
+  public ResponseEntity<?> identifyDeptChair(String deptCode, String ifNoneMatch) {
+    return departmentResponse(
+        ResponseCache.Endpoint.ID_DEPT_CHAIR,
+        deptCode,
+        ifNoneMatch,
+        dept -> dept.getDepartmentChair() + " is the department chair.");
+  }
+
+  /**
+   * Answers /coursesByInstructor, /coursesByLocation and /coursesByTime through the snapshot's
+   * {@link CourseAttributeIndex}.
+   *
+   * @param attribute the attribute to match.
+   * @param value the value to look for.
+   * @return the matching courses, possibly none.
+   */
+  public ResponseEntity<?> coursesBy(CourseAttributeIndex.Attribute attribute, String value) {
+    if (attribute == CourseAttributeIndex.Attribute.TIME_SLOT
+        && !Course.isValidTimeSlot(value.trim())) {
+      return new ResponseEntity<>("Invalid time slot.", HttpStatus.BAD_REQUEST);
+    }
+    try {
+      return new ResponseEntity<>(
+          IndividualProjectApplication.myFileDatabase.getSnapshot().findCourses(attribute, value),
+          HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /search, see {@link RouteController#search}.
+   *
+   * @param q what was typed so far.
+   * @param limit the number of courses to return; at most {@link #MAX_SEARCH_RESULTS} are.
+   * @return the courses, possibly none, or an appropriate message and status.
+   */
+  public ResponseEntity<?> search(String q, int limit) {
+    if (limit <= 0) {
+      return new ResponseEntity<>("Limit must be positive.", HttpStatus.BAD_REQUEST);
+    }
+    try {
+      return new ResponseEntity<>(
+          IndividualProjectApplication.myFileDatabase
+              .getSnapshot()
+              .searchCourses(q, Math.min(limit, MAX_SEARCH_RESULTS)),
+          HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /statistics, see {@link RouteController#statistics}.
+   *
+   * @param deptCode the department, or null for every department and the campus.
+   * @return the totals, or an appropriate message and status.
+   */
+  public ResponseEntity<?> statistics(String deptCode) {
+    try {
+      if (deptCode == null) {
+        return new ResponseEntity<>(
+            IndividualProjectApplication.myFileDatabase.getSnapshot().statistics(),
+            HttpStatus.OK);
+      }
+      Department department = findDepartment(deptCode);
+      if (department == null) {
+        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      return new ResponseEntity<>(department.getStatistics(), HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /departments, see {@link RouteController#listDepartments}.
+   *
+   * @param cursor the cursor of the previous page, or null.
+   * @param limit the number of departments per page; at most {@link #MAX_PAGE_ITEMS} are.
+   * @return the page, or an appropriate message and status.
+   */
+  public ResponseEntity<?> listDepartments(String cursor, int limit) {
+    try {
+      return new ResponseEntity<>(
+          IndividualProjectApplication.myFileDatabase
+              .getSnapshot()
+              .listDepartments(cursor, Math.min(limit, MAX_PAGE_ITEMS)),
+          HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /courses, see {@link RouteController#listCourses}.
+   *
+   * @param deptCode the department to list, or null for every department.
+   * @param cursor the cursor of the previous page, or null.
+   * @param limit the number of courses per page; at most {@link #MAX_PAGE_ITEMS} are.
+   * @return the page, or an appropriate message and status.
+   */
+  public ResponseEntity<?> listCourses(String deptCode, String cursor, int limit) {
+    try {
+      CatalogSnapshot snapshot = IndividualProjectApplication.myFileDatabase.getSnapshot();
+      String code = deptCode == null ? null : CatalogSnapshot.normalizeDeptCode(deptCode);
+      if (code != null && !snapshot.getDepartmentMapping().containsKey(code)) {
+        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      return new ResponseEntity<>(
+          snapshot.listCourses(code, cursor, Math.min(limit, MAX_PAGE_ITEMS)), HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /scheduleConflicts, see {@link RouteController#scheduleConflicts}.
+   *
+   * @return the clashes, possibly none.
+   */
+  public ResponseEntity<?> scheduleConflicts() {
+    try {
+      return new ResponseEntity<>(
+          IndividualProjectApplication.myFileDatabase.getSnapshot().findConflicts(),
+          HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers /responseCacheStats with the hit ratio, evictions, invalidations and size of the
+   * response cache.
+   *
+   * @return the statistics.
+   */
+  public ResponseEntity<ResponseCache.Stats> responseCacheStats() {
+    return new ResponseEntity<>(responseCache.stats(), HttpStatus.OK);
+  }
+
+  /**
+   * Answers /metrics with the request metrics in the Prometheus text format.
+   *
+   * @return the metrics.
+   */
+  public ResponseEntity<String> metrics() {
+    return new ResponseEntity<>(RouteMetrics.shared().scrape(), HttpStatus.OK);
+  }
+
+  /**
+   * Subscribes a client of /seatAvailability to a course, or to every course of a department, see
+   * {@link RouteController#seatAvailability}.
+   *
+   * @param deptCode the department.
+   * @param courseCode the course within the department, or null for every course.
+   * @param sink the response the events are sent to.
+   * @return null once the client is subscribed, or the message and status to answer with instead.
+   */
+  public ResponseEntity<String> subscribeSeats(
+      String deptCode, Integer courseCode, SeatAvailabilityStream.Sink sink) {
+    try {
+      Department department = findDepartment(deptCode);
+      if (department == null) {
+        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      int[] courseCodes;
+      if (courseCode == null) {
+        courseCodes = numericCourseCodes(department);
+      } else if (findCourse(deptCode, courseCode) != null) {
+        courseCodes = new int[] {courseCode};
+      } else {
+        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      seatStream.subscribe(sink, department.getDepartmentCode(), courseCodes);
+      return null;
+    } catch (Exception e) {
+      RouteMetricsInterceptor.recordFailure(e);
+      return new ResponseEntity<>("An Error has occurred", HttpStatus.OK);
+    }
+  }
+
+  /** Completes the open /seatAvailability streams when the application shuts down. */
+  @Override
+  @PreDestroy
+  public void close() {
+    seatStream.close();
+  }
+
+  /**
+   * Helper function to list the courses of a department that can be looked up by number.
+   *
+   * @param department The department.
+   * @return The codes of its courses that are plain numbers.
+   */
+  private static int[] numericCourseCodes(Department department) {
+    return department.getCourseSelection().keySet().stream()
+        .filter(code -> code.matches("\\d{1,9}"))
+        .mapToInt(Integer::parseInt)
+        .toArray();
+  }
+
+  /**
+   * Handles exceptions that occur while answering a read, like {@link RouteController} does: the
+   * request is counted as an error in the metrics of its route and answered with a generic message.
+   *
+   * @param e The exception that was thrown.
+   * @return A {@link ResponseEntity} containing a generic error message HTTP 200 status.
+   */
+  private static ResponseEntity<?> handleException(Exception e) {
+    RouteMetricsInterceptor.recordFailure(e);
+    return new ResponseEntity<>("An Error has occurred", HttpStatus.OK);
+  }
+
+  /**
+   * Helper function to get the version of the current snapshot. Department endpoints read it before
+   * looking the department up, so that a tag never pairs an older snapshot version with a
+   * department of a newer snapshot.
+   *
+   * @return The snapshot version.
+   */
+  private static long snapshotVersion() {
+    return IndividualProjectApplication.myFileDatabase.getSnapshot().getVersion();
+  }
+
+  /**
+   * Helper function to build the entity tag of a response about a department, see {@link
+   * EntityTags#ofDepartment}.
+   *
+   * @param snapshotVersion The snapshot version, read before the department was looked up.
+   * @param endpoint The endpoint answering.
+   * @param deptCode The department shown.
+   * @param modificationCount The modification count of the department, read before the body is
+   *     rendered.
+   * @return The quoted entity tag.
+   */
+  private static String departmentTag(
+      long snapshotVersion,
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      long modificationCount) {
+    return EntityTags.ofDepartment(
+        IndividualProjectApplication.myFileDatabase.getEpoch(),
+        snapshotVersion,
+        endpoint,
+        deptCode,
+        modificationCount);
+  }
+
+  /**
+   * Builds the response for a client whose copy is current: a 304 without a body.
+   *
+   * @param tag The current entity tag.
+   * @return An HTTP 304 response carrying the tag.
+   */
+  private static <T> ResponseEntity<T> notModified(String tag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+  }
+
+  /**
+   * Answers a read of a single course, with a 404 if it does not exist.
+   *
+   * @param endpoint The endpoint being answered.
+   * @param deptCode The department of the course.
+   * @param courseCode The code of the course.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
+   * @param render Renders the response text for the course.
+   * @return The response, see {@link #cachedResponse}.
+   */
+  private ResponseEntity<?> courseResponse(
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      int courseCode,
+      String ifNoneMatch,
+      Function<Course, String> render) {
+    try {
+      Course course = findCourse(deptCode, courseCode);
+      if (course == null) {
+        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      return cachedResponse(endpoint, deptCode, courseCode, course, ifNoneMatch, render);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers a read of a department, with a 404 if it does not exist.
+   *
+   * @param endpoint The endpoint being answered.
+   * @param deptCode The department.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
+   * @param render Renders the response text for the department.
+   * @return The response, see {@link #cachedResponse}.
+   */
+  private ResponseEntity<?> departmentResponse(
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      String ifNoneMatch,
+      Function<Department, String> render) {
+    try {
+      long snapshotVersion = snapshotVersion();
+      Department department = findDepartment(deptCode);
+      if (department == null) {
+        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
+      }
+      return cachedResponse(endpoint, snapshotVersion, department, ifNoneMatch, render);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
+  /**
+   * Answers a read of a single course with a 304 if the client's copy is current, and otherwise
+   * from the response cache, rendering the body on a miss.
+   *
+   * @param endpoint The endpoint being answered.
+   * @param deptCode The department of the course.
+   * @param courseCode The code of the course.
+   * @param course The course; its identity and version, read before the body is rendered, make
+   *     up the entity tag, so that changes to other courses of the department leave it alone.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
+   * @param render Renders the response text for the course.
+   * @return An HTTP 200 response with the UTF-8 body and its entity tag, or an HTTP 304 response.
+   */
+  private ResponseEntity<?> cachedResponse(
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      int courseCode,
+      Course course,
+      String ifNoneMatch,
+      Function<Course, String> render) {
+    String normalized = CatalogSnapshot.normalizeDeptCode(deptCode);
+    int version = course.getVersion();
+    String tag =
+        EntityTags.ofCourse(
+            IndividualProjectApplication.myFileDatabase.getEpoch(),
+            endpoint,
+            normalized,
+            courseCode,
+            course.getIdentity(),
+            version);
+    if (EntityTags.matches(ifNoneMatch, tag)) {
+      return notModified(tag);
+    }
+    byte[] body =
+        responseCache.get(
+            endpoint,
+            normalized,
+            courseCode,
+            course,
+            version,
+            () -> render.apply(course).getBytes(StandardCharsets.UTF_8));
+    return ResponseEntity.ok().eTag(tag).body(body);
+  }
+
+  /**
+   * Answers a read of a department with a 304 if the client's copy is current, and otherwise from
+   * the response cache, rendering the body on a miss.
+   *
+   * @param endpoint The endpoint being answered.
+   * @param snapshotVersion The snapshot version, read before the department was looked up.
+   * @param department The department.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
+   * @param render Renders the response text for the department.
+   * @return An HTTP 200 response with the UTF-8 body and its entity tag, or an HTTP 304 response.
+   */
+  private ResponseEntity<?> cachedResponse(
+      ResponseCache.Endpoint endpoint,
+      long snapshotVersion,
+      Department department,
+      String ifNoneMatch,
+      Function<Department, String> render) {
+    int version = department.getVersion();
+    String tag =
+        departmentTag(
+            snapshotVersion,
+            endpoint,
+            department.getDepartmentCode(),
+            department.getModificationCount());
+    if (EntityTags.matches(ifNoneMatch, tag)) {
+      return notModified(tag);
+    }
+    byte[] body =
+        responseCache.get(
+            endpoint,
+            department.getDepartmentCode(),
+            ResponseCache.NO_COURSE,
+            department,
+            version,
+            () -> render.apply(department).getBytes(StandardCharsets.UTF_8));
+    return ResponseEntity.ok().eTag(tag).body(body);
+  }
+
+  /**
+   * Wraps a message for /retrieveDept, whose body is written when it is sent.
+   *
+   * @param message the message.
+   * @return a body that writes the message as UTF-8.
+   */
+  private static Body textBody(String message) {
+    return out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] renderDepartment(Department department) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      DepartmentJsonWriter.write(department, out);
+    } catch (IOException e) {
+      // a ByteArrayOutputStream does not throw
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,214 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable, versioned view of the department mapping held by {@link MyFileDatabase}.
+ *
+ * <p>Readers obtain the current snapshot without locking and may use it for the rest of a request
+ * without ever observing a half-applied change to the mapping. Writers never modify a published
+ * snapshot; they build a new one with a higher version and publish it atomically.
+ */
+public final class CatalogSnapshot {
+
+  /** Snapshot published by a freshly constructed database. */
+  static final CatalogSnapshot EMPTY = new CatalogSnapshot(0L, Collections.emptyMap());
+
+  private final long version;
+  private final Map<String, Department> departmentMapping;
+  private final CourseIndex courseIndex;
+  private final CourseAttributeIndex attributeIndex;
+  private final CatalogPages pages;
+
+  private CatalogSnapshot(long version, Map<String, Department> departmentMapping) {
+    this.version = version;
+    this.departmentMapping = departmentMapping;
+    this.courseIndex = new CourseIndex(departmentMapping);
+    this.attributeIndex = new CourseAttributeIndex(departmentMapping);
+    this.pages = new CatalogPages(departmentMapping);
+  }
+
+  /**
+   * Creates the snapshot that follows this one, holding a private copy of the given mapping.
+   *
+   * @param mapping the mapping of department codes to Department objects to publish.
+   * @return a new snapshot whose version is one greater than this snapshot's.
+   */
+  CatalogSnapshot next(Map<String, Department> mapping) {
+    // LinkedHashMap keeps the caller's iteration order for toString() and listings
+    return new CatalogSnapshot(
+        version + 1, Collections.unmodifiableMap(new LinkedHashMap<>(mapping)));
+  }
+
+  /**
+   * Creates the snapshot that follows this one, sharing the given mapping without copying it. Only
+   * for mappings that are already unmodifiable, such as a {@link MappedCatalog}, where a copy would
+   * defeat lazy loading.
+   *
+   * @param unmodifiableMapping the unmodifiable mapping to publish.
+   * @return a new snapshot whose version is one greater than this snapshot's.
+   */
+  CatalogSnapshot nextShared(Map<String, Department> unmodifiableMapping) {
+    return new CatalogSnapshot(version + 1, unmodifiableMapping);
+  }
+
+  /**
+   * Gets the version of this snapshot. Versions increase by one every time a new mapping is
+   * published.
+   *
+   * @return the snapshot version.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Gets the department mapping captured by this snapshot.
+   *
+   * @return an unmodifiable mapping of department codes to Department objects.
+   */
+  public Map<String, Department> getDepartmentMapping() {
+    return this.departmentMapping;
+  }
+
+  /**
+   * Brings a department code given by a client into the form the catalog is keyed by, so that
+   * e.g. "econ" names ECON.
+   *
+   * @param deptCode the department code in any case.
+   * @return the department code in upper case.
+   */
+  static String normalizeDeptCode(String deptCode) {
+    return deptCode.toUpperCase(Locale.ENGLISH);
+  }
+
+  /**
+   * Finds a department of this snapshot by its code in any case. Every route resolves departments
+   * through here, so they all accept the same codes.
+   *
+   * @param deptCode the department code, matched ignoring case.
+   * @return the department, or null if it does not exist.
+   */
+  public Department findDepartment(String deptCode) {
+    return this.departmentMapping.get(normalizeDeptCode(deptCode));
+  }
+
+  /**
+   * Finds a course of this snapshot through its {@link CourseIndex}, without the intermediate map
+   * lookups and course-code string.
+   *
+   * @param deptCode the department code, matched exactly.
+   * @param courseCode the course code within the department.
+   * @return the course, or null if the department or the course does not exist.
+   */
+  public Course findCourse(String deptCode, int courseCode) {
+    return this.courseIndex.find(deptCode, courseCode);
+  }
+
+  /**
+   * Finds the courses of this snapshot with the given instructor, location or time slot through
+   * its {@link CourseAttributeIndex}, without visiting the other courses.
+   *
+   * @param attribute the attribute to match.
+   * @param value the value to look for, matched ignoring case and repeated whitespace, or by the
+   *     minutes of a time slot.
+   * @return the matching courses ordered by department and course code.
+   */
+  public List<CourseAttributeIndex.Match> findCourses(
+      CourseAttributeIndex.Attribute attribute, String value) {
+    return this.attributeIndex.find(attribute, value);
+  }
+
+  /**
+   * Gets the totals of every department of this snapshot and of the campus. Each department keeps
+   * its totals up to date as its courses change, so this reads a few counters per department and
+   * visits no course. A {@link MappedCatalog} answers from its campus totals and the file instead,
+   * so no department is decoded.
+   *
+   * @return the totals by department code, and their sum.
+   */
+  @SuppressWarnings("PMD.LooseCoupling") // only a mapped catalog can total undecoded departments
+  public DepartmentStatistics.Report statistics() {
+    if (this.departmentMapping instanceof MappedCatalog mapped) {
+      return mapped.statistics();
+    }
+    Map<String, DepartmentStatistics.Totals> departments = new TreeMap<>();
+    DepartmentStatistics.Totals campus = DepartmentStatistics.Totals.NONE;
+    for (Map.Entry<String, Department> department : this.departmentMapping.entrySet()) {
+      DepartmentStatistics.Totals totals = department.getValue().getStatistics();
+      departments.put(department.getKey(), totals);
+      campus = campus.plus(totals);
+    }
+    return new DepartmentStatistics.Report(campus, Collections.unmodifiableMap(departments));
+  }
+
+  /**
+   * Lists the departments of this snapshot by code, one page at a time, see
+   * {@link CatalogPages#departments}.
+   *
+   * @param cursor the cursor of the previous page, or null for the first page.
+   * @param limit the number of departments to list at most.
+   * @return the page.
+   */
+  public CatalogPages.Page<CatalogPages.DepartmentSummary> listDepartments(
+      String cursor, int limit) {
+    return this.pages.departments(cursor, limit);
+  }
+
+  /**
+   * Lists the courses of this snapshot by department code and course id, one page at a time, see
+   * {@link CatalogPages#courses}.
+   *
+   * @param deptCode the department to list, or null for every department.
+   * @param cursor the cursor of the previous page, or null for the first page.
+   * @param limit the number of courses to list at most.
+   * @return the page.
+   */
+  public CatalogPages.Page<CatalogPages.CourseSummary> listCourses(
+      String deptCode, String cursor, int limit) {
+    return this.pages.courses(deptCode, cursor, limit);
+  }
+
+  /**
+   * Finds the first courses of this snapshot whose department code, course number or instructor
+   * name starts with the query, see {@link CourseAttributeIndex#search}.
+   *
+   * @param query what was typed.
+   * @param limit the number of courses to return at most.
+   * @return the matching courses, best first.
+   */
+  public List<CourseAttributeIndex.Match> searchCourses(String query, int limit) {
+    return this.attributeIndex.search(query, limit);
+  }
+
+  /**
+   * Reassigns the instructor, location or time slot of a course of this snapshot unless it would
+   * then share a room or an instructor with another course at an overlapping time, see
+   * {@link CourseAttributeIndex#reassign}.
+   *
+   * @param course the course to change.
+   * @param attribute the attribute to change.
+   * @param value the new value.
+   * @return the clashes that prevented the change, or an empty list if the course was changed.
+   * @throws IllegalArgumentException if the value is not valid for the attribute.
+   */
+  public List<CourseAttributeIndex.Conflict> reassignCourse(
+      Course course, CourseAttributeIndex.Attribute attribute, String value) {
+    return this.attributeIndex.reassign(course, attribute, value);
+  }
+
+  /**
+   * Finds every pair of courses of this snapshot that share a room or an instructor at
+   * overlapping times, see {@link CourseAttributeIndex#findConflicts()}.
+   *
+   * @return each clash once.
+   */
+  public List<CourseAttributeIndex.Conflict> findConflicts() {
+    return this.attributeIndex.findConflicts();
+  }
+}
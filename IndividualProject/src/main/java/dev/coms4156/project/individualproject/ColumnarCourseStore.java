@@ -0,0 +1,428 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A catalog backend that stores every course section as one row across parallel primitive
+ * columns instead of as a {@link Course} object: course code, enrollment capacity, enrolled count,
+ * and the ids of the instructor, location and time slot in a shared string pool. The time slot
+ * pool also keeps each slot's start and end minute packed into one {@code int}.
+ *
+ * <p>A course costs six {@code int}s, and scans over a single attribute, such as counting full
+ * courses, read one contiguous array. Rows are addressed by index; {@link #rowOf} finds the row of
+ * a course, and the per-row accessors mirror those of {@link Course}, so a caller can switch from
+ * a {@code Course} to a row without changing its logic.
+ *
+ * <p>The set of departments and courses is fixed when the store is built; course attributes and
+ * department majors can change. Enrollment changes are compare-and-set on the enrolled column, like
+ * in {@link Course}. Reassigning an attribute interns the new value; old values stay in the pool.
+ */
+public final class ColumnarCourseStore {
+
+  private final String[] deptCodes;
+  private final Map<String, Integer> deptIndex;
+  private final String[] departmentChairs;
+  private final AtomicIntegerArray numberOfMajors;
+  // department d owns rows [firstRow[d], firstRow[d + 1]), sorted by course code
+  private final int[] firstRow;
+
+  private final int[] courseCodes;
+  private final int[] capacities;
+  private final AtomicIntegerArray enrolled;
+  private final AtomicIntegerArray instructorIds;
+  private final AtomicIntegerArray locationIds;
+  private final AtomicIntegerArray timeSlotIds;
+
+  private final StringPool strings = new StringPool(false);
+  private final StringPool timeSlots = new StringPool(true);
+
+  private ColumnarCourseStore(int departments, int rows) {
+    this.deptCodes = new String[departments];
+    this.deptIndex = new HashMap<>(departments * 4 / 3 + 1);
+    this.departmentChairs = new String[departments];
+    this.numberOfMajors = new AtomicIntegerArray(departments);
+    this.firstRow = new int[departments + 1];
+    this.courseCodes = new int[rows];
+    this.capacities = new int[rows];
+    this.enrolled = new AtomicIntegerArray(rows);
+    this.instructorIds = new AtomicIntegerArray(rows);
+    this.locationIds = new AtomicIntegerArray(rows);
+    this.timeSlotIds = new AtomicIntegerArray(rows);
+  }
+
+  /**
+   * Builds a store holding a copy of every department and course in the mapping.
+   *
+   * @param mapping the mapping of department codes to Department objects.
+   * @return the columnar store.
+   * @throws IllegalArgumentException if a course id is not an integer, such as "01004".
+   */
+  public static ColumnarCourseStore of(Map<String, Department> mapping) {
+    int rows = 0;
+    for (Department department : mapping.values()) {
+      rows += department.getCourseSelection().size();
+    }
+    ColumnarCourseStore store = new ColumnarCourseStore(mapping.size(), rows);
+    int dept = 0;
+    int row = 0;
+    for (Map.Entry<String, Department> entry : mapping.entrySet()) {
+      Department department = entry.getValue();
+      store.deptCodes[dept] = entry.getKey();
+      store.deptIndex.put(entry.getKey(), dept);
+      store.departmentChairs[dept] = department.getDepartmentChair();
+      store.numberOfMajors.set(dept, department.getNumberOfMajors());
+      store.firstRow[dept] = row;
+      Map<String, Course> courses = department.getCourseSelection();
+      int[] codes = new int[courses.size()];
+      int i = 0;
+      for (String courseId : courses.keySet()) {
+        codes[i++] = parseCourseCode(courseId);
+      }
+      Arrays.sort(codes);
+      for (int code : codes) {
+        store.setRow(row++, code, courses.get(Integer.toString(code)));
+      }
+      dept++;
+    }
+    store.firstRow[dept] = row;
+    return store;
+  }
+
+  private static int parseCourseCode(String courseId) {
+    int courseCode = Integer.parseInt(courseId);
+    if (!Integer.toString(courseCode).equals(courseId)) {
+      throw new IllegalArgumentException("Course id is not a course code: " + courseId);
+    }
+    return courseCode;
+  }
+
+  private void setRow(int row, int courseCode, Course course) {
+    courseCodes[row] = courseCode;
+    capacities[row] = course.getEnrollmentCapacity();
+    enrolled.set(row, course.getEnrolledStudentCount());
+    instructorIds.set(row, strings.intern(course.getInstructorName()));
+    locationIds.set(row, strings.intern(course.getCourseLocation()));
+    timeSlotIds.set(row, timeSlots.intern(course.getCourseTimeSlot()));
+  }
+
+  /**
+   * Finds the row of a course.
+   *
+   * @param deptCode the department code, matched exactly.
+   * @param courseCode the course code within the department.
+   * @return the row, or -1 if the department or the course does not exist.
+   */
+  public int rowOf(String deptCode, int courseCode) {
+    Integer dept = deptIndex.get(deptCode);
+    if (dept == null) {
+      return -1;
+    }
+    int row = Arrays.binarySearch(courseCodes, firstRow[dept], firstRow[dept + 1], courseCode);
+    return row < 0 ? -1 : row;
+  }
+
+  /**
+   * Gets the number of course rows.
+   *
+   * @return the number of courses in the store.
+   */
+  public int size() {
+    return courseCodes.length;
+  }
+
+  /**
+   * Gets the location of the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return course location.
+   */
+  public String getCourseLocation(int row) {
+    return strings.get(locationIds.get(row));
+  }
+
+  /**
+   * Gets the instructor's name of the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return instructor name.
+   */
+  public String getInstructorName(int row) {
+    return strings.get(instructorIds.get(row));
+  }
+
+  /**
+   * Gets the time slot of the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return time slot (string).
+   */
+  public String getCourseTimeSlot(int row) {
+    return timeSlots.get(timeSlotIds.get(row));
+  }
+
+  /**
+   * Gets the minute of the day at which the course in the given row starts.
+   *
+   * @param row the row of the course.
+   * @return the start minute, from 0 to 1439.
+   */
+  public int getStartMinute(int row) {
+    return TimeSlots.startMinute(timeSlots.getMinutes(timeSlotIds.get(row)));
+  }
+
+  /**
+   * Gets the minute of the day at which the course in the given row ends.
+   *
+   * @param row the row of the course.
+   * @return the end minute, from 0 to 1439.
+   */
+  public int getEndMinute(int row) {
+    return TimeSlots.endMinute(timeSlots.getMinutes(timeSlotIds.get(row)));
+  }
+
+  /**
+   * Gets the enrollment capacity of the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return enrollment capacity (int).
+   */
+  public int getEnrollmentCapacity(int row) {
+    return capacities[row];
+  }
+
+  /**
+   * Gets the number of students enrolled in the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return enrolled student count (int).
+   */
+  public int getEnrolledStudentCount(int row) {
+    return enrolled.get(row);
+  }
+
+  /**
+   * Returns whether the course in the given row is full.
+   *
+   * @param row the row of the course.
+   * @return true if full; else false.
+   */
+  public boolean isCourseFull(int row) {
+    return enrolled.get(row) >= capacities[row];
+  }
+
+  /**
+   * Enrolls a student in the course in the given row if there is space available.
+   *
+   * @param row the row of the course.
+   * @return true if the student is successfully enrolled, false otherwise.
+   */
+  public boolean enrollStudent(int row) {
+    while (true) {
+      int current = enrolled.get(row);
+      if (current >= capacities[row]) {
+        return false;
+      }
+      if (enrolled.compareAndSet(row, current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Drops a student from the course in the given row if a student is enrolled.
+   *
+   * @param row the row of the course.
+   * @return true if the student is successfully dropped, false otherwise.
+   */
+  public boolean dropStudent(int row) {
+    while (true) {
+      int current = enrolled.get(row);
+      if (current <= 0) {
+        return false;
+      }
+      if (enrolled.compareAndSet(row, current, current - 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Sets the number of students enrolled in the course in the given row.
+   *
+   * @param row the row of the course.
+   * @param count the new enrolled student count.
+   */
+  public void setEnrolledStudentCount(int row, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Enrolled student count cannot be non-negative.");
+    }
+    enrolled.set(row, count);
+  }
+
+  /**
+   * Sets a new instructor for the course in the given row. Cannot be null or empty string.
+   *
+   * @param row the row of the course.
+   * @param newInstructorName the name of the new instructor.
+   */
+  public void reassignInstructor(int row, String newInstructorName) {
+    if (newInstructorName == null || newInstructorName.trim().isEmpty()) {
+      throw new IllegalArgumentException("Instructor name cannot be null or empty.");
+    }
+    instructorIds.set(row, strings.intern(newInstructorName));
+  }
+
+  /**
+   * Sets a new location for the course in the given row. Cannot be null or empty string.
+   *
+   * @param row the row of the course.
+   * @param newLocation the new location.
+   */
+  public void reassignLocation(int row, String newLocation) {
+    if (newLocation == null || newLocation.trim().isEmpty()) {
+      throw new IllegalArgumentException("Location cannot be null or empty.");
+    }
+    locationIds.set(row, strings.intern(newLocation));
+  }
+
+  /**
+   * Sets a new time slot for the course in the given row. Must be a valid time slot.
+   *
+   * @param row the row of the course.
+   * @param newTime the new time (string).
+   */
+  public void reassignTime(int row, String newTime) {
+    if (TimeSlots.parse(newTime) == TimeSlots.INVALID) {
+      throw new IllegalArgumentException(
+          "Invalid time format.  "
+              + "Expected format: 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', or 'HH:MM-HH:MM'.  "
+              + "Also ensure valid hours (00-23) and minutes (00-59).");
+    }
+    timeSlotIds.set(row, timeSlots.intern(newTime));
+  }
+
+  /**
+   * Returns the same text as {@link Course#toString()} for the course in the given row.
+   *
+   * @param row the row of the course.
+   * @return A formatted string containing the course details.
+   */
+  public String courseToString(int row) {
+    return "\nInstructor: "
+        + getInstructorName(row)
+        + "; Location: "
+        + getCourseLocation(row)
+        + "; Time: "
+        + getCourseTimeSlot(row);
+  }
+
+  /**
+   * Copies the course in the given row into a new, detached {@link Course}.
+   *
+   * @param row the row of the course.
+   * @return a Course with the row's current values.
+   */
+  public Course toCourse(int row) {
+    return new Course(
+        getInstructorName(row),
+        getCourseLocation(row),
+        getCourseTimeSlot(row),
+        capacities[row],
+        enrolled.get(row));
+  }
+
+  /**
+   * Copies the whole store back into the object model, for example to save it.
+   *
+   * @return a mapping of department codes to new Department objects.
+   */
+  public Map<String, Department> toCatalog() {
+    Map<String, Department> mapping = new LinkedHashMap<>(deptCodes.length * 4 / 3 + 1);
+    for (int dept = 0; dept < deptCodes.length; dept++) {
+      int rows = firstRow[dept + 1] - firstRow[dept];
+      Map<String, Course> courses = new LinkedHashMap<>(rows * 4 / 3 + 1);
+      for (int row = firstRow[dept]; row < firstRow[dept + 1]; row++) {
+        courses.put(Integer.toString(courseCodes[row]), toCourse(row));
+      }
+      mapping.put(
+          deptCodes[dept],
+          new Department(
+              deptCodes[dept], courses, departmentChairs[dept], numberOfMajors.get(dept)));
+    }
+    return mapping;
+  }
+
+  /**
+   * Append-only pool of distinct strings. Lookups are lock-free: a column only refers to an id
+   * after the id's entry has been written, and the column write publishes it. Interning goes
+   * through an open-addressing table of ids, so the pool adds no objects per string.
+   */
+  private static final class StringPool {
+    private final boolean holdsTimeSlots;
+    private final AtomicReference<String[]> values = new AtomicReference<>(new String[16]);
+    // packed start and end minute of each value, if the pool holds time slots
+    private final AtomicReference<int[]> minutes;
+    // id + 1 of the value hashed to each slot, 0 if empty; only used under the lock
+    private int[] slots = new int[32];
+    private int size;
+
+    StringPool(boolean holdsTimeSlots) {
+      this.holdsTimeSlots = holdsTimeSlots;
+      this.minutes = new AtomicReference<>(holdsTimeSlots ? new int[16] : new int[0]);
+    }
+
+    String get(int id) {
+      return values.get()[id];
+    }
+
+    int getMinutes(int id) {
+      return minutes.get()[id];
+    }
+
+    synchronized int intern(String value) {
+      String[] current = values.get();
+      int mask = slots.length - 1;
+      int slot = value.hashCode() & mask;
+      for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+        if (current[slots[slot] - 1].equals(value)) {
+          return slots[slot] - 1;
+        }
+      }
+      int id = size;
+      if (id == current.length) {
+        current = Arrays.copyOf(current, id * 2);
+        values.set(current);
+        if (holdsTimeSlots) {
+          minutes.set(Arrays.copyOf(minutes.get(), id * 2));
+        }
+      }
+      current[id] = value;
+      if (holdsTimeSlots) {
+        minutes.get()[id] = TimeSlots.parse(value);
+      }
+      slots[slot] = id + 1;
+      size++;
+      if (size * 2 > slots.length) {
+        rehash(current);
+      }
+      return id;
+    }
+
+    private void rehash(String[] current) {
+      slots = new int[slots.length * 2];
+      int mask = slots.length - 1;
+      for (int id = 0; id < size; id++) {
+        int slot = current[id].hashCode() & mask;
+        while (slots[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+      }
+    }
+  }
+}
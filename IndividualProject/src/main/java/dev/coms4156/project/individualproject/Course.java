@@ -1,7 +1,15 @@
 package dev.coms4156.project.individualproject;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents a course with details such as the instructor, location, time slot, and enrollment
@@ -10,26 +18,84 @@ import java.io.Serializable;
  * <p>This class provides methods to manage course enrollment, drop students, and update course
  * details. It also includes functionality to check if the course is full and provides a string
  * representation of the course.
+ *
+ * <p>Enrollment is thread-safe: the enrolled student count is only ever changed through
+ * compare-and-set on a per-course counter, so concurrent enroll/drop requests never lock the
+ * catalog and can never push a course past its enrollment capacity.
  */
+@SuppressWarnings("PMD.AvoidUsingVolatile") // fields shared by requests without locking
 public class Course implements Serializable {
 
   @Serial private static final long serialVersionUID = 123456L;
 
+  // CAS access to enrolledStudentCount; keeps the field a plain int so the serialized form is
+  // unchanged
+  private static final AtomicIntegerFieldUpdater<Course> ENROLLED =
+      AtomicIntegerFieldUpdater.newUpdater(Course.class, "enrolledStudentCount");
+
+  private static final AtomicIntegerFieldUpdater<Course> VERSION =
+      AtomicIntegerFieldUpdater.newUpdater(Course.class, "version");
+
+  private static final AtomicReferenceFieldUpdater<Course, Counted> COUNTED =
+      AtomicReferenceFieldUpdater.newUpdater(Course.class, Counted.class, "counted");
+  private static final AtomicReferenceFieldUpdater<Course, Department> OFFERED =
+      AtomicReferenceFieldUpdater.newUpdater(Course.class, Department.class, "offeringDepartment");
+
+  // contention of enroll/drop across all courses; only touched when a compare-and-set fails, a
+  // course is full or a batch is rolled back, so the uncontended path pays nothing
+  private static final LongAdder CONTENDED = new LongAdder();
+  private static final LongAdder RETRIES = new LongAdder();
+  private static final LongAdder REJECTED_FULL = new LongAdder();
+  private static final LongAdder BATCH_ROLLBACKS = new LongAdder();
+
+  // hands out the identities of the courses, see getIdentity()
+  private static final AtomicLong IDENTITIES = new AtomicLong();
+
   // max number of students that can enroll in a course, must be positive int
   private final int enrollmentCapacity;
 
-  // current number of students enrolled in a course, must be positive int
-  private int enrolledStudentCount;
+  // current number of students enrolled in a course, must be positive int; volatile because it is
+  // updated through ENROLLED
+  private volatile int enrolledStudentCount;
 
-  // Typically includes room number followed by building code i.e. 405 SCH
-  private String courseLocation;
+  // Typically includes room number followed by building code i.e. 405 SCH; volatile because it is
+  // reassigned while other requests read the course without locking
+  private volatile String courseLocation;
 
-  // should be full name (and middle initial if applicable) of instructor
-  private String instructorName;
+  // should be full name (and middle initial if applicable) of instructor; volatile like
+  // courseLocation
+  private volatile String instructorName;
 
-  // Course timeslot formats (string): 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', or 'HH:MM-HH:MM'
+  // Course timeslot formats (string): 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', or 'HH:MM-HH:MM';
+  // only the serialized form of timeSlot, written by writeObject()
   private String courseTimeSlot;
 
+  // the time slot with its parsed minutes, replaced as one so that readers never see them mixed
+  private transient volatile TimeSlot timeSlot;
+
+  // UTF-8 JSON of the fields above, built on first use by jsonFragment(); volatile so a fragment
+  // built by one request is safely published to the others
+  private transient volatile JsonFragment jsonCache;
+
+  // bumped after every change to the course, so that cached responses can tell they are stale
+  private transient volatile int version;
+
+  // tells this course apart from every other one created or read since the start, including one
+  // that replaced it at the same version; set by the constructor and readObject()
+  private transient long identity;
+
+  // the index that files the course under its instructor, location and time slot; set when the
+  // index is built
+  private transient volatile CourseAttributeIndex attributeIndex;
+
+  // the department the course was last added to, which checks reassignments until it is indexed;
+  // cleared through OFFERED when it replaces the course
+  private transient volatile Department offeringDepartment;
+
+  // the totals of the department that offers the course and the enrolled student count they
+  // hold for it; set when the course is added to it, replaced as one through COUNTED
+  private transient volatile Counted counted;
+
   /**
    * Constructs a new Course object with the given parameters. Initial count starts at 0.
    *
@@ -39,6 +105,24 @@ public class Course implements Serializable {
    * @param capacity The maximum number of students that can enroll in the course.
    */
   public Course(String instructorName, String courseLocation, String timeSlot, int capacity) {
+    this(instructorName, courseLocation, timeSlot, capacity, 0);
+  }
+
+  /**
+   * Constructs a Course restored from storage with its enrolled student count.
+   *
+   * @param instructorName The name of the instructor teaching the course.
+   * @param courseLocation The location where the course is held.
+   * @param timeSlot The time slot of the course.
+   * @param capacity The maximum number of students that can enroll in the course.
+   * @param enrolledCount The number of students currently enrolled in the course.
+   */
+  Course(
+      String instructorName,
+      String courseLocation,
+      String timeSlot,
+      int capacity,
+      int enrolledCount) {
     // check for null/empty-string instructor name
     if (instructorName == null || instructorName.trim().isEmpty()) {
       throw new IllegalArgumentException("Instructor name cannot be null or empty.");
@@ -50,7 +134,8 @@ public class Course implements Serializable {
     }
 
     // ensure valid time slot based on format described in IllegalArgumentException()
-    if (!isValidTimeSlot(timeSlot)) {
+    int minutes = TimeSlots.parse(timeSlot);
+    if (minutes == TimeSlots.INVALID) {
       throw new IllegalArgumentException(
           "Invalid time format. Expected format: 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', or "
               + "'HH:MM-HH:MM'.");
@@ -61,11 +146,16 @@ public class Course implements Serializable {
       throw new IllegalArgumentException("Capacity must be a positive number.");
     }
 
+    if (enrolledCount < 0) {
+      throw new IllegalArgumentException("Enrolled student count cannot be non-negative.");
+    }
+
     this.courseLocation = courseLocation;
-    this.courseTimeSlot = timeSlot;
+    this.timeSlot = new TimeSlot(timeSlot, minutes);
     this.enrollmentCapacity = capacity;
-    this.enrolledStudentCount = 0;
+    this.enrolledStudentCount = enrolledCount;
     this.instructorName = instructorName;
+    this.identity = IDENTITIES.incrementAndGet();
   }
 
   /**
@@ -76,14 +166,7 @@ public class Course implements Serializable {
    * @return true if the time slot is valid, false otherwise.
    */
   public static boolean isValidTimeSlot(String timeSlot) {
-    if (timeSlot == null || timeSlot.trim().isEmpty()) {
-      return false;
-    }
-
-    // Allowed time formats: 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', 'HH:MM-HH:MM'
-    // Also checks to ensure valid hours (00-23) and minutes (00-59)
-    String timePattern = "^([01]?\\d|2[0-3]):[0-5]\\d-([01]?\\d|2[0-3]):[0-5]\\d$";
-    return timeSlot.matches(timePattern);
+    return TimeSlots.parse(timeSlot) != TimeSlots.INVALID;
   }
 
   /**
@@ -92,12 +175,44 @@ public class Course implements Serializable {
    * @return true if the student is successfully enrolled, false otherwise.
    */
   public boolean enrollStudent() {
-    if (!isCourseFull()) {
-      this.enrolledStudentCount++;
-      return true;
+    for (int retries = 0; ; retries++) {
+      int current = this.enrolledStudentCount;
+      if (current >= enrollmentCapacity) {
+        recordContention(retries);
+        REJECTED_FULL.increment();
+        return false;
+      }
+      if (ENROLLED.compareAndSet(this, current, current + 1)) {
+        VERSION.incrementAndGet(this);
+        countEnrollment();
+        recordContention(retries);
+        return true;
+      }
     }
+  }
 
-    return false;
+  /**
+   * Enrolls a student in every given course, or in none of them. Seats are reserved one course at a
+   * time with {@link #enrollStudent()}; if a course is full, the seats already reserved by this
+   * call are released again. No lock is held, so concurrent batches and single enrollments never
+   * wait on each other, and no course is ever pushed past its capacity.
+   *
+   * @param courses the courses to enroll in, each listed once.
+   * @return true if the student was enrolled in all courses, false if none was changed.
+   */
+  public static boolean enrollAll(List<Course> courses) {
+    for (int i = 0; i < courses.size(); i++) {
+      if (!courses.get(i).enrollStudent()) {
+        if (i > 0) {
+          BATCH_ROLLBACKS.increment();
+        }
+        for (int j = i - 1; j >= 0; j--) {
+          courses.get(j).dropStudent();
+        }
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -115,14 +230,74 @@ public class Course implements Serializable {
    * @return true if the student is successfully dropped, false otherwise.
    */
   public boolean dropStudent() {
-    if (this.enrolledStudentCount > 0) {
-      enrolledStudentCount--;
-      return true;
+    for (int retries = 0; ; retries++) {
+      int current = this.enrolledStudentCount;
+      if (current <= 0) {
+        recordContention(retries);
+        return false;
+      }
+      if (ENROLLED.compareAndSet(this, current, current - 1)) {
+        VERSION.incrementAndGet(this);
+        countEnrollment();
+        recordContention(retries);
+        return true;
+      }
+    }
+  }
+
+  private void countEnrollment() {
+    reconcile();
+    SeatChanges.seatsChanged(this);
+  }
+
+  /**
+   * Brings the enrolled student count held by the totals up to the current one. Each step is
+   * claimed with one compare-and-set of the totals and the count they hold, so a difference is
+   * passed to exactly one department, once, even while the course is added or replaced.
+   */
+  private void reconcile() {
+    while (true) {
+      Counted current = this.counted;
+      int count = this.enrolledStudentCount;
+      if (current == null || current.enrolled() == count) {
+        return;
+      }
+      if (COUNTED.compareAndSet(this, current, new Counted(current.totals(), count))) {
+        current.totals().enrollmentChanged(enrollmentCapacity, current.enrolled(), count);
+        // a change made meanwhile may have found this step claimed and left
+      }
     }
+  }
+
+  private static void recordContention(int retries) {
+    if (retries > 0) {
+      CONTENDED.increment();
+      RETRIES.add(retries);
+    }
+  }
 
-    return false;
+  /**
+   * Gets the contention of enrolling and dropping, across all courses since startup.
+   *
+   * @return the counters.
+   */
+  public static ContentionStats getContentionStats() {
+    return new ContentionStats(
+        CONTENDED.sum(), RETRIES.sum(), REJECTED_FULL.sum(), BATCH_ROLLBACKS.sum());
   }
 
+  /**
+   * Counters of enrollment contention.
+   *
+   * @param contended enrolls and drops that lost at least one compare-and-set to another request.
+   * @param retries compare-and-sets retried in total.
+   * @param rejectedFull enrolls rejected because the course was full.
+   * @param batchRollbacks batch enrollments that released seats again because a later course was
+   *     full.
+   */
+  public record ContentionStats(
+      long contended, long retries, long rejectedFull, long batchRollbacks) {}
+
   /**
    * Get the location for a course.
    *
@@ -138,7 +313,25 @@ public class Course implements Serializable {
    * @return time slot (string).
    */
   public String getCourseTimeSlot() {
-    return this.courseTimeSlot;
+    return this.timeSlot.text();
+  }
+
+  /**
+   * Get the minute of the day at which the course starts, e.g. 700 for '11:40-12:55'.
+   *
+   * @return start minute (int), from 0 to 1439.
+   */
+  public int getStartMinute() {
+    return TimeSlots.startMinute(this.timeSlot.minutes());
+  }
+
+  /**
+   * Get the minute of the day at which the course ends, e.g. 775 for '11:40-12:55'.
+   *
+   * @return end minute (int), from 0 to 1439.
+   */
+  public int getEndMinute() {
+    return TimeSlots.endMinute(this.timeSlot.minutes());
   }
 
   /**
@@ -165,6 +358,30 @@ public class Course implements Serializable {
       throw new IllegalArgumentException("Enrolled student count cannot be non-negative.");
     }
     this.enrolledStudentCount = count;
+    VERSION.incrementAndGet(this);
+    countEnrollment();
+  }
+
+  /**
+   * Get the version of the course, which increases with every change to it: enrolling or dropping
+   * a student, setting the enrolled student count, or reassigning the instructor, location or
+   * time. A change is visible by the time its new version is.
+   *
+   * @return version (int).
+   */
+  public int getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Get the identity of the course, which no other course created or read since the start shares,
+   * not even one that replaced it at the same version. Together with {@link #getVersion()} it
+   * names the state of the course within one run.
+   *
+   * @return identity (long).
+   */
+  long getIdentity() {
+    return this.identity;
   }
 
   /**
@@ -189,50 +406,295 @@ public class Course implements Serializable {
         + "; Location: "
         + courseLocation
         + "; Time: "
-        + courseTimeSlot;
+        + timeSlot.text();
   }
 
   /**
    * Sets a new instructor for a course. Cannot be null or empty string.
    *
    * @param newInstructorName the name of the new instructor to assign to the course.
-   * @throws IllegalArgumentException if {@code newInstructorName} is null or an empty string.
+   * @throws IllegalArgumentException if {@code newInstructorName} is null or an empty string, or a
+   *     {@link CourseAttributeIndex.ConflictException} if the instructor teaches another course at
+   *     an overlapping time.
    */
   public void reassignInstructor(String newInstructorName) {
-    if (newInstructorName == null || newInstructorName.trim().isEmpty()) {
-      throw new IllegalArgumentException("Instructor name cannot be null or empty.");
-    }
-    this.instructorName = newInstructorName;
+    reassignOrThrow(CourseAttributeIndex.Attribute.INSTRUCTOR, newInstructorName);
   }
 
   /**
    * Sets a new time for a course. Must match the expected format below.
    *
    * @param newTime the new time (string).
-   * @throws IllegalArgumentException if {@code newTime} does not match the expected format.
+   * @throws IllegalArgumentException if {@code newTime} does not match the expected format, or a
+   *     {@link CourseAttributeIndex.ConflictException} if the room or the instructor is booked at
+   *     an overlapping time.
    */
   public void reassignTime(String newTime) {
+    reassignOrThrow(CourseAttributeIndex.Attribute.TIME_SLOT, newTime);
+  }
+
+  /**
+   * Sets a new location for a course. Cannot be null or empty string.
+   *
+   * @param newLocation the name of the new location to assign to the course.
+   * @throws IllegalArgumentException if {@code newLocation} is null or an empty string, or a
+   *     {@link CourseAttributeIndex.ConflictException} if another course is held there at an
+   *     overlapping time.
+   */
+  public void reassignLocation(String newLocation) {
+    reassignOrThrow(CourseAttributeIndex.Attribute.LOCATION, newLocation);
+  }
+
+  private static void requireText(String value, String name) {
+    if (value == null || value.trim().isEmpty()) {
+      throw new IllegalArgumentException(name + " cannot be null or empty.");
+    }
+  }
+
+  private static int requireTimeSlot(String newTime) {
     // Ensure valid timeSlot
-    if (!isValidTimeSlot(newTime)) {
+    int minutes = TimeSlots.parse(newTime);
+    if (minutes == TimeSlots.INVALID) {
       throw new IllegalArgumentException(
           "Invalid time format.  "
               + "Expected format: 'H:MM-H:MM', 'H:MM-HH:MM', 'HH:MM-H:MM', or 'HH:MM-HH:MM'.  "
               + "Also ensure valid hours (00-23) and minutes (00-59).");
     }
+    return minutes;
+  }
+
+  private void reassignOrThrow(CourseAttributeIndex.Attribute attribute, String value) {
+    List<CourseAttributeIndex.Conflict> conflicts = reassign(attribute, value);
+    if (!conflicts.isEmpty()) {
+      throw new CourseAttributeIndex.ConflictException(conflicts);
+    }
+  }
 
-    this.courseTimeSlot = newTime;
+  /**
+   * Reassigns the instructor, location or time slot unless the index that files the course finds
+   * that the course would then share a room or an instructor with another course at an
+   * overlapping time. Courses that no index files yet are checked against the other courses of
+   * their department, and courses no department offers are changed without a check.
+   *
+   * @param attribute the attribute to change.
+   * @param value the new value.
+   * @return the clashes that prevented the change, or an empty list if the course was changed.
+   * @throws IllegalArgumentException if the value is not valid for the attribute.
+   */
+  List<CourseAttributeIndex.Conflict> reassign(
+      CourseAttributeIndex.Attribute attribute, String value) {
+    switch (attribute) {
+      case INSTRUCTOR -> requireText(value, "Instructor name");
+      case LOCATION -> requireText(value, "Location");
+      case TIME_SLOT -> requireTimeSlot(value);
+      default -> throw new IllegalArgumentException("Unknown attribute: " + attribute);
+    }
+    while (true) {
+      CourseAttributeIndex index = this.attributeIndex;
+      Department department = this.offeringDepartment;
+      if (index == null && department != null) {
+        // claimed by an index that files this course once it is built
+        index = department.getAttributeIndex();
+      }
+      CourseAttributeIndex filing = index;
+      if (filing == null && department == null) {
+        if (apply(attribute, value, null)) {
+          return List.of();
+        }
+      } else {
+        // null when a newer index claimed the course or its department meanwhile; it checks the
+        // change again
+        List<CourseAttributeIndex.Conflict> conflicts =
+            filing != null
+                ? filing.change(this, attribute, value, () -> apply(attribute, value, filing))
+                : department.reassign(this, attribute, value, () -> apply(attribute, value, null));
+        if (conflicts != null) {
+          return conflicts;
+        }
+      }
+    }
   }
 
   /**
-   * Sets a new location for a course. Cannot be null or empty string.
+   * Changes an attribute if the course is still filed by the given index, which has checked the
+   * change. Holding the lock of the course keeps an index from claiming it halfway.
    *
-   * @param newLocation the name of the new location to assign to the course.
-   * @throws IllegalArgumentException if {@code newLocation} is null or an empty string.
+   * @return false if another index files the course now, and nothing was changed.
    */
-  public void reassignLocation(String newLocation) {
-    if (newLocation == null || newLocation.trim().isEmpty()) {
-      throw new IllegalArgumentException("Location cannot be null or empty.");
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the index that checked the change
+  private synchronized boolean apply(
+      CourseAttributeIndex.Attribute attribute, String value, CourseAttributeIndex index) {
+    if (this.attributeIndex != index) {
+      return false;
+    }
+    switch (attribute) {
+      case INSTRUCTOR -> this.instructorName = value;
+      case LOCATION -> this.courseLocation = value;
+      case TIME_SLOT -> this.timeSlot = new TimeSlot(value, requireTimeSlot(value));
+      default -> throw new IllegalArgumentException("Unknown attribute: " + attribute);
+    }
+    VERSION.incrementAndGet(this);
+    reassigned();
+    return true;
+  }
+
+  /**
+   * Sets the index that is told about reassignments of this course and checks them.
+   *
+   * @param index the index that files this course.
+   */
+  synchronized void setAttributeIndex(CourseAttributeIndex index) {
+    this.attributeIndex = index;
+  }
+
+  /**
+   * Makes the given totals count this course and follow its enrollment: enrollment changes and
+   * reassignments, which both count as modifications of the department. The totals a course was
+   * counted by before stop counting it.
+   *
+   * @param totals the totals of the department offering this course.
+   */
+  void attachStatistics(DepartmentStatistics totals) {
+    while (true) {
+      Counted current = this.counted;
+      int count = this.enrolledStudentCount;
+      if (COUNTED.compareAndSet(this, current, new Counted(totals, count))) {
+        if (current != null) {
+          current.totals().uncount(enrollmentCapacity, current.enrolled());
+        }
+        totals.count(enrollmentCapacity, count);
+        break;
+      }
+    }
+    // an enrollment made after the count was read may have found the previous totals, or none
+    reconcile();
+  }
+
+  /**
+   * Stops the given totals from counting this course, unless other totals count it by now.
+   *
+   * @param totals the totals of the department that replaced this course.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the totals of one department
+  void detachStatistics(DepartmentStatistics totals) {
+    while (true) {
+      Counted current = this.counted;
+      if (current == null || current.totals() != totals) {
+        return;
+      }
+      if (COUNTED.compareAndSet(this, current, null)) {
+        totals.uncount(enrollmentCapacity, current.enrolled());
+        return;
+      }
+    }
+  }
+
+  /**
+   * Sets the department this course was added to, which checks its reassignments until the
+   * department is indexed.
+   *
+   * @param department the department.
+   */
+  void setOfferingDepartment(Department department) {
+    this.offeringDepartment = department;
+  }
+
+  /**
+   * Forgets the department this course was added to, unless another department offers it by now.
+   *
+   * @param department the department that replaced this course.
+   */
+  void clearOfferingDepartment(Department department) {
+    OFFERED.compareAndSet(this, department, null);
+  }
+
+  /**
+   * Checks if the course is offered by a department: added to it, and not replaced in it by
+   * another course since.
+   *
+   * @return true if a department counts this course in its totals.
+   */
+  boolean isOffered() {
+    return this.counted != null;
+  }
+
+  private void reassigned() {
+    // read after the version was bumped, see CourseAttributeIndex
+    CourseAttributeIndex index = this.attributeIndex;
+    if (index != null) {
+      index.refresh(this);
+    }
+    Counted totals = this.counted;
+    if (totals != null) {
+      totals.totals().courseChanged();
+    }
+  }
+
+  /**
+   * Gets the course as the start of a JSON object, up to and including the name of the enrolled
+   * student count, for {@link DepartmentJsonWriter}. The bytes are encoded once and reused until
+   * the instructor, location or time slot is reassigned.
+   *
+   * @return the UTF-8 bytes of the fragment, not to be modified.
+   */
+  byte[] jsonFragment() {
+    JsonFragment fragment = this.jsonCache;
+    if (fragment == null || !fragment.describes(this)) {
+      String slot = timeSlot.text();
+      fragment =
+          new JsonFragment(
+              instructorName,
+              courseLocation,
+              slot,
+              DepartmentJsonWriter.encodeCourse(
+                  instructorName, courseLocation, slot, enrollmentCapacity));
+      this.jsonCache = fragment;
+    }
+    return fragment.bytes;
+  }
+
+  @Serial
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    this.courseTimeSlot = timeSlot.text();
+    out.defaultWriteObject();
+  }
+
+  @Serial
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.timeSlot = new TimeSlot(courseTimeSlot, TimeSlots.parse(courseTimeSlot));
+    this.identity = IDENTITIES.incrementAndGet();
+  }
+
+  /**
+   * A time slot together with its minutes as parsed by {@link TimeSlots}: start minute << 16 | end
+   * minute.
+   */
+  private record TimeSlot(String text, int minutes) {}
+
+  /** The totals of the department offering a course, and the enrolled count they hold for it. */
+  private record Counted(DepartmentStatistics totals, int enrolled) {}
+
+  /** An encoded fragment together with the field values it was encoded from. */
+  private static final class JsonFragment {
+    private final String instructorName;
+    private final String courseLocation;
+    private final String courseTimeSlot;
+    private final byte[] bytes;
+
+    JsonFragment(
+        String instructorName, String courseLocation, String courseTimeSlot, byte[] bytes) {
+      this.instructorName = instructorName;
+      this.courseLocation = courseLocation;
+      this.courseTimeSlot = courseTimeSlot;
+      this.bytes = bytes;
+    }
+
+    boolean describes(Course course) {
+      // the fields are only ever replaced, so this is usually a reference comparison
+      return instructorName.equals(course.instructorName)
+          && courseLocation.equals(course.courseLocation)
+          && courseTimeSlot.equals(course.timeSlot.text());
     }
-    this.courseLocation = newLocation;
   }
 }
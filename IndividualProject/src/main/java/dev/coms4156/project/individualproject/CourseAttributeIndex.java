@@ -0,0 +1,743 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Inverted indexes of the courses of a {@link CatalogSnapshot} by instructor, location and time
+ * slot, so that every course an instructor teaches, or everything held in one room, is found
+ * without visiting the rest of the catalog.
+ *
+ * <p>Each index belongs to one snapshot and is built on the first query, so a lazily loaded
+ * {@link MappedCatalog} stays lazy until then. Building claims every course and department of the
+ * snapshot: from then on {@link Course#reassignInstructor}, {@link Course#reassignLocation},
+ * {@link Course#reassignTime} and {@link Department#addCourse} are checked and made while holding
+ * the index, and move the affected entry between buckets right away. A course is kept up to date
+ * by the most recently built index only, so the index of an older snapshot stops following
+ * courses that a newer one has claimed. A department is claimed before its courses are read, and
+ * a course added meanwhile waits for the index, so building sees each course selection whole.
+ *
+ * <p>Queries read one bucket of a concurrent map without locking, so they take time proportional
+ * to the number of matches. Updates are rare and serialized. Names and locations are matched
+ * ignoring case and repeated whitespace, and time slots by their start and end minutes, so
+ * {@code "9:00-10:15"} also finds {@code "09:00-10:15"}.
+ *
+ * <p>The index also keeps the schedule of every room and every instructor in an
+ * {@link IntervalTree}, so that a course booked at an overlapping time is found in O(log n) for
+ * the courses of that room or instructor. {@link #reassign} refuses changes that would
+ * double-book either, and so do the changes made directly on a course or department of the
+ * snapshot, which throw a {@link ConflictException}. Until the index is built, those direct
+ * changes are checked against the other courses of the same department by
+ * {@link #findClashes}, so that a department is never double-booked and no other department is
+ * decoded for it. Clashes in the catalog as loaded are accepted, and listed by
+ * {@link #findConflicts}. A slot that ends before it starts, such as
+ * {@code "12:10-1:25"}, is read as ending twelve hours later.
+ *
+ * <p>For typeahead, {@link #search} finds the courses whose department code, course number or
+ * instructor name starts with what was typed so far, through two {@link PrefixTrie}s kept up to
+ * date by the same changes: one of department codes and course numbers, one of instructor names
+ * and of the words of each name after the first, so that a surname alone finds its instructor.
+ */
+public final class CourseAttributeIndex {
+
+  /** An attribute of a course that courses can be looked up by. */
+  public enum Attribute {
+    INSTRUCTOR,
+    LOCATION,
+    TIME_SLOT
+  }
+
+  /** What two courses at overlapping times cannot share. */
+  public enum Resource {
+    ROOM,
+    INSTRUCTOR
+  }
+
+  /**
+   * A course found by a query.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the id of the course within its department.
+   * @param instructorName the instructor teaching the course.
+   * @param courseLocation where the course is held.
+   * @param courseTimeSlot when the course meets.
+   */
+  public record Match(
+      String deptCode,
+      String courseCode,
+      String instructorName,
+      String courseLocation,
+      String courseTimeSlot) {}
+
+  /**
+   * Two courses that share a room or an instructor at overlapping times.
+   *
+   * @param resource what the courses share.
+   * @param course the course that was checked or changed.
+   * @param other the course it clashes with.
+   */
+  public record Conflict(Resource resource, Match course, Match other) {}
+
+  /** Thrown when a course changed or added directly would clash with another course. */
+  public static final class ConflictException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Conflict> conflicts;
+
+    ConflictException(List<Conflict> conflicts) {
+      super(
+          "Course would share a room or an instructor with another course at an overlapping "
+              + "time.");
+      this.conflicts = List.copyOf(conflicts);
+    }
+
+    /**
+     * Gets the clashes that prevented the change.
+     *
+     * @return the clashes, ordered by the course, then the course it clashes with.
+     */
+    public List<Conflict> getConflicts() {
+      return conflicts;
+    }
+  }
+
+  private static final Comparator<Match> ORDER =
+      Comparator.comparing(Match::deptCode).thenComparing(Match::courseCode);
+
+  private static final Comparator<Conflict> CONFLICT_ORDER =
+      Comparator.comparing(Conflict::course, ORDER)
+          .thenComparing(Conflict::other, ORDER)
+          .thenComparing(Conflict::resource);
+
+  private static final Comparator<Booked> BOOKED_ORDER =
+      Comparator.comparing(Booked::key).thenComparingInt(Booked::start);
+
+  private static final int HALF_DAY_MINUTES = 12 * 60;
+
+  private final Map<Attribute, Map<String, Set<Entry>>> buckets = new EnumMap<>(Attribute.class);
+  // guarded by this
+  private final Map<Course, Entry> entries = new IdentityHashMap<>();
+  private final Map<String, Entry> entriesById = new HashMap<>();
+  private final Map<String, IntervalTree<Entry>> roomSchedules = new HashMap<>();
+  private final Map<String, IntervalTree<Entry>> instructorSchedules = new HashMap<>();
+  private final PrefixTrie<Entry> codes = new PrefixTrie<>(Entry::compareTo);
+  private final PrefixTrie<Entry> names = new PrefixTrie<>(Entry::compareTo);
+  // normalized department code to department code, for queries naming a department
+  private final Map<String, String> departments = new ConcurrentHashMap<>();
+  private final Map<String, Department> mapping;
+  @SuppressWarnings("PMD.AvoidUsingVolatile") // checked by every query without locking
+  private volatile boolean built;
+
+  /**
+   * Constructs an index over the given mapping, which is read on the first query.
+   *
+   * @param mapping the unmodifiable mapping of department codes to Department objects to index.
+   */
+  CourseAttributeIndex(Map<String, Department> mapping) {
+    this.mapping = mapping;
+    for (Attribute attribute : Attribute.values()) {
+      buckets.put(attribute, new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * Finds the courses whose attribute has the given value.
+   *
+   * @param attribute the attribute to match.
+   * @param value the value to look for.
+   * @return the matching courses ordered by department and course code; empty if none matches or
+   *     the value is not a valid time slot.
+   */
+  public List<Match> find(Attribute attribute, String value) {
+    if (!built) {
+      build();
+    }
+    String key = key(attribute, value);
+    Set<Entry> bucket = key == null ? null : buckets.get(attribute).get(key);
+    if (bucket == null) {
+      return List.of();
+    }
+    List<Match> matches = new ArrayList<>(bucket.size());
+    for (Entry entry : bucket) {
+      // a course reassigned a moment ago may not have been moved to its new bucket yet
+      if (key.equals(key(attribute, entry.course))) {
+        matches.add(entry.match());
+      }
+    }
+    matches.sort(ORDER);
+    return matches;
+  }
+
+  /**
+   * Finds the first courses whose department code, course number or instructor name, or a word of
+   * the name, starts with the query, ignoring case and repeated whitespace. A query made of a
+   * department code and the start of a course number, such as {@code "coms 41"}, finds the
+   * courses of that department whose number starts with it.
+   *
+   * <p>Courses are ranked by what matched: a department and course number first, then a
+   * department code or course number, then an instructor name; and within each, by the matched
+   * term, so that a term equal to the query comes before the longer ones, then by department and
+   * course code. The walk stops at the limit, so a query costs about the same however many
+   * courses match it.
+   *
+   * @param query what was typed.
+   * @param limit the number of courses to return at most.
+   * @return the matching courses, best first; empty if the query is blank.
+   */
+  public List<Match> search(String query, int limit) {
+    if (!built) {
+      build();
+    }
+    String key = normalize(query);
+    if (key.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    Set<Entry> found = new LinkedHashSet<>();
+    Predicate<Entry> collect =
+        entry -> {
+          // a course renamed a moment ago may still be filed under its old name
+          if (matches(entry, key)) {
+            found.add(entry);
+          }
+          return found.size() < limit;
+        };
+    int space = key.indexOf(' ');
+    String deptCode = space < 0 ? null : departments.get(key.substring(0, space));
+    if (deptCode != null
+        && space + 1 < key.length()
+        && Character.isDigit(key.charAt(space + 1))) {
+      // the numbers of one department lie between these two bounds in every term
+      codes.forEachWithPrefix(
+          key.substring(space + 1),
+          new Entry(deptCode, "", null),
+          new Entry(deptCode + '\0', "", null),
+          collect);
+    }
+    if (found.size() < limit && codes.forEachWithPrefix(key, collect)) {
+      names.forEachWithPrefix(key, collect);
+    }
+    List<Match> matches = new ArrayList<>(found.size());
+    for (Entry entry : found) {
+      matches.add(entry.match());
+    }
+    return matches;
+  }
+
+  /**
+   * Reassigns the instructor, location or time slot of a course unless the course would then
+   * share a room or an instructor with another course at an overlapping time. The check and the
+   * change are one step, like for changes made on the course directly.
+   *
+   * @param course the course to change.
+   * @param attribute the attribute to change.
+   * @param value the new value, validated by the reassignment itself.
+   * @return the clashes that prevented the change, or an empty list if the course was changed.
+   * @throws IllegalArgumentException if the value is not valid for the attribute.
+   */
+  public List<Conflict> reassign(Course course, Attribute attribute, String value) {
+    if (!built) {
+      build();
+    }
+    return course.reassign(attribute, value);
+  }
+
+  /**
+   * Finds every pair of courses that share a room or an instructor at overlapping times. The
+   * bookings are copied while changes to the index wait; the copy is then sorted and swept per
+   * room and per instructor on the calling thread, so changes are held up only by the copy.
+   *
+   * @return each clash once, ordered by the first course of the pair, then the second.
+   */
+  public List<Conflict> findConflicts() {
+    if (!built) {
+      build();
+    }
+    List<Booked> rooms = new ArrayList<>();
+    List<Booked> instructors = new ArrayList<>();
+    synchronized (this) {
+      for (Entry entry : entries.values()) {
+        // a slot without length is never booked, see rebook
+        if (entry.room != null || entry.instructor != null) {
+          Match match = entry.match();
+          int start = TimeSlots.startMinute(entry.slot);
+          int end = end(entry.slot);
+          if (entry.room != null) {
+            rooms.add(new Booked(entry.room.key(), start, end, match));
+          }
+          if (entry.instructor != null) {
+            instructors.add(new Booked(entry.instructor.key(), start, end, match));
+          }
+        }
+      }
+    }
+    List<Conflict> conflicts = new ArrayList<>();
+    sweep(rooms, Resource.ROOM, conflicts);
+    sweep(instructors, Resource.INSTRUCTOR, conflicts);
+    conflicts.sort(CONFLICT_ORDER);
+    return conflicts;
+  }
+
+  /**
+   * Checks and makes a change of an attribute of a course filed by this index. Called by the
+   * course, which changes itself in {@code apply} if this index still files it.
+   *
+   * @param course the course to change.
+   * @param attribute the attribute to change.
+   * @param value the new value, already validated.
+   * @param apply makes the change; false if another index files the course now.
+   * @return the clashes that prevented the change, an empty list if the course was changed, or
+   *     null if {@code apply} did not make it.
+   */
+  synchronized List<Conflict> change(
+      Course course, Attribute attribute, String value, BooleanSupplier apply) {
+    if (!built) {
+      build();
+    }
+    Entry entry = entries.get(course);
+    String key = key(attribute, value);
+    if (entry != null && key != null) {
+      List<Conflict> conflicts = new ArrayList<>();
+      switch (attribute) {
+        case INSTRUCTOR -> collect(conflicts, Resource.INSTRUCTOR, key, entry.slot, entry);
+        case LOCATION -> collect(conflicts, Resource.ROOM, key, entry.slot, entry);
+        case TIME_SLOT -> {
+          int slot = Integer.parseInt(key);
+          collect(conflicts, Resource.ROOM, entry.keys[Attribute.LOCATION.ordinal()], slot, entry);
+          collect(
+              conflicts, Resource.INSTRUCTOR, entry.keys[Attribute.INSTRUCTOR.ordinal()], slot,
+              entry);
+        }
+        default -> throw new IllegalArgumentException("Unknown attribute: " + attribute);
+      }
+      if (!conflicts.isEmpty()) {
+        conflicts.sort(CONFLICT_ORDER);
+        return conflicts;
+      }
+    }
+    return apply.getAsBoolean() ? List.of() : null;
+  }
+
+  /**
+   * Moves a course to the buckets of its current instructor, location and time slot. Called by
+   * the course after each reassignment; does nothing for courses of other indexes.
+   *
+   * @param course the reassigned course.
+   */
+  synchronized void refresh(Course course) {
+    Entry entry = entries.get(course);
+    if (entry != null) {
+      update(entry);
+    }
+  }
+
+  /**
+   * Checks and adds a course of a department filed by this index, replacing the course previously
+   * held under the same id. Called by the department, which puts the course into its course
+   * selection in {@code put} if this index still files it.
+   *
+   * @param deptCode the department of the course.
+   * @param courseId the id of the course within the department.
+   * @param course the course.
+   * @param put puts the course; false if another index files the department now.
+   * @return false if {@code put} did not put the course.
+   * @throws ConflictException if the course would clash with another course.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the same course may be added again
+  synchronized boolean add(String deptCode, String courseId, Course course, BooleanSupplier put) {
+    if (!built) {
+      build();
+    }
+    Entry filed = entriesById.get(deptCode + ' ' + courseId);
+    if (filed == null || filed.course != course) {
+      // the course it replaces shares its id, so it is not counted as a clash
+      Entry probe = new Entry(deptCode, courseId, course);
+      String slot = key(Attribute.TIME_SLOT, course);
+      if (slot != null) {
+        probe.slot = Integer.parseInt(slot);
+        List<Conflict> conflicts = new ArrayList<>();
+        collect(conflicts, Resource.ROOM, key(Attribute.LOCATION, course), probe.slot, probe);
+        collect(
+            conflicts, Resource.INSTRUCTOR, key(Attribute.INSTRUCTOR, course), probe.slot, probe);
+        if (!conflicts.isEmpty()) {
+          conflicts.sort(CONFLICT_ORDER);
+          throw new ConflictException(conflicts);
+        }
+      }
+    }
+    if (!put.getAsBoolean()) {
+      return false;
+    }
+    file(deptCode, courseId, course);
+    return true;
+  }
+
+  /**
+   * Finds the courses of a department that a course would share a room or an instructor with at
+   * an overlapping time, without an index. Used by departments that no index files yet, which
+   * check their own courses only; an index checks the whole snapshot once it is built.
+   *
+   * @param deptCode the department of the course.
+   * @param courseId the id of the course within the department; the course held under it is not
+   *     counted as a clash.
+   * @param course the course to check.
+   * @param attribute the attribute about to change, or null to check the course as it is.
+   * @param value the new value of the attribute, already validated; ignored if it is null.
+   * @param courses the course selection of the department.
+   * @return the clashes, ordered by the course it clashes with; empty if there are none.
+   */
+  static List<Conflict> findClashes(
+      String deptCode,
+      String courseId,
+      Course course,
+      Attribute attribute,
+      String value,
+      Map<String, Course> courses) {
+    String instructorName = attribute == Attribute.INSTRUCTOR ? value : course.getInstructorName();
+    String location = attribute == Attribute.LOCATION ? value : course.getCourseLocation();
+    String timeSlot = attribute == Attribute.TIME_SLOT ? value : course.getCourseTimeSlot();
+    String slot = key(Attribute.TIME_SLOT, timeSlot);
+    if (slot == null) {
+      return List.of();
+    }
+    int start = TimeSlots.startMinute(Integer.parseInt(slot));
+    int end = end(Integer.parseInt(slot));
+    // a change of instructor or location books only that one anew, like in change()
+    String room = attribute == Attribute.INSTRUCTOR ? null : key(Attribute.LOCATION, location);
+    String instructor =
+        attribute == Attribute.LOCATION ? null : key(Attribute.INSTRUCTOR, instructorName);
+    List<Conflict> conflicts = new ArrayList<>();
+    Match match = new Entry(deptCode, courseId, course).match();
+    for (Map.Entry<String, Course> held : courses.entrySet()) {
+      String otherSlot = key(Attribute.TIME_SLOT, held.getValue());
+      if (held.getKey().equals(courseId) || otherSlot == null) {
+        continue;
+      }
+      int otherStart = TimeSlots.startMinute(Integer.parseInt(otherSlot));
+      int otherEnd = end(Integer.parseInt(otherSlot));
+      // slots without length are never booked, see rebook
+      if (start < end && otherStart < otherEnd && otherStart < end && start < otherEnd) {
+        Course other = held.getValue();
+        Match otherMatch = new Entry(deptCode, held.getKey(), other).match();
+        if (room != null && room.equals(key(Attribute.LOCATION, other))) {
+          conflicts.add(new Conflict(Resource.ROOM, match, otherMatch));
+        }
+        if (instructor != null && instructor.equals(key(Attribute.INSTRUCTOR, other))) {
+          conflicts.add(new Conflict(Resource.INSTRUCTOR, match, otherMatch));
+        }
+      }
+    }
+    conflicts.sort(CONFLICT_ORDER);
+    return conflicts;
+  }
+
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the same course may be added again
+  private void file(String deptCode, String courseId, Course course) {
+    course.setAttributeIndex(this);
+    departments.put(normalize(deptCode), deptCode);
+    Entry previous = entriesById.get(deptCode + ' ' + courseId);
+    if (previous != null && previous.course != course) {
+      remove(previous);
+    }
+    Entry entry = entries.get(course);
+    if (entry == null) {
+      entry = new Entry(deptCode, courseId, course);
+      entries.put(course, entry);
+      entriesById.put(deptCode + ' ' + courseId, entry);
+    }
+    update(entry);
+  }
+
+  private synchronized void build() {
+    if (built) {
+      return;
+    }
+    for (Map.Entry<String, Department> department : mapping.entrySet()) {
+      // from here on, courses are added to the department through this index, which is held
+      department.getValue().setAttributeIndex(this);
+      Map<String, Course> courses = department.getValue().getCourseSelection();
+      if (courses != null) {
+        for (Map.Entry<String, Course> course : courses.entrySet()) {
+          file(department.getKey(), course.getKey(), course.getValue());
+        }
+      }
+    }
+    // one merge per term rather than one copy of its values per course
+    Map<String, List<Entry>> codeTerms = new HashMap<>();
+    Map<String, List<Entry>> nameTerms = new HashMap<>();
+    for (Entry entry : entries.values()) {
+      for (String term : codeTerms(entry)) {
+        codeTerms.computeIfAbsent(term, t -> new ArrayList<>()).add(entry);
+      }
+      for (String term : nameTerms(entry.keys[Attribute.INSTRUCTOR.ordinal()])) {
+        nameTerms.computeIfAbsent(term, t -> new ArrayList<>()).add(entry);
+      }
+    }
+    codeTerms.forEach(codes::addAll);
+    nameTerms.forEach(names::addAll);
+    built = true;
+  }
+
+  private void update(Entry entry) {
+    // the version is bumped after the fields are written and before the course reads its index,
+    // so reading it first makes the new values visible here
+    entry.course.getVersion();
+    String previousName = entry.keys[Attribute.INSTRUCTOR.ordinal()];
+    boolean renamed = move(entry, Attribute.INSTRUCTOR);
+    boolean instructorChanged = renamed;
+    boolean roomChanged = move(entry, Attribute.LOCATION);
+    if (move(entry, Attribute.TIME_SLOT)) {
+      entry.slot = Integer.parseInt(entry.keys[Attribute.TIME_SLOT.ordinal()]);
+      instructorChanged = true;
+      roomChanged = true;
+    }
+    if (roomChanged) {
+      entry.room = rebook(roomSchedules, entry.room, entry, Attribute.LOCATION);
+    }
+    if (instructorChanged) {
+      entry.instructor = rebook(instructorSchedules, entry.instructor, entry, Attribute.INSTRUCTOR);
+    }
+    // while building, the tries are filled at the end
+    if (built && renamed) {
+      if (previousName == null) {
+        for (String term : codeTerms(entry)) {
+          codes.add(term, entry);
+        }
+      } else {
+        for (String term : nameTerms(previousName)) {
+          names.remove(term, entry);
+        }
+      }
+      for (String term : nameTerms(entry.keys[Attribute.INSTRUCTOR.ordinal()])) {
+        names.add(term, entry);
+      }
+    }
+  }
+
+  private boolean move(Entry entry, Attribute attribute) {
+    String key = key(attribute, entry.course);
+    String current = entry.keys[attribute.ordinal()];
+    if (key.equals(current)) {
+      return false;
+    }
+    if (current != null) {
+      removeFromBucket(attribute, current, entry);
+    }
+    buckets.get(attribute).computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry);
+    entry.keys[attribute.ordinal()] = key;
+    return true;
+  }
+
+  private void remove(Entry entry) {
+    if (built) {
+      for (String term : codeTerms(entry)) {
+        codes.remove(term, entry);
+      }
+      for (String term : nameTerms(entry.keys[Attribute.INSTRUCTOR.ordinal()])) {
+        names.remove(term, entry);
+      }
+    }
+    for (Attribute attribute : Attribute.values()) {
+      removeFromBucket(attribute, entry.keys[attribute.ordinal()], entry);
+    }
+    unbook(roomSchedules, entry.room);
+    unbook(instructorSchedules, entry.instructor);
+    entries.remove(entry.course);
+    entriesById.remove(entry.deptCode + ' ' + entry.courseId);
+  }
+
+  private void removeFromBucket(Attribute attribute, String key, Entry entry) {
+    Map<String, Set<Entry>> attributeBuckets = buckets.get(attribute);
+    Set<Entry> bucket = attributeBuckets.get(key);
+    if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+      attributeBuckets.remove(key, bucket);
+    }
+  }
+
+  private static Booking rebook(
+      Map<String, IntervalTree<Entry>> schedules, Booking previous, Entry entry, Attribute by) {
+    unbook(schedules, previous);
+    int start = TimeSlots.startMinute(entry.slot);
+    int end = end(entry.slot);
+    if (end <= start) {
+      // a slot without length never clashes
+      return null;
+    }
+    String key = entry.keys[by.ordinal()];
+    IntervalTree<Entry> schedule = schedules.computeIfAbsent(key, k -> new IntervalTree<>());
+    return new Booking(key, schedule.insert(start, end, entry));
+  }
+
+  private static void unbook(Map<String, IntervalTree<Entry>> schedules, Booking booking) {
+    if (booking != null) {
+      IntervalTree<Entry> schedule = schedules.get(booking.key());
+      schedule.remove(booking.interval());
+      if (schedule.isEmpty()) {
+        schedules.remove(booking.key());
+      }
+    }
+  }
+
+  /**
+   * Adds the courses booked on the given room or instructor at a time overlapping the slot, other
+   * than the course filed under the id of {@code entry}.
+   */
+  private void collect(List<Conflict> out, Resource resource, String key, int slot, Entry entry) {
+    IntervalTree<Entry> schedule =
+        (resource == Resource.ROOM ? roomSchedules : instructorSchedules).get(key);
+    if (schedule == null) {
+      return;
+    }
+    Match course = entry.match();
+    schedule.forEachOverlapping(
+        TimeSlots.startMinute(slot),
+        end(slot),
+        booked -> {
+          Entry other = booked.getValue();
+          if (entry.compareTo(other) != 0) {
+            out.add(new Conflict(resource, course, other.match()));
+          }
+        });
+  }
+
+  /**
+   * Adds every pair of bookings of one room or instructor that overlap, the course ordered first
+   * in each pair first. Sorting by start lets each booking be paired with the bookings still open
+   * when it starts.
+   */
+  private static void sweep(List<Booked> bookings, Resource resource, List<Conflict> out) {
+    bookings.sort(BOOKED_ORDER);
+    List<Booked> open = new ArrayList<>();
+    String key = null;
+    for (Booked booked : bookings) {
+      if (!booked.key().equals(key)) {
+        open.clear();
+        key = booked.key();
+      }
+      open.removeIf(earlier -> earlier.end() <= booked.start());
+      for (Booked earlier : open) {
+        out.add(
+            ORDER.compare(earlier.match(), booked.match()) < 0
+                ? new Conflict(resource, earlier.match(), booked.match())
+                : new Conflict(resource, booked.match(), earlier.match()));
+      }
+      open.add(booked);
+    }
+  }
+
+  private static int end(int slot) {
+    int start = TimeSlots.startMinute(slot);
+    int end = TimeSlots.endMinute(slot);
+    return end < start ? end + HALF_DAY_MINUTES : end;
+  }
+
+  private static String key(Attribute attribute, Course course) {
+    return switch (attribute) {
+      case INSTRUCTOR -> key(attribute, course.getInstructorName());
+      case LOCATION -> key(attribute, course.getCourseLocation());
+      case TIME_SLOT -> key(attribute, course.getCourseTimeSlot());
+    };
+  }
+
+  private static String key(Attribute attribute, String value) {
+    if (value == null) {
+      return null;
+    }
+    if (attribute == Attribute.TIME_SLOT) {
+      int minutes = TimeSlots.parse(value.trim());
+      return minutes == TimeSlots.INVALID ? null : Integer.toString(minutes);
+    }
+    return normalize(value);
+  }
+
+  private static List<String> codeTerms(Entry entry) {
+    return List.of(normalize(entry.deptCode), normalize(entry.courseId));
+  }
+
+  /** The name and every part of it that starts a word after the first. */
+  private static List<String> nameTerms(String name) {
+    List<String> terms = new ArrayList<>();
+    terms.add(name);
+    for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+      terms.add(name.substring(i + 1));
+    }
+    return terms;
+  }
+
+  private static boolean matches(Entry entry, String query) {
+    String deptCode = normalize(entry.deptCode);
+    String courseId = normalize(entry.courseId);
+    String name = key(Attribute.INSTRUCTOR, entry.course);
+    return deptCode.startsWith(query)
+        || courseId.startsWith(query)
+        || (deptCode + ' ' + courseId).startsWith(query)
+        || name.startsWith(query)
+        || name.contains(" " + query);
+  }
+
+  private static String normalize(String value) {
+    StringBuilder key = new StringBuilder(value.length());
+    boolean space = false;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isWhitespace(c)) {
+        space = key.length() > 0;
+      } else {
+        if (space) {
+          key.append(' ');
+          space = false;
+        }
+        key.append(Character.toLowerCase(c));
+      }
+    }
+    return key.toString();
+  }
+
+  /** Where a course is booked in the schedule of a room or an instructor. */
+  private record Booking(String key, IntervalTree.Interval<Entry> interval) {}
+
+  /** A course booked on a room or an instructor from its start to its end minute. */
+  private record Booked(String key, int start, int end, Match match) {}
+
+  /** A course together with the keys it is currently filed under. */
+  private static final class Entry {
+    private final String deptCode;
+    private final String courseId;
+    private final Course course;
+    private final String[] keys = new String[Attribute.values().length];
+    // the parsed time slot, see TimeSlots
+    private int slot;
+    private Booking room;
+    private Booking instructor;
+
+    Entry(String deptCode, String courseId, Course course) {
+      this.deptCode = deptCode;
+      this.courseId = courseId;
+      this.course = course;
+    }
+
+    Match match() {
+      return new Match(
+          deptCode,
+          courseId,
+          course.getInstructorName(),
+          course.getCourseLocation(),
+          course.getCourseTimeSlot());
+    }
+
+    int compareTo(Entry other) {
+      int order = deptCode.compareTo(other.deptCode);
+      return order != 0 ? order : courseId.compareTo(other.courseId);
+    }
+  }
+}
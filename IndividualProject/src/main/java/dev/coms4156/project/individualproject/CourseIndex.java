@@ -0,0 +1,178 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Resolves a course from its department code and numeric course code in a single probe of an
+ * open-addressing hash table keyed by a packed {@code long}: the department's index id in the
+ * upper 32 bits and the course code in the lower 32 bits.
+ *
+ * <p>Each index belongs to one {@link CatalogSnapshot} and is filled on demand: the first lookup
+ * of a course goes through the department mapping and records the result, and every later lookup
+ * is a lock-free probe that allocates nothing. Filling on demand keeps a lazily loaded
+ * {@link MappedCatalog} lazy. Lookups of courses that do not exist are not recorded and always go
+ * through the mapping.
+ *
+ * <p>Entries are never removed. A course replaced with a new {@code Course} under the same id is
+ * detached from its department (see {@link Course#isOffered()}), so its entry is looked up again
+ * through the mapping and overwritten with the new course. Replacing a department publishes a new
+ * snapshot and therefore a new index.
+ */
+public final class CourseIndex {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  /** Key value marking an empty slot; packed keys never take it because ids start at one. */
+  private static final long EMPTY = 0L;
+
+  private final Map<String, Department> mapping;
+  private final Map<String, Integer> departmentIds = new ConcurrentHashMap<>();
+  private final AtomicInteger lastDepartmentId = new AtomicInteger();
+  private final AtomicReference<Table> table =
+      new AtomicReference<>(new Table(INITIAL_CAPACITY));
+
+  /**
+   * Constructs an empty index over the given mapping.
+   *
+   * @param mapping the unmodifiable mapping of department codes to Department objects to index.
+   */
+  CourseIndex(Map<String, Department> mapping) {
+    this.mapping = mapping;
+  }
+
+  /**
+   * Finds a course by department code and course code.
+   *
+   * @param deptCode the department code, matched exactly.
+   * @param courseCode the course code within the department.
+   * @return the course, or null if the department or the course does not exist.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the indexed course itself is current
+  public Course find(String deptCode, int courseCode) {
+    Integer deptId = departmentIds.get(deptCode);
+    Course indexed = null;
+    if (deptId != null) {
+      indexed = table.get().get(pack(deptId, courseCode));
+      if (indexed != null && indexed.isOffered()) {
+        return indexed;
+      }
+    }
+    Department department = mapping.get(deptCode);
+    if (department == null) {
+      return null;
+    }
+    Course course = department.getCourse(courseCode);
+    if (course != null && course != indexed) {
+      if (deptId == null) {
+        deptId =
+            departmentIds.computeIfAbsent(deptCode, code -> lastDepartmentId.incrementAndGet());
+      }
+      insert(pack(deptId, courseCode), course);
+    }
+    return course;
+  }
+
+  /**
+   * Gets the number of courses recorded in the index so far.
+   *
+   * @return the number of indexed courses.
+   */
+  public synchronized int size() {
+    return table.get().size;
+  }
+
+  private static long pack(int deptId, int courseCode) {
+    return ((long) deptId << 32) | (courseCode & 0xFFFFFFFFL);
+  }
+
+  /** Inserts are rare, so they are serialized; reads never take the lock. */
+  private synchronized void insert(long key, Course course) {
+    Table current = table.get();
+    if (current.replace(key, course)) {
+      return;
+    }
+    if ((current.size + 1) * 2 > current.capacity()) {
+      current = current.grow();
+      table.set(current);
+    }
+    current.put(key, course);
+  }
+
+  /**
+   * Linear-probing table. Readers see a slot's course before its key, because the course is
+   * written first and both arrays have volatile semantics.
+   */
+  private static final class Table {
+    private final AtomicLongArray keys;
+    private final AtomicReferenceArray<Course> courses;
+    private final int mask;
+    private int size;
+
+    Table(int capacity) {
+      this.keys = new AtomicLongArray(capacity);
+      this.courses = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity - 1;
+    }
+
+    int capacity() {
+      return mask + 1;
+    }
+
+    Course get(long key) {
+      for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+        long found = keys.get(slot);
+        if (found == key) {
+          return courses.get(slot);
+        }
+        if (found == EMPTY) {
+          return null;
+        }
+      }
+    }
+
+    /** Overwrites the course of a key already in the table; false if the key is not. */
+    boolean replace(long key, Course course) {
+      for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+        long found = keys.get(slot);
+        if (found == key) {
+          courses.set(slot, course);
+          return true;
+        }
+        if (found == EMPTY) {
+          return false;
+        }
+      }
+    }
+
+    void put(long key, Course course) {
+      int slot = slot(key);
+      while (keys.get(slot) != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      courses.set(slot, course);
+      keys.set(slot, key);
+      size++;
+    }
+
+    Table grow() {
+      Table larger = new Table(capacity() * 2);
+      for (int i = 0; i <= mask; i++) {
+        long key = keys.get(i);
+        if (key != EMPTY) {
+          larger.put(key, courses.get(i));
+        }
+      }
+      return larger;
+    }
+
+    private int slot(long key) {
+      long mixed = key * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An open-addressing hash table from {@code int} course codes to courses. Keys are stored in a
+ * plain {@code int[]}, so there is no boxing and no key object per entry, and a lookup allocates
+ * nothing.
+ *
+ * <p>Lookups are lock-free and may run concurrently with {@link #put}; puts are serialized. A
+ * slot's key is written before its course is published, and readers treat a slot as occupied only
+ * once its course is visible, so a reader never pairs a course with the wrong key. Entries can be
+ * replaced but not removed.
+ */
+public final class CourseTable {
+
+  private static final int MIN_CAPACITY = 8;
+
+  private final AtomicReference<Slots> slots;
+
+  /** Constructs an empty table. */
+  public CourseTable() {
+    this(0);
+  }
+
+  /**
+   * Constructs an empty table that holds the given number of courses without growing.
+   *
+   * @param expectedSize the number of courses expected to be added.
+   */
+  public CourseTable(int expectedSize) {
+    this.slots = new AtomicReference<>(new Slots(capacityFor(expectedSize)));
+  }
+
+  /**
+   * Gets the course with the given code.
+   *
+   * @param courseCode the course code.
+   * @return the course, or null if there is none.
+   */
+  public Course get(int courseCode) {
+    return slots.get().get(courseCode);
+  }
+
+  /**
+   * Adds a course or replaces the course with the same code.
+   *
+   * @param courseCode the course code.
+   * @param course the course, not null.
+   */
+  public synchronized void put(int courseCode, Course course) {
+    if (course == null) {
+      throw new IllegalArgumentException("Course cannot be null.");
+    }
+    Slots current = slots.get();
+    if (current.replace(courseCode, course)) {
+      return;
+    }
+    if (current.size + 1 > current.capacity() * 3 / 4) {
+      current = current.grow();
+      slots.set(current);
+    }
+    current.insert(courseCode, course);
+  }
+
+  /**
+   * Gets the number of courses in the table.
+   *
+   * @return the number of courses.
+   */
+  public synchronized int size() {
+    return slots.get().size;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * 3 / 4 < expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /** One generation of the table; replaced wholesale when it grows. */
+  private static final class Slots {
+    private final int[] keys;
+    private final AtomicReferenceArray<Course> courses;
+    private final int mask;
+    private int size;
+
+    Slots(int capacity) {
+      this.keys = new int[capacity];
+      this.courses = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity - 1;
+    }
+
+    int capacity() {
+      return mask + 1;
+    }
+
+    Course get(int key) {
+      for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+        // reading the course first makes the key written before it visible
+        Course course = courses.get(slot);
+        if (course == null) {
+          return null;
+        }
+        if (keys[slot] == key) {
+          return course;
+        }
+      }
+    }
+
+    boolean replace(int key, Course course) {
+      for (int slot = slot(key); courses.get(slot) != null; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          courses.set(slot, course);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void insert(int key, Course course) {
+      int slot = slot(key);
+      while (courses.get(slot) != null) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      courses.set(slot, course);
+      size++;
+    }
+
+    Slots grow() {
+      Slots larger = new Slots(capacity() * 2);
+      for (int i = 0; i <= mask; i++) {
+        Course course = courses.get(i);
+        if (course != null) {
+          larger.insert(keys[i], course);
+        }
+      }
+      return larger;
+    }
+
+    private int slot(int key) {
+      // course codes are dense and sequential, so spread them before masking
+      int mixed = key * 0x9E3779B9;
+      return (mixed ^ (mixed >>> 16)) & mask;
+    }
+  }
+}
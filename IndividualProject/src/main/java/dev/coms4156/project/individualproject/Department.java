@@ -1,30 +1,75 @@
 package dev.coms4156.project.individualproject;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BooleanSupplier;
 
 /**
  * Represents a department within an educational institution. This class stores information about
  * the department, including its code, courses offered, department chair, and number of majors.
+ *
+ * <p>A department stays in place across catalog snapshots and is changed by concurrent requests:
+ * its courses are held in a {@link ConcurrentHashMap}, and the number of majors is only changed
+ * through compare-and-set, so readers never see a half-applied change and no update is lost.
  */
+@SuppressWarnings("PMD.AvoidUsingVolatile") // fields shared by requests without locking
 public class Department implements Serializable {
   @Serial private static final long serialVersionUID = 234567L;
-  private final Map<String, Course> courses;
+  private static final AtomicIntegerFieldUpdater<Department> VERSION =
+      AtomicIntegerFieldUpdater.newUpdater(Department.class, "version");
+  private static final AtomicIntegerFieldUpdater<Department> MAJORS =
+      AtomicIntegerFieldUpdater.newUpdater(Department.class, "numberOfMajors");
+  // a ConcurrentHashMap, also after deserializing older files that hold a HashMap
+  private Map<String, Course> courses;
   private final String departmentChair;
   private final String deptCode;
-  private int numberOfMajors;
+  // volatile because it is updated through MAJORS
+  private volatile int numberOfMajors;
+  // int-keyed view of the numeric course ids, rebuilt after deserialization
+  private transient CourseTable courseTable;
+  // bumped after every change to the department, so that cached responses can tell they are stale
+  private transient volatile int version;
+  // told about added courses once it is built; until then, added and reassigned courses are
+  // checked against the other courses of this department
+  private transient volatile CourseAttributeIndex attributeIndex;
+  // running totals of the courses, rebuilt after deserialization
+  private transient DepartmentStatistics statistics;
 
   /**
    * Constructs a new Department object with the given parameters.
    *
    * @param deptCode The code of the department.
-   * @param courses A Map containing courses offered by the department.
+   * @param courses A Map containing courses offered by the department, which is copied.
    * @param departmentChair The name of the department chair.
    * @param numberOfMajors The number of majors in the department.
    */
   public Department(
       String deptCode, Map<String, Course> courses, String departmentChair, int numberOfMajors) {
+    this(deptCode, courses, departmentChair, numberOfMajors, null);
+  }
+
+  /**
+   * Constructs a new Department object whose totals are also added to the given campus totals.
+   *
+   * @param deptCode The code of the department.
+   * @param courses A Map containing courses offered by the department, which is copied.
+   * @param departmentChair The name of the department chair.
+   * @param numberOfMajors The number of majors in the department.
+   * @param campus The totals every change of the department's totals is added to, or null.
+   */
+  Department(
+      String deptCode,
+      Map<String, Course> courses,
+      String departmentChair,
+      int numberOfMajors,
+      DepartmentStatistics campus) {
 
     // check department code for null/empty-string
     if (deptCode == null || deptCode.trim().isEmpty()) {
@@ -42,9 +87,63 @@ public class Department implements Serializable {
     }
 
     this.deptCode = deptCode;
-    this.courses = courses;
+    this.courses = courses == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(courses);
     this.departmentChair = departmentChair;
     this.numberOfMajors = numberOfMajors;
+    this.courseTable = indexCourses(this.courses);
+    this.statistics = countCourses(this.courses, campus);
+    offerCourses();
+  }
+
+  private void offerCourses() {
+    for (Course course : courses.values()) {
+      course.setOfferingDepartment(this);
+    }
+  }
+
+  private static DepartmentStatistics countCourses(
+      Map<String, Course> courses, DepartmentStatistics campus) {
+    DepartmentStatistics statistics = new DepartmentStatistics(campus);
+    if (courses != null) {
+      for (Course course : courses.values()) {
+        statistics.add(course);
+      }
+    }
+    return statistics;
+  }
+
+  private static CourseTable indexCourses(Map<String, Course> courses) {
+    if (courses == null) {
+      return new CourseTable();
+    }
+    CourseTable table = new CourseTable(courses.size());
+    for (Map.Entry<String, Course> entry : courses.entrySet()) {
+      indexCourse(table, entry.getKey(), entry.getValue());
+    }
+    return table;
+  }
+
+  private static void indexCourse(CourseTable table, String courseId, Course course) {
+    int courseCode;
+    try {
+      courseCode = Integer.parseInt(courseId);
+    } catch (NumberFormatException e) {
+      // ids that are not numbers cannot be looked up by course code
+      return;
+    }
+    if (Integer.toString(courseCode).equals(courseId)) {
+      table.put(courseCode, course);
+    }
+  }
+
+  @Serial
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // copied even when already concurrent, so the iteration order matches a new department's
+    this.courses = courses == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(courses);
+    this.courseTable = indexCourses(courses);
+    this.statistics = countCourses(courses, null);
+    offerCourses();
   }
 
   /** Gets the department code. */
@@ -71,27 +170,91 @@ public class Department implements Serializable {
   }
 
   /**
-   * Gets the courses offered by the department.
+   * Gets the version of the department, which increases with every change to the number of majors
+   * and every course added. Changes to the courses themselves are tracked by
+   * {@link Course#getVersion()}.
    *
-   * @return A Map containing courses offered by the department.
+   * @return The version.
+   */
+  public int getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Gets the number of modifications of the department and of its courses. It goes up with every
+   * change to the number of majors, every course added and every change to a course the department
+   * offers, and never goes down, so no two states of the department share a count.
+   *
+   * @return The modification count.
+   */
+  public long getModificationCount() {
+    return this.statistics.modificationCount();
+  }
+
+  /**
+   * Gets the number of courses, seats and enrolled students of the department and how many of its
+   * courses are full. The totals are kept up to date as courses change, so this visits no course.
+   *
+   * @return The totals.
+   */
+  public DepartmentStatistics.Totals getStatistics() {
+    return this.statistics.totals();
+  }
+
+  /**
+   * Gets the courses offered by the department. The map cannot be changed; courses are added
+   * through {@link #addCourse}, so that they are checked, counted and found by course code.
+   *
+   * @return An unmodifiable view of the courses offered by the department.
    */
   public Map<String, Course> getCourseSelection() {
-    return this.courses;
+    return Collections.unmodifiableMap(this.courses);
+  }
+
+  /**
+   * Gets a course by its numeric course code without converting the code to a String.
+   *
+   * @param courseCode The course code, e.g. 1004 for the course with id "1004".
+   * @return The course, or null if the department has no such course.
+   */
+  public Course getCourse(int courseCode) {
+    return courseTable.get(courseCode);
   }
 
   /** Increases the number of majors in the department by one. */
   public void addPersonToMajor() {
-    this.numberOfMajors++;
+    MAJORS.incrementAndGet(this);
+    VERSION.incrementAndGet(this);
+    statistics.departmentChanged();
   }
 
   /** Decreases the number of majors in the department by one if it's greater than zero. */
   public void dropPersonFromMajor() {
-    if (this.numberOfMajors <= 0) {
-      throw new IllegalArgumentException(
-          "Can only remove a major from a department if there is at least 1 major in a"
-              + "department.");
+    int current;
+    do {
+      current = this.numberOfMajors;
+      if (current <= 0) {
+        throw new IllegalArgumentException(
+            "Can only remove a major from a department if there is at least 1 major in a"
+                + "department.");
+      }
+    } while (!MAJORS.compareAndSet(this, current, current - 1));
+    VERSION.incrementAndGet(this);
+    statistics.departmentChanged();
+  }
+
+  /**
+   * Restores the number of majors, used when recovering the department from the write-ahead log.
+   *
+   * @param numberOfMajors The number of majors in the department.
+   */
+  void setNumberOfMajors(int numberOfMajors) {
+    if (numberOfMajors < 0) {
+      throw new IllegalArgumentException("Number of majors must be a positive number.");
     }
-    this.numberOfMajors--;
+    this.numberOfMajors = numberOfMajors;
+    VERSION.incrementAndGet(this);
+    statistics.departmentChanged();
   }
 
   /**
@@ -114,10 +277,15 @@ public class Department implements Serializable {
   }
 
   /**
-   * Adds a new course to the department's course selection.
+   * Adds a new course to the department's course selection. A course that would share a room or an
+   * instructor with another course at an overlapping time is refused: with another course of the
+   * department until the department is indexed, and with any course of the snapshot from then on,
+   * see {@link CourseAttributeIndex}.
    *
    * @param courseId The ID of the course to add.
    * @param course The Course object to add.
+   * @throws IllegalArgumentException if the ID is null or empty or the course is null, or a
+   *     {@link CourseAttributeIndex.ConflictException} if the course clashes with another.
    */
   public void addCourse(String courseId, Course course) {
     // ensure courseId is not null/empty-string
@@ -128,7 +296,107 @@ public class Department implements Serializable {
     if (course == null) {
       throw new IllegalArgumentException("Course cannot be null.");
     }
-    courses.put(courseId, course);
+    boolean added;
+    do {
+      CourseAttributeIndex index = this.attributeIndex;
+      // false when a newer index claimed the department meanwhile; it checks the course again
+      added =
+          index == null
+              ? putCourse(courseId, course, null)
+              : index.add(deptCode, courseId, course, () -> putCourse(courseId, course, index));
+    } while (!added);
+  }
+
+  /**
+   * Puts a course into the course selection if the department is still filed by the given index,
+   * which has checked the course. Holding the lock of the department keeps an index from claiming
+   * it halfway, so the index sees either the course selection before the course was put or after.
+   *
+   * @return false if another index files the department now, and nothing was changed.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the same course may be added again
+  private synchronized boolean putCourse(
+      String courseId, Course course, CourseAttributeIndex index) {
+    if (this.attributeIndex != index) {
+      return false;
+    }
+    if (index == null && courses.get(courseId) != course) {
+      // the course it replaces shares its id, so it is not counted as a clash
+      List<CourseAttributeIndex.Conflict> conflicts =
+          CourseAttributeIndex.findClashes(deptCode, courseId, course, null, null, courses);
+      if (!conflicts.isEmpty()) {
+        throw new CourseAttributeIndex.ConflictException(conflicts);
+      }
+    }
+    Course previous = courses.put(courseId, course);
+    if (previous != course) {
+      if (previous != null) {
+        statistics.remove(previous);
+        previous.clearOfferingDepartment(this);
+      }
+      statistics.add(course);
+      course.setOfferingDepartment(this);
+    }
+    indexCourse(courseTable, courseId, course);
+    VERSION.incrementAndGet(this);
+    statistics.departmentChanged();
+    if (previous != course) {
+      SeatChanges.catalogChanged();
+    }
+    return true;
+  }
+
+  /**
+   * Checks and makes a change of an attribute of a course of this department while no index files
+   * it, against the other courses of the department. Called by the course, which changes itself in
+   * {@code apply}; holding the lock of the department keeps the courses from changing meanwhile.
+   *
+   * @param course the course to change.
+   * @param attribute the attribute to change.
+   * @param value the new value, already validated.
+   * @param apply makes the change; false if an index files the course now.
+   * @return the clashes that prevented the change, an empty list if the course was changed, or
+   *     null if an index files the department now, or {@code apply} did not make the change.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the course to change
+  synchronized List<CourseAttributeIndex.Conflict> reassign(
+      Course course,
+      CourseAttributeIndex.Attribute attribute,
+      String value,
+      BooleanSupplier apply) {
+    boolean unindexed = this.attributeIndex == null;
+    if (unindexed) {
+      for (Map.Entry<String, Course> entry : courses.entrySet()) {
+        if (entry.getValue() == course) {
+          List<CourseAttributeIndex.Conflict> conflicts =
+              CourseAttributeIndex.findClashes(
+                  deptCode, entry.getKey(), course, attribute, value, courses);
+          if (!conflicts.isEmpty()) {
+            return conflicts;
+          }
+          break;
+        }
+      }
+    }
+    return unindexed && apply.getAsBoolean() ? List.of() : null;
+  }
+
+  /**
+   * Gets the index that checks and files the courses added to this department.
+   *
+   * @return the index, or null while the department is not indexed.
+   */
+  CourseAttributeIndex getAttributeIndex() {
+    return this.attributeIndex;
+  }
+
+  /**
+   * Sets the index that checks and files the courses added to this department.
+   *
+   * @param index the index that files the courses of this department.
+   */
+  synchronized void setAttributeIndex(CourseAttributeIndex index) {
+    this.attributeIndex = index;
   }
 
   /**
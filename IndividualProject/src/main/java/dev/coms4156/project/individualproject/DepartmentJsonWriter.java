@@ -0,0 +1,183 @@
+package dev.coms4156.project.individualproject;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes a department as JSON straight to an output stream:
+ *
+ * <pre>{@code
+ * {"deptCode":"COMS","departmentChair":"Luca Carloni","numberOfMajors":2700,
+ *  "courses":{"1004":{"instructorName":"Adam Cannon","courseLocation":"417 IAB",
+ *  "courseTimeSlot":"11:40-12:55","enrollmentCapacity":400,"enrolledStudentCount":249},...}}
+ * }</pre>
+ *
+ * <p>Output goes through one fixed-size buffer, so the memory a response takes does not grow with
+ * the department. Each course's fields up to its enrolled student count are encoded to UTF-8 once
+ * and kept by the course (see {@link Course#jsonFragment()}), so a repeated request copies bytes
+ * instead of encoding strings; the count changes with every enrollment and is written per request.
+ */
+public final class DepartmentJsonWriter {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /** Longest int in decimal: a sign and 10 digits. */
+  private static final int MAX_INT_LENGTH = 11;
+
+  private static final byte[] DEPT_CODE = ascii("{\"deptCode\":");
+  private static final byte[] DEPARTMENT_CHAIR = ascii(",\"departmentChair\":");
+  private static final byte[] NUMBER_OF_MAJORS = ascii(",\"numberOfMajors\":");
+  private static final byte[] COURSES = ascii(",\"courses\":{");
+  private static final byte[] END = ascii("}}");
+
+  private final OutputStream out;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int position;
+
+  private DepartmentJsonWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  /**
+   * Writes a department and all of its courses. The stream is flushed but not closed.
+   *
+   * @param department the department to write.
+   * @param out the stream to write the UTF-8 JSON to.
+   * @throws IOException if the stream fails.
+   */
+  public static void write(Department department, OutputStream out) throws IOException {
+    DepartmentJsonWriter writer = new DepartmentJsonWriter(out);
+    writer.writeBytes(DEPT_CODE);
+    writer.writeString(department.getDepartmentCode());
+    writer.writeBytes(DEPARTMENT_CHAIR);
+    writer.writeString(department.getDepartmentChair());
+    writer.writeBytes(NUMBER_OF_MAJORS);
+    writer.writeInt(department.getNumberOfMajors());
+    writer.writeBytes(COURSES);
+    boolean first = true;
+    for (Map.Entry<String, Course> entry : department.getCourseSelection().entrySet()) {
+      if (!first) {
+        writer.writeByte(',');
+      }
+      first = false;
+      Course course = entry.getValue();
+      writer.writeString(entry.getKey());
+      writer.writeByte(':');
+      writer.writeBytes(course.jsonFragment());
+      writer.writeInt(course.getEnrolledStudentCount());
+      writer.writeByte('}');
+    }
+    writer.writeBytes(END);
+    writer.flush();
+  }
+
+  /**
+   * Encodes the fields of a course that only change when the course is reassigned, as the start of
+   * a JSON object that ends just before the enrolled student count.
+   *
+   * @return the UTF-8 bytes of the fragment.
+   */
+  static byte[] encodeCourse(
+      String instructorName, String courseLocation, String timeSlot, int capacity) {
+    StringBuilder json = new StringBuilder(128);
+    json.append("{\"instructorName\":");
+    appendQuoted(json, instructorName);
+    json.append(",\"courseLocation\":");
+    appendQuoted(json, courseLocation);
+    json.append(",\"courseTimeSlot\":");
+    appendQuoted(json, timeSlot);
+    json.append(",\"enrollmentCapacity\":").append(capacity).append(",\"enrolledStudentCount\":");
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void appendQuoted(StringBuilder json, String value) {
+    json.append('"');
+    JsonStringEncoder.getInstance().quoteAsString(value, json);
+    json.append('"');
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private void writeByte(char c) throws IOException {
+    if (position == BUFFER_SIZE) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte) c;
+  }
+
+  private void writeBytes(byte[] bytes) throws IOException {
+    if (bytes.length > BUFFER_SIZE - position) {
+      flushBuffer();
+      if (bytes.length > BUFFER_SIZE) {
+        out.write(bytes);
+        return;
+      }
+    }
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  /** Writes a quoted string; plain ASCII, the usual case, is copied without allocating. */
+  private void writeString(String value) throws IOException {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x20 || c >= 0x7F || c == '"' || c == '\\') {
+        writeByte('"');
+        writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        writeByte('"');
+        return;
+      }
+    }
+    if (length + 2 > BUFFER_SIZE - position) {
+      flushBuffer();
+    }
+    if (length + 2 > BUFFER_SIZE) {
+      writeByte('"');
+      writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+      writeByte('"');
+      return;
+    }
+    buffer[position++] = '"';
+    for (int i = 0; i < length; i++) {
+      buffer[position++] = (byte) value.charAt(i);
+    }
+    buffer[position++] = '"';
+  }
+
+  private void writeInt(int value) throws IOException {
+    if (BUFFER_SIZE - position < MAX_INT_LENGTH) {
+      flushBuffer();
+    }
+    long remaining = value;
+    if (remaining < 0) {
+      buffer[position++] = '-';
+      remaining = -remaining;
+    }
+    int digits = 1;
+    for (long bound = 10; bound <= remaining; bound *= 10) {
+      digits++;
+    }
+    int end = position + digits;
+    for (int i = end - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    position = end;
+  }
+
+  private void flushBuffer() throws IOException {
+    out.write(buffer, 0, position);
+    position = 0;
+  }
+
+  private void flush() throws IOException {
+    flushBuffer();
+    out.flush();
+  }
+}
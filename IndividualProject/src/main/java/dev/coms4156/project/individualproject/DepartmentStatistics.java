@@ -0,0 +1,205 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the courses of one department: the number of courses, seats and enrolled
+ * students, and how many courses are full. The totals are kept up to date by the changes
+ * themselves: {@link Course#enrollStudent}, {@link Course#dropStudent} and
+ * {@link Course#setEnrolledStudentCount} pass on the change they made, and
+ * {@link Department#addCourse} counts the course it adds and uncounts the one it replaces. Reading
+ * the totals therefore never visits a course. The totals of a department may also pass every
+ * change on to campus totals, so that those never visit a department either.
+ *
+ * <p>Each total is a {@link LongAdder}, striped across the threads that update it, so requests
+ * enrolling in courses of the same department do not contend on one counter. Every total is
+ * exact on its own; totals read while students enroll may be a few changes apart from each other.
+ * A course holds the enrolled count its totals have seen, and replaces it together with the totals
+ * in one compare-and-set, so a course added or replaced while students enroll passes each change
+ * to exactly one department. Courses only enter a department when it is constructed or through
+ * {@link Department#addCourse}, as its course selection cannot be changed otherwise.
+ *
+ * <p>The same changes, together with the department's own, also step a modification count that
+ * only goes up, so that a response rendered from the department can tell when it is stale.
+ */
+public final class DepartmentStatistics {
+
+  /**
+   * The totals of a department, or of the campus.
+   *
+   * @param courses the number of courses.
+   * @param capacity the number of seats in all courses.
+   * @param enrolled the number of students enrolled in all courses.
+   * @param fullCourses the number of courses without a free seat.
+   * @param fillPercent the enrolled students as a percentage of the seats; 0 without seats.
+   */
+  public record Totals(
+      long courses, long capacity, long enrolled, long fullCourses, double fillPercent) {
+
+    /** Totals of no course. */
+    public static final Totals NONE = of(0, 0, 0, 0);
+
+    static Totals of(long courses, long capacity, long enrolled, long fullCourses) {
+      return new Totals(
+          courses,
+          capacity,
+          enrolled,
+          fullCourses,
+          capacity == 0 ? 0 : 100.0 * enrolled / capacity);
+    }
+
+    /**
+     * Adds the totals of another department.
+     *
+     * @param other the other totals.
+     * @return the sum.
+     */
+    public Totals plus(Totals other) {
+      return of(
+          courses + other.courses,
+          capacity + other.capacity,
+          enrolled + other.enrolled,
+          fullCourses + other.fullCourses);
+    }
+  }
+
+  /**
+   * The totals of every department of a snapshot and of the whole campus.
+   *
+   * @param campus the sum over all departments.
+   * @param departments the totals of each department by department code, in order of code.
+   */
+  public record Report(Totals campus, Map<String, Totals> departments) {}
+
+  private final LongAdder courses = new LongAdder();
+  private final LongAdder capacity = new LongAdder();
+  private final LongAdder enrolled = new LongAdder();
+  private final LongAdder fullCourses = new LongAdder();
+  private final AtomicLong modifications = new AtomicLong();
+  private final DepartmentStatistics campus;
+
+  /** Constructs totals of no course that pass their changes on to no campus totals. */
+  DepartmentStatistics() {
+    this(null);
+  }
+
+  /**
+   * Constructs totals of no course.
+   *
+   * @param campus the totals every change is also added to, or null.
+   */
+  DepartmentStatistics(DepartmentStatistics campus) {
+    this.campus = campus;
+  }
+
+  /**
+   * Gets the current totals.
+   *
+   * @return the totals.
+   */
+  public Totals totals() {
+    return Totals.of(courses.sum(), capacity.sum(), enrolled.sum(), fullCourses.sum());
+  }
+
+  /**
+   * Gets the number of modifications of the department and of the courses it offers. It is stepped
+   * after each change is made, so a change is visible by the time its count is.
+   *
+   * @return the modification count.
+   */
+  long modificationCount() {
+    return modifications.get();
+  }
+
+  /** Counts a modification of the department itself, such as a changed number of majors. */
+  void departmentChanged() {
+    modifications.incrementAndGet();
+  }
+
+  /** Counts a reassigned instructor, location or time of a course of the department. */
+  void courseChanged() {
+    modifications.incrementAndGet();
+  }
+
+  /**
+   * Counts a course added to the department and starts following its enrollment.
+   *
+   * @param course the course.
+   */
+  void add(Course course) {
+    course.attachStatistics(this);
+  }
+
+  /**
+   * Uncounts a course replaced in the department and stops following its enrollment.
+   *
+   * @param course the course.
+   */
+  void remove(Course course) {
+    course.detachStatistics(this);
+  }
+
+  /**
+   * Counts a course with the given enrolled student count. Called by the course once it follows
+   * these totals.
+   *
+   * @param enrollmentCapacity the capacity of the course.
+   * @param count the enrolled student count the course is counted with.
+   */
+  void count(int enrollmentCapacity, int count) {
+    addTotals(1, enrollmentCapacity, count, count >= enrollmentCapacity ? 1 : 0);
+  }
+
+  /**
+   * Uncounts a course counted with the given enrolled student count. Called by the course once it
+   * stopped following these totals.
+   *
+   * @param enrollmentCapacity the capacity of the course.
+   * @param count the enrolled student count the course was counted with.
+   */
+  void uncount(int enrollmentCapacity, int count) {
+    addTotals(-1, -enrollmentCapacity, -count, count >= enrollmentCapacity ? -1 : 0);
+  }
+
+  /**
+   * Subtracts totals counted elsewhere, such as those a catalog file holds for a department that
+   * is counted here once it is decoded.
+   *
+   * @param totals the totals to subtract.
+   */
+  void subtract(Totals totals) {
+    addTotals(-totals.courses(), -totals.capacity(), -totals.enrolled(), -totals.fullCourses());
+  }
+
+  /**
+   * Records a change of the enrolled student count of a course. Called by the course with the
+   * count these totals held for it and the count they hold from now on.
+   *
+   * @param enrollmentCapacity the capacity of the course.
+   * @param before the count before the change.
+   * @param after the count after the change.
+   */
+  void enrollmentChanged(int enrollmentCapacity, int before, int after) {
+    boolean wasFull = before >= enrollmentCapacity;
+    boolean isFull = after >= enrollmentCapacity;
+    addTotals(0, 0, after - before, isFull == wasFull ? 0 : isFull ? 1 : -1);
+    modifications.incrementAndGet();
+  }
+
+  private void addTotals(long courseCount, long seats, long students, long full) {
+    // an enrollment only moves the enrolled students, so the other adders are left untouched
+    if (courseCount != 0) {
+      courses.add(courseCount);
+      capacity.add(seats);
+    }
+    enrolled.add(students);
+    if (full != 0) {
+      fullCourses.add(full);
+    }
+    if (campus != null) {
+      campus.addTotals(courseCount, seats, students, full);
+    }
+  }
+}
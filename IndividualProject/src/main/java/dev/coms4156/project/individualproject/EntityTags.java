@@ -0,0 +1,117 @@
+package dev.coms4156.project.individualproject;
+
+/**
+ * Builds and matches the entity tags that {@link RouteController} sends with read responses, so
+ * that clients polling an endpoint can ask for the body only when it has changed.
+ *
+ * <p>A department tag names the database instance and catalog snapshot, the endpoint, the
+ * department and its modification count, e.g. {@code "m1x2k3.1-4/GET_MAJOR_COUNT/COMS/17"}. The
+ * modification count only goes up, also when a course is replaced by another one (see {@link
+ * Department#getModificationCount()}), and the snapshot version goes up whenever the mapping is
+ * replaced.
+ *
+ * <p>A course tag names the database instance, the endpoint, the course and the identity and
+ * version of the course object shown, e.g. {@code "m1x2k3.1/RETRIEVE_COURSE/COMS/1004/52.3"}, so
+ * that changes to other courses of the department leave it alone. The version goes up with every
+ * change to the course (see {@link Course#getVersion()}), and a course that replaces it has
+ * another identity even at the same version.
+ *
+ * <p>The database epoch differs with every restart. Responses of different endpoints or entities
+ * never share a tag, so two responses with the same tag always have the same body.
+ */
+public final class EntityTags {
+
+  private EntityTags() {}
+
+  /**
+   * Builds the strong entity tag of a response about a department, including its quotes.
+   *
+   * @param epoch the epoch of the database, see {@link MyFileDatabase#getEpoch()}.
+   * @param snapshotVersion the version of the snapshot, read before the department was looked up.
+   * @param endpoint the endpoint answering.
+   * @param deptCode the code of the department shown.
+   * @param modificationCount the modification count of the department, read before the body is
+   *     rendered.
+   * @return the tag.
+   */
+  public static String ofDepartment(
+      String epoch,
+      long snapshotVersion,
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      long modificationCount) {
+    return new StringBuilder()
+        .append('"')
+        .append(epoch)
+        .append('-')
+        .append(snapshotVersion)
+        .append('/')
+        .append(endpoint.name())
+        .append('/')
+        .append(deptCode)
+        .append('/')
+        .append(modificationCount)
+        .append('"')
+        .toString();
+  }
+
+  /**
+   * Builds the strong entity tag of a response about a course, including its quotes.
+   *
+   * @param epoch the epoch of the database, see {@link MyFileDatabase#getEpoch()}.
+   * @param endpoint the endpoint answering.
+   * @param deptCode the code of the department of the course shown.
+   * @param courseCode the code of the course shown.
+   * @param identity the identity of the course shown, see {@link Course#getIdentity()}.
+   * @param version the version of the course, read before the body is rendered.
+   * @return the tag.
+   */
+  public static String ofCourse(
+      String epoch,
+      ResponseCache.Endpoint endpoint,
+      String deptCode,
+      int courseCode,
+      long identity,
+      int version) {
+    return new StringBuilder()
+        .append('"')
+        .append(epoch)
+        .append('/')
+        .append(endpoint.name())
+        .append('/')
+        .append(deptCode)
+        .append('/')
+        .append(courseCode)
+        .append('/')
+        .append(identity)
+        .append('.')
+        .append(version)
+        .append('"')
+        .toString();
+  }
+
+  /**
+   * Checks an If-None-Match header against a tag, using the weak comparison RFC 9110 prescribes
+   * for it: {@code W/} prefixes are ignored, and {@code *} matches any tag.
+   *
+   * @param ifNoneMatch the header value, may be null.
+   * @param tag the current tag of the resource, as built by {@link #ofDepartment} or {@link
+   *     #ofCourse}.
+   * @return true if the client's copy is current and a 304 response should be sent.
+   */
+  public static boolean matches(String ifNoneMatch, String tag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if (trimmed.startsWith("W/")) {
+        trimmed = trimmed.substring(2);
+      }
+      if ("*".equals(trimmed) || tag.equals(trimmed)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,10 +1,16 @@
 package dev.coms4156.project.individualproject;
 
 import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 /**
@@ -17,16 +23,25 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class IndividualProjectApplication implements CommandLineRunner {
 
   private static final String SETUP_COMMAND = "setup";
+  private static final String IMPORT_COMMAND = "import";
+  private static final String REACTIVE_COMMAND = "reactive";
+  private static final long SHUTDOWN_LOG_FLUSH_MILLIS = 2000;
   public static MyFileDatabase myFileDatabase;
   private static boolean saveData = true;
 
   /**
    * The main launcher for the service all it does is make a call to the overridden run method.
+   * With the argument {@code reactive} the routes are served by {@link ReactiveRouteController} on
+   * a non-blocking server instead of by {@link RouteController} on Tomcat.
    *
    * @param args A {@code String[]} of any potential runtime arguments
    */
   public static void main(String[] args) {
-    SpringApplication.run(IndividualProjectApplication.class, args);
+    SpringApplication application = new SpringApplication(IndividualProjectApplication.class);
+    if (Arrays.asList(args).contains(REACTIVE_COMMAND)) {
+      application.setWebApplicationType(WebApplicationType.REACTIVE);
+    }
+    application.run(args);
   }
 
   /**
@@ -35,10 +50,24 @@ public class IndividualProjectApplication implements CommandLineRunner {
    * @param testData A {@code MyFileDatabase} object referencing test data.
    */
   public static void overrideDatabase(MyFileDatabase testData) {
-    myFileDatabase = testData;
+    replaceDatabase(testData);
     saveData = false;
   }
 
+  /**
+   * Replaces the database and closes the one it replaces, which would otherwise keep its
+   * write-ahead log open.
+   *
+   * @param database the new database.
+   */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the same database may be set again
+  private static void replaceDatabase(MyFileDatabase database) {
+    if (myFileDatabase != null && myFileDatabase != database) {
+      myFileDatabase.close();
+    }
+    myFileDatabase = database;
+  }
+
   /**
    * This contains all the setup logic, it will mainly be focused on loading up and creating an
    * instance of the database based off a saved file or will create a fresh database if the file is
@@ -48,16 +77,57 @@ public class IndividualProjectApplication implements CommandLineRunner {
    */
   @Override
   public void run(String[] args) {
-    for (String arg : args) {
-      if (SETUP_COMMAND.equals(arg)) {
-        myFileDatabase = new MyFileDatabase(1, "./data.txt");
+    for (int i = 0; i < args.length; i++) {
+      if (SETUP_COMMAND.equals(args[i])) {
+        replaceDatabase(new MyFileDatabase(1, "./data.txt"));
         resetDataFile();
-        System.out.println("System Setup");
+        AsyncLog.shared().info("System Setup");
+        return;
+      }
+      if (IMPORT_COMMAND.equals(args[i]) && i + 1 < args.length) {
+        replaceDatabase(new MyFileDatabase(1, "./data.txt"));
+        importDataFile(Paths.get(args[i + 1]));
         return;
       }
     }
-    myFileDatabase = new MyFileDatabase(0, "./data.txt");
-    System.out.println("Start up");
+    replaceDatabase(new MyFileDatabase(0, "./data.txt"));
+    AsyncLog.shared().info("Start up");
+  }
+
+  /**
+   * Replaces the data with a catalog imported from a CSV or NDJSON file, see
+   * {@link CatalogImporter} for the formats.
+   *
+   * @param file the catalog file to import.
+   * @throws UncheckedIOException if the file cannot be read.
+   */
+  @SuppressWarnings("PMD.GuardLogStatement") // AsyncLog has no levels to guard; it formats later
+  public void importDataFile(Path file) {
+    CatalogImporter.Report report;
+    try {
+      report = new CatalogImporter().importFile(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    AsyncLog log = AsyncLog.shared();
+    for (String error : report.errors()) {
+      log.warn("Import row rejected", null, "detail", error);
+    }
+    log.info(
+        "Catalog imported",
+        "file",
+        file,
+        "departments",
+        report.departments().size(),
+        "courses",
+        report.courses(),
+        "rows",
+        report.rows(),
+        "rejected",
+        report.rejected(),
+        "elapsed_ms",
+        report.elapsedNanos() / 1e6);
+    myFileDatabase.setMapping(report.departments());
   }
 
   /** Allows for data to be reset in event of errors. */
@@ -290,9 +360,14 @@ public class IndividualProjectApplication implements CommandLineRunner {
    */
   @PreDestroy
   public void onTermination() {
-    System.out.println("Termination");
+    AsyncLog.shared().info("Termination");
     if (saveData) {
       myFileDatabase.saveContentsToFile();
     }
+    if (myFileDatabase != null) {
+      myFileDatabase.close();
+    }
+    // the writer thread is a daemon and would not outlive the shutdown
+    AsyncLog.shared().flush(SHUTDOWN_LOG_FLUSH_MILLIS);
   }
 }
@@ -0,0 +1,240 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.function.Consumer;
+
+/**
+ * A set of half-open intervals {@code [start, end)} of minutes that finds every interval
+ * overlapping a given one in O(log n + k) for k overlaps.
+ *
+ * <p>The intervals are kept in a treap ordered by start, each node also holding the largest end
+ * in its subtree, so a query skips every subtree that ends before the queried interval starts.
+ * Priorities are derived from an insertion counter rather than drawn at random, so the shape of
+ * the tree is reproducible and still balanced in expectation. The tree is not thread-safe.
+ *
+ * @param <V> the type of the values attached to the intervals.
+ */
+public final class IntervalTree<V> {
+
+  private Interval<V> root;
+  private long inserted;
+  private int count;
+
+  /**
+   * Adds an interval.
+   *
+   * @param start the first minute of the interval.
+   * @param end the minute just past the interval, greater than {@code start}.
+   * @param value the value attached to the interval.
+   * @return the interval, to be passed to {@link #remove}.
+   */
+  public Interval<V> insert(int start, int end, V value) {
+    if (end <= start) {
+      throw new IllegalArgumentException("Interval must end after it starts.");
+    }
+    Interval<V> interval = new Interval<>(start, end, value, inserted++);
+    root = insertInto(root, interval);
+    count++;
+    return interval;
+  }
+
+  /**
+   * Removes an interval returned by {@link #insert}.
+   *
+   * @param interval the interval to remove.
+   * @return true if the interval was in the tree.
+   */
+  public boolean remove(Interval<V> interval) {
+    int before = count;
+    root = removeFrom(root, interval);
+    return count < before;
+  }
+
+  /**
+   * Passes every interval that overlaps {@code [start, end)} to the consumer, in order of start.
+   *
+   * @param start the first minute of the queried interval.
+   * @param end the minute just past the queried interval.
+   * @param consumer receives the overlapping intervals.
+   */
+  public void forEachOverlapping(int start, int end, Consumer<Interval<V>> consumer) {
+    forEachOverlappingBelow(root, start, end, consumer);
+  }
+
+  /**
+   * Gets the number of intervals in the tree.
+   *
+   * @return the number of intervals.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Tells whether the tree holds no interval.
+   *
+   * @return true if the tree is empty.
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  private static <V> Interval<V> insertInto(Interval<V> node, Interval<V> interval) {
+    if (node == null) {
+      return interval;
+    }
+    if (compare(interval, node) < 0) {
+      node.left = insertInto(node.left, interval);
+      if (node.left.priority > node.priority) {
+        return rotateRight(node);
+      }
+    } else {
+      node.right = insertInto(node.right, interval);
+      if (node.right.priority > node.priority) {
+        return rotateLeft(node);
+      }
+    }
+    node.update();
+    return node;
+  }
+
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // intervals of other trees are not removed
+  private Interval<V> removeFrom(Interval<V> node, Interval<V> interval) {
+    if (node == null) {
+      return null;
+    }
+    int order = compare(interval, node);
+    if (order < 0) {
+      node.left = removeFrom(node.left, interval);
+    } else if (order > 0) {
+      node.right = removeFrom(node.right, interval);
+    } else if (node == interval) {
+      count--;
+      return merge(node.left, node.right);
+    }
+    node.update();
+    return node;
+  }
+
+  private static <V> int compare(Interval<V> a, Interval<V> b) {
+    int order = Integer.compare(a.start, b.start);
+    return order != 0 ? order : Long.compare(a.sequence, b.sequence);
+  }
+
+  private static <V> Interval<V> merge(Interval<V> left, Interval<V> right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private static <V> Interval<V> rotateRight(Interval<V> node) {
+    Interval<V> top = node.left;
+    node.left = top.right;
+    top.right = node;
+    node.update();
+    top.update();
+    return top;
+  }
+
+  private static <V> Interval<V> rotateLeft(Interval<V> node) {
+    Interval<V> top = node.right;
+    node.right = top.left;
+    top.left = node;
+    node.update();
+    top.update();
+    return top;
+  }
+
+  private static <V> void forEachOverlappingBelow(
+      Interval<V> node, int start, int end, Consumer<Interval<V>> consumer) {
+    // nothing below ends after start
+    if (node == null || node.maxEnd <= start) {
+      return;
+    }
+    forEachOverlappingBelow(node.left, start, end, consumer);
+    // everything to the right starts at or after this node
+    if (node.start >= end) {
+      return;
+    }
+    if (node.end > start) {
+      consumer.accept(node);
+    }
+    forEachOverlappingBelow(node.right, start, end, consumer);
+  }
+
+  /**
+   * An interval of the tree with its value.
+   *
+   * @param <V> the type of the value.
+   */
+  public static final class Interval<V> {
+    private final int start;
+    private final int end;
+    private final V value;
+    private final long sequence;
+    private final long priority;
+    private int maxEnd;
+    private Interval<V> left;
+    private Interval<V> right;
+
+    private Interval(int start, int end, V value, long sequence) {
+      this.start = start;
+      this.end = end;
+      this.value = value;
+      this.sequence = sequence;
+      // a 64-bit mix of the sequence, so that consecutive inserts get unrelated priorities
+      long mixed = (sequence + 1) * 0x9E3779B97F4A7C15L;
+      mixed = (mixed ^ (mixed >>> 31)) * 0xBF58476D1CE4E5B9L;
+      this.priority = mixed ^ (mixed >>> 29);
+      this.maxEnd = end;
+    }
+
+    /**
+     * Gets the first minute of the interval.
+     *
+     * @return the start.
+     */
+    public int getStart() {
+      return start;
+    }
+
+    /**
+     * Gets the minute just past the interval.
+     *
+     * @return the end.
+     */
+    public int getEnd() {
+      return end;
+    }
+
+    /**
+     * Gets the value attached to the interval.
+     *
+     * @return the value.
+     */
+    public V getValue() {
+      return value;
+    }
+
+    private void update() {
+      int max = end;
+      if (left != null && left.maxEnd > max) {
+        max = left.maxEnd;
+      }
+      if (right != null && right.maxEnd > max) {
+        max = right.maxEnd;
+      }
+      maxEnd = max;
+    }
+  }
+}
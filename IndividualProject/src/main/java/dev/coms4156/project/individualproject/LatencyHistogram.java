@@ -0,0 +1,127 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies in nanoseconds into a fixed set of log-linear buckets, like HdrHistogram: every
+ * power of two is split into {@value #SUB_BUCKETS} equal buckets, so a recorded value is known to
+ * within 1/{@value #SUB_BUCKETS} of itself from 1 ns up to about 18 minutes. Larger values are
+ * recorded as the largest one.
+ *
+ * <p>Recording finds the bucket with a few shifts and increments one counter, without allocating or
+ * locking, so it can be called on every request. Reads see a consistent-enough view for reporting:
+ * a value recorded concurrently with {@link #snapshot()} may be missing from it.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+
+  /** The number of buckets each power of two is split into. */
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** Values above this many nanoseconds are recorded as this value. */
+  static final long MAX_VALUE = (1L << 40) - 1;
+
+  private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Records one latency.
+   *
+   * @param nanos the latency in nanoseconds; negative values are recorded as 0.
+   */
+  public void record(long nanos) {
+    long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+    counts.incrementAndGet(bucketIndex(value));
+    sum.add(value);
+  }
+
+  /**
+   * Copies the recorded counts.
+   *
+   * @return the counts recorded so far.
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new Snapshot(copy, total, sum.sum());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long lowest = (long) ((index & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /** The counts of a histogram at one point in time. */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+
+    private Snapshot(long[] counts, long count, long sum) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Gets the total of the recorded values.
+     *
+     * @return the sum in nanoseconds.
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * Gets the value below or at which the given fraction of the recorded values lie, as the
+     * highest value of its bucket.
+     *
+     * @param fraction the quantile, between 0 and 1.
+     * @return the value in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long valueAt(double fraction) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(fraction * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return bucketUpperBound(i);
+        }
+      }
+      return MAX_VALUE;
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package dev.coms4156.project.individualproject;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A read-only department mapping backed by a memory-mapped {@link BinaryCatalogFormat} file.
+ *
+ * <p>Opening the catalog only reads the header and the department directory. A department, and
+ * the strings it references, is decoded from the mapped file the first time it is looked up and
+ * then cached, so later mutations of its courses are kept. Startup time and heap use therefore
+ * depend on the number of departments and on what is actually accessed, not on the total number
+ * of courses. Iterating the entries decodes every department.
+ *
+ * <p>{@link #statistics()} does not: the totals of the departments not decoded yet are summed from
+ * the capacities and enrolled counts in the file, once. Decoded departments add every change of
+ * their totals to campus totals kept in {@link java.util.concurrent.atomic.LongAdder}s, which start
+ * from the totals in the file with each department's own swapped in as it is decoded.
+ *
+ * <p>The mapping is unmodifiable; {@link MyFileDatabase} publishes changes as new snapshots.
+ * Files larger than 2 GiB cannot be mapped and must be read with {@link BinaryCatalogFormat#read}.
+ */
+public final class MappedCatalog extends AbstractMap<String, Department> {
+
+  private final MappedByteBuffer buffer;
+  private final int stringCount;
+  private final int offsetsStart;
+  private final int dataStart;
+  private final Map<String, Integer> directory;
+  private final int[] departmentOffsets;
+  private final AtomicReferenceArray<String> strings;
+  private final Map<String, Department> decoded = new ConcurrentHashMap<>();
+  // what decoded departments hold now, less what the file holds for them
+  private final DepartmentStatistics decodedChanges = new DepartmentStatistics();
+  // the totals of each department and of the campus as written; read on first use
+  private FileTotals fileTotals;
+
+  private MappedCatalog(MappedByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    BinaryCatalogFormat.checkHeader(buffer);
+    this.stringCount = buffer.getInt();
+    final int dataLength = buffer.getInt();
+    this.offsetsStart = buffer.position();
+    this.dataStart = offsetsStart + (stringCount + 1) * Integer.BYTES;
+    this.strings = new AtomicReferenceArray<>(stringCount);
+
+    buffer.position(dataStart + dataLength);
+    int departmentCount = buffer.getInt();
+    this.directory = new LinkedHashMap<>(departmentCount * 4 / 3 + 1);
+    this.departmentOffsets = new int[departmentCount];
+    for (int i = 0; i < departmentCount; i++) {
+      String deptCode = string(buffer.getInt());
+      departmentOffsets[i] = Math.toIntExact(buffer.getLong());
+      buffer.getInt();
+      directory.put(deptCode, i);
+    }
+  }
+
+  /**
+   * Maps the given binary catalog file and reads its directory.
+   *
+   * @param path the binary catalog file.
+   * @return the mapped catalog.
+   * @throws IOException if the file cannot be mapped or is not a valid binary catalog.
+   */
+  @SuppressWarnings("PMD.LooseCoupling") // callers need getDecodedDepartmentCount()
+  public static MappedCatalog open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedCatalog(buffer);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+      throw new IOException("Truncated or corrupt binary catalog: " + path, e);
+    }
+  }
+
+  /** Decodes a string from the string table on first use and shares it afterwards. */
+  private String string(int id) {
+    String value = strings.get(id);
+    if (value == null) {
+      int start = buffer.getInt(offsetsStart + id * Integer.BYTES);
+      int end = buffer.getInt(offsetsStart + (id + 1) * Integer.BYTES);
+      value = BinaryCatalogFormat.decodeString(buffer, dataStart + start, end - start);
+      if (!strings.compareAndSet(id, null, value)) {
+        value = strings.get(id);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Gets the number of departments decoded so far, for monitoring how much of the file has been
+   * materialized.
+   *
+   * @return the number of decoded departments.
+   */
+  public int getDecodedDepartmentCount() {
+    return decoded.size();
+  }
+
+  @Override
+  public Department get(Object key) {
+    if (!directory.containsKey(key)) {
+      return null;
+    }
+    return decoded.computeIfAbsent((String) key, this::decode);
+  }
+
+  private Department decode(String deptCode) {
+    int offset = departmentOffsets[directory.get(deptCode)];
+    // the written totals are taken out before the courses are counted, so that statistics() read
+    // meanwhile counts the department at most once, never twice
+    decodedChanges.subtract(BinaryCatalogFormat.readTotals(buffer, offset));
+    // only absolute reads are used, so concurrent decodes can share the buffer
+    return BinaryCatalogFormat.readDepartment(
+        buffer, offset, deptCode, this::string, decodedChanges);
+  }
+
+  /**
+   * Gets the totals of every department and of the campus without decoding any department. The
+   * campus totals leave out a department while it is being decoded, but never count it twice.
+   *
+   * @return the totals by department code, and their sum.
+   */
+  public DepartmentStatistics.Report statistics() {
+    FileTotals written = readFileTotals();
+    Map<String, DepartmentStatistics.Totals> departments = new TreeMap<>();
+    for (Map.Entry<String, Integer> entry : directory.entrySet()) {
+      Department department = decoded.get(entry.getKey());
+      departments.put(
+          entry.getKey(),
+          department == null
+              ? written.departments()[entry.getValue()]
+              : department.getStatistics());
+    }
+    return new DepartmentStatistics.Report(
+        written.campus().plus(decodedChanges.totals()),
+        Collections.unmodifiableMap(departments));
+  }
+
+  private synchronized FileTotals readFileTotals() {
+    if (fileTotals == null) {
+      DepartmentStatistics.Totals[] departments =
+          new DepartmentStatistics.Totals[directory.size()];
+      DepartmentStatistics.Totals campus = DepartmentStatistics.Totals.NONE;
+      for (int i = 0; i < departments.length; i++) {
+        departments[i] = BinaryCatalogFormat.readTotals(buffer, departmentOffsets[i]);
+        campus = campus.plus(departments[i]);
+      }
+      fileTotals = new FileTotals(departments, campus);
+    }
+    return fileTotals;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return directory.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return directory.size();
+  }
+
+  @Override
+  public Set<Entry<String, Department>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, Department>> iterator() {
+        Iterator<String> keys = directory.keySet().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return keys.hasNext();
+          }
+
+          @Override
+          public Entry<String, Department> next() {
+            if (!keys.hasNext()) {
+              throw new NoSuchElementException();
+            }
+            String deptCode = keys.next();
+            return new SimpleImmutableEntry<>(deptCode, get(deptCode));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return directory.size();
+      }
+    };
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return Collections.unmodifiableSet(directory.keySet());
+  }
+
+  /** The totals of each department in directory order, and their sum, as written in the file. */
+  private record FileTotals(
+      DepartmentStatistics.Totals[] departments, DepartmentStatistics.Totals campus) {}
+}
@@ -1,15 +1,37 @@
 package dev.coms4156.project.individualproject;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
-/** This class represents a file-based database containing department mappings. */
-public class MyFileDatabase {
+/**
+ * This class represents a file-based database containing department mappings.
+ *
+ * <p>The mapping is published as an immutable {@link CatalogSnapshot}. Readers never lock and
+ * always see a complete mapping, while writers swap in a new version atomically.
+ *
+ * <p>Mutations of individual courses and departments are recorded in a {@link WriteAheadLog}
+ * next to the data file, so they survive a crash without rewriting the whole file. The data file
+ * itself is only rewritten at checkpoints. The log keeps a flusher thread and the log file open
+ * until the database is closed.
+ */
+public class MyFileDatabase implements AutoCloseable {
 
   /** Constant for loading database from file. */
   private static final int LOAD_FROM_FILE = 0;
@@ -17,11 +39,36 @@ public class MyFileDatabase {
   /** Constant for initializing with empty mapping. */
   private static final int INITIALIZE_EMPTY = 1;
 
+  /** Log size after which a checkpoint rewrites the data file and empties the log. */
+  private static final long CHECKPOINT_THRESHOLD_BYTES = 4L * 1024 * 1024;
+
+  /** Counts the databases created in this process, to tell their epochs apart. */
+  private static final AtomicLong INSTANCES = new AtomicLong();
+
+  private static final String LOG_FILE_FIELD = "file";
+
   /** The path to the file containing the database entries. */
   private final String filePath;
 
-  /** The mapping of department names to Department objects. */
-  private Map<String, Department> departmentMapping;
+  /** Log of mutations made since the data file was last written. */
+  private final WriteAheadLog writeAheadLog;
+
+  /** True while the mapping has been replaced since the data file was last written. */
+  private final AtomicBoolean snapshotStale = new AtomicBoolean();
+
+  /**
+   * Serializes the checkpoint of a replaced mapping. A lock rather than a monitor, because a
+   * virtual thread blocked on file I/O inside a synchronized block keeps its carrier thread.
+   */
+  private final ReentrantLock snapshotWriteLock = new ReentrantLock();
+
+  /** The currently published snapshot of department names to Department objects. */
+  private final AtomicReference<CatalogSnapshot> snapshot =
+      new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+  /** Identifies this database instance in entity tags; versions restart with every instance. */
+  private final String epoch =
+      Long.toString(System.currentTimeMillis(), 36) + "." + INSTANCES.incrementAndGet();
 
   /**
    * Constructs a MyFileDatabase object and loads up the data structure with the contents of the
@@ -32,71 +79,251 @@ public class MyFileDatabase {
    */
   public MyFileDatabase(int flag, String filePath) {
     this.filePath = filePath;
-    this.departmentMapping = new HashMap<>(); // Initialize with an empty mapping
+    this.writeAheadLog =
+        new WriteAheadLog(
+            Paths.get(filePath + ".wal"), this::writeSnapshotFile, CHECKPOINT_THRESHOLD_BYTES);
     if (flag == LOAD_FROM_FILE) {
       initializeFromFile();
-    } else if (flag == INITIALIZE_EMPTY) {
-      // initialize with empty mapping
-      this.departmentMapping = new HashMap<>();
-    } else {
+    } else if (flag != INITIALIZE_EMPTY) {
       throw new IllegalArgumentException("Invalid flag value: " + flag);
     }
   }
 
-  /** Initializes the database by loading data from the file. */
+  /**
+   * Initializes the database by loading data from the file, then replaying any mutations that
+   * were logged after the file was last written.
+   */
   private void initializeFromFile() {
-    this.departmentMapping = deSerializeObjectFromFile();
+    // published without marking the snapshot stale: the data file plus the log describe it
+    Map<String, Department> mapping = deSerializeObjectFromFile();
+    if (mapping instanceof MappedCatalog) {
+      snapshot.updateAndGet(current -> current.nextShared(mapping));
+    } else {
+      snapshot.updateAndGet(current -> current.next(mapping));
+    }
+    try {
+      writeAheadLog.replay(snapshot.get().getDepartmentMapping());
+    } catch (IOException e) {
+      AsyncLog.shared().error("Write-ahead log replay failed", e, LOG_FILE_FIELD, filePath);
+    }
+    SeatChanges.catalogChanged();
   }
 
   /**
-   * Deserializes the object from the file and returns the department mapping.
+   * Deserializes the object from the file and returns the department mapping. Files in the
+   * {@link BinaryCatalogFormat} are memory-mapped and their departments are decoded lazily on
+   * first access; older files written with Java serialization are still read in full, and are
+   * migrated to the binary format the next time the file is saved.
    *
    * @return the deserialized department mapping
    */
-  @SuppressWarnings("unchecked")
   private Map<String, Department> deSerializeObjectFromFile() {
-    try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filePath))) {
-      Object obj = in.readObject();
+    try {
+      byte[] header = new byte[Integer.BYTES];
+      int read;
+      try (InputStream in = new FileInputStream(filePath)) {
+        read = in.readNBytes(header, 0, header.length);
+      }
+      if (BinaryCatalogFormat.isBinaryCatalog(header, read)) {
+        return MappedCatalog.open(Paths.get(filePath));
+      }
+      return readLegacyFile(new FileInputStream(filePath));
+    } catch (IOException | ClassNotFoundException e) {
+      AsyncLog.shared().error("Data file could not be read", e, LOG_FILE_FIELD, filePath);
+      return new HashMap<>();
+    }
+  }
+
+  /**
+   * Reads a department mapping written with Java serialization by earlier versions.
+   *
+   * @param in the stream positioned at the start of the file, closed by this method
+   * @return the deserialized department mapping
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<String, Department> readLegacyFile(InputStream in)
+      throws IOException, ClassNotFoundException {
+    try (ObjectInputStream objectIn = new ObjectInputStream(new BufferedInputStream(in))) {
+      Object obj = objectIn.readObject();
       if (obj instanceof HashMap) {
         return (Map<String, Department>) obj;
       } else {
         throw new IllegalArgumentException("Invalid object type in file.");
       }
-    } catch (IOException | ClassNotFoundException e) {
-      e.printStackTrace();
-      return new HashMap<>();
     }
   }
 
   /**
-   * Sets the department mapping of the database.
+   * Sets the department mapping of the database. The mapping is copied and published as a new
+   * snapshot version; later changes to {@code mapping} itself are not visible to readers.
    *
    * @param mapping the mapping of department names to Department objects
    */
   public void setMapping(Map<String, Department> mapping) {
-    this.departmentMapping = mapping;
+    Map<String, Department> source = mapping == null ? Map.of() : mapping;
+    snapshot.updateAndGet(current -> current.next(source));
+    snapshotStale.set(true);
+    SeatChanges.catalogChanged();
+  }
+
+  /**
+   * Adds or replaces a single department, publishing a new snapshot version. Concurrent writers
+   * are serialized by retrying against the latest snapshot, so no update is lost.
+   *
+   * @param department the department to add or replace, keyed by its department code
+   */
+  public void putDepartment(Department department) {
+    if (department == null) {
+      throw new IllegalArgumentException("Department cannot be null.");
+    }
+    snapshot.updateAndGet(
+        current -> {
+          Map<String, Department> mapping = new LinkedHashMap<>(current.getDepartmentMapping());
+          mapping.put(department.getDepartmentCode(), department);
+          return current.next(mapping);
+        });
+    snapshotStale.set(true);
+    SeatChanges.catalogChanged();
   }
 
   /**
-   * Saves the contents of the internal data structure to the file. Contents of the file are
-   * overwritten with this operation.
+   * Gets the currently published snapshot. Callers that need several consistent lookups within
+   * one operation should read the snapshot once and use it throughout.
+   *
+   * @return the current catalog snapshot
+   */
+  public CatalogSnapshot getSnapshot() {
+    return snapshot.get();
+  }
+
+  /**
+   * Gets the epoch of this database, which is different for every instance, including instances
+   * created by later runs of the application. Snapshot and entity versions start over with every
+   * instance, so they only identify a state together with the epoch.
+   *
+   * @return the epoch
+   */
+  public String getEpoch() {
+    return this.epoch;
+  }
+
+  /**
+   * Durably records the current state of a course in the write-ahead log. Returns once the record
+   * has been synced to disk together with any other records appended concurrently.
+   *
+   * @param deptCode the department the course belongs to
+   * @param courseId the id of the course within the department
+   * @param course the mutated course
+   */
+  public void recordCourseUpdate(String deptCode, String courseId, Course course) {
+    appendCourseUpdate(deptCode, courseId, course).join();
+  }
+
+  /**
+   * Appends the current state of a course to the write-ahead log without waiting for it to be
+   * synced. Callers that update several courses append all of them first and then wait on the
+   * futures, so the records share one sync instead of paying one each.
+   *
+   * @param deptCode the department the course belongs to
+   * @param courseId the id of the course within the department
+   * @param course the mutated course
+   * @return a future that completes once the record has been synced to disk
+   */
+  public CompletableFuture<Void> appendCourseUpdate(
+      String deptCode, String courseId, Course course) {
+    ensureSnapshotWritten();
+    return writeAheadLog.appendCourse(deptCode, courseId, course);
+  }
+
+  /**
+   * Durably records the current state of a department in the write-ahead log. Returns once the
+   * record has been synced to disk together with any other records appended concurrently.
+   *
+   * @param department the mutated department
+   */
+  public void recordDepartmentUpdate(Department department) {
+    appendDepartmentUpdate(department).join();
+  }
+
+  /**
+   * Appends the current state of a department to the write-ahead log without waiting for it to be
+   * synced, for callers that must not block while the record is made durable.
+   *
+   * @param department the mutated department
+   * @return a future that completes once the record has been synced to disk
+   */
+  public CompletableFuture<Void> appendDepartmentUpdate(Department department) {
+    ensureSnapshotWritten();
+    return writeAheadLog.appendDepartment(department);
+  }
+
+  /**
+   * Log records only make sense on top of the data file they follow, so a mapping that was
+   * replaced wholesale is checkpointed before the first record is logged against it.
+   */
+  private void ensureSnapshotWritten() {
+    if (snapshotStale.get()) {
+      snapshotWriteLock.lock();
+      try {
+        if (snapshotStale.compareAndSet(true, false)) {
+          saveContentsToFile();
+        }
+      } finally {
+        snapshotWriteLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Saves the contents of the internal data structure to the file and empties the write-ahead
+   * log. Contents of the file are overwritten with this operation.
    */
   public void saveContentsToFile() {
-    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filePath))) {
-      out.writeObject(departmentMapping);
-      System.out.println("Object serialized successfully.");
+    try {
+      writeAheadLog.checkpoint();
+      AsyncLog.shared().info("Object serialized successfully.", LOG_FILE_FIELD, filePath);
     } catch (IOException e) {
-      e.printStackTrace();
+      AsyncLog.shared().error("Data file could not be saved", e, LOG_FILE_FIELD, filePath);
     }
   }
 
   /**
-   * Gets the department mapping of the database.
+   * Writes the mapping to a temporary file and atomically moves it over the data file, so a crash
+   * mid-write never leaves a partially written data file behind.
    *
-   * @return the department mapping
+   * @throws IOException if the file cannot be written
+   */
+  private void writeSnapshotFile() throws IOException {
+    Path target = Paths.get(filePath);
+    Path temp = Paths.get(filePath + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temp.toFile());
+        BufferedOutputStream out = new BufferedOutputStream(file)) {
+      BinaryCatalogFormat.write(getDepartmentMapping(), out);
+      file.getFD().sync();
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Makes every logged mutation durable, then stops the write-ahead log's flusher and closes the
+   * log file. Closing a closed database does nothing; logging to it afterwards fails.
+   */
+  @Override
+  public void close() {
+    try {
+      writeAheadLog.close();
+    } catch (IOException e) {
+      AsyncLog.shared().error("Write-ahead log could not be closed", e, LOG_FILE_FIELD, filePath);
+    }
+  }
+
+  /**
+   * Gets the department mapping of the database from the current snapshot.
+   *
+   * @return the department mapping, which is unmodifiable
    */
   public Map<String, Department> getDepartmentMapping() {
-    return this.departmentMapping;
+    return snapshot.get().getDepartmentMapping();
   }
 
   /**
@@ -106,9 +333,7 @@ public class MyFileDatabase {
    */
   @Override
   public String toString() {
-    if (departmentMapping == null) {
-      return "No department data available.";
-    }
+    Map<String, Department> departmentMapping = getDepartmentMapping();
     StringBuilder result = new StringBuilder();
     for (Map.Entry<String, Department> entry : departmentMapping.entrySet()) {
       String key = entry.getKey();
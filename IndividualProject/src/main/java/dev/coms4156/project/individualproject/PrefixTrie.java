@@ -0,0 +1,308 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A set of terms, each with a sorted list of values, that visits the values of every term
+ * starting with a prefix in order of term, so that the first k values are found in time
+ * proportional to the length of the prefix and to k, however many terms share the prefix.
+ *
+ * <p>The trie is path-compressed: a node holds the part of its term that it shares with no other
+ * term, so there are at most two nodes per term whatever their length, and the values of a term
+ * are one array. Nodes are never changed in place. Adding or removing a value replaces the array
+ * of values of its node, adding or removing a term replaces the array of children of one node, and
+ * splitting a node replaces it by a copy. Readers therefore need no lock and see every node either
+ * before or after a change, while changes must be serialized by the caller.
+ *
+ * @param <V> the type of the values.
+ */
+public final class PrefixTrie<V> {
+
+  private static final Object[] NO_VALUES = {};
+  private static final Node[] NO_CHILDREN = {};
+
+  private final Comparator<? super V> order;
+  private final Node root = new Node("", NO_VALUES, NO_CHILDREN);
+
+  /**
+   * Constructs an empty trie.
+   *
+   * @param order the order of the values of a term; values comparing equal are the same value.
+   */
+  public PrefixTrie(Comparator<? super V> order) {
+    this.order = order;
+  }
+
+  /**
+   * Adds a value to a term, adding the term if it is new.
+   *
+   * @param term the term.
+   * @param value the value, which the term must not already hold.
+   */
+  public void add(String term, V value) {
+    addAll(term, List.of(value));
+  }
+
+  /**
+   * Adds values to a term, adding the term if it is new. Adding many values at once costs one
+   * merge with the values the term already holds, rather than one per value.
+   *
+   * @param term the term.
+   * @param values the values, none of which the term may already hold.
+   */
+  public void addAll(String term, Collection<? extends V> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+    List<V> sorted = new ArrayList<>(values);
+    sorted.sort(order);
+    Node node = nodeFor(term);
+    node.values = merge(node.values, sorted);
+  }
+
+  /**
+   * Removes a value from a term, and the term once it holds no value.
+   *
+   * @param term the term.
+   * @param value the value.
+   * @return true if the term held the value.
+   */
+  public boolean remove(String term, V value) {
+    Node found = find(term);
+    if (found == null || indexOf(found.values, value) < 0) {
+      return false;
+    }
+    prune(root, term, 0, value);
+    return true;
+  }
+
+  /**
+   * Passes the values of every term starting with the prefix to the visitor, in order of term and
+   * then of value, until the visitor returns false.
+   *
+   * @param prefix the prefix.
+   * @param visitor receives the values; returns false to stop.
+   * @return false if the visitor stopped the walk.
+   */
+  public boolean forEachWithPrefix(String prefix, Predicate<? super V> visitor) {
+    return forEachWithPrefix(prefix, null, null, visitor);
+  }
+
+  /**
+   * Passes the values from {@code from} inclusive to {@code to} exclusive of every term starting
+   * with the prefix to the visitor, in order of term and then of value, until the visitor returns
+   * false. Each term costs a binary search, not a visit of the values outside the range.
+   *
+   * @param prefix the prefix.
+   * @param from the least value to visit, or null for no bound.
+   * @param to the value to stop before, or null for no bound.
+   * @param visitor receives the values; returns false to stop.
+   * @return false if the visitor stopped the walk.
+   */
+  public boolean forEachWithPrefix(
+      String prefix, V from, V to, Predicate<? super V> visitor) {
+    Node node = root;
+    int position = 0;
+    while (position < prefix.length()) {
+      Node[] children = node.children;
+      int index = childIndex(children, prefix.charAt(position));
+      if (index < 0) {
+        return true;
+      }
+      Node child = children[index];
+      int length = Math.min(child.label.length(), prefix.length() - position);
+      if (!child.label.regionMatches(0, prefix, position, length)) {
+        return true;
+      }
+      node = child;
+      position += length;
+    }
+    return visit(node, from, to, visitor);
+  }
+
+  private Node nodeFor(String term) {
+    Node node = root;
+    int position = 0;
+    while (position < term.length()) {
+      Node[] children = node.children;
+      int index = childIndex(children, term.charAt(position));
+      if (index < 0) {
+        Node leaf = new Node(term.substring(position), NO_VALUES, NO_CHILDREN);
+        node.children = withChild(children, -index - 1, leaf);
+        return leaf;
+      }
+      Node child = children[index];
+      int common = commonPrefix(child.label, term, position);
+      if (common < child.label.length()) {
+        // split the child, publishing the part above it only once the part below is in place
+        Node below =
+            new Node(child.label.substring(common), child.values, child.children);
+        Node above =
+            new Node(child.label.substring(0, common), NO_VALUES, new Node[] {below});
+        Node[] replaced = children.clone();
+        replaced[index] = above;
+        node.children = replaced;
+        child = above;
+      }
+      node = child;
+      position += common;
+    }
+    return node;
+  }
+
+  private Node find(String term) {
+    Node node = root;
+    int position = 0;
+    while (position < term.length()) {
+      int index = childIndex(node.children, term.charAt(position));
+      if (index < 0) {
+        return null;
+      }
+      Node child = node.children[index];
+      if (!term.startsWith(child.label, position)) {
+        return null;
+      }
+      node = child;
+      position += child.label.length();
+    }
+    return node;
+  }
+
+  /** Removes the value below the node and tells whether the node is then empty. */
+  private boolean prune(Node node, String term, int position, V value) {
+    if (position == term.length()) {
+      node.values = without(node.values, indexOf(node.values, value));
+    } else {
+      Node[] children = node.children;
+      int index = childIndex(children, term.charAt(position));
+      Node child = children[index];
+      if (prune(child, term, position + child.label.length(), value)) {
+        node.children = withoutChild(children, index);
+      }
+    }
+    return node.values.length == 0 && node.children.length == 0;
+  }
+
+  private boolean visit(Node node, V from, V to, Predicate<? super V> visitor) {
+    Object[] values = node.values;
+    for (int i = from == null ? 0 : lowerBound(values, from); i < values.length; i++) {
+      V value = value(values[i]);
+      if (to != null && order.compare(value, to) >= 0) {
+        break;
+      }
+      if (!visitor.test(value)) {
+        return false;
+      }
+    }
+    for (Node child : node.children) {
+      if (!visit(child, from, to, visitor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Object[] merge(Object[] values, List<V> sorted) {
+    Object[] merged = new Object[values.length + sorted.size()];
+    int i = 0;
+    int j = 0;
+    for (int k = 0; k < merged.length; k++) {
+      if (j == sorted.size()
+          || i < values.length && order.compare(value(values[i]), sorted.get(j)) <= 0) {
+        merged[k] = values[i++];
+      } else {
+        merged[k] = sorted.get(j++);
+      }
+    }
+    return merged;
+  }
+
+  private int indexOf(Object[] values, V value) {
+    int index = lowerBound(values, value);
+    return index < values.length && order.compare(value(values[index]), value) == 0 ? index : -1;
+  }
+
+  private int lowerBound(Object[] values, V value) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order.compare(value(values[middle]), value) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V value(Object value) {
+    return (V) value;
+  }
+
+  private static Object[] without(Object[] values, int index) {
+    Object[] removed = Arrays.copyOf(values, values.length - 1);
+    System.arraycopy(values, index + 1, removed, index, values.length - index - 1);
+    return removed;
+  }
+
+  private static int childIndex(Node[] children, char first) {
+    int low = 0;
+    int high = children.length - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char c = children[middle].label.charAt(0);
+      if (c < first) {
+        low = middle + 1;
+      } else if (c > first) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -low - 1;
+  }
+
+  private static Node[] withChild(Node[] children, int index, Node child) {
+    Node[] added = new Node[children.length + 1];
+    System.arraycopy(children, 0, added, 0, index);
+    added[index] = child;
+    System.arraycopy(children, index, added, index + 1, children.length - index);
+    return added;
+  }
+
+  private static Node[] withoutChild(Node[] children, int index) {
+    Node[] removed = Arrays.copyOf(children, children.length - 1);
+    System.arraycopy(children, index + 1, removed, index, children.length - index - 1);
+    return removed;
+  }
+
+  private static int commonPrefix(String label, String term, int position) {
+    int length = Math.min(label.length(), term.length() - position);
+    int common = 0;
+    while (common < length && label.charAt(common) == term.charAt(position + common)) {
+      common++;
+    }
+    return common;
+  }
+
+  /** A node of the trie; its label is never empty, except at the root. */
+  @SuppressWarnings("PMD.AvoidUsingVolatile") // replaced by the writer, read without locking
+  private static final class Node {
+    private final String label;
+    private volatile Object[] values;
+    private volatile Node[] children;
+
+    Node(String label, Object[] values, Node[] children) {
+      this.label = label;
+      this.values = values;
+      this.children = children;
+    }
+  }
+}
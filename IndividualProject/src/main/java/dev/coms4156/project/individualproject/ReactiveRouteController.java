@@ -0,0 +1,647 @@
+package dev.coms4156.project.individualproject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * The API routes of {@link RouteController} on a non-blocking server, used when the application is
+ * started in reactive mode (see {@link IndividualProjectApplication#main(String[])}). Requests run
+ * on the server's few event-loop threads, so open connections cost no thread while they wait.
+ *
+ * <p>Reads are answered by the {@link CatalogReads} shared with {@link RouteController}, so
+ * responses, entity tags, the response cache and the /seatAvailability stream are the same in
+ * both modes. They never wait on I/O, but a read may decode a department of a lazily loaded
+ * catalog, build the attribute index or render a large department, so reads of the catalog run on
+ * {@link Schedulers#boundedElastic()} rather than on the event loop; only the welcome text, the
+ * cache statistics and the metrics, which read a few counters, are answered on it. Writes change
+ * the catalog the same way, then append the change to the write-ahead log and answer once the
+ * returned future completes, instead of blocking a thread until the sync. Appending may wait for
+ * the log's lock or take a checkpoint, so writes run on {@link Schedulers#boundedElastic()} too.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouteController {
+  private static final String COURSE_NOT_FOUND = "Course Not Found";
+  private static final String DEPARTMENT_NOT_FOUND = "Department Not Found";
+  private static final String ATTRIBUTE_UPDATED_SUCCESSFULLY =
+      "Attribute was updated successfully.";
+
+  /** Events a /seatAvailability client may fall behind by before it is dropped to reconnect. */
+  private static final int MAX_PENDING_SEAT_EVENTS = 256;
+
+  private final CatalogReads reads;
+
+  /**
+   * Creates the routes over the reads they share with the servlet mode.
+   *
+   * @param reads answers the read routes.
+   */
+  public ReactiveRouteController(CatalogReads reads) {
+    this.reads = reads;
+  }
+
+  /**
+   * Redirects to the homepage, see {@link RouteController#index()}.
+   *
+   * @return the welcome text.
+   */
+  @GetMapping({"/", "/index", "/home"})
+  public String index() {
+    return reads.index();
+  }
+
+  /**
+   * Displays whether the course is full, see {@link RouteController#isCourseFull}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the answer, or an appropriate message and status.
+   */
+  @GetMapping(value = "/isCourseFull", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> isCourseFull(
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.isCourseFull(deptCode, courseCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the details of a course, see {@link RouteController#retrieveCourse}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the details, or an appropriate message and status.
+   */
+  @GetMapping(value = "/retrieveCourse", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> retrieveCourse(
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.retrieveCourse(deptCode, courseCode, ifNoneMatch));
+  }
+
+  /**
+   * Returns a department as JSON, see {@link RouteController#retrieveDepartment}. The body is
+   * written to memory first, which for all but the largest departments is a copy of the cached
+   * response.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the department, or an appropriate message and status.
+   */
+  @GetMapping(value = "/retrieveDept", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<byte[]>> retrieveDepartment(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(
+        () -> {
+          ResponseEntity<CatalogReads.Body> response =
+              reads.retrieveDepartment(deptCode, ifNoneMatch);
+          CatalogReads.Body body = response.getBody();
+          if (body == null) {
+            return new ResponseEntity<>(response.getHeaders(), response.getStatusCode());
+          }
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          try {
+            body.writeTo(out);
+          } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw
+            return new ResponseEntity<>(
+                "An Error has occurred".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+          }
+          return new ResponseEntity<>(
+              out.toByteArray(), response.getHeaders(), response.getStatusCode());
+        });
+  }
+
+
+  /**
+   * Displays the number of majors of a department, see {@link RouteController#getMajorCtFromDept}.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the number of majors, or an appropriate message and status.
+   */
+  @GetMapping(value = "/getMajorCountFromDept", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> getMajorCtFromDept(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.getMajorCtFromDept(deptCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the chair of a department, see {@link RouteController#identifyDeptChair}.
+   *
+   * @param deptCode the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the chair, or an appropriate message and status.
+   */
+  @GetMapping(value = "/idDeptChair", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> identifyDeptChair(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.identifyDeptChair(deptCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the location of a course, see {@link RouteController#findCourseLocation}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the location, or an appropriate message and status.
+   */
+  @GetMapping(value = "/findCourseLocation", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> findCourseLocation(
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.findCourseLocation(deptCode, courseCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the instructor of a course, see {@link RouteController#findCourseInstructor}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the instructor, or an appropriate message and status.
+   */
+  @GetMapping(value = "/findCourseInstructor", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> findCourseInstructor(
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.findCourseInstructor(deptCode, courseCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the time of a course, see {@link RouteController#findCourseTime}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param ifNoneMatch the entity tags of the copies the client already has, or null.
+   * @return the time, or an appropriate message and status.
+   */
+  @GetMapping(value = "/findCourseTime", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> findCourseTime(
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return read(() -> reads.findCourseTime(deptCode, courseCode, ifNoneMatch));
+  }
+
+  /**
+   * Displays the courses of an instructor, see {@link RouteController#coursesByInstructor}.
+   *
+   * @param name the instructor.
+   * @return the courses, possibly none.
+   */
+  @GetMapping(value = "/coursesByInstructor", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> coursesByInstructor(@RequestParam String name) {
+    return read(() -> reads.coursesBy(CourseAttributeIndex.Attribute.INSTRUCTOR, name));
+  }
+
+  /**
+   * Displays the courses held at a location, see {@link RouteController#coursesByLocation}.
+   *
+   * @param location the location.
+   * @return the courses, possibly none.
+   */
+  @GetMapping(value = "/coursesByLocation", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> coursesByLocation(@RequestParam String location) {
+    return read(() -> reads.coursesBy(CourseAttributeIndex.Attribute.LOCATION, location));
+  }
+
+  /**
+   * Displays the courses meeting in a time slot, see {@link RouteController#coursesByTime}.
+   *
+   * @param time the time slot.
+   * @return the courses, possibly none, or an appropriate message and status.
+   */
+  @GetMapping(value = "/coursesByTime", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> coursesByTime(@RequestParam String time) {
+    return read(() -> reads.coursesBy(CourseAttributeIndex.Attribute.TIME_SLOT, time));
+  }
+
+  /**
+   * Displays the courses matching what was typed so far, see {@link RouteController#search}.
+   *
+   * @param q what was typed.
+   * @param limit the number of courses to return at most.
+   * @return the courses, possibly none, or an appropriate message and status.
+   */
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> search(
+      @RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+    return read(() -> reads.search(q, limit));
+  }
+
+  /**
+   * Displays the enrollment totals, see {@link RouteController#statistics}.
+   *
+   * @param deptCode the department, or null for every department and the campus.
+   * @return the totals, or an appropriate message and status.
+   */
+  @GetMapping(value = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> statistics(@RequestParam(required = false) String deptCode) {
+    return read(() -> reads.statistics(deptCode));
+  }
+
+  /**
+   * Lists the departments one page at a time, see {@link RouteController#listDepartments}.
+   *
+   * @param cursor the cursor of the previous page, or null.
+   * @param limit the number of departments per page.
+   * @return the page, or an appropriate message and status.
+   */
+  @GetMapping(value = "/departments", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> listDepartments(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    return read(() -> reads.listDepartments(cursor, limit));
+  }
+
+  /**
+   * Lists the courses one page at a time, see {@link RouteController#listCourses}.
+   *
+   * @param deptCode the department to list, or null for every department.
+   * @param cursor the cursor of the previous page, or null.
+   * @param limit the number of courses per page.
+   * @return the page, or an appropriate message and status.
+   */
+  @GetMapping(value = "/courses", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> listCourses(
+      @RequestParam(required = false) String deptCode,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    return read(() -> reads.listCourses(deptCode, cursor, limit));
+  }
+
+  /**
+   * Displays the courses that share a room or an instructor at overlapping times, see
+   * {@link RouteController#scheduleConflicts}.
+   *
+   * @return the clashes, possibly none.
+   */
+  @GetMapping(value = "/scheduleConflicts", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> scheduleConflicts() {
+    return read(reads::scheduleConflicts);
+  }
+
+  /**
+   * Displays the statistics of the response cache, see {@link RouteController#responseCacheStats}.
+   *
+   * @return the statistics.
+   */
+  @GetMapping(value = "/responseCacheStats", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ResponseCache.Stats> responseCacheStats() {
+    return reads.responseCacheStats();
+  }
+
+  /**
+   * Displays the request metrics, see {@link RouteController#metrics()}.
+   *
+   * @return the metrics in the Prometheus text format.
+   */
+  @GetMapping(value = "/metrics", produces = RouteMetrics.CONTENT_TYPE)
+  public ResponseEntity<String> metrics() {
+    return reads.metrics();
+  }
+
+  /**
+   * Subscribes to the seat availability of a course or a department, see
+   * {@link RouteController#seatAvailability}. A client that falls too far behind is dropped and
+   * gets the current state again when it reconnects.
+   *
+   * @param deptCode the department.
+   * @param courseCode the course within the department, or null for every course.
+   * @return the event stream, or an appropriate message and status.
+   */
+  @GetMapping(value = "/seatAvailability", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Mono<ResponseEntity<Flux<byte[]>>> seatAvailability(
+      @RequestParam String deptCode, @RequestParam(required = false) Integer courseCode) {
+    return read(
+        () -> {
+          FluxSink sink = new FluxSink();
+          ResponseEntity<String> refused = reads.subscribeSeats(deptCode, courseCode, sink);
+          if (refused != null) {
+            return textStream(refused.getBody(), refused.getStatusCode());
+          }
+          return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(sink.events);
+        });
+  }
+
+
+  private static ResponseEntity<Flux<byte[]>> textStream(
+      String message, HttpStatusCode status) {
+    return ResponseEntity.status(status)
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(Flux.just(message.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Adds a major to a department, see {@link RouteController#addMajorToDept}.
+   *
+   * @param deptCode the department.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/addMajorToDept", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> addMajorToDept(@RequestParam String deptCode) {
+    return write(
+        () -> {
+          Department department = reads.findDepartment(deptCode);
+          if (department == null) {
+            return Mono.just(new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND));
+          }
+          department.addPersonToMajor();
+          return whenDurable(
+              appendDepartment(department),
+              new ResponseEntity<>(ATTRIBUTE_UPDATED_SUCCESSFULLY, HttpStatus.OK));
+        });
+  }
+
+  /**
+   * Removes a major from a department, see {@link RouteController#removeMajorFromDept}.
+   *
+   * @param deptCode the department.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/removeMajorFromDept", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> removeMajorFromDept(@RequestParam String deptCode) {
+    return write(
+        () -> {
+          Department department = reads.findDepartment(deptCode);
+          if (department == null) {
+            return Mono.just(new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND));
+          }
+          department.dropPersonFromMajor();
+          return whenDurable(
+              appendDepartment(department),
+              new ResponseEntity<>("Attribute was updated or is at minimum", HttpStatus.OK));
+        });
+  }
+
+  /**
+   * Drops a student from a course, see {@link RouteController#dropStudent}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/dropStudentFromCourse", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> dropStudent(
+      @RequestParam String deptCode, @RequestParam int courseCode) {
+    return write(
+        () -> {
+          Course course = reads.findCourse(deptCode, courseCode);
+          if (course == null) {
+            return Mono.just(new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+          }
+          if (!course.dropStudent()) {
+            return Mono.just(
+                new ResponseEntity<>("Student has not been dropped.", HttpStatus.BAD_REQUEST));
+          }
+          return whenDurable(
+              appendCourse(deptCode, courseCode, course),
+              new ResponseEntity<>("Student has been dropped.", HttpStatus.OK));
+        });
+  }
+
+  /**
+   * Enrolls a student in several courses, all or nothing, see
+   * {@link RouteController#enrollStudentInCourses}.
+   *
+   * @param deptCode the departments of the courses.
+   * @param courseCode the courses, one per department code.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/enrollStudentInCourses", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> enrollStudentInCourses(
+      @RequestParam String[] deptCode, @RequestParam int[] courseCode) {
+    return write(
+        () -> {
+          if (deptCode.length != courseCode.length) {
+            return Mono.just(
+                new ResponseEntity<>(
+                    "Each deptCode needs a matching courseCode.", HttpStatus.BAD_REQUEST));
+          }
+          List<Course> courses = new ArrayList<>(courseCode.length);
+          for (int i = 0; i < courseCode.length; i++) {
+            Course course = reads.findCourse(deptCode[i], courseCode[i]);
+            if (course == null) {
+              return Mono.just(new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+            }
+            if (courses.contains(course)) {
+              return Mono.just(
+                  new ResponseEntity<>(
+                      "A course is listed more than once.", HttpStatus.BAD_REQUEST));
+            }
+            courses.add(course);
+          }
+          if (!Course.enrollAll(courses)) {
+            return Mono.just(
+                new ResponseEntity<>("Student has not been enrolled.", HttpStatus.BAD_REQUEST));
+          }
+          CompletableFuture<?>[] appended = new CompletableFuture<?>[courses.size()];
+          for (int i = 0; i < appended.length; i++) {
+            appended[i] = appendCourse(deptCode[i], courseCode[i], courses.get(i));
+          }
+          return whenDurable(
+              CompletableFuture.allOf(appended),
+              new ResponseEntity<>("Student has been enrolled.", HttpStatus.OK));
+        });
+  }
+
+  /**
+   * Sets the enrolled student count of a course, see {@link RouteController#setEnrollmentCount}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param count the new enrolled student count.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/setEnrollmentCount", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> setEnrollmentCount(
+      @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam int count) {
+    return updateCourse(
+        deptCode,
+        courseCode,
+        course -> course.setEnrolledStudentCount(count),
+        ATTRIBUTE_UPDATED_SUCCESSFULLY);
+  }
+
+  /**
+   * Changes the time of a course, see {@link RouteController#changeCourseTime}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param time the new time.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/changeCourseTime", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> changeCourseTime(
+      @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String time) {
+    return reassignCourse(deptCode, courseCode, CourseAttributeIndex.Attribute.TIME_SLOT, time);
+  }
+
+  /**
+   * Changes the instructor of a course, see {@link RouteController#changeCourseTeacher}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param teacher the new instructor.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/changeCourseTeacher", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> changeCourseTeacher(
+      @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String teacher) {
+    return reassignCourse(deptCode, courseCode, CourseAttributeIndex.Attribute.INSTRUCTOR, teacher);
+  }
+
+  /**
+   * Changes the location of a course, see {@link RouteController#changeCourseLocation}.
+   *
+   * @param deptCode the department of the course.
+   * @param courseCode the course within the department.
+   * @param location the new location.
+   * @return an appropriate message and status, once the change is durable.
+   */
+  @PatchMapping(value = "/changeCourseLocation", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> changeCourseLocation(
+      @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String location) {
+    return reassignCourse(deptCode, courseCode, CourseAttributeIndex.Attribute.LOCATION, location);
+  }
+
+  /** Changes a course in place. */
+  @FunctionalInterface
+  private interface CourseUpdate {
+    void apply(Course course);
+  }
+
+  private Mono<ResponseEntity<?>> reassignCourse(
+      String deptCode, int courseCode, CourseAttributeIndex.Attribute attribute, String value) {
+    return write(
+        () -> {
+          Course course = reads.findCourse(deptCode, courseCode);
+          if (course == null) {
+            return Mono.just(new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+          }
+          List<CourseAttributeIndex.Conflict> conflicts =
+              IndividualProjectApplication.myFileDatabase
+                  .getSnapshot()
+                  .reassignCourse(course, attribute, value);
+          if (!conflicts.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(conflicts, HttpStatus.CONFLICT));
+          }
+          return whenDurable(
+              appendCourse(deptCode, courseCode, course),
+              new ResponseEntity<>("Attributed was updated successfully.", HttpStatus.OK));
+        });
+  }
+
+  private Mono<ResponseEntity<?>> updateCourse(
+      String deptCode, int courseCode, CourseUpdate update, String message) {
+    return write(
+        () -> {
+          Course course = reads.findCourse(deptCode, courseCode);
+          if (course == null) {
+            return Mono.just(new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND));
+          }
+          update.apply(course);
+          return whenDurable(
+              appendCourse(deptCode, courseCode, course),
+              new ResponseEntity<>(message, HttpStatus.OK));
+        });
+  }
+
+  /**
+   * Answers a read on {@link Schedulers#boundedElastic()}, off the event loop. A read may decode a
+   * department of a {@link MappedCatalog}, build the attribute index or render a large response,
+   * none of which may hold up the other connections of the event loop.
+   */
+  private static <T> Mono<T> read(Supplier<T> answer) {
+    return Mono.fromSupplier(answer).subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * Runs a write on {@link Schedulers#boundedElastic()}, off the event loop, and answers like
+   * {@link RouteController} does when a write fails, both when it throws and when its record cannot
+   * be made durable.
+   */
+  private static Mono<ResponseEntity<?>> write(Supplier<Mono<ResponseEntity<?>>> change) {
+    return Mono.defer(change).subscribeOn(Schedulers.boundedElastic()).onErrorResume(
+        e -> {
+          AsyncLog.shared().warn("Request failed", e);
+          return Mono.just(new ResponseEntity<>("An Error has occurred", HttpStatus.OK));
+        });
+  }
+
+  private static Mono<ResponseEntity<?>> whenDurable(
+      CompletableFuture<?> appended, ResponseEntity<?> response) {
+    return Mono.fromFuture(appended).then(Mono.just(response));
+  }
+
+  private static CompletableFuture<Void> appendCourse(
+      String deptCode, int courseCode, Course course) {
+    return IndividualProjectApplication.myFileDatabase.appendCourseUpdate(
+        CatalogSnapshot.normalizeDeptCode(deptCode), Integer.toString(courseCode), course);
+  }
+
+  private static CompletableFuture<Void> appendDepartment(Department department) {
+    return IndividualProjectApplication.myFileDatabase.appendDepartmentUpdate(department);
+  }
+
+  /**
+   * Hands the events of a {@link SeatAvailabilityStream} to a reactive response. A send fails once
+   * the client has gone or has fallen too far behind, which drops the subscription, and the
+   * subscription ends when the response does.
+   */
+  private static final class FluxSink implements SeatAvailabilityStream.Sink {
+    private final Sinks.Many<byte[]> sink =
+        Sinks.many().unicast().onBackpressureBuffer(
+            Queues.<byte[]>get(MAX_PENDING_SEAT_EVENTS).get());
+    private Flux<byte[]> events;
+
+    @Override
+    public void send(byte[] event) throws IOException {
+      if (sink.tryEmitNext(event).isFailure()) {
+        throw new IOException("Seat availability client has gone or fallen behind.");
+      }
+    }
+
+    @Override
+    public void complete() {
+      sink.tryEmitComplete();
+    }
+
+    @Override
+    public void onClose(Runnable callback) {
+      // called while subscribing, before the response is handed to the server
+      events = sink.asFlux().doFinally(signal -> callback.run());
+    }
+  }
+}
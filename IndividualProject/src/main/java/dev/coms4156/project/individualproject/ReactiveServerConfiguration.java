@@ -0,0 +1,60 @@
+package dev.coms4156.project.individualproject;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Runs the reactive mode on Netty. Tomcat is on the classpath for the servlet mode and would
+ * otherwise be picked for reactive applications too, where it still serves every connection from
+ * its request thread pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfiguration {
+
+  /**
+   * Gets the factory of the Netty server, which serves all connections from a few event-loop
+   * threads.
+   *
+   * @return the server factory.
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  /**
+   * Gets the filter that records every request in {@link RouteMetrics}, like
+   * {@link RouteMetricsInterceptor} does in the servlet mode. Failures that a handler answers with
+   * status 200 are counted by status only, as successes.
+   *
+   * @return the filter.
+   */
+  @Bean
+  public WebFilter routeMetricsFilter() {
+    RouteMetrics metrics = RouteMetrics.shared();
+    return (exchange, chain) -> {
+      long start = System.nanoTime();
+      return chain
+          .filter(exchange)
+          .doFinally(
+              signal -> {
+                Object route =
+                    exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (route != null) {
+                  HttpStatusCode status = exchange.getResponse().getStatusCode();
+                  metrics.record(
+                      route.toString(),
+                      status == null ? 200 : status.value(),
+                      false,
+                      System.nanoTime() - start);
+                }
+              });
+    };
+  }
+}
@@ -0,0 +1,212 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the encoded bodies of read-only responses, keyed by endpoint, department code and course
+ * code, and bounded by the total size of the cached bodies.
+ *
+ * <p>Every entry records the object it was rendered from and that object's version stamp (see
+ * {@link Course#getVersion()}, {@link Department#getVersion()} and
+ * {@link Department#getModificationCount()}). Each mutation of a course or department bumps
+ * its stamp, so an entry is stale exactly when the entity it shows has changed since it was
+ * rendered, or has been replaced by another object. A stale entry is dropped and counted as an
+ * invalidation on its next lookup. Mutators never have to know which responses show them.
+ *
+ * <p>Lookups take no lock. When the cache grows past its limit, entries are evicted in
+ * approximately least-recently-used order by the CLOCK algorithm: entries are kept in insertion
+ * order, and an entry that was hit since the hand last passed it gets a second chance instead of
+ * being evicted.
+ */
+public final class ResponseCache {
+
+  /** The endpoints whose responses are cached. */
+  public enum Endpoint {
+    IS_COURSE_FULL,
+    RETRIEVE_DEPT,
+    RETRIEVE_COURSE,
+    FIND_COURSE_LOCATION,
+    FIND_COURSE_INSTRUCTOR,
+    FIND_COURSE_TIME,
+    ID_DEPT_CHAIR,
+    GET_MAJOR_COUNT
+  }
+
+  /** Course code used in the key of department-wide responses. */
+  public static final int NO_COURSE = -1;
+
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+  private final AtomicLong bytes = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  /**
+   * Constructs an empty cache.
+   *
+   * @param maxBytes the total size of the cached bodies, must be positive. A single body may take
+   *     up to a sixteenth of it; larger bodies are returned but not cached.
+   */
+  public ResponseCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Cache size must be a positive number.");
+    }
+    this.maxBytes = maxBytes;
+    this.maxEntryBytes = Math.max(1, maxBytes / 16);
+  }
+
+  /**
+   * Gets a cached body, or renders and caches it if there is no current one.
+   *
+   * @param endpoint the endpoint the response belongs to.
+   * @param deptCode the upper-case department code.
+   * @param courseCode the course code, or {@link #NO_COURSE} for department-wide responses.
+   * @param source the course or department the response shows.
+   * @param stamp the current version stamp of {@code source}, read before rendering.
+   * @param render renders the body if it is not cached.
+   * @return the encoded body, not to be modified.
+   */
+  // an entry belongs to the very object it was rendered from, not to an equal one
+  @SuppressWarnings("PMD.CompareObjectsWithEquals")
+  public byte[] get(
+      Endpoint endpoint,
+      String deptCode,
+      int courseCode,
+      Object source,
+      long stamp,
+      Supplier<byte[]> render) {
+    Key key = new Key(endpoint, deptCode, courseCode);
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      if (entry.source == source && entry.stamp == stamp) {
+        if (!entry.referenced) {
+          // written only when it changes, so hot entries do not bounce between cores
+          entry.referenced = true;
+        }
+        hits.increment();
+        return entry.body;
+      }
+      if (unlink(entry)) {
+        invalidations.increment();
+      }
+    }
+    misses.increment();
+    byte[] body = render.get();
+    if (body.length <= maxEntryBytes) {
+      insert(new Entry(key, source, stamp, body));
+    }
+    return body;
+  }
+
+  /**
+   * Gets the hit, miss, eviction and invalidation counts and the current size of the cache.
+   *
+   * @return the statistics.
+   */
+  public Stats stats() {
+    long hitCount = hits.sum();
+    long missCount = misses.sum();
+    long lookups = hitCount + missCount;
+    return new Stats(
+        hitCount,
+        missCount,
+        lookups == 0 ? 0 : (double) hitCount / lookups,
+        evictions.sum(),
+        invalidations.sum(),
+        entries.size(),
+        bytes.get(),
+        maxBytes);
+  }
+
+  private void insert(Entry entry) {
+    Entry previous = entries.put(entry.key, entry);
+    bytes.addAndGet(entry.body.length);
+    if (previous != null) {
+      // replaced by a concurrent miss on the same key; only whoever unlinks an entry counts it
+      bytes.addAndGet(-previous.body.length);
+    }
+    clock.add(entry);
+    if (bytes.get() > maxBytes) {
+      evict();
+    }
+  }
+
+  private boolean unlink(Entry entry) {
+    if (entries.remove(entry.key, entry)) {
+      bytes.addAndGet(-entry.body.length);
+      return true;
+    }
+    return false;
+  }
+
+  /** Moves the clock hand until the cache fits; evictions are serialized, lookups are not. */
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // checks that the entry is still linked
+  private synchronized void evict() {
+    while (bytes.get() > maxBytes) {
+      Entry entry = clock.poll();
+      if (entry == null) {
+        return;
+      }
+      if (entries.get(entry.key) != entry) {
+        // already invalidated or replaced
+        continue;
+      }
+      if (entry.referenced) {
+        entry.referenced = false;
+        clock.add(entry);
+      } else if (unlink(entry)) {
+        evictions.increment();
+      }
+    }
+  }
+
+  private record Key(Endpoint endpoint, String deptCode, int courseCode) {}
+
+  private static final class Entry {
+    private final Key key;
+    private final Object source;
+    private final long stamp;
+    private final byte[] body;
+    // set on every hit and cleared by the clock hand; a lost update only costs a second chance
+    private boolean referenced;
+
+    Entry(Key key, Object source, long stamp, byte[] body) {
+      this.key = key;
+      this.source = source;
+      this.stamp = stamp;
+      this.body = body;
+    }
+  }
+
+  /**
+   * Statistics of a response cache.
+   *
+   * @param hits the number of lookups answered from the cache.
+   * @param misses the number of lookups that rendered the response.
+   * @param hitRatio hits divided by all lookups, or 0 before the first lookup.
+   * @param evictions the number of entries evicted to stay within the size limit.
+   * @param invalidations the number of entries dropped because their entity changed.
+   * @param entries the number of cached responses.
+   * @param bytes the total size of the cached responses.
+   * @param maxBytes the size limit.
+   */
+  public record Stats(
+      long hits,
+      long misses,
+      double hitRatio,
+      long evictions,
+      long invalidations,
+      int entries,
+      long bytes,
+      long maxBytes) {}
+}
@@ -1,17 +1,32 @@
 package dev.coms4156.project.individualproject;
 
-import java.util.Locale;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-/** This class contains all the API routes for the system. */
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * This class contains all the API routes for the system. Reads are answered by the
+ * {@link CatalogReads} shared with {@link ReactiveRouteController}, which serves the same routes in
+ * reactive mode.
+ */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RouteController {
   private static final String DEPT_CODE = "deptCode";
   private static final String COURSE_CODE = "courseCode";
@@ -20,6 +35,20 @@ public class RouteController {
   private static final String ATTRIBUTE_UPDATED_SUCCESSFULLY =
       "Attribute was updated successfully.";
 
+  /** Lifetime of a /seatAvailability stream; EventSource clients reconnect on their own. */
+  private static final long SEAT_STREAM_TIMEOUT_MILLIS = 30L * 60 * 1000;
+
+  private final CatalogReads reads;
+
+  /**
+   * Creates the routes over the reads they share with the reactive mode.
+   *
+   * @param reads answers the read routes.
+   */
+  public RouteController(CatalogReads reads) {
+    this.reads = reads;
+  }
+
   /**
    * Redirects to the homepage.
    *
@@ -27,13 +56,7 @@ public class RouteController {
    */
   @GetMapping({"/", "/index", "/home"})
   public String index() {
-    return """
-        Welcome, in order to make an API call direct your browser or Postman to an endpoint \
-
-
-        This can be done using the following format:\s
-
-        http:127.0.0.1:8080/endpoint?arg=value""";
+    return reads.index();
   }
 
   /**
@@ -42,29 +65,16 @@ public class RouteController {
    * @param deptCode A {@code String} representing the department the user wishes to find the course
    *     in.
    * @param courseCode A {@code int} representing the course the user wishes to retrieve.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either the requested information and an HTTP
    *     200 response or, an appropriate message indicating the proper response.
    */
   @GetMapping(value = "/isCourseFull", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> isCourseFull(
-      @RequestParam String deptCode, @RequestParam int courseCode) {
-    try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // determine isCourseFull() when provided a deptCode and courseCode
-        return new ResponseEntity<>(
-            retrieveDeptMapping()
-                .get(deptCode)
-                .getCourseSelection()
-                .get(Integer.toString(courseCode))
-                .isCourseFull(),
-            HttpStatus.OK);
-      } else {
-        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
-      }
-
-    } catch (Exception e) {
-      return handleException(e);
-    }
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.isCourseFull(deptCode, courseCode, ifNoneMatch);
   }
 
   /**
@@ -75,7 +85,36 @@ public class RouteController {
    * @return A {@code boolean} determining if a course exists or not.
    */
   protected boolean doesCourseExist(String deptCode, int courseCode) {
-    return retrieveCourse(deptCode, courseCode).getStatusCode() == HttpStatus.OK;
+    return findCourse(deptCode, courseCode) != null;
+  }
+
+  /**
+   * Helper function to look up a course through the course index of the current snapshot. The
+   * department code is matched case-insensitively, like in
+   * {@link #retrieveDepartment(String, String)}.
+   *
+   * @param deptCode A {@code String} representing the department of the course.
+   * @param courseCode A {@code int} representing the course within the department.
+   * @return The {@code Course}, or null if the department or the course does not exist.
+   */
+  protected Course findCourse(String deptCode, int courseCode) {
+    return reads.findCourse(deptCode, courseCode);
+  }
+
+  /**
+   * Helper function to reassign the instructor, location or time slot of a course unless another
+   * course then shares its room or instructor at an overlapping time.
+   *
+   * @param course The {@code Course} to change.
+   * @param attribute The attribute to change.
+   * @param value The new value.
+   * @return The clashes that prevented the change, or an empty list if the course was changed.
+   */
+  protected List<CourseAttributeIndex.Conflict> reassignCourse(
+      Course course, CourseAttributeIndex.Attribute attribute, String value) {
+    return IndividualProjectApplication.myFileDatabase
+        .getSnapshot()
+        .reassignCourse(course, attribute, value);
   }
 
   /**
@@ -88,18 +127,167 @@ public class RouteController {
   }
 
   /**
-   * Handles exceptions that occur during the execution of requests. Logs the exception details to
-   * the console and returns a generic error response 200 status. This method is used to provide a
-   * generic error response for exceptions encountered in IndividualProject.
+   * Helper function to durably record a mutated course before the request is acknowledged.
+   *
+   * @param deptCode A {@code String} representing the department of the course.
+   * @param courseCode A {@code int} representing the course within the department.
+   * @param course The {@code Course} that was mutated.
+   */
+  protected void persistCourse(String deptCode, int courseCode, Course course) {
+    IndividualProjectApplication.myFileDatabase.recordCourseUpdate(
+        CatalogSnapshot.normalizeDeptCode(deptCode), Integer.toString(courseCode), course);
+  }
+
+  /**
+   * Helper function to durably record several mutated courses before the request is acknowledged.
+   * The records are appended together and share one sync.
+   *
+   * @param deptCodes The departments of the courses.
+   * @param courseCodes The courses within their departments.
+   * @param courses The mutated courses, in the same order.
+   */
+  protected void persistCourses(String[] deptCodes, int[] courseCodes, List<Course> courses) {
+    CompletableFuture<?>[] appended = new CompletableFuture<?>[courses.size()];
+    for (int i = 0; i < appended.length; i++) {
+      appended[i] =
+          IndividualProjectApplication.myFileDatabase.appendCourseUpdate(
+              CatalogSnapshot.normalizeDeptCode(deptCodes[i]),
+              Integer.toString(courseCodes[i]),
+              courses.get(i));
+    }
+    CompletableFuture.allOf(appended).join();
+  }
+
+  /**
+   * Helper function to durably record a mutated department before the request is acknowledged.
+   *
+   * @param department The {@code Department} that was mutated.
+   */
+  protected void persistDepartment(Department department) {
+    IndividualProjectApplication.myFileDatabase.recordDepartmentUpdate(department);
+  }
+
+  /**
+   * Handles exceptions that occur during the execution of requests. Logs the exception details
+   * through {@link AsyncLog} and returns a generic error response 200 status. This method is used
+   * to provide a generic error response for exceptions encountered in IndividualProject. The
+   * request is counted as an error in the metrics of its route.
    *
    * @param e The exception that was thrown and needs to be handled.
    * @return A {@link ResponseEntity} containing a generic error message HTTP 200 status.
    */
   private ResponseEntity<?> handleException(Exception e) {
-    System.out.println(e.toString());
+    RouteMetricsInterceptor.recordFailure(e);
     return new ResponseEntity<>("An Error has occurred", HttpStatus.OK);
   }
 
+  /**
+   * Helper function to find a department of the current snapshot by its code in any case, see
+   * {@link CatalogSnapshot#findDepartment(String)}.
+   *
+   * @param deptCode A {@code String} representing the department.
+   * @return The department, or null if it does not exist.
+   */
+  protected Department findDepartment(String deptCode) {
+    return reads.findDepartment(deptCode);
+  }
+
+  /**
+   * Displays the hit ratio, evictions, invalidations and size of the response cache.
+   *
+   * @return A {@code ResponseEntity} object containing the statistics and an HTTP 200 response.
+   */
+  @GetMapping(value = "/responseCacheStats", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ResponseCache.Stats> responseCacheStats() {
+    return reads.responseCacheStats();
+  }
+
+  /**
+   * Displays the request metrics in the Prometheus text format: latency quantiles and outcome
+   * counts per route, and the enrollment contention of courses (see {@link RouteMetrics}).
+   *
+   * @return A {@code ResponseEntity} object containing the metrics and an HTTP 200 response.
+   */
+  @GetMapping(value = "/metrics", produces = RouteMetrics.CONTENT_TYPE)
+  public ResponseEntity<String> metrics() {
+    return reads.metrics();
+  }
+
+  /**
+   * Subscribes to the seat availability of a course, or of every course of a department, as a
+   * stream of server-sent events (see {@link SeatAvailabilityStream}). The current state of each
+   * course is sent first, then an event whenever its enrolled student count changes, so clients
+   * do not need to poll {@code /isCourseFull}.
+   *
+   * @param deptCode A {@code String} representing the department.
+   * @param courseCode A {@code Integer} representing the course within the department, or null to
+   *     watch every course of the department.
+   * @return A {@code ResponseEntity} object containing either the event stream and an HTTP 200
+   *     response or, an appropriate message indicating the proper response.
+   */
+  @GetMapping(value = "/seatAvailability", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<ResponseBodyEmitter> seatAvailability(
+      @RequestParam String deptCode, @RequestParam(required = false) Integer courseCode) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(SEAT_STREAM_TIMEOUT_MILLIS);
+    ResponseEntity<String> refused = reads.subscribeSeats(deptCode, courseCode, seatSink(emitter));
+    if (refused != null) {
+      return textStream(refused.getBody(), refused.getStatusCode());
+    }
+    return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+  }
+
+  /**
+   * Adapts the emitter of a /seatAvailability response for {@link SeatAvailabilityStream}. A send
+   * to an emitter that has completed fails like a send to a client that has gone.
+   *
+   * @param emitter the emitter of the response.
+   * @return the sink that sends events through the emitter.
+   */
+  private static SeatAvailabilityStream.Sink seatSink(ResponseBodyEmitter emitter) {
+    return new SeatAvailabilityStream.Sink() {
+      @Override
+      public void send(byte[] event) throws IOException {
+        try {
+          emitter.send(event, MediaType.TEXT_EVENT_STREAM);
+        } catch (IllegalStateException e) {
+          throw new IOException(e);
+        }
+      }
+
+      @Override
+      public void complete() {
+        emitter.complete();
+      }
+
+      @Override
+      public void onClose(Runnable callback) {
+        emitter.onCompletion(callback);
+        emitter.onTimeout(callback);
+        emitter.onError(e -> callback.run());
+      }
+    };
+  }
+
+  /**
+   * Wraps a message for endpoints that answer with an event stream.
+   *
+   * @param message the message.
+   * @param status the status of the response.
+   * @return a response whose body is the message as plain text.
+   */
+  private static ResponseEntity<ResponseBodyEmitter> textStream(
+      String message, HttpStatusCode status) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+    try {
+      emitter.send(message, MediaType.TEXT_PLAIN);
+    } catch (IOException e) {
+      // sent before the response is committed, so only buffered
+      throw new UncheckedIOException(e);
+    }
+    emitter.complete();
+    return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN).body(emitter);
+  }
+
   /**
    * Displays the details of the requested course to the user or displays the proper error message
    * in response to the request.
@@ -107,29 +295,16 @@ public class RouteController {
    * @param deptCode A {@code String} representing the department the user wishes to find the course
    *     in.
    * @param courseCode A {@code int} representing the course the user wishes to retrieve.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either the details of the course and an HTTP
    *     200 response or, an appropriate message indicating the proper response.
    */
   @GetMapping(value = "/retrieveCourse", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> retrieveCourse(
-      @RequestParam String deptCode, @RequestParam int courseCode) {
-    try {
-      if (doesDepartmentExist(deptCode)) {
-        Map<String, Course> coursesMapping =
-            retrieveDeptMapping().get(deptCode).getCourseSelection();
-
-        if (!coursesMapping.containsKey(Integer.toString(courseCode))) {
-          return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
-        } else {
-          return new ResponseEntity<>(
-              coursesMapping.get(Integer.toString(courseCode)).toString(), HttpStatus.OK);
-        }
-      } else {
-        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
-      }
-    } catch (Exception e) {
-      return handleException(e);
-    }
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.retrieveCourse(deptCode, courseCode, ifNoneMatch);
   }
 
   /**
@@ -139,30 +314,26 @@ public class RouteController {
    * @return A {@code boolean} determining if department exists or not.
    */
   protected boolean doesDepartmentExist(String deptCode) {
-    return retrieveDepartment(deptCode).getStatusCode() == HttpStatus.OK;
+    return findDepartment(deptCode) != null;
   }
 
   /**
    * Returns the details of the specified department.
    *
    * @param deptCode A {@code String} representing the department the user wishes to retrieve.
-   * @return A {@code ResponseEntity} object containing either the details of the Department and an
-   *     HTTP 200 response or, an appropriate message indicating the proper response.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
+   * @return A {@code ResponseEntity} object containing either the Department as JSON, streamed by
+   *     {@link DepartmentJsonWriter}, and an HTTP 200 response or, an appropriate message
+   *     indicating the proper response.
    */
   @GetMapping(value = "/retrieveDept", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<?> retrieveDepartment(@RequestParam String deptCode) {
-    try {
-      if (!retrieveDeptMapping().containsKey(deptCode.toUpperCase(Locale.ENGLISH))) {
-        return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
-      } else {
-        return new ResponseEntity<>(
-            retrieveDeptMapping().get(deptCode.toUpperCase(Locale.ENGLISH)).toString(),
-            HttpStatus.OK);
-      }
-
-    } catch (Exception e) {
-      return handleException(e);
-    }
+  public ResponseEntity<StreamingResponseBody> retrieveDepartment(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    ResponseEntity<CatalogReads.Body> response = reads.retrieveDepartment(deptCode, ifNoneMatch);
+    CatalogReads.Body body = response.getBody();
+    StreamingResponseBody streamed = body == null ? null : body::writeTo;
+    return new ResponseEntity<>(streamed, response.getHeaders(), response.getStatusCode());
   }
 
   /**
@@ -170,22 +341,16 @@ public class RouteController {
    *
    * @param deptCode A {@code String} representing the department the user wishes to find number of
    *     majors for.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either number of majors for the specified
    *     department and an HTTP 200 response or, an appropriate message indicating the proper
    *     response.
    */
   @GetMapping(value = "/getMajorCountFromDept", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<?> getMajorCtFromDept(@RequestParam String deptCode) {
-    try {
-      if (doesDepartmentExist(deptCode)) {
-        int numberOfMajors = retrieveDeptMapping().get(deptCode).getNumberOfMajors();
-        return new ResponseEntity<>(
-            "There are: " + numberOfMajors + " majors in the department", HttpStatus.OK);
-      }
-      return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
-    } catch (Exception e) {
-      return handleException(e);
-    }
+  public ResponseEntity<?> getMajorCtFromDept(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.getMajorCtFromDept(deptCode, ifNoneMatch);
   }
 
   /**
@@ -193,21 +358,16 @@ public class RouteController {
    *
    * @param deptCode A {@code String} representing the department the user wishes to find the
    *     department chair of.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either department chair of the specified
    *     department and an HTTP 200 response or, an appropriate message indicating the proper
    *     response.
    */
   @GetMapping(value = "/idDeptChair", produces = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<?> identifyDeptChair(@RequestParam String deptCode) {
-    try {
-      if (doesDepartmentExist(deptCode)) {
-        String departmentChair = retrieveDeptMapping().get(deptCode).getDepartmentChair();
-        return new ResponseEntity<>(departmentChair + " is the department chair.", HttpStatus.OK);
-      }
-      return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
-    } catch (Exception e) {
-      return handleException(e);
-    }
+  public ResponseEntity<?> identifyDeptChair(
+      @RequestParam String deptCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.identifyDeptChair(deptCode, ifNoneMatch);
   }
 
   /**
@@ -217,30 +377,16 @@ public class RouteController {
    *     in.
    * @param courseCode A {@code int} representing the course the user wishes to find information
    *     about.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either the location of the course and an
    *     HTTP 200 response or, an appropriate message indicating the proper response.
    */
   @GetMapping(value = "/findCourseLocation", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> findCourseLocation(
-      @RequestParam String deptCode, @RequestParam int courseCode) {
-    try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // retrieves the courseLocation via a specified deptCode and courseCode
-        String courseLocation =
-            retrieveDeptMapping()
-                .get(deptCode)
-                .getCourseSelection()
-                .get(Integer.toString(courseCode))
-                .getCourseLocation();
-        return new ResponseEntity<>(
-            courseLocation + " is where the course " + "is located.", HttpStatus.OK);
-      } else {
-        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
-      }
-
-    } catch (Exception e) {
-      return handleException(e);
-    }
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.findCourseLocation(deptCode, courseCode, ifNoneMatch);
   }
 
   /**
@@ -250,30 +396,16 @@ public class RouteController {
    *     in.
    * @param courseCode A {@code int} representing the course the user wishes to find information
    *     about.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either the course instructor and an HTTP 200
    *     response or, an appropriate message indicating the proper response.
    */
   @GetMapping(value = "/findCourseInstructor", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> findCourseInstructor(
-      @RequestParam String deptCode, @RequestParam int courseCode) {
-    try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // retrieve instructorName via a specified deptCode and courseCode
-        String instructorName =
-            retrieveDeptMapping()
-                .get(deptCode)
-                .getCourseSelection()
-                .get(Integer.toString(courseCode))
-                .getInstructorName();
-        return new ResponseEntity<>(
-            instructorName + " is the instructor for the course.", HttpStatus.OK);
-      } else {
-        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
-      }
-
-    } catch (Exception e) {
-      return handleException(e);
-    }
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.findCourseInstructor(deptCode, courseCode, ifNoneMatch);
   }
 
   /**
@@ -283,28 +415,150 @@ public class RouteController {
    *     in.
    * @param courseCode A {@code int} representing the course the user wishes to find information
    *     about.
+   * @param ifNoneMatch The entity tags of the copies the client already has, or null.
    * @return A {@code ResponseEntity} object containing either the details of the course timeslot
    *     and an HTTP 200 response or, an appropriate message indicating the proper response.
    */
   @GetMapping(value = "/findCourseTime", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> findCourseTime(
-      @RequestParam String deptCode, @RequestParam int courseCode) {
-    try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // retrieve courseTimeSlot via a specified deptCode and courseCode
-        String courseTimeSlot =
-            retrieveDeptMapping()
-                .get(deptCode)
-                .getCourseSelection()
-                .get(Integer.toString(courseCode))
-                .getCourseTimeSlot();
-        return new ResponseEntity<>("The course meets at: " + courseTimeSlot + " ", HttpStatus.OK);
-      } else {
-        return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
-      }
-    } catch (Exception e) {
-      return handleException(e);
-    }
+      @RequestParam String deptCode,
+      @RequestParam int courseCode,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    return reads.findCourseTime(deptCode, courseCode, ifNoneMatch);
+  }
+
+  /**
+   * Displays every course taught by the given instructor, found through the snapshot's
+   * {@link CourseAttributeIndex} in time proportional to the number of courses found.
+   *
+   * @param name A {@code String} representing the instructor, matched ignoring case and repeated
+   *     whitespace.
+   * @return A {@code ResponseEntity} object containing the courses, possibly none, and an HTTP 200
+   *     response.
+   */
+  @GetMapping(value = "/coursesByInstructor", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> coursesByInstructor(@RequestParam String name) {
+    return reads.coursesBy(CourseAttributeIndex.Attribute.INSTRUCTOR, name);
+  }
+
+  /**
+   * Displays every course held at the given location, found through the snapshot's
+   * {@link CourseAttributeIndex} in time proportional to the number of courses found.
+   *
+   * @param location A {@code String} representing the location, e.g. "501 NWC", matched ignoring
+   *     case and repeated whitespace.
+   * @return A {@code ResponseEntity} object containing the courses, possibly none, and an HTTP 200
+   *     response.
+   */
+  @GetMapping(value = "/coursesByLocation", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> coursesByLocation(@RequestParam String location) {
+    return reads.coursesBy(CourseAttributeIndex.Attribute.LOCATION, location);
+  }
+
+  /**
+   * Displays every course meeting in the given time slot, found through the snapshot's
+   * {@link CourseAttributeIndex} in time proportional to the number of courses found.
+   *
+   * @param time A {@code String} representing the time slot, e.g. "11:40-12:55"; slots with the
+   *     same start and end match regardless of leading zeros.
+   * @return A {@code ResponseEntity} object containing the courses, possibly none, and an HTTP 200
+   *     response, or an HTTP 400 response if the time slot is not valid.
+   */
+  @GetMapping(value = "/coursesByTime", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> coursesByTime(@RequestParam String time) {
+    return reads.coursesBy(CourseAttributeIndex.Attribute.TIME_SLOT, time);
+  }
+
+  /**
+   * Displays the first courses whose department code, course number, instructor name or a word of
+   * it starts with the query, for typeahead. The snapshot's {@link CourseAttributeIndex} walks its
+   * prefix tries only until it has found enough courses, so the answer takes about the same time
+   * however large the catalog is.
+   *
+   * @param q A {@code String} representing what was typed so far, e.g. "coms 41" or "canno",
+   *     matched ignoring case and repeated whitespace.
+   * @param limit An {@code int} representing the number of courses to return, 10 by default
+   *     and at most 100.
+   * @return A {@code ResponseEntity} object containing the courses, best first, possibly none, and
+   *     an HTTP 200 response, or an HTTP 400 response if the limit is not positive.
+   */
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> search(
+      @RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+    return reads.search(q, limit);
+  }
+
+  /**
+   * Displays the number of courses, seats and enrolled students, the fill percentage and the
+   * number of full courses, of one department or of every department and the whole campus. The
+   * totals are kept up to date by every enrollment, drop and added course, so answering visits no
+   * course: a department is read in constant time, the campus in time proportional to the number
+   * of departments.
+   *
+   * @param deptCode A {@code String} representing the department, or absent for every department
+   *     and the campus.
+   * @return A {@code ResponseEntity} object containing the totals and an HTTP 200 response, or an
+   *     HTTP 404 response if the department does not exist.
+   */
+  @GetMapping(value = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> statistics(@RequestParam(required = false) String deptCode) {
+    return reads.statistics(deptCode);
+  }
+
+  /**
+   * Lists the departments ordered by code, one page at a time. Each page carries the cursor of the
+   * next one, which names the last department listed, so paging through the catalog neither skips
+   * nor repeats a department however long it takes.
+   *
+   * @param cursor A {@code String} representing the {@code nextCursor} of the previous page, or
+   *     absent for the first page.
+   * @param limit An {@code int} representing the number of departments per page, 100 by default
+   *     and at most 1000.
+   * @return A {@code ResponseEntity} object containing the page and an HTTP 200 response, or an
+   *     HTTP 400 response if the cursor or the limit is not valid.
+   */
+  @GetMapping(value = "/departments", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> listDepartments(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    return reads.listDepartments(cursor, limit);
+  }
+
+  /**
+   * Lists the courses ordered by department code and course id, one page at a time, of every
+   * department or of one. Each page carries the cursor of the next one, which names the last
+   * course listed, so courses added while paging are listed if they sort after the cursor and
+   * nothing is listed twice.
+   *
+   * @param deptCode A {@code String} representing the department to list, or absent for every
+   *     department.
+   * @param cursor A {@code String} representing the {@code nextCursor} of the previous page, or
+   *     absent for the first page.
+   * @param limit An {@code int} representing the number of courses per page, 100 by default and
+   *     at most 1000.
+   * @return A {@code ResponseEntity} object containing the page and an HTTP 200 response, an HTTP
+   *     400 response if the cursor or the limit is not valid, or an HTTP 404 response if the
+   *     department does not exist.
+   */
+  @GetMapping(value = "/courses", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> listCourses(
+      @RequestParam(required = false) String deptCode,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100") int limit) {
+    return reads.listCourses(deptCode, cursor, limit);
+  }
+
+  /**
+   * Displays every pair of courses that share a room or an instructor at overlapping times. The
+   * bookings of the snapshot's {@link CourseAttributeIndex} are sorted and swept per room and per
+   * instructor, not compared course by course.
+   *
+   * @return A {@code ResponseEntity} object containing the clashes, possibly none, and an HTTP 200
+   *     response.
+   */
+  @GetMapping(value = "/scheduleConflicts", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> scheduleConflicts() {
+    return reads.scheduleConflicts();
   }
 
   /**
@@ -317,9 +571,11 @@ public class RouteController {
   @PatchMapping(value = "/addMajorToDept", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> addMajorToDept(@RequestParam String deptCode) {
     try {
-      if (doesDepartmentExist(deptCode)) {
+      Department department = findDepartment(deptCode);
+      if (department != null) {
         // add person to specified deptCode major
-        retrieveDeptMapping().get(deptCode).addPersonToMajor();
+        department.addPersonToMajor();
+        persistDepartment(department);
         return new ResponseEntity<>(ATTRIBUTE_UPDATED_SUCCESSFULLY, HttpStatus.OK);
       }
       return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
@@ -338,9 +594,11 @@ public class RouteController {
   @PatchMapping(value = "/removeMajorFromDept", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> removeMajorFromDept(@RequestParam String deptCode) {
     try {
-      if (doesDepartmentExist(deptCode)) {
+      Department department = findDepartment(deptCode);
+      if (department != null) {
         // drop person to specified deptCode major
-        retrieveDeptMapping().get(deptCode).dropPersonFromMajor();
+        department.dropPersonFromMajor();
+        persistDepartment(department);
         return new ResponseEntity<>("Attribute was updated or is at minimum", HttpStatus.OK);
       }
       return new ResponseEntity<>(DEPARTMENT_NOT_FOUND, HttpStatus.NOT_FOUND);
@@ -361,15 +619,10 @@ public class RouteController {
   public ResponseEntity<?> dropStudent(
       @RequestParam String deptCode, @RequestParam int courseCode) {
     try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        boolean isStudentDropped =
-            retrieveDeptMapping()
-                .get(deptCode)
-                .getCourseSelection()
-                .get(Integer.toString(courseCode))
-                .dropStudent();
-
-        if (isStudentDropped) {
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
+        if (course.dropStudent()) {
+          persistCourse(deptCode, courseCode, course);
           return new ResponseEntity<>("Student has been dropped.", HttpStatus.OK);
         } else {
           return new ResponseEntity<>("Student has not been dropped.", HttpStatus.BAD_REQUEST);
@@ -382,6 +635,46 @@ public class RouteController {
     }
   }
 
+  /**
+   * Attempts to enroll a student in several courses at once, all or nothing. The courses are given
+   * as matching repeated parameters, e.g. {@code ?deptCode=COMS&courseCode=1004&deptCode=ECON
+   * &courseCode=1105}. If any course is full, the student is enrolled in none of them.
+   *
+   * @param deptCode A {@code String[]} of the departments of the courses.
+   * @param courseCode A {@code int[]} of the courses, one per department code.
+   * @return A {@code ResponseEntity} object containing an HTTP 200 response if the student was
+   *     enrolled in every course, or the proper status code in tune with what has happened.
+   */
+  @PatchMapping(value = "/enrollStudentInCourses", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<?> enrollStudentInCourses(
+      @RequestParam String[] deptCode, @RequestParam int[] courseCode) {
+    try {
+      if (deptCode.length != courseCode.length) {
+        return new ResponseEntity<>(
+            "Each deptCode needs a matching courseCode.", HttpStatus.BAD_REQUEST);
+      }
+      List<Course> courses = new ArrayList<>(courseCode.length);
+      for (int i = 0; i < courseCode.length; i++) {
+        Course course = findCourse(deptCode[i], courseCode[i]);
+        if (course == null) {
+          return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        if (courses.contains(course)) {
+          return new ResponseEntity<>("A course is listed more than once.", HttpStatus.BAD_REQUEST);
+        }
+        courses.add(course);
+      }
+
+      if (!Course.enrollAll(courses)) {
+        return new ResponseEntity<>("Student has not been enrolled.", HttpStatus.BAD_REQUEST);
+      }
+      persistCourses(deptCode, courseCode, courses);
+      return new ResponseEntity<>("Student has been enrolled.", HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
   /**
    * Updates the enrollment count for a specified course within a given department.
    *
@@ -399,13 +692,11 @@ public class RouteController {
   public ResponseEntity<?> setEnrollmentCount(
       @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam int count) {
     try {
-      if (doesCourseExist(deptCode, courseCode)) {
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
         // setEnrolledStudentCount via specified deptCode and courseCode
-        retrieveDeptMapping()
-            .get(deptCode)
-            .getCourseSelection()
-            .get(Integer.toString(courseCode))
-            .setEnrolledStudentCount(count);
+        course.setEnrolledStudentCount(count);
+        persistCourse(deptCode, courseCode, course);
 
         return new ResponseEntity<>(ATTRIBUTE_UPDATED_SUCCESSFULLY, HttpStatus.OK);
       } else {
@@ -424,20 +715,24 @@ public class RouteController {
    * @param deptCode the code of the department containing the course
    * @param courseCode the code of the course to change the time for
    * @param time the new time for the course
-   * @return a ResponseEntity with a success message if the operation is successful, or an error
-   *     message if the course is not found
+   * @return a ResponseEntity with a success message if the operation is successful, the clashing
+   *     courses with status 409 if the room or the instructor is booked at the new time, or an
+   *     error message if the course is not found
    */
   @PatchMapping(value = "/changeCourseTime", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> changeCourseTime(
       @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String time) {
     try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // reassignTime() based on designated courseCode, deptCode, and time
-        retrieveDeptMapping()
-            .get(deptCode)
-            .getCourseSelection()
-            .get(Integer.toString(courseCode))
-            .reassignTime(time);
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
+        // reassignTime() based on designated courseCode, deptCode, and time, unless the
+        // room or the instructor is then booked twice
+        List<CourseAttributeIndex.Conflict> conflicts =
+            reassignCourse(course, CourseAttributeIndex.Attribute.TIME_SLOT, time);
+        if (!conflicts.isEmpty()) {
+          return new ResponseEntity<>(conflicts, HttpStatus.CONFLICT);
+        }
+        persistCourse(deptCode, courseCode, course);
 
         return new ResponseEntity<>("Attributed was updated successfully.", HttpStatus.OK);
       } else {
@@ -456,20 +751,24 @@ public class RouteController {
    * @param deptCode Code of the department containing the course
    * @param courseCode Code of the course to change the instructor for
    * @param teacher New instructor for the course
-   * @return a ResponseEntity with a success message if the operation is successful; or an error
-   *     message if the course is not found
+   * @return a ResponseEntity with a success message if the operation is successful; the clashing
+   *     courses with status 409 if the instructor teaches another course at that time; or an
+   *     error message if the course is not found
    */
   @PatchMapping(value = "/changeCourseTeacher", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> changeCourseTeacher(
       @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String teacher) {
     try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // reassignInstructor based on specified deptCode, courseCode, and new instructor
-        retrieveDeptMapping()
-            .get(deptCode)
-            .getCourseSelection()
-            .get(Integer.toString(courseCode))
-            .reassignInstructor(teacher);
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
+        // reassignInstructor based on specified deptCode, courseCode, and new instructor, unless
+        // the room or the instructor is then booked twice
+        List<CourseAttributeIndex.Conflict> conflicts =
+            reassignCourse(course, CourseAttributeIndex.Attribute.INSTRUCTOR, teacher);
+        if (!conflicts.isEmpty()) {
+          return new ResponseEntity<>(conflicts, HttpStatus.CONFLICT);
+        }
+        persistCourse(deptCode, courseCode, course);
 
         return new ResponseEntity<>("Attributed was updated successfully.", HttpStatus.OK);
       } else {
@@ -490,20 +789,24 @@ public class RouteController {
    * @param courseCode Code of the course whose location is to be updated.
    * @param location New location to be assigned to the specified course.
    * @return A {@link ResponseEntity} with a success message and 200 HTTP status if the course
-   *     exists and the location is updated; or an error message with 404 HTTP status if the course
+   *     exists and the location is updated; the clashing courses with 409 HTTP status if another
+   *     course is held there at that time; or an error message with 404 HTTP status if the course
    *     does not exist.
    */
   @PatchMapping(value = "/changeCourseLocation", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> changeCourseLocation(
       @RequestParam String deptCode, @RequestParam int courseCode, @RequestParam String location) {
     try {
-      if (doesCourseExist(deptCode, courseCode)) {
-        // reassignLocation based on deptCode, courseCode, and new location
-        retrieveDeptMapping()
-            .get(deptCode)
-            .getCourseSelection()
-            .get(Integer.toString(courseCode))
-            .reassignLocation(location);
+      Course course = findCourse(deptCode, courseCode);
+      if (course != null) {
+        // reassignLocation based on deptCode, courseCode, and new location, unless the
+        // room or the instructor is then booked twice
+        List<CourseAttributeIndex.Conflict> conflicts =
+            reassignCourse(course, CourseAttributeIndex.Attribute.LOCATION, location);
+        if (!conflicts.isEmpty()) {
+          return new ResponseEntity<>(conflicts, HttpStatus.CONFLICT);
+        }
+        persistCourse(deptCode, courseCode, course);
         return new ResponseEntity<>("Attributed was updated successfully.", HttpStatus.OK);
       } else {
         return new ResponseEntity<>(COURSE_NOT_FOUND, HttpStatus.NOT_FOUND);
@@ -0,0 +1,138 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request metrics of the API: a {@link LatencyHistogram} and outcome counters per route, plus the
+ * enrollment contention counters of {@link Course}, written in the Prometheus text format by
+ * {@link #scrape()}.
+ *
+ * <p>Routes are keyed by their mapping pattern, e.g. {@code /retrieveCourse}, so their number is
+ * bounded by the routes of the controller. Latency quantiles cover everything recorded since
+ * startup; rates and windowed averages come from the counters, e.g.
+ * {@code rate(http_server_requests_seconds_count[1m])} for throughput.
+ */
+public final class RouteMetrics {
+
+  /** The content type of {@link #scrape()}. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final RouteMetrics INSTANCE = new RouteMetrics();
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final int FIRST_CLIENT_ERROR = 400;
+  private static final int FIRST_SERVER_ERROR = 500;
+
+  private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the metrics recorded by the running application.
+   *
+   * @return the shared instance.
+   */
+  public static RouteMetrics shared() {
+    return INSTANCE;
+  }
+
+  /**
+   * Records a completed request.
+   *
+   * @param route the mapping pattern of the route.
+   * @param status the status code of the response.
+   * @param failed whether the handler failed, which the API also answers with status 200.
+   * @param nanos the time from receiving the request to completing the response.
+   */
+  public void record(String route, int status, boolean failed, long nanos) {
+    RouteStats stats = routes.get(route);
+    if (stats == null) {
+      stats = routes.computeIfAbsent(route, r -> new RouteStats());
+    }
+    stats.latency.record(nanos);
+    if (failed || status >= FIRST_SERVER_ERROR) {
+      stats.errors.increment();
+    } else if (status >= FIRST_CLIENT_ERROR) {
+      stats.clientErrors.increment();
+    } else {
+      stats.successes.increment();
+    }
+  }
+
+  /**
+   * Writes every metric in the Prometheus text exposition format.
+   *
+   * @return the metrics.
+   */
+  public String scrape() {
+    Map<String, RouteStats> sorted = new TreeMap<>(routes);
+    StringBuilder out = new StringBuilder(1024 + sorted.size() * 1024);
+
+    out.append("# HELP http_server_requests_seconds Latency of API requests by route.\n")
+        .append("# TYPE http_server_requests_seconds summary\n");
+    for (Map.Entry<String, RouteStats> route : sorted.entrySet()) {
+      LatencyHistogram.Snapshot latency = route.getValue().latency.snapshot();
+      String label = "route=\"" + escape(route.getKey()) + "\"";
+      for (double quantile : QUANTILES) {
+        sample(out, "http_server_requests_seconds", label + ",quantile=\"" + quantile + "\"",
+            seconds(latency.valueAt(quantile)));
+      }
+      sample(out, "http_server_requests_seconds_sum", label, seconds(latency.getSum()));
+      sample(out, "http_server_requests_seconds_count", label, Long.toString(latency.getCount()));
+    }
+
+    out.append("# HELP http_server_requests_total API requests by route and outcome: success")
+        .append(" (below 400), client_error (4xx) or error (5xx or a failed handler).\n")
+        .append("# TYPE http_server_requests_total counter\n");
+    for (Map.Entry<String, RouteStats> route : sorted.entrySet()) {
+      String label = "route=\"" + escape(route.getKey()) + "\",outcome=";
+      RouteStats stats = route.getValue();
+      sample(out, "http_server_requests_total", label + "\"success\"", stats.successes);
+      sample(out, "http_server_requests_total", label + "\"client_error\"", stats.clientErrors);
+      sample(out, "http_server_requests_total", label + "\"error\"", stats.errors);
+    }
+
+    Course.ContentionStats contention = Course.getContentionStats();
+    counter(out, "course_enrollment_contended_total",
+        "Enrolls and drops that lost a compare-and-set to a concurrent one.",
+        contention.contended());
+    counter(out, "course_enrollment_retries_total",
+        "Compare-and-sets retried by enrolls and drops.", contention.retries());
+    counter(out, "course_enrollment_rejected_full_total",
+        "Enrolls rejected because the course was full.", contention.rejectedFull());
+    counter(out, "course_enrollment_batch_rollbacks_total",
+        "Batch enrollments rolled back because a later course was full.",
+        contention.batchRollbacks());
+    return out.toString();
+  }
+
+  private static void sample(StringBuilder out, String name, String labels, LongAdder value) {
+    sample(out, name, labels, Long.toString(value.sum()));
+  }
+
+  private static void sample(StringBuilder out, String name, String labels, String value) {
+    out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  private static void counter(StringBuilder out, String name, String help, long value) {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+        .append("# TYPE ").append(name).append(" counter\n")
+        .append(name).append(' ').append(value).append('\n');
+  }
+
+  private static String seconds(long nanos) {
+    return Double.toString(nanos / 1e9);
+  }
+
+  private static String escape(String label) {
+    return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  /** The latency and outcome counters of one route. */
+  private static final class RouteStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+  }
+}
@@ -0,0 +1,87 @@
+package dev.coms4156.project.individualproject;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records every request served by {@link RouteController} in {@link RouteMetrics}. The start time
+ * is kept as a request attribute, so streamed responses, which complete on a later dispatch, are
+ * timed until their last byte.
+ */
+public final class RouteMetricsInterceptor implements HandlerInterceptor {
+
+  private static final String START_ATTRIBUTE = RouteMetricsInterceptor.class.getName() + ".start";
+  private static final String FAILED_ATTRIBUTE =
+      RouteMetricsInterceptor.class.getName() + ".failed";
+
+  private final RouteMetrics metrics;
+
+  /**
+   * Constructs an interceptor recording into the given metrics.
+   *
+   * @param metrics the metrics to record into.
+   */
+  public RouteMetricsInterceptor(RouteMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Records that the current request failed, for handlers that answer a failure with status 200:
+   * the request is counted as an error, and the failure is logged through {@link AsyncLog} with the
+   * route, department, course and time taken so far. Outside of a request only the failure is
+   * logged.
+   *
+   * @param e the failure.
+   */
+  @SuppressWarnings("PMD.GuardLogStatement") // AsyncLog has no levels to guard; it formats later
+  public static void recordFailure(Exception e) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servlet)) {
+      AsyncLog.shared().warn("Request failed", e);
+      return;
+    }
+    HttpServletRequest request = servlet.getRequest();
+    request.setAttribute(FAILED_ATTRIBUTE, Boolean.TRUE);
+    Object start = request.getAttribute(START_ATTRIBUTE);
+    AsyncLog.shared()
+        .warn(
+            "Request failed",
+            e,
+            "route",
+            request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+            "deptCode",
+            request.getParameter("deptCode"),
+            "courseCode",
+            request.getParameter("courseCode"),
+            "latency_ms",
+            start == null ? null : (System.nanoTime() - (Long) start) / 1e6);
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // an async dispatch of the same request keeps the original start
+    if (request.getAttribute(START_ATTRIBUTE) == null) {
+      request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    Object start = request.getAttribute(START_ATTRIBUTE);
+    Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    if (start == null || route == null) {
+      return;
+    }
+    boolean failed = ex != null || request.getAttribute(FAILED_ATTRIBUTE) != null;
+    metrics.record(
+        route.toString(), response.getStatus(), failed, System.nanoTime() - (Long) start);
+  }
+}
@@ -0,0 +1,477 @@
+package dev.coms4156.project.individualproject;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pushes the seat availability of courses to subscribers as server-sent events:
+ *
+ * <pre>{@code
+ * event:seats
+ * data:{"deptCode":"COMS","courseCode":1004,"enrolledStudentCount":249,
+ *       "enrollmentCapacity":400,"courseFull":false}
+ * }</pre>
+ *
+ * <p>A subscriber first receives the current state of every course it watches, then an event
+ * whenever the enrolled student count of one of them changes, which includes the course becoming
+ * full or no longer full. Courses signal their changes through {@link SeatChanges}; the signal
+ * only marks the watched course and schedules a flush one {@code window} later, so enrolling and
+ * dropping never wait on subscribers, and all changes to a course within one window are coalesced
+ * into one event with its latest state. A flush looks at the marked courses only.
+ *
+ * <p>Each event is encoded once per course and the same bytes are queued for every subscriber of
+ * that course. Every subscriber has a bounded queue of its own, drained by a task on a pool of
+ * sender threads sized to the cores while it has events. A task writes at most
+ * {@link #SEND_BATCH_EVENTS} events before it queues itself again behind the other subscribers, so
+ * the number of threads does not grow with the number of clients, and a client that reads slowly
+ * only delays itself. A client that falls
+ * {@link #MAX_PENDING_EVENTS} events behind is dropped and gets the current state again when it
+ * reconnects. Subscribers are written to through a {@link Sink}, which each server mode implements
+ * over its own kind of asynchronous response, so an open stream holds no request thread while it
+ * waits. Subscribers whose connection fails are dropped; idle streams get a comment line every
+ * {@link #HEARTBEAT_MILLIS} so that dead connections are noticed.
+ */
+public final class SeatAvailabilityStream implements AutoCloseable, SeatChanges.Listener {
+
+  /** Interval of the comment lines sent to keep idle streams open and detect dead ones. */
+  static final long HEARTBEAT_MILLIS = 15_000;
+
+  /** Events a client may fall behind by before it is dropped to reconnect. */
+  static final int MAX_PENDING_EVENTS = 256;
+
+  /** Events written to one client before its sender task yields to the other clients. */
+  static final int SEND_BATCH_EVENTS = 16;
+
+  private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+  /** The response a subscriber's events are written to. */
+  public interface Sink {
+
+    /**
+     * Writes an encoded event, which may block until the client has taken it.
+     *
+     * @param event the event in the text/event-stream format, shared with other subscribers and
+     *     not to be changed.
+     * @throws IOException if the client has gone or the response has ended.
+     */
+    void send(byte[] event) throws IOException;
+
+    /** Ends the response. */
+    void complete();
+
+    /**
+     * Registers what to run when the response ends on its own: the client goes away, or the
+     * response times out or fails.
+     *
+     * @param callback ends the subscription.
+     */
+    void onClose(Runnable callback);
+  }
+
+  private final Supplier<CatalogSnapshot> snapshots;
+  private final long windowMillis;
+  private final Executor senders;
+  private final int maxPendingEvents;
+  private final Map<Key, Watch> watches = new ConcurrentHashMap<>();
+  // the course each watch last resolved to, so that a signal finds its watch in one lookup
+  private final Map<Course, Watch> watchesByCourse = new ConcurrentHashMap<>();
+  private final Queue<Watch> marked = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  // started by the first subscription; read without the lock by the threads that signal changes
+  @SuppressWarnings("PMD.AvoidUsingVolatile")
+  private volatile ScheduledExecutorService flusher;
+  private boolean closed;
+
+  /**
+   * Constructs a stream without subscribers. The flusher thread is started by the first
+   * subscription, and events are sent by a fixed pool of one sender thread per core.
+   *
+   * @param snapshots supplies the current catalog snapshot, through which watched courses are
+   *     looked up on every flush.
+   * @param windowMillis the interval within which changes are collected and sent, must be
+   *     positive.
+   */
+  public SeatAvailabilityStream(Supplier<CatalogSnapshot> snapshots, long windowMillis) {
+    this(
+        snapshots,
+        windowMillis,
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), daemonThreads("seat-availability-sender")),
+        MAX_PENDING_EVENTS);
+  }
+
+  /**
+   * Constructs a stream without subscribers that sends through the given executor.
+   *
+   * @param snapshots supplies the current catalog snapshot.
+   * @param windowMillis the interval within which changes are collected and sent, must be
+   *     positive.
+   * @param senders runs the tasks that write the queued events of one subscriber; shut down by
+   *     {@link #close()} if it is an {@link ExecutorService}.
+   * @param maxPendingEvents the events a subscriber may fall behind by before it is dropped.
+   */
+  SeatAvailabilityStream(
+      Supplier<CatalogSnapshot> snapshots,
+      long windowMillis,
+      Executor senders,
+      int maxPendingEvents) {
+    if (snapshots == null) {
+      throw new IllegalArgumentException("Snapshot supplier cannot be null.");
+    }
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("Window must be a positive number.");
+    }
+    this.snapshots = snapshots;
+    this.windowMillis = windowMillis;
+    this.senders = senders;
+    this.maxPendingEvents = maxPendingEvents;
+  }
+
+  /**
+   * Subscribes a sink to courses of a department. The current state of each course is sent with
+   * the next flush, followed by its changes. The subscription ends when the sink closes.
+   *
+   * @param sink the response of the subscriber.
+   * @param deptCode the upper-case department code.
+   * @param courseCodes the courses to watch.
+   */
+  public void subscribe(Sink sink, String deptCode, int... courseCodes) {
+    Subscriber subscriber = new Subscriber(sink, maxPendingEvents);
+    sink.onClose(() -> unsubscribe(subscriber));
+    startFlusherIfNeeded();
+    subscribers.add(subscriber);
+    for (int courseCode : courseCodes) {
+      // atomic with the removal of unwatched courses in flush()
+      Watch watch =
+          watches.compute(
+              new Key(deptCode, courseCode),
+              (k, existing) -> {
+                Watch joined = existing == null ? new Watch(k) : existing;
+                subscriber.watches.add(joined);
+                joined.joining.add(subscriber);
+                return joined;
+              });
+      mark(watch);
+    }
+  }
+
+  /**
+   * Gets the number of open subscriptions.
+   *
+   * @return the number of subscribers.
+   */
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @Override
+  public void seatsChanged(Course course) {
+    Watch watch = watchesByCourse.get(course);
+    if (watch != null) {
+      mark(watch);
+    }
+  }
+
+  @Override
+  public void catalogChanged() {
+    // a watched code may resolve to another course now
+    for (Watch watch : watches.values()) {
+      mark(watch);
+    }
+  }
+
+  private void mark(Watch watch) {
+    if (watch.marked.compareAndSet(false, true)) {
+      marked.add(watch);
+    }
+    ScheduledExecutorService current = flusher;
+    if (current != null && flushScheduled.compareAndSet(false, true)) {
+      try {
+        current.schedule(this::flushQuietly, windowMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // the stream is closed
+        flushScheduled.set(false);
+      }
+    }
+  }
+
+  /**
+   * Queues the state of every marked course that changed since the last flush for its
+   * subscribers, and the current state for subscribers that joined since then. Runs on the flusher
+   * thread one window after the first change; never waits on a subscriber.
+   */
+  synchronized void flush() {
+    flushScheduled.set(false);
+    CatalogSnapshot snapshot = snapshots.get();
+    for (Watch watch = marked.poll(); watch != null; watch = marked.poll()) {
+      // cleared first, so that a change made while flushing marks the watch again
+      watch.marked.set(false);
+      flush(watch, snapshot);
+      if (watch.subscribers.isEmpty() && watch.joining.isEmpty()) {
+        // only removed if nobody subscribed in the meantime
+        watches.computeIfPresent(
+            watch.key,
+            (k, w) -> {
+              if (!w.subscribers.isEmpty() || !w.joining.isEmpty()) {
+                return w;
+              }
+              if (w.published != null) {
+                watchesByCourse.remove(w.published, w);
+              }
+              return null;
+            });
+      }
+    }
+  }
+
+  @SuppressWarnings("PMD.CompareObjectsWithEquals") // the course may have been replaced
+  private void flush(Watch watch, CatalogSnapshot snapshot) {
+    Course course = snapshot.findCourse(watch.key.deptCode, watch.key.courseCode);
+    if (course == null) {
+      // not in the catalog (any more); joining subscribers wait until it is
+      return;
+    }
+    if (course != watch.published) {
+      // registered before the state is read, so that no later change goes unsignalled
+      watchesByCourse.put(course, watch);
+      if (watch.published != null) {
+        watchesByCourse.remove(watch.published, watch);
+      }
+    }
+    int enrolled = course.getEnrolledStudentCount();
+    boolean full = course.isCourseFull();
+    byte[] event = null;
+    if (course != watch.published || enrolled != watch.enrolled || full != watch.full) {
+      event = encode(watch.key, enrolled, course.getEnrollmentCapacity(), full);
+      for (Subscriber subscriber : watch.subscribers) {
+        enqueue(subscriber, event);
+      }
+      watch.published = course;
+      watch.enrolled = enrolled;
+      watch.full = full;
+    }
+    for (Subscriber subscriber = watch.joining.poll();
+        subscriber != null;
+        subscriber = watch.joining.poll()) {
+      if (event == null) {
+        event = encode(watch.key, enrolled, course.getEnrollmentCapacity(), full);
+      }
+      if (enqueue(subscriber, event)) {
+        watch.subscribers.add(subscriber);
+        if (subscriber.closed) {
+          // unsubscribed while joining
+          watch.subscribers.remove(subscriber);
+        }
+      }
+    }
+  }
+
+  /** Queues a comment line for every subscriber, to keep idle streams open. */
+  void sendHeartbeat() {
+    for (Subscriber subscriber : subscribers) {
+      enqueue(subscriber, HEARTBEAT);
+    }
+  }
+
+  /**
+   * Queues an event for a subscriber and makes sure a sender drains its queue. A subscriber whose
+   * queue is full has fallen behind and is dropped.
+   */
+  @SuppressWarnings("PMD.GuardLogStatement") // AsyncLog has no levels to guard; it formats later
+  private boolean enqueue(Subscriber subscriber, byte[] event) {
+    if (subscriber.closed) {
+      return false;
+    }
+    boolean queued = subscriber.pending.offer(event);
+    if (!queued) {
+      AsyncLog.shared()
+          .warn("Seat availability client fell behind", null, "pendingEvents", maxPendingEvents);
+      unsubscribe(subscriber);
+    }
+    // also after dropping, so that the sender completes the sink once its write returns
+    drain(subscriber);
+    return queued;
+  }
+
+  private void drain(Subscriber subscriber) {
+    if (subscriber.draining.compareAndSet(false, true)) {
+      submit(subscriber);
+    }
+  }
+
+  /** Hands the queue of a subscriber whose drain is claimed to a sender. */
+  private void submit(Subscriber subscriber) {
+    try {
+      senders.execute(() -> send(subscriber));
+    } catch (RejectedExecutionException e) {
+      // the stream is closing
+      subscriber.draining.set(false);
+    }
+  }
+
+  /**
+   * Writes up to {@link #SEND_BATCH_EVENTS} queued events of one subscriber on a sender thread,
+   * then queues the rest behind the other subscribers.
+   */
+  private void send(Subscriber subscriber) {
+    for (int sent = 0; ; sent++) {
+      if (sent == SEND_BATCH_EVENTS && !subscriber.closed) {
+        // still draining, so no other sender takes the queue meanwhile
+        submit(subscriber);
+        return;
+      }
+      if (subscriber.closed) {
+        subscriber.pending.clear();
+        subscriber.sink.complete();
+        return;
+      }
+      byte[] event = subscriber.pending.poll();
+      if (event == null) {
+        subscriber.draining.set(false);
+        // an event queued after the poll found its drain still running; take it over
+        if (subscriber.pending.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+          return;
+        }
+        continue;
+      }
+      try {
+        subscriber.sink.send(event);
+      } catch (IOException e) {
+        // the client went away or the response has ended; the server ends the request
+        unsubscribe(subscriber);
+        subscriber.pending.clear();
+        return;
+      }
+    }
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscriber.closed = true;
+    if (subscribers.remove(subscriber)) {
+      for (Watch watch : subscriber.watches) {
+        watch.subscribers.remove(subscriber);
+        watch.joining.remove(subscriber);
+      }
+    }
+  }
+
+  private static byte[] encode(Key key, int enrolled, int capacity, boolean full) {
+    StringBuilder json = new StringBuilder(128);
+    json.append("event:seats\ndata:{\"deptCode\":\"");
+    JsonStringEncoder.getInstance().quoteAsString(key.deptCode, json);
+    json.append("\",\"courseCode\":")
+        .append(key.courseCode)
+        .append(",\"enrolledStudentCount\":")
+        .append(enrolled)
+        .append(",\"enrollmentCapacity\":")
+        .append(capacity)
+        .append(",\"courseFull\":")
+        .append(full)
+        .append("}\n\n");
+    return json.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private synchronized void startFlusherIfNeeded() {
+    if (closed) {
+      throw new IllegalStateException("Seat availability stream is closed.");
+    }
+    if (flusher == null) {
+      flusher =
+          Executors.newSingleThreadScheduledExecutor(daemonThreads("seat-availability-flusher"));
+      flusher.scheduleWithFixedDelay(
+          this::sendHeartbeat, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+      SeatChanges.register(this);
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      // a failed flush must not stop later ones
+      AsyncLog.shared().error("Seat availability flush failed", e);
+    }
+  }
+
+  /** Stops the flusher and the senders and completes every open subscription. */
+  @Override
+  public void close() {
+    SeatChanges.unregister(this);
+    synchronized (this) {
+      closed = true;
+      if (flusher != null) {
+        // does not wait for a running flush
+        flusher.shutdownNow();
+      }
+    }
+    List<Subscriber> open = new ArrayList<>(subscribers);
+    for (Subscriber subscriber : open) {
+      unsubscribe(subscriber);
+      subscriber.sink.complete();
+    }
+    if (senders instanceof ExecutorService service) {
+      // interrupts writes to slow clients, so this never waits on them
+      service.shutdownNow();
+    }
+  }
+
+  private record Key(String deptCode, int courseCode) {}
+
+  /** The subscribers of one course and the state last sent to them; touched by the flusher only. */
+  private static final class Watch {
+    private final Key key;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> joining = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean marked = new AtomicBoolean();
+    private Course published;
+    private int enrolled;
+    private boolean full;
+
+    Watch(Key key) {
+      this.key = key;
+    }
+  }
+
+  private static final class Subscriber {
+    private final Sink sink;
+    private final Queue<Watch> watches = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<byte[]> pending;
+    // true while a sender owns the queue, so that sends to one sink are never concurrent
+    private final AtomicBoolean draining = new AtomicBoolean();
+    @SuppressWarnings("PMD.AvoidUsingVolatile") // set by server callbacks, read by senders
+    private volatile boolean closed;
+
+    Subscriber(Sink sink, int maxPendingEvents) {
+      this.sink = sink;
+      this.pending = new ArrayBlockingQueue<>(maxPendingEvents);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package dev.coms4156.project.individualproject;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Tells the open {@link SeatAvailabilityStream}s that seats changed, so that they send events for
+ * the courses that changed instead of checking every watched course on a timer.
+ *
+ * <p>Courses signal after each change of their enrolled student count; departments and the
+ * database signal when a course or the whole catalog is replaced, since a watched code may then
+ * resolve to another course. Signalling only hands the change to the listeners, which must return
+ * without blocking; with no stream open it reads one empty array.
+ */
+final class SeatChanges {
+
+  /** Is told about seat changes; called on the thread that made the change. */
+  interface Listener {
+
+    /**
+     * Called after the enrolled student count of a course changed.
+     *
+     * @param course the course.
+     */
+    void seatsChanged(Course course);
+
+    /** Called after a course was added or replaced, or the catalog was replaced. */
+    void catalogChanged();
+  }
+
+  private static final Set<Listener> LISTENERS = new CopyOnWriteArraySet<>();
+
+  private SeatChanges() {}
+
+  static void register(Listener listener) {
+    LISTENERS.add(listener);
+  }
+
+  static void unregister(Listener listener) {
+    LISTENERS.remove(listener);
+  }
+
+  static void seatsChanged(Course course) {
+    for (Listener listener : LISTENERS) {
+      listener.seatsChanged(course);
+    }
+  }
+
+  static void catalogChanged() {
+    for (Listener listener : LISTENERS) {
+      listener.catalogChanged();
+    }
+  }
+}
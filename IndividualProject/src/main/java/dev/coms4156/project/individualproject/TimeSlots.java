@@ -0,0 +1,110 @@
+package dev.coms4156.project.individualproject;
+
+/**
+ * Parses course time slots such as {@code "11:40-12:55"} into a packed {@code int} holding the
+ * start minute of the day in the upper 16 bits and the end minute in the lower 16 bits.
+ *
+ * <p>The parser is hand-written and allocates nothing. It accepts exactly what the original
+ * pattern {@code ^([01]?\d|2[0-3]):[0-5]\d-([01]?\d|2[0-3]):[0-5]\d$} accepted: a one or two digit
+ * hour from 0 to 23, a colon, two minute digits from 00 to 59, a dash, and a second such time,
+ * with nothing before or after.
+ */
+public final class TimeSlots {
+
+  /** Returned by {@link #parse} for a string that is not a valid time slot. */
+  public static final int INVALID = -1;
+
+  private TimeSlots() {}
+
+  /**
+   * Parses a time slot.
+   *
+   * @param timeSlot the time slot string, may be null.
+   * @return the packed start and end minutes, or {@link #INVALID}.
+   */
+  public static int parse(String timeSlot) {
+    if (timeSlot == null) {
+      return INVALID;
+    }
+    int length = timeSlot.length();
+    // shortest is H:MM-H:MM, longest HH:MM-HH:MM
+    if (length < 9 || length > 11) {
+      return INVALID;
+    }
+    int start = parseTime(timeSlot, 0, length);
+    if (start < 0) {
+      return INVALID;
+    }
+    int dash = start >>> 16;
+    if (dash >= length || timeSlot.charAt(dash) != '-') {
+      return INVALID;
+    }
+    int end = parseTime(timeSlot, dash + 1, length);
+    if (end < 0 || end >>> 16 != length) {
+      return INVALID;
+    }
+    return (start & 0xFFFF) << 16 | (end & 0xFFFF);
+  }
+
+  /**
+   * Gets the start minute of a parsed time slot.
+   *
+   * @param packed a value returned by {@link #parse}, not {@link #INVALID}.
+   * @return the minute of the day the slot starts at, from 0 to 1439.
+   */
+  public static int startMinute(int packed) {
+    return packed >>> 16;
+  }
+
+  /**
+   * Gets the end minute of a parsed time slot.
+   *
+   * @param packed a value returned by {@link #parse}, not {@link #INVALID}.
+   * @return the minute of the day the slot ends at, from 0 to 1439.
+   */
+  public static int endMinute(int packed) {
+    return packed & 0xFFFF;
+  }
+
+  /**
+   * Parses one H:MM or HH:MM time starting at {@code pos}.
+   *
+   * @return the index just past the time in the upper 16 bits and the minute of the day in the
+   *     lower 16 bits, or -1 if there is no valid time at {@code pos}.
+   */
+  private static int parseTime(String s, int pos, int length) {
+    if (pos + 4 > length) {
+      return -1;
+    }
+    int h1 = digit(s.charAt(pos));
+    if (h1 < 0) {
+      return -1;
+    }
+    int hour;
+    int i = pos + 1;
+    int h2 = digit(s.charAt(i));
+    if (h2 >= 0) {
+      // two-digit hours are 00-19 or 20-23
+      if (h1 > 2 || h1 == 2 && h2 > 3) {
+        return -1;
+      }
+      hour = h1 * 10 + h2;
+      i++;
+    } else {
+      hour = h1;
+    }
+    if (i + 3 > length || s.charAt(i) != ':') {
+      return -1;
+    }
+    int m1 = digit(s.charAt(i + 1));
+    int m2 = digit(s.charAt(i + 2));
+    if (m1 < 0 || m1 > 5 || m2 < 0) {
+      return -1;
+    }
+    return (i + 3) << 16 | (hour * 60 + m1 * 10 + m2);
+  }
+
+  private static int digit(char c) {
+    return c >= '0' && c <= '9' ? c - '0' : -1;
+  }
+}
@@ -0,0 +1,533 @@
+package dev.coms4156.project.individualproject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, binary write-ahead log for catalog mutations.
+ *
+ * <p>Every record holds the complete mutable state of one course (enrolled count, instructor,
+ * location, time slot) or one department (number of majors) as read at append time. Replaying a
+ * record is therefore idempotent, and the last record for an entity always reflects its latest
+ * state, regardless of how concurrent mutations were interleaved.
+ *
+ * <p>Appends are buffered in memory and made durable by a single flusher thread that writes and
+ * fsyncs everything that accumulated since its last flush (group commit), so the cost of
+ * durability grows with the write rate instead of the catalog size. A checkpoint writes a full
+ * snapshot through the supplied {@link SnapshotWriter} and then drops the records that were logged
+ * before the snapshot was started. Appends and flushes carry on while the snapshot is written, so
+ * a checkpoint never stalls writers.
+ *
+ * <p>On disk each record is {@code [int length][int crc32][payload]}; a torn or corrupt tail left
+ * by a crash is detected by the checksum and discarded on replay. A batch that fails to be written
+ * is cut off again before the next one is appended, so that replay never stops short of records
+ * that were acknowledged after it; if the log cannot be cut back, it refuses further appends.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+  /**
+   * Writes a complete snapshot of the catalog. Invoked while appends carry on, so the snapshot must
+   * reflect at least the state from the moment it was invoked.
+   */
+  @FunctionalInterface
+  public interface SnapshotWriter {
+
+    /**
+     * Writes the snapshot durably.
+     *
+     * @throws IOException if the snapshot could not be written.
+     */
+    void writeSnapshot() throws IOException;
+  }
+
+  /** Opens the channel the log is appended to. */
+  @FunctionalInterface
+  interface ChannelOpener {
+
+    /**
+     * Opens the log file for appending, creating it if needed.
+     *
+     * @param path the log file.
+     * @return the channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    FileChannel open(Path path) throws IOException;
+  }
+
+  private static final byte COURSE_RECORD = 1;
+  private static final byte DEPARTMENT_RECORD = 2;
+  private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+  private final Path path;
+  private final SnapshotWriter snapshotWriter;
+  private final long checkpointThresholdBytes;
+  private final ChannelOpener channelOpener;
+
+  // guards the pending batch; held only briefly by appenders
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pendingAvailable = lock.newCondition();
+
+  // guards the channel; always acquired before lock
+  private final ReentrantLock ioLock = new ReentrantLock();
+
+  // one checkpoint at a time; always acquired before ioLock, and never held by the flusher
+  private final ReentrantLock checkpointLock = new ReentrantLock();
+
+  private ByteArrayOutputStream pendingBytes = new ByteArrayOutputStream();
+  private List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+  private FileChannel channel;
+  private Thread flusher;
+  private Thread checkpointer;
+  private boolean closed;
+  // set when a failed batch could not be cut off the log, which then takes no more appends
+  private boolean failed;
+  private long sizeInBytes;
+
+  /**
+   * Creates a write-ahead log backed by the given file. The file is not opened until the first
+   * record is appended.
+   *
+   * @param path the log file.
+   * @param snapshotWriter writes a full snapshot when a checkpoint is taken.
+   * @param checkpointThresholdBytes log size after which the flusher takes a checkpoint on its own.
+   */
+  public WriteAheadLog(Path path, SnapshotWriter snapshotWriter, long checkpointThresholdBytes) {
+    this(path, snapshotWriter, checkpointThresholdBytes, WriteAheadLog::openChannel);
+  }
+
+  /**
+   * Creates a write-ahead log backed by the given file that opens it through the given opener.
+   *
+   * @param path the log file.
+   * @param snapshotWriter writes a full snapshot when a checkpoint is taken.
+   * @param checkpointThresholdBytes log size after which the flusher takes a checkpoint on its own.
+   * @param channelOpener opens the log file for appending.
+   */
+  WriteAheadLog(
+      Path path,
+      SnapshotWriter snapshotWriter,
+      long checkpointThresholdBytes,
+      ChannelOpener channelOpener) {
+    if (path == null || snapshotWriter == null) {
+      throw new IllegalArgumentException("Path and snapshot writer cannot be null.");
+    }
+    if (checkpointThresholdBytes <= 0) {
+      throw new IllegalArgumentException("Checkpoint threshold must be a positive number.");
+    }
+    this.path = path;
+    this.snapshotWriter = snapshotWriter;
+    this.checkpointThresholdBytes = checkpointThresholdBytes;
+    this.channelOpener = channelOpener;
+  }
+
+  /**
+   * Appends the current state of a course. The returned future completes once the record (or a
+   * checkpoint that includes it) is durable.
+   *
+   * @param deptCode the department the course belongs to.
+   * @param courseId the course id within the department.
+   * @param course the course whose state is logged.
+   * @return a future completed when the record is durable.
+   */
+  public CompletableFuture<Void> appendCourse(String deptCode, String courseId, Course course) {
+    return append(
+        out -> {
+          out.writeByte(COURSE_RECORD);
+          out.writeUTF(deptCode);
+          out.writeUTF(courseId);
+          out.writeInt(course.getEnrolledStudentCount());
+          out.writeUTF(course.getInstructorName());
+          out.writeUTF(course.getCourseLocation());
+          out.writeUTF(course.getCourseTimeSlot());
+        });
+  }
+
+  /**
+   * Appends the current state of a department. The returned future completes once the record (or
+   * a checkpoint that includes it) is durable.
+   *
+   * @param department the department whose state is logged.
+   * @return a future completed when the record is durable.
+   */
+  public CompletableFuture<Void> appendDepartment(Department department) {
+    return append(
+        out -> {
+          out.writeByte(DEPARTMENT_RECORD);
+          out.writeUTF(department.getDepartmentCode());
+          out.writeInt(department.getNumberOfMajors());
+        });
+  }
+
+  @FunctionalInterface
+  private interface RecordEncoder {
+    void encode(DataOutputStream out) throws IOException;
+  }
+
+  private CompletableFuture<Void> append(RecordEncoder encoder) {
+    CompletableFuture<Void> durable = new CompletableFuture<>();
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Write-ahead log is closed.");
+      }
+      if (failed) {
+        throw new IllegalStateException("Write-ahead log failed and takes no more records.");
+      }
+      // encode under the lock so the logged state is at least as new as any earlier record
+      ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+      encoder.encode(new DataOutputStream(payload));
+      writeRecord(new DataOutputStream(pendingBytes), payload.toByteArray());
+      pendingFutures.add(durable);
+      startFlusherIfNeeded();
+      pendingAvailable.signal();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+    return durable;
+  }
+
+  private static void writeRecord(DataOutputStream out, byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    out.writeInt(payload.length);
+    out.writeInt((int) crc.getValue());
+    out.write(payload);
+  }
+
+  private void startFlusherIfNeeded() {
+    if (flusher == null) {
+      flusher = new Thread(this::flushLoop, "wal-flusher");
+      flusher.setDaemon(true);
+      flusher.start();
+    }
+  }
+
+  private void flushLoop() {
+    while (true) {
+      lock.lock();
+      try {
+        while (pendingFutures.isEmpty() && !closed) {
+          pendingAvailable.await();
+        }
+        if (pendingFutures.isEmpty()) {
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        lock.unlock();
+      }
+
+      ioLock.lock();
+      try {
+        flushPendingWithIoLock();
+        if (sizeInBytes >= checkpointThresholdBytes) {
+          startCheckpointerIfNeeded();
+        }
+      } catch (IOException e) {
+        // callers of the failed batch already received the error; keep serving new appends
+        AsyncLog.shared().error("Write-ahead log batch failed", e, "file", path);
+      } finally {
+        ioLock.unlock();
+      }
+    }
+  }
+
+  private void flushPendingWithIoLock() throws IOException {
+    byte[] batch;
+    List<CompletableFuture<Void>> futures;
+    lock.lock();
+    try {
+      // everything appended while the previous batch was being synced goes out together
+      batch = pendingBytes.toByteArray();
+      futures = pendingFutures;
+      pendingBytes = new ByteArrayOutputStream();
+      pendingFutures = new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+    if (!futures.isEmpty()) {
+      writeBatch(batch, futures);
+    }
+  }
+
+  private void startCheckpointerIfNeeded() {
+    lock.lock();
+    try {
+      // the flusher keeps syncing appends while another thread writes the snapshot
+      if (checkpointer == null || !checkpointer.isAlive()) {
+        checkpointer = new Thread(this::checkpointQuietly, "wal-checkpoint");
+        checkpointer.setDaemon(true);
+        checkpointer.start();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void checkpointQuietly() {
+    try {
+      checkpoint();
+    } catch (IOException e) {
+      AsyncLog.shared().error("Write-ahead log checkpoint failed", e, "file", path);
+    }
+  }
+
+  private void writeBatch(byte[] batch, List<CompletableFuture<Void>> futures) throws IOException {
+    try {
+      if (channel == null) {
+        channel = channelOpener.open(path);
+        sizeInBytes = channel.size();
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(batch);
+      try {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        cutOffFailedBatch(e);
+        throw e;
+      }
+      sizeInBytes += batch.length;
+      futures.forEach(future -> future.complete(null));
+    } catch (IOException e) {
+      futures.forEach(future -> future.completeExceptionally(e));
+      throw e;
+    }
+  }
+
+  /**
+   * Cuts whatever part of a failed batch reached the file off again, so that the next batch is
+   * appended right after the last durable record. Appends go to the end of the file, so the next
+   * write follows the cut. If the log cannot be cut, it stops taking records.
+   */
+  private void cutOffFailedBatch(IOException failure) {
+    try {
+      channel.truncate(sizeInBytes);
+      channel.force(false);
+    } catch (IOException e) {
+      failure.addSuppressed(e);
+      lock.lock();
+      try {
+        failed = true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Takes a checkpoint: writes a full snapshot and drops the records logged before it. Pending
+   * records are flushed and the end of the log is noted first; appends and flushes then carry on
+   * while the snapshot is written. Every record before the noted end is covered by the snapshot,
+   * and every later one is kept, so replaying the log on top of the snapshot restores the latest
+   * state.
+   *
+   * @throws IOException if the snapshot could not be written or the log could not be shortened.
+   */
+  public void checkpoint() throws IOException {
+    checkpointLock.lock();
+    try {
+      long cut;
+      ioLock.lock();
+      try {
+        flushPendingWithIoLock();
+        if (channel != null) {
+          cut = sizeInBytes;
+        } else {
+          // a log left by an earlier run is not opened until the first append
+          cut = Files.exists(path) ? Files.size(path) : 0;
+        }
+      } finally {
+        ioLock.unlock();
+      }
+      snapshotWriter.writeSnapshot();
+      ioLock.lock();
+      try {
+        dropRecordsBeforeWithIoLock(cut);
+      } finally {
+        ioLock.unlock();
+      }
+    } finally {
+      checkpointLock.unlock();
+    }
+  }
+
+  private void dropRecordsBeforeWithIoLock(long cut) throws IOException {
+    if (channel == null) {
+      // nothing was appended since the cut
+      Files.deleteIfExists(path);
+      return;
+    }
+    if (sizeInBytes <= cut) {
+      channel.truncate(0);
+      channel.force(true);
+      sizeInBytes = 0;
+      return;
+    }
+    // the records appended while the snapshot was written move to a new file, swapped in atomically
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    long tailBytes = sizeInBytes - cut;
+    try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+        FileChannel out =
+            FileChannel.open(
+                temp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+      long copied = 0;
+      while (copied < tailBytes) {
+        copied += in.transferTo(cut + copied, tailBytes - copied, out);
+      }
+      out.force(true);
+    }
+    channel.close();
+    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    channel = channelOpener.open(path);
+    sizeInBytes = tailBytes;
+  }
+
+  private static FileChannel openChannel(Path path) throws IOException {
+    return FileChannel.open(
+        path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Gets the number of bytes currently stored in the log file.
+   *
+   * @return the durable log size in bytes.
+   */
+  public long getSizeInBytes() {
+    ioLock.lock();
+    try {
+      return sizeInBytes;
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  /**
+   * Replays every intact record in the log onto the given mapping. Records for departments or
+   * courses that no longer exist are skipped. A torn or corrupt tail is discarded.
+   *
+   * @param mapping the mapping of department codes to Department objects to update.
+   * @return the number of records applied.
+   * @throws IOException if the log exists but cannot be read.
+   */
+  public int replay(Map<String, Department> mapping) throws IOException {
+    if (!Files.exists(path)) {
+      return 0;
+    }
+    ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(path));
+    int applied = 0;
+    while (log.remaining() >= HEADER_BYTES) {
+      int length = log.getInt();
+      final int checksum = log.getInt();
+      if (length <= 0 || length > log.remaining()) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      log.get(payload);
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      if (apply(payload, mapping)) {
+        applied++;
+      }
+    }
+    return applied;
+  }
+
+  private static boolean apply(byte[] payload, Map<String, Department> mapping)
+      throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+    byte type = in.readByte();
+    Department department = mapping.get(in.readUTF());
+    if (type == COURSE_RECORD) {
+      String courseId = in.readUTF();
+      Course course = department == null ? null : department.getCourseSelection().get(courseId);
+      if (course == null) {
+        return false;
+      }
+      course.setEnrolledStudentCount(in.readInt());
+      course.reassignInstructor(in.readUTF());
+      course.reassignLocation(in.readUTF());
+      course.reassignTime(in.readUTF());
+      return true;
+    } else if (type == DEPARTMENT_RECORD && department != null) {
+      department.setNumberOfMajors(in.readInt());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Stops the flusher after it has made all pending records durable, waits for a checkpoint in
+   * progress and closes the log file. Closing a closed log does nothing.
+   *
+   * @throws IOException if the log file cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    Thread flusherToJoin;
+    lock.lock();
+    try {
+      closed = true;
+      pendingAvailable.signalAll();
+      flusherToJoin = flusher;
+    } finally {
+      lock.unlock();
+    }
+    join(flusherToJoin);
+    Thread checkpointerToJoin;
+    lock.lock();
+    try {
+      // read after the flusher stopped, since only the flusher starts checkpointers
+      checkpointerToJoin = checkpointer;
+    } finally {
+      lock.unlock();
+    }
+    join(checkpointerToJoin);
+    ioLock.lock();
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    } finally {
+      ioLock.unlock();
+    }
+  }
+
+  private static void join(Thread thread) {
+    if (thread != null) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link AsyncLog} class.
+ *
+ * <p>This class contains test cases to validate the logfmt lines, that events logged while the
+ * buffer is full are dropped and reported, and that events from many threads are all written.
+ */
+public class AsyncLogTests {
+
+  /** Tests if lines carry the level, the message, quoted fields and the error. */
+  @Test
+  public void writesStructuredLines() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    AsyncLog log = new AsyncLog(new PrintStream(bytes, true, StandardCharsets.UTF_8), 16);
+
+    log.warn(
+        "Request failed",
+        new IllegalStateException("no \"seat\""),
+        "route",
+        "/retrieveCourse",
+        "deptCode",
+        "COMS",
+        "courseCode",
+        1004,
+        "instructor",
+        "Adam Cannon",
+        "location",
+        null);
+    log.info("Start up");
+    log.error("Data file could not be read", new IOException("gone"));
+    assertTrue(log.flush(5000));
+
+    String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+    assertTrue(
+        lines[0].endsWith(
+            " WARN msg=\"Request failed\" route=/retrieveCourse deptCode=COMS courseCode=1004"
+                + " instructor=\"Adam Cannon\""
+                + " error=\"java.lang.IllegalStateException: no \\\"seat\\\"\""),
+        lines[0]);
+    assertTrue(lines[1].endsWith(" INFO msg=\"Start up\""), lines[1]);
+    assertTrue(lines[2].contains(" ERROR msg=\"Data file could not be read\""), lines[2]);
+    // errors come with their stack trace
+    assertTrue(lines[3].startsWith("java.io.IOException: gone"), lines[3]);
+    assertTrue(lines[4].trim().startsWith("at "), lines[4]);
+  }
+
+  /** Tests if events are dropped while the buffer is full and the drop is reported. */
+  @Test
+  public void dropsEventsWhenFull() throws InterruptedException {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream blocking =
+        new OutputStream() {
+          @Override
+          public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) {
+            writing.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            bytes.write(b, off, len);
+          }
+        };
+    AsyncLog log = new AsyncLog(new PrintStream(blocking, true, StandardCharsets.UTF_8), 4);
+
+    log.info("first");
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 7; i++) {
+      log.info("queued", "i", i);
+    }
+    assertEquals(3, log.droppedCount());
+    release.countDown();
+    assertTrue(log.flush(5000));
+
+    String text = bytes.toString(StandardCharsets.UTF_8);
+    assertTrue(text.contains("msg=queued i=3\n"), text);
+    assertTrue(!text.contains("msg=queued i=4\n"), text);
+    assertTrue(text.contains("msg=\"Log events dropped\" dropped=3\n"), text);
+  }
+
+  /** Tests if every event logged by concurrent threads is written once. */
+  @Test
+  public void concurrentEventsAreAllWritten() throws InterruptedException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    AsyncLog log = new AsyncLog(new PrintStream(bytes, true, StandardCharsets.UTF_8), 1 << 16);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      int thread = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 5000; i++) {
+                  log.info("event", "thread", thread, "i", i);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(log.flush(10_000));
+
+    assertEquals(0, log.droppedCount());
+    assertEquals(20_000, bytes.toString(StandardCharsets.UTF_8).split("\n").length);
+    assertThrows(IllegalArgumentException.class, () -> new AsyncLog(System.out, 12));
+  }
+}
@@ -0,0 +1,133 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link BinaryCatalogFormat} class.
+ *
+ * <p>This class contains test cases to validate writing and reading the binary catalog format.
+ */
+public class BinaryCatalogFormatTests {
+
+  private Map<String, Department> mapping;
+
+  /** Sets up a mapping with two departments whose courses share an instructor and a room. */
+  @BeforeEach
+  public void binaryCatalogFormatSetUp() {
+    Map<String, Course> csCourses = new HashMap<>();
+    Course coms1004 = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400);
+    coms1004.setEnrolledStudentCount(249);
+    csCourses.put("1004", coms1004);
+    csCourses.put("3251", new Course("Adam Cannon", "417 IAB", "1:10-3:40", 125));
+    Map<String, Course> econCourses = new HashMap<>();
+    econCourses.put("1105", new Course("Waseem Noor", "309 HAV", "2:40-3:55", 210));
+
+    mapping = new LinkedHashMap<>();
+    mapping.put("COMS", new Department("COMS", csCourses, "Luca Carloni", 2700));
+    mapping.put("ECON", new Department("ECON", econCourses, "Michael Woodford", 2345));
+  }
+
+  private static byte[] encode(Map<String, Department> mapping) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryCatalogFormat.write(mapping, out);
+    return out.toByteArray();
+  }
+
+  /** Tests if a written catalog reads back with identical departments and courses. */
+  @Test
+  public void writeThenReadRoundTrips() throws IOException {
+    Map<String, Department> read =
+        BinaryCatalogFormat.read(new ByteArrayInputStream(encode(mapping)));
+
+    assertEquals(mapping.toString(), read.toString(), "Expected identical string output.");
+    Department coms = read.get("COMS");
+    assertEquals("Luca Carloni", coms.getDepartmentChair(), "Expected chair to round trip.");
+    assertEquals(2700, coms.getNumberOfMajors(), "Expected majors to round trip.");
+    Course course = coms.getCourseSelection().get("1004");
+    assertEquals(400, course.getEnrollmentCapacity(), "Expected capacity to round trip.");
+    assertEquals(249, course.getEnrolledStudentCount(), "Expected enrollment to round trip.");
+  }
+
+  /** Tests if repeated strings are stored once and load as a single shared instance. */
+  @Test
+  public void readSharesInternedStrings() throws IOException {
+    Map<String, Course> courses =
+        BinaryCatalogFormat.read(new ByteArrayInputStream(encode(mapping)))
+            .get("COMS")
+            .getCourseSelection();
+
+    assertSame(
+        courses.get("1004").getInstructorName(),
+        courses.get("3251").getInstructorName(),
+        "Expected both courses to share one instructor string.");
+    assertSame(
+        courses.get("1004").getCourseLocation(),
+        courses.get("3251").getCourseLocation(),
+        "Expected both courses to share one location string.");
+  }
+
+  /** Tests if the binary format is smaller than Java serialization of the same mapping. */
+  @Test
+  public void binaryFormatIsSmallerThanJavaSerialization() throws IOException {
+    ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+      out.writeObject(new HashMap<>(mapping));
+    }
+
+    assertTrue(
+        encode(mapping).length < serialized.size(),
+        "Expected the binary format to be smaller than Java serialization.");
+  }
+
+  /** Tests if isBinaryCatalog() recognizes the magic number only. */
+  @Test
+  public void isBinaryCatalogChecksMagic() throws IOException {
+    byte[] encoded = encode(mapping);
+    assertTrue(
+        BinaryCatalogFormat.isBinaryCatalog(encoded, encoded.length),
+        "Expected a written catalog to be recognized.");
+    assertFalse(
+        BinaryCatalogFormat.isBinaryCatalog(new byte[] {(byte) 0xAC, (byte) 0xED, 0, 5}, 4),
+        "Expected a Java serialization stream to be rejected.");
+    assertFalse(
+        BinaryCatalogFormat.isBinaryCatalog(new byte[0], 0),
+        "Expected an empty file to be rejected.");
+  }
+
+  /** Tests if read() rejects a truncated catalog with an IOException. */
+  @Test
+  public void readTruncatedCatalogThrows() throws IOException {
+    byte[] encoded = encode(mapping);
+    byte[] truncated = Arrays.copyOf(encoded, encoded.length - 10);
+    assertThrows(
+        IOException.class,
+        () -> BinaryCatalogFormat.read(new ByteArrayInputStream(truncated)),
+        "Expected a truncated catalog to be rejected.");
+  }
+
+  /** Tests if read() rejects a catalog written by an unknown format version. */
+  @Test
+  public void readUnknownVersionThrows() throws IOException {
+    byte[] encoded = encode(mapping);
+    encoded[5] = 99;
+    assertThrows(
+        IOException.class,
+        () -> BinaryCatalogFormat.read(new ByteArrayInputStream(encoded)),
+        "Expected an unknown version to be rejected.");
+  }
+}
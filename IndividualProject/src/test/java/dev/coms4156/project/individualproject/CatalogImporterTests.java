@@ -0,0 +1,148 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link CatalogImporter} class.
+ *
+ * <p>This class contains test cases to validate that CSV and NDJSON catalogs are imported into
+ * departments, that invalid records are skipped and reported, and that the result does not depend
+ * on how the input is split into chunks.
+ */
+public class CatalogImporterTests {
+
+  private static final String CSV =
+      "# deptCode,courseId,instructor,location,timeSlot,capacity,enrolled\n"
+          + "D,COMS,Luca Carloni,2700\n"
+          + "C,COMS,1004,Adam Cannon,417 IAB,11:40-12:55,400,249\n"
+          + "\n"
+          + "C,coms,3251,\"Dear, Tony\",402 CHANDLER,1:10-3:40,125,99\n"
+          + "C,ECON,1105,Waseem Noor,309 HAV,2:40-3:55,210,187\n"
+          + "D,ECON,Michael Woodford,2345\n";
+
+  private static CatalogImporter.Report importCsv(String csv, int chunkSize) throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      return new CatalogImporter(pool, chunkSize)
+          .importFrom(new BufferedReader(new StringReader(csv)), CatalogImporter.Format.CSV);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Tests if CSV departments and courses are imported, including quoted fields. */
+  @Test
+  public void importsCsvCatalog() throws IOException {
+    CatalogImporter.Report report = importCsv(CSV, 2);
+
+    assertEquals(5, report.rows());
+    assertEquals(0, report.rejected());
+    assertEquals(3, report.courses());
+    Department coms = report.departments().get("COMS");
+    assertEquals("Luca Carloni", coms.getDepartmentChair());
+    assertEquals(2700, coms.getNumberOfMajors());
+    assertEquals(249, coms.getCourse(1004).getEnrolledStudentCount());
+    assertEquals("Dear, Tony", coms.getCourse(3251).getInstructorName());
+    // the course came before its department and was attached once the department was read
+    assertEquals(
+        "Waseem Noor", report.departments().get("ECON").getCourse(1105).getInstructorName());
+  }
+
+  /** Tests if NDJSON records are imported like their CSV equivalents. */
+  @Test
+  public void importsNdjsonCatalog() throws IOException {
+    String ndjson =
+        "{\"type\":\"department\",\"deptCode\":\"IEOR\",\"chair\":\"Jay Sethuraman\","
+            + "\"majors\":67}\n"
+            + "{\"type\":\"course\",\"deptCode\":\"IEOR\",\"courseId\":\"2500\","
+            + "\"instructor\":\"Uday Menon\",\"location\":\"627 MUDD\","
+            + "\"timeSlot\":\"11:40-12:55\",\"capacity\":50,\"enrolled\":52}\n"
+            + "{\"type\":\"course\",\"deptCode\":\"IEOR\",\"courseId\":\"3404\","
+            + "\"instructor\":\"Christopher J Dolan\",\"location\":\"303 MUDD\","
+            + "\"timeSlot\":\"10:10-11:25\",\"capacity\":73}\n";
+
+    CatalogImporter.Report report =
+        new CatalogImporter()
+            .importFrom(
+                new BufferedReader(new StringReader(ndjson)), CatalogImporter.Format.NDJSON);
+
+    assertEquals(3, report.rows());
+    assertEquals(1, report.rejected());
+    assertTrue(report.errors().get(0).startsWith("line 2: "));
+    Course course = report.departments().get("IEOR").getCourse(3404);
+    assertNotNull(course);
+    assertEquals(0, course.getEnrolledStudentCount());
+  }
+
+  /** Tests if records breaking the Course and Department rules are skipped with line numbers. */
+  @Test
+  public void rejectsInvalidRecords() throws IOException {
+    String csv =
+        "D,COMS,Luca Carloni,2700\n"
+            + "C,COMS,1004,Adam Cannon,417 IAB,25:00-26:00,400,0\n"
+            + "C,COMS,3134,,301 URIS,4:10-5:25,250,0\n"
+            + "C,COMS,3157,Jae Lee,417 IAB,4:10-5:25,0,0\n"
+            + "C,COMS,3203,Ansaf Salleb-Aouissi,301 URIS,10:10-11:25,many,0\n"
+            + "C,COMS,3261,Josh Alman,417 IAB,2:40-3:55,150\n"
+            + "D,COMS,Someone Else,1\n"
+            + "C,COMS,4156,Gail Kaiser,501 NWC,10:10-11:25,120,109\n"
+            + "C,COMS,4156,Gail Kaiser,501 NWC,10:10-11:25,120,109\n"
+            + "C,MATH,1101,Someone,1 MATH,10:10-11:25,10,0\n"
+            + "X,COMS\n";
+
+    CatalogImporter.Report report = importCsv(csv, 3);
+
+    assertEquals(11, report.rows());
+    assertEquals(9, report.rejected());
+    assertEquals(1, report.courses());
+    assertEquals(9, report.errors().size());
+    assertTrue(report.errors().get(0).startsWith("line 2: Invalid time format"));
+    assertEquals("Luca Carloni", report.departments().get("COMS").getDepartmentChair());
+    assertEquals(1, report.departments().get("COMS").getCourseSelection().size());
+  }
+
+  /** Tests if the imported catalog is the same for every chunk size. */
+  @Test
+  public void resultDoesNotDependOnChunkSize() throws IOException {
+    StringBuilder csv = new StringBuilder();
+    for (int d = 0; d < 20; d++) {
+      csv.append("D,D").append(d).append(",Chair ").append(d).append(',').append(d).append('\n');
+      for (int c = 0; c < 50; c++) {
+        csv.append("C,D").append(d).append(',').append(1000 + c).append(",Instructor ")
+            .append(c).append(",Room ").append(c).append(",10:10-11:25,100,").append(c)
+            .append('\n');
+      }
+    }
+    String expected = importCsv(csv.toString(), 1).departments().toString();
+
+    for (int chunkSize : new int[] {7, 64, 4096}) {
+      CatalogImporter.Report report = importCsv(csv.toString(), chunkSize);
+      assertEquals(1000, report.courses());
+      assertEquals(expected, report.departments().toString());
+    }
+  }
+
+  /** Tests if the file format is picked from the file name and the file is imported. */
+  @Test
+  public void importsFileByExtension(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("catalog.csv");
+    Files.writeString(file, CSV);
+
+    CatalogImporter.Report report = new CatalogImporter().importFile(file);
+
+    assertEquals(CatalogImporter.Format.NDJSON, CatalogImporter.Format.forFileName("a.JSONL"));
+    assertEquals(2, report.departments().size());
+    assertTrue(report.rowsPerSecond() > 0);
+  }
+}
@@ -0,0 +1,110 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.coms4156.project.individualproject.CatalogPages.CourseSummary;
+import dev.coms4156.project.individualproject.CatalogPages.DepartmentSummary;
+import dev.coms4156.project.individualproject.CatalogPages.Page;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CatalogPages} class.
+ *
+ * <p>This class contains test cases to validate that listings are ordered by code and id, that
+ * following the cursors visits every item exactly once, also when courses are added between
+ * pages, and that cursors and limits are validated.
+ */
+public class CatalogPagesTests {
+
+  private Map<String, Department> mapping;
+  private CatalogPages pages;
+
+  /** Builds a mapping whose iteration order differs from the listing order. */
+  @BeforeEach
+  public void catalogPagesSetUp() {
+    Map<String, Course> coms = new HashMap<>();
+    coms.put("3157", new Course("Jae Lee", "417 IAB", "4:10-5:25", 400));
+    coms.put("1004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 30));
+    coms.put("3134", new Course("Brian Borowski", "301 URIS", "4:10-5:25", 250));
+    Map<String, Course> econ = new HashMap<>();
+    econ.put("1105", new Course("Waseem Noor", "309 HAV", "2:40-3:55", 210));
+    mapping = new HashMap<>();
+    mapping.put("PHYS", new Department("PHYS", new HashMap<>(), "Dam T. Son", 43));
+    mapping.put("ECON", new Department("ECON", econ, "Michael Woodford", 2345));
+    mapping.put("COMS", new Department("COMS", coms, "Luca Carloni", 2700));
+    pages = new CatalogPages(mapping);
+  }
+
+  /** Tests if departments are listed by code, two at a time, with a cursor until the last. */
+  @Test
+  public void departmentsArePagedByCode() {
+    Page<DepartmentSummary> first = pages.departments(null, 2);
+    assertEquals(
+        List.of(
+            new DepartmentSummary("COMS", "Luca Carloni", 2700, 3),
+            new DepartmentSummary("ECON", "Michael Woodford", 2345, 1)),
+        first.items());
+
+    Page<DepartmentSummary> second = pages.departments(first.nextCursor(), 2);
+    assertEquals(
+        List.of("PHYS"), second.items().stream().map(DepartmentSummary::deptCode).toList());
+    assertNull(second.nextCursor());
+    assertNull(pages.departments(null, 3).nextCursor());
+  }
+
+  /** Tests if courses are listed across departments by code and id, each once. */
+  @Test
+  public void coursesArePagedAcrossDepartments() {
+    assertEquals(
+        List.of("COMS 1004", "COMS 3134", "COMS 3157", "ECON 1105"), listAll(null, 1));
+    assertEquals(List.of("COMS 1004", "COMS 3134", "COMS 3157"), listAll("COMS", 2));
+    assertEquals(List.of(), listAll("PHYS", 2));
+
+    CourseSummary course = pages.courses("ECON", null, 10).items().get(0);
+    assertEquals(
+        new CourseSummary("ECON", "1105", "Waseem Noor", "309 HAV", "2:40-3:55", 210, 0), course);
+  }
+
+  /** Tests if courses added between pages are listed when they sort after the cursor. */
+  @Test
+  public void addedCoursesAreListedAfterTheCursor() {
+    Page<CourseSummary> first = pages.courses(null, null, 2);
+    mapping.get("COMS").createCourse("1001", "Someone", "501 NWC", "8:40-9:55", 20);
+    mapping.get("COMS").createCourse("4156", "Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+
+    List<String> rest = new ArrayList<>();
+    for (String cursor = first.nextCursor(); cursor != null; ) {
+      Page<CourseSummary> page = pages.courses(null, cursor, 2);
+      page.items().forEach(c -> rest.add(c.deptCode() + " " + c.courseCode()));
+      cursor = page.nextCursor();
+    }
+    assertEquals(List.of("COMS 3157", "COMS 4156", "ECON 1105"), rest);
+  }
+
+  /** Tests if cursors that were not issued by the listing and bad limits are refused. */
+  @Test
+  public void invalidCursorsAndLimitsAreRefused() {
+    assertThrows(IllegalArgumentException.class, () -> pages.courses(null, "not base64!", 2));
+    String departmentCursor = pages.departments(null, 1).nextCursor();
+    assertThrows(IllegalArgumentException.class, () -> pages.courses(null, departmentCursor, 2));
+    assertThrows(IllegalArgumentException.class, () -> pages.departments(null, 0));
+  }
+
+  private List<String> listAll(String deptCode, int limit) {
+    List<String> listed = new ArrayList<>();
+    String cursor = null;
+    do {
+      Page<CourseSummary> page = pages.courses(deptCode, cursor, limit);
+      page.items().forEach(c -> listed.add(c.deptCode() + " " + c.courseCode()));
+      cursor = page.nextCursor();
+    } while (cursor != null);
+    return listed;
+  }
+}
@@ -0,0 +1,150 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ColumnarCourseStore} class.
+ *
+ * <p>This class contains test cases to validate that rows of the columnar store behave like the
+ * {@link Course} objects they were built from. Extends from InitializeDatabase that has all test
+ * courses and departments.
+ */
+public class ColumnarCourseStoreTests extends InitializeDatabase {
+
+  private ColumnarCourseStore store;
+
+  /** Builds a store from the test department mapping. */
+  @BeforeEach
+  public void columnarCourseStoreSetUp() {
+    store = ColumnarCourseStore.of(testDepartmentMapping);
+  }
+
+  /** Tests if every course gets a row whose accessors match the course. */
+  @Test
+  public void rowsMatchCourses() {
+    int courses = 0;
+    for (Map.Entry<String, Department> dept : testDepartmentMapping.entrySet()) {
+      for (Map.Entry<String, Course> entry : dept.getValue().getCourseSelection().entrySet()) {
+        Course course = entry.getValue();
+        int row = store.rowOf(dept.getKey(), Integer.parseInt(entry.getKey()));
+        assertTrue(row >= 0, "Expected a row for " + dept.getKey() + " " + entry.getKey());
+        assertEquals(course.getInstructorName(), store.getInstructorName(row), "Instructor.");
+        assertEquals(course.getCourseLocation(), store.getCourseLocation(row), "Location.");
+        assertEquals(course.getCourseTimeSlot(), store.getCourseTimeSlot(row), "Time slot.");
+        assertEquals(course.getEnrollmentCapacity(), store.getEnrollmentCapacity(row), "Capacity.");
+        assertEquals(
+            course.getEnrolledStudentCount(), store.getEnrolledStudentCount(row), "Enrolled.");
+        assertEquals(course.isCourseFull(), store.isCourseFull(row), "Full.");
+        assertEquals(course.toString(), store.courseToString(row), "String form.");
+        courses++;
+      }
+    }
+    assertEquals(courses, store.size(), "Expected one row per course.");
+  }
+
+  /** Tests if rowOf() returns -1 for unknown departments and courses. */
+  @Test
+  public void rowOfUnknownCourse() {
+    assertEquals(-1, store.rowOf("NOPE", 1004), "Expected -1 for an unknown department.");
+    assertEquals(-1, store.rowOf("COMS", 1), "Expected -1 for an unknown course.");
+  }
+
+  /** Tests if the packed start and end minutes of a time slot are exposed. */
+  @Test
+  public void startAndEndMinutes() {
+    int row = store.rowOf("COMS", 1004);
+    assertEquals(11 * 60 + 40, store.getStartMinute(row), "Expected 11:40.");
+    assertEquals(12 * 60 + 55, store.getEndMinute(row), "Expected 12:55.");
+
+    store.reassignTime(row, "4:10-5:25");
+    assertEquals("4:10-5:25", store.getCourseTimeSlot(row), "Expected the new time slot.");
+    assertEquals(4 * 60 + 10, store.getStartMinute(row), "Expected 4:10.");
+    assertEquals(5 * 60 + 25, store.getEndMinute(row), "Expected 5:25.");
+  }
+
+  /** Tests if reassignments are validated like those of Course. */
+  @Test
+  public void reassignmentsAreValidated() {
+    int row = store.rowOf("COMS", 1004);
+    assertThrows(IllegalArgumentException.class, () -> store.reassignTime(row, "25:00-1:00"));
+    assertThrows(IllegalArgumentException.class, () -> store.reassignInstructor(row, " "));
+    assertThrows(IllegalArgumentException.class, () -> store.reassignLocation(row, null));
+    assertThrows(IllegalArgumentException.class, () -> store.setEnrolledStudentCount(row, -1));
+
+    store.reassignInstructor(row, "Gail Kaiser");
+    store.reassignLocation(row, "501 NWC");
+    assertEquals("Gail Kaiser", store.getInstructorName(row), "Expected the new instructor.");
+    assertEquals("501 NWC", store.getCourseLocation(row), "Expected the new location.");
+  }
+
+  /** Tests if concurrent enrollment never exceeds the capacity of a row. */
+  @Test
+  public void concurrentEnrollmentStopsAtCapacity() throws InterruptedException {
+    int row = store.rowOf("COMS", 1004);
+    store.setEnrolledStudentCount(row, 0);
+    int capacity = store.getEnrollmentCapacity(row);
+    AtomicInteger enrolled = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int i = 0; i < capacity * 2; i++) {
+      executor.execute(
+          () -> {
+            if (store.enrollStudent(row)) {
+              enrolled.incrementAndGet();
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Expected workers to finish.");
+
+    assertEquals(capacity, enrolled.get(), "Expected exactly capacity enrollments to succeed.");
+    assertEquals(capacity, store.getEnrolledStudentCount(row), "Expected a full course.");
+    assertTrue(store.isCourseFull(row), "Expected the course to be full.");
+    assertTrue(store.dropStudent(row), "Expected a drop to succeed.");
+  }
+
+  /** Tests if the store copies back into an equivalent object model. */
+  @Test
+  public void toCatalogRoundTrip() {
+    Map<String, Department> copy = store.toCatalog();
+
+    assertEquals(testDepartmentMapping.keySet(), copy.keySet(), "Expected the same departments.");
+    for (Map.Entry<String, Department> dept : testDepartmentMapping.entrySet()) {
+      Department original = dept.getValue();
+      Department copied = copy.get(dept.getKey());
+      assertEquals(original.getDepartmentChair(), copied.getDepartmentChair(), "Chair.");
+      assertEquals(original.getNumberOfMajors(), copied.getNumberOfMajors(), "Majors.");
+      for (Map.Entry<String, Course> entry : original.getCourseSelection().entrySet()) {
+        Course course = copied.getCourseSelection().get(entry.getKey());
+        assertEquals(entry.getValue().toString(), course.toString(), "Course " + entry.getKey());
+        assertEquals(
+            entry.getValue().getEnrolledStudentCount(),
+            course.getEnrolledStudentCount(),
+            "Enrolled count of " + entry.getKey());
+      }
+    }
+  }
+
+  /** Tests if course ids that are not canonical integers are rejected. */
+  @Test
+  public void nonNumericCourseIdsAreRejected() {
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("01004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400));
+    Map<String, Department> mapping = new HashMap<>();
+    mapping.put("COMS", new Department("COMS", courses, "Luca Carloni", 2700));
+
+    assertThrows(IllegalArgumentException.class, () -> ColumnarCourseStore.of(mapping));
+    assertFalse(mapping.isEmpty(), "Expected the input to be left alone.");
+  }
+}
@@ -0,0 +1,254 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.coms4156.project.individualproject.CourseAttributeIndex.Attribute;
+import dev.coms4156.project.individualproject.CourseAttributeIndex.Conflict;
+import dev.coms4156.project.individualproject.CourseAttributeIndex.ConflictException;
+import dev.coms4156.project.individualproject.CourseAttributeIndex.Match;
+import dev.coms4156.project.individualproject.CourseAttributeIndex.Resource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CourseAttributeIndex} class.
+ *
+ * <p>This class contains test cases to validate that queries match the catalog, ignoring case,
+ * whitespace and leading zeros, and that reassigned and added courses are moved between buckets
+ * as soon as they change, and that changes that double-book a room or an instructor are refused,
+ * whether made through the index or on a course or department, while clashes in the catalog as
+ * loaded are reported, and that searches rank courses by what matched
+ * and follow renamed and added courses.
+ */
+public class CourseAttributeIndexTests {
+
+  private Map<String, Department> mapping;
+  private CourseAttributeIndex index;
+
+  /** Builds a mapping where instructors, rooms and time slots are shared by several courses. */
+  @BeforeEach
+  public void courseAttributeIndexSetUp() {
+    Map<String, Course> coms = new HashMap<>();
+    coms.put("1004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 30));
+    coms.put("3134", new Course("Brian Borowski", "301 URIS", "4:10-5:25", 250));
+    coms.put("3157", new Course("Jae Lee", "417 IAB", "4:10-5:25", 400));
+    Map<String, Course> econ = new HashMap<>();
+    econ.put("1105", new Course("Adam Cannon", "309 HAV", "09:00-10:15", 210));
+    mapping = new HashMap<>();
+    mapping.put("COMS", new Department("COMS", coms, "Luca Carloni", 2700));
+    mapping.put("ECON", new Department("ECON", econ, "Michael Woodford", 2345));
+    index = new CourseAttributeIndex(mapping);
+  }
+
+  /** Tests if each attribute finds exactly the courses with that value, in order. */
+  @Test
+  public void findMatchesEachAttribute() {
+    assertEquals(
+        List.of(
+            new Match("COMS", "1004", "Adam Cannon", "417 IAB", "11:40-12:55"),
+            new Match("ECON", "1105", "Adam Cannon", "309 HAV", "09:00-10:15")),
+        index.find(Attribute.INSTRUCTOR, "Adam Cannon"));
+    assertEquals(List.of("1004", "3157"), courseCodes(index.find(Attribute.LOCATION, "417 IAB")));
+    assertEquals(
+        List.of("3134", "3157"), courseCodes(index.find(Attribute.TIME_SLOT, "4:10-5:25")));
+    assertTrue(index.find(Attribute.INSTRUCTOR, "Nobody").isEmpty());
+  }
+
+  /** Tests if names and locations ignore case and whitespace, and times leading zeros. */
+  @Test
+  public void findNormalizesValues() {
+    assertEquals(2, index.find(Attribute.INSTRUCTOR, "  adam   CANNON ").size());
+    assertEquals(2, index.find(Attribute.LOCATION, "417  iab").size());
+    assertEquals(List.of("1105"), courseCodes(index.find(Attribute.TIME_SLOT, "9:00-10:15")));
+    assertTrue(index.find(Attribute.TIME_SLOT, "25:00-26:00").isEmpty());
+  }
+
+  /** Tests if reassigning a course moves it out of its old buckets and into its new ones. */
+  @Test
+  public void reassignmentsAreIndexed() {
+    assertEquals(2, index.find(Attribute.LOCATION, "417 IAB").size());
+    Course course = mapping.get("COMS").getCourseSelection().get("1004");
+
+    course.reassignInstructor("Jae Lee");
+    course.reassignLocation("501 NWC");
+    course.reassignTime("2:40-3:55");
+
+    assertEquals(List.of("1105"), courseCodes(index.find(Attribute.INSTRUCTOR, "Adam Cannon")));
+    assertEquals(List.of("1004", "3157"), courseCodes(index.find(Attribute.INSTRUCTOR, "Jae Lee")));
+    assertEquals(List.of("3157"), courseCodes(index.find(Attribute.LOCATION, "417 IAB")));
+    assertEquals(List.of("1004"), courseCodes(index.find(Attribute.LOCATION, "501 NWC")));
+    assertEquals(List.of("1004"), courseCodes(index.find(Attribute.TIME_SLOT, "2:40-3:55")));
+    assertTrue(index.find(Attribute.TIME_SLOT, "11:40-12:55").isEmpty());
+  }
+
+  /** Tests if added courses are indexed, replacing a course added under the same id. */
+  @Test
+  public void addedCoursesAreIndexed() {
+    assertEquals(1, index.find(Attribute.LOCATION, "309 HAV").size());
+    Department econ = mapping.get("ECON");
+
+    econ.createCourse("2257", "Tamrat Gashaw", "309 HAV", "10:30-11:45", 125);
+    econ.createCourse("1105", "Waseem Noor", "428 PUP", "2:40-3:55", 210);
+
+    assertEquals(List.of("2257"), courseCodes(index.find(Attribute.LOCATION, "309 HAV")));
+    assertEquals(List.of("1004"), courseCodes(index.find(Attribute.INSTRUCTOR, "Adam Cannon")));
+    assertEquals(List.of("1105"), courseCodes(index.find(Attribute.INSTRUCTOR, "Waseem Noor")));
+  }
+
+  /** Tests if a newer index takes over the courses it shares with an older one. */
+  @Test
+  public void newerIndexClaimsCourses() {
+    index.find(Attribute.INSTRUCTOR, "Adam Cannon");
+    CourseAttributeIndex newer = new CourseAttributeIndex(mapping);
+    newer.find(Attribute.INSTRUCTOR, "Adam Cannon");
+
+    mapping.get("ECON").getCourseSelection().get("1105").reassignInstructor("Someone Else");
+
+    assertEquals(List.of("1105"), courseCodes(newer.find(Attribute.INSTRUCTOR, "Someone Else")));
+    assertEquals(List.of("1004"), courseCodes(newer.find(Attribute.INSTRUCTOR, "Adam Cannon")));
+    // the stale index still files the course under its old value but does not report it
+    assertEquals(List.of("1004"), courseCodes(index.find(Attribute.INSTRUCTOR, "Adam Cannon")));
+  }
+
+  /** Tests if a reassignment that double-books a room or an instructor is refused. */
+  @Test
+  public void reassignRefusesConflicts() {
+    Course course = mapping.get("COMS").getCourseSelection().get("1004");
+
+    List<Conflict> conflicts = index.reassign(course, Attribute.TIME_SLOT, "4:40-5:55");
+    assertEquals(1, conflicts.size());
+    assertEquals(Resource.ROOM, conflicts.get(0).resource());
+    assertEquals("3157", conflicts.get(0).other().courseCode());
+    assertEquals("11:40-12:55", course.getCourseTimeSlot());
+
+    conflicts = index.reassign(course, Attribute.INSTRUCTOR, "brian borowski");
+    assertTrue(conflicts.isEmpty());
+    conflicts = index.reassign(course, Attribute.TIME_SLOT, "5:00-6:15");
+    assertEquals(
+        List.of(Resource.INSTRUCTOR, Resource.ROOM),
+        conflicts.stream().map(Conflict::resource).toList());
+
+    // back to back is not a clash
+    assertTrue(index.reassign(course, Attribute.TIME_SLOT, "5:25-6:40").isEmpty());
+    assertEquals("5:25-6:40", course.getCourseTimeSlot());
+    assertTrue(index.reassign(course, Attribute.LOCATION, "301  URIS").isEmpty());
+    assertEquals(List.of("1004", "3134"), courseCodes(index.find(Attribute.LOCATION, "301 URIS")));
+  }
+
+  /** Tests if reassignments and added courses that clash are refused when made directly. */
+  @Test
+  public void directChangesRefuseConflicts() {
+    index.find(Attribute.INSTRUCTOR, "Adam Cannon");
+    Course course = mapping.get("COMS").getCourseSelection().get("1004");
+
+    ConflictException refused =
+        assertThrows(ConflictException.class, () -> course.reassignTime("4:40-5:55"));
+    assertEquals(Resource.ROOM, refused.getConflicts().get(0).resource());
+    assertEquals("3157", refused.getConflicts().get(0).other().courseCode());
+    assertEquals("11:40-12:55", course.getCourseTimeSlot());
+    Course other = mapping.get("COMS").getCourseSelection().get("3157");
+    assertThrows(ConflictException.class, () -> other.reassignInstructor("Brian Borowski"));
+    assertEquals("Jae Lee", other.getInstructorName());
+
+    Department econ = mapping.get("ECON");
+    refused =
+        assertThrows(
+            ConflictException.class,
+            () -> econ.createCourse("2257", "Adam Cannon", "428 PUP", "9:30-10:45", 125));
+    assertEquals(Resource.INSTRUCTOR, refused.getConflicts().get(0).resource());
+    assertNull(econ.getCourseSelection().get("2257"));
+    assertTrue(index.find(Attribute.LOCATION, "428 PUP").isEmpty());
+    // a course replacing another under the same id does not clash with it
+    econ.createCourse("1105", "Adam Cannon", "309 HAV", "9:30-10:45", 210);
+    assertTrue(index.findConflicts().isEmpty());
+  }
+
+  /**
+   * Tests if changes made directly before the index is built are checked against the other
+   * courses of the department.
+   */
+  @Test
+  public void directChangesAreCheckedBeforeIndexing() {
+    Department coms = mapping.get("COMS");
+    Course course = coms.getCourseSelection().get("1004");
+    ConflictException refused =
+        assertThrows(ConflictException.class, () -> course.reassignTime("4:00-5:00"));
+    assertEquals(Resource.ROOM, refused.getConflicts().get(0).resource());
+    assertEquals("3157", refused.getConflicts().get(0).other().courseCode());
+    assertEquals("11:40-12:55", course.getCourseTimeSlot());
+
+    refused =
+        assertThrows(
+            ConflictException.class,
+            () -> coms.createCourse("4156", "Jae Lee", "501 NWC", "4:40-5:55", 120));
+    assertEquals(Resource.INSTRUCTOR, refused.getConflicts().get(0).resource());
+    assertNull(coms.getCourseSelection().get("4156"));
+  }
+
+  /** Tests if the report lists each clash of the catalog as loaded once. */
+  @Test
+  public void findConflictsListsEachPairOnce() {
+    Course course = mapping.get("ECON").getCourseSelection().get("1105");
+    // changed before the index is built, when only ECON is checked, so the clashes with COMS are
+    // loaded rather than refused
+    course.reassignLocation("417 IAB");
+    course.reassignTime("11:00-12:15");
+    // read as ending at 13:25, so it overlaps both; a department as loaded is not checked
+    Map<String, Course> econ = new HashMap<>(mapping.get("ECON").getCourseSelection());
+    econ.put("3211", new Course("Murat Yilmaz", "417 IAB", "12:10-1:25", 96));
+    mapping.put("ECON", new Department("ECON", econ, "Michael Woodford", 2345));
+
+    assertEquals(
+        List.of(
+            "ROOM COMS 1004 ECON 1105",
+            "INSTRUCTOR COMS 1004 ECON 1105",
+            "ROOM COMS 1004 ECON 3211",
+            "ROOM ECON 1105 ECON 3211"),
+        index.findConflicts().stream()
+            .map(
+                c ->
+                    c.resource() + " " + c.course().deptCode() + " " + c.course().courseCode()
+                        + " " + c.other().deptCode() + " " + c.other().courseCode())
+            .toList());
+  }
+
+  /** Tests if searches match codes, numbers and names by prefix, ranked by what matched. */
+  @Test
+  public void searchMatchesPrefixes() {
+    assertEquals(List.of("1004", "3134", "3157"), courseCodes(index.search("co", 10)));
+    assertEquals(List.of("3134", "3157"), courseCodes(index.search("COMS  31", 10)));
+    assertEquals(List.of("3134"), courseCodes(index.search("coms 313", 10)));
+    assertEquals(List.of("1004", "1105"), courseCodes(index.search("1", 10)));
+    assertEquals(List.of("1004", "1105"), courseCodes(index.search("cann", 10)));
+    assertEquals(List.of("1004", "1105"), courseCodes(index.search("adam c", 10)));
+    assertEquals(List.of("3134"), courseCodes(index.search("bor", 10)));
+    assertEquals(List.of("1004"), courseCodes(index.search("1", 1)));
+    assertTrue(index.search("econ 3", 10).isEmpty());
+    assertTrue(index.search("  ", 10).isEmpty());
+  }
+
+  /** Tests if searches follow renamed instructors and added courses. */
+  @Test
+  public void searchFollowsChanges() {
+    assertEquals(List.of("3157"), courseCodes(index.search("lee", 10)));
+    mapping.get("COMS").getCourseSelection().get("3157").reassignInstructor("Tony Dear");
+    mapping.get("ECON").createCourse("2257", "Jae Lee", "428 PUP", "10:10-11:25", 125);
+    mapping.get("ECON").createCourse("1105", "Waseem Noor", "309 HAV", "2:40-3:55", 210);
+
+    assertEquals(List.of("2257"), courseCodes(index.search("lee", 10)));
+    assertEquals(List.of("3157"), courseCodes(index.search("dear", 10)));
+    assertEquals(List.of("1004"), courseCodes(index.search("cannon", 10)));
+    assertEquals(List.of("1105"), courseCodes(index.search("waseem", 10)));
+    assertEquals(List.of("1105", "2257"), courseCodes(index.search("econ", 10)));
+  }
+
+  private static List<String> courseCodes(List<Match> matches) {
+    return matches.stream().map(Match::courseCode).toList();
+  }
+}
@@ -0,0 +1,120 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CourseIndex} class.
+ *
+ * <p>This class contains test cases to validate that the index resolves the same courses as the
+ * department mapping, including while many threads fill it concurrently.
+ */
+public class CourseIndexTests {
+
+  private static final int DEPARTMENTS = 20;
+  private static final int COURSES_PER_DEPARTMENT = 50;
+
+  private Map<String, Department> mapping;
+  private CourseIndex index;
+
+  /** Builds a mapping with enough courses to make the index grow several times. */
+  @BeforeEach
+  public void courseIndexSetUp() {
+    mapping = new HashMap<>();
+    for (int d = 0; d < DEPARTMENTS; d++) {
+      Map<String, Course> courses = new HashMap<>();
+      for (int c = 0; c < COURSES_PER_DEPARTMENT; c++) {
+        Course course = new Course("Instructor " + c, "Room " + d, "10:10-11:25", 50);
+        courses.put(Integer.toString(1000 + c), course);
+      }
+      String deptCode = "D" + d;
+      mapping.put(deptCode, new Department(deptCode, courses, "Chair " + d, 100));
+    }
+    index = new CourseIndex(mapping);
+  }
+
+  /** Tests if find() returns the course instance held by the department mapping. */
+  @Test
+  public void findReturnsMappedCourse() {
+    Course expected = mapping.get("D3").getCourseSelection().get("1007");
+
+    assertSame(expected, index.find("D3", 1007), "Expected the mapped course on a miss.");
+    assertSame(expected, index.find("D3", 1007), "Expected the mapped course on a hit.");
+    assertEquals(1, index.size(), "Expected the course to be indexed once.");
+  }
+
+  /** Tests if unknown departments and courses are reported as absent and not indexed. */
+  @Test
+  public void findReturnsNullForUnknownKeys() {
+    assertNull(index.find("NOPE", 1007), "Expected null for an unknown department.");
+    assertNull(index.find("D3", 999), "Expected null for an unknown course.");
+    assertNull(index.find("d3", 1007), "Expected department codes to match exactly.");
+    assertEquals(0, index.size(), "Expected misses not to be indexed.");
+  }
+
+  /** Tests if the same course number in different departments resolves to different courses. */
+  @Test
+  public void findDistinguishesDepartments() {
+    for (int d = 0; d < DEPARTMENTS; d++) {
+      for (int c = 0; c < COURSES_PER_DEPARTMENT; c++) {
+        index.find("D" + d, 1000 + c);
+      }
+    }
+
+    assertEquals(DEPARTMENTS * COURSES_PER_DEPARTMENT, index.size(), "Expected every course.");
+    for (int d = 0; d < DEPARTMENTS; d++) {
+      assertSame(
+          mapping.get("D" + d).getCourseSelection().get("1042"),
+          index.find("D" + d, 1042),
+          "Expected the course of department D" + d + ".");
+    }
+  }
+
+  /** Tests if concurrent lookups while the index grows always return the mapped course. */
+  @Test
+  public void concurrentLookupsReturnMappedCourses() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int offset = t;
+      results.add(
+          executor.submit(
+              () -> {
+                start.await();
+                boolean allSame = true;
+                for (int i = 0; i < DEPARTMENTS * COURSES_PER_DEPARTMENT; i++) {
+                  int n = (i + offset * 97) % (DEPARTMENTS * COURSES_PER_DEPARTMENT);
+                  String deptCode = "D" + n / COURSES_PER_DEPARTMENT;
+                  int courseCode = 1000 + n % COURSES_PER_DEPARTMENT;
+                  Course expected =
+                      mapping.get(deptCode).getCourseSelection().get(Integer.toString(courseCode));
+                  allSame &= index.find(deptCode, courseCode) == expected;
+                }
+                return allSame;
+              }));
+    }
+    start.countDown();
+    for (Future<Boolean> result : results) {
+      assertTrue(result.get(), "Expected every lookup to return the mapped course.");
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Expected workers to finish.");
+    assertEquals(DEPARTMENTS * COURSES_PER_DEPARTMENT, index.size(), "Expected no duplicates.");
+  }
+}
@@ -0,0 +1,111 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link CourseTable} class.
+ *
+ * <p>This class contains test cases to validate lookups, replacement and growth of the int-keyed
+ * course table, including lookups that run while the table grows.
+ */
+public class CourseTableTests {
+
+  private static Course course(int capacity) {
+    return new Course("Adam Cannon", "417 IAB", "11:40-12:55", capacity);
+  }
+
+  /** Tests if put() and get() round trip, including zero and negative course codes. */
+  @Test
+  public void putThenGet() {
+    CourseTable table = new CourseTable();
+    Course zero = course(10);
+    Course negative = course(20);
+    Course regular = course(30);
+    table.put(0, zero);
+    table.put(-1, negative);
+    table.put(1004, regular);
+
+    assertSame(zero, table.get(0), "Expected the course with code 0.");
+    assertSame(negative, table.get(-1), "Expected the course with code -1.");
+    assertSame(regular, table.get(1004), "Expected the course with code 1004.");
+    assertNull(table.get(1005), "Expected null for a missing code.");
+    assertEquals(3, table.size(), "Expected three courses.");
+  }
+
+  /** Tests if put() replaces the course of an existing code without growing the table. */
+  @Test
+  public void putReplacesExistingCourse() {
+    CourseTable table = new CourseTable();
+    Course replacement = course(40);
+    table.put(1004, course(30));
+    table.put(1004, replacement);
+
+    assertSame(replacement, table.get(1004), "Expected the replacement course.");
+    assertEquals(1, table.size(), "Expected a single entry.");
+  }
+
+  /** Tests if put() rejects null courses, which would mark the slot as empty. */
+  @Test
+  public void putRejectsNullCourse() {
+    CourseTable table = new CourseTable();
+    assertThrows(
+        IllegalArgumentException.class, () -> table.put(1004, null), "Expected null rejected.");
+  }
+
+  /** Tests if the table keeps every course while it grows well past its initial capacity. */
+  @Test
+  public void growthKeepsAllCourses() {
+    CourseTable table = new CourseTable();
+    Course[] courses = new Course[10_000];
+    for (int i = 0; i < courses.length; i++) {
+      courses[i] = course(i + 1);
+      table.put(1000 + i, courses[i]);
+    }
+
+    assertEquals(courses.length, table.size(), "Expected every course.");
+    for (int i = 0; i < courses.length; i++) {
+      assertSame(courses[i], table.get(1000 + i), "Expected course " + (1000 + i) + ".");
+    }
+  }
+
+  /** Tests if a reader never sees a wrong course while another thread grows the table. */
+  @Test
+  public void concurrentReadsDuringGrowth() throws InterruptedException {
+    CourseTable table = new CourseTable();
+    int count = 50_000;
+    Course[] courses = new Course[count];
+    for (int i = 0; i < count; i++) {
+      courses[i] = course(i + 1);
+    }
+    AtomicBoolean mismatch = new AtomicBoolean();
+    AtomicBoolean done = new AtomicBoolean();
+    Thread reader =
+        new Thread(
+            () -> {
+              while (!done.get()) {
+                for (int i = 0; i < count; i += 7) {
+                  Course found = table.get(i);
+                  if (found != null && found != courses[i]) {
+                    mismatch.set(true);
+                  }
+                }
+              }
+            });
+    reader.start();
+    for (int i = 0; i < count; i++) {
+      table.put(i, courses[i]);
+    }
+    done.set(true);
+    reader.join();
+
+    assertFalse(mismatch.get(), "Expected lookups to return the course of their own code.");
+    assertEquals(count, table.size(), "Expected every course.");
+  }
+}
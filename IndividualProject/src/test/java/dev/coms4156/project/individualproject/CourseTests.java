@@ -6,6 +6,19 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -80,6 +93,22 @@ public class CourseTests {
         "Expected IllegalArgumentException for negative capacity.");
   }
 
+  /**
+   * Tests if the Course constructor reports the invalid instructor before the invalid time slot,
+   * and the time slot with the same message as reassignTime().
+   */
+  @Test
+  public void constructorTestValidationOrder() {
+    IllegalArgumentException instructor =
+        assertThrows(IllegalArgumentException.class, () -> new Course(null, "417 IAB", "bad", 30));
+    assertEquals("Instructor name cannot be null or empty.", instructor.getMessage());
+
+    IllegalArgumentException slot =
+        assertThrows(
+            IllegalArgumentException.class, () -> new Course("Gail Kaiser", "417 IAB", "bad", -1));
+    assertTrue(slot.getMessage().startsWith("Invalid time format."), slot.getMessage());
+  }
+
   /** Tests if the toString() method returns the correct string output of the course parameters. */
   @Test
   public void toStringReturnsCourseParamsAsString() {
@@ -110,6 +139,111 @@ public class CourseTests {
         "Expected enrollStudent() to return false when the course is full.");
   }
 
+  /**
+   * Tests if concurrent enrollStudent() calls from many threads fill the course exactly to its
+   * capacity, with one successful enrollment per available seat.
+   */
+  @Test
+  public void enrollStudentConcurrentNeverExceedsCapacity() throws Exception {
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    int attemptsPerThread = 2_000;
+    Course course = new Course("Griffin Newbold", "417 IAB", "11:40-12:55", 5_000);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  int enrolled = 0;
+                  for (int i = 0; i < attemptsPerThread; i++) {
+                    if (course.enrollStudent()) {
+                      enrolled++;
+                    }
+                  }
+                  return enrolled;
+                }));
+      }
+      start.countDown();
+
+      int totalEnrolled = 0;
+      for (Future<Integer> result : results) {
+        totalEnrolled += result.get(30, TimeUnit.SECONDS);
+      }
+      assertEquals(5_000, totalEnrolled, "Expected exactly one success per available seat.");
+      assertEquals(
+          5_000, course.getEnrolledStudentCount(), "Expected course to be filled to capacity.");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Tests if interleaved concurrent enrollStudent() and dropStudent() calls keep the enrolled
+   * count within [0, capacity] at all times and leave it consistent with the successful calls.
+   */
+  @Test
+  public void enrollAndDropStudentConcurrentStayWithinBounds() throws Exception {
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    int attemptsPerThread = 5_000;
+    Course course = new Course("Griffin Newbold", "417 IAB", "11:40-12:55", 50);
+    AtomicBoolean outOfBounds = new AtomicBoolean(false);
+    ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(threads);
+    try {
+      // observer thread continuously checks the invariant while the workers run
+      pool.submit(
+          () -> {
+            while (done.getCount() > 0) {
+              int count = course.getEnrolledStudentCount();
+              if (count < 0 || count > 50) {
+                outOfBounds.set(true);
+              }
+            }
+            return null;
+          });
+
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        boolean enrolling = t % 2 == 0;
+        results.add(
+            pool.submit(
+                () -> {
+                  try {
+                    start.await();
+                    int net = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                      if (enrolling && course.enrollStudent()) {
+                        net++;
+                      } else if (!enrolling && course.dropStudent()) {
+                        net--;
+                      }
+                    }
+                    return net;
+                  } finally {
+                    done.countDown();
+                  }
+                }));
+      }
+      start.countDown();
+
+      int netEnrolled = 0;
+      for (Future<Integer> result : results) {
+        netEnrolled += result.get(30, TimeUnit.SECONDS);
+      }
+      assertFalse(outOfBounds.get(), "Expected enrolled count to never leave [0, capacity].");
+      assertEquals(
+          netEnrolled,
+          course.getEnrolledStudentCount(),
+          "Expected enrolled count to equal successful enrolls minus successful drops.");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
   /** Tests if setEnrolledStudentCount() correctly updates the enrolled student count. */
   @Test
   public void setEnrollStudentCountUpdateEnrolledStudentCount() {
@@ -244,4 +378,107 @@ public class CourseTests {
     assertFalse(Course.isValidTimeSlot(""), "Expected empty string to be an invalid time slot.");
     assertFalse(Course.isValidTimeSlot(null), "Expected null input to be an invalid time slot.");
   }
+
+  /** Tests if the start and end minutes follow the time slot through reassignTime(). */
+  @Test
+  public void startAndEndMinutesFollowTimeSlot() {
+    assertEquals(700, testCourse.getStartMinute(), "Expected 11:40 to be minute 700.");
+    assertEquals(775, testCourse.getEndMinute(), "Expected 12:55 to be minute 775.");
+
+    testCourse.reassignTime("4:10-5:25");
+    assertEquals(250, testCourse.getStartMinute(), "Expected 4:10 to be minute 250.");
+    assertEquals(325, testCourse.getEndMinute(), "Expected 5:25 to be minute 325.");
+  }
+
+  /** Tests if the start and end minutes are restored after Java deserialization. */
+  @Test
+  public void startAndEndMinutesAfterJavaSerialization()
+      throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(testCourse);
+    }
+    Course copy;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (Course) in.readObject();
+    }
+
+    assertEquals(700, copy.getStartMinute(), "Expected the start minute to be restored.");
+    assertEquals(775, copy.getEndMinute(), "Expected the end minute to be restored.");
+  }
+
+  /** Tests if enrollAll() enrolls the student in every course when all have room. */
+  @Test
+  public void enrollAllEnrollsInEveryCourse() {
+    Course other = new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 125);
+
+    assertTrue(Course.enrollAll(List.of(testCourse, other)), "Expected the batch to succeed.");
+    assertEquals(1, testCourse.getEnrolledStudentCount(), "Expected one seat in the first.");
+    assertEquals(1, other.getEnrolledStudentCount(), "Expected one seat in the second.");
+  }
+
+  /** Tests if enrollAll() releases the seats it reserved when a later course is full. */
+  @Test
+  public void enrollAllRollsBackWhenOneCourseIsFull() {
+    Course other = new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 125);
+    Course full = new Course("Jae Lee", "417 IAB", "4:10-5:25", 10);
+    full.setEnrolledStudentCount(10);
+
+    assertFalse(
+        Course.enrollAll(List.of(testCourse, other, full)), "Expected the batch to fail.");
+    assertEquals(0, testCourse.getEnrolledStudentCount(), "Expected the first seat released.");
+    assertEquals(0, other.getEnrolledStudentCount(), "Expected the second seat released.");
+    assertEquals(10, full.getEnrolledStudentCount(), "Expected the full course unchanged.");
+  }
+
+  /**
+   * Tests if concurrent batches over overlapping courses are all or nothing: every course ends up
+   * with exactly one seat per successful batch that listed it, and never exceeds its capacity.
+   */
+  @Test
+  public void concurrentEnrollAllIsAllOrNothing() throws Exception {
+    Course small = new Course("Jae Lee", "417 IAB", "4:10-5:25", 50);
+    Course large = new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 1000);
+    int batches = 400;
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < batches; i++) {
+      List<Course> batch = i % 2 == 0 ? List.of(large, small) : List.of(small, large);
+      results.add(executor.submit(() -> Course.enrollAll(batch)));
+    }
+    int succeeded = 0;
+    for (Future<Boolean> result : results) {
+      if (result.get()) {
+        succeeded++;
+      }
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Expected workers to finish.");
+
+    assertEquals(50, succeeded, "Expected exactly as many batches as seats in the small course.");
+    assertEquals(50, small.getEnrolledStudentCount(), "Expected the small course to be full.");
+    assertEquals(50, large.getEnrolledStudentCount(), "Expected no leaked seats.");
+  }
+
+  /** Tests if every change to the course, and only a change, increases its version. */
+  @Test
+  public void versionIncreasesWithEveryChange() {
+    int version = testCourse.getVersion();
+    testCourse.getEnrolledStudentCount();
+    testCourse.isCourseFull();
+    assertEquals(version, testCourse.getVersion(), "Expected reads to keep the version.");
+
+    testCourse.enrollStudent();
+    testCourse.dropStudent();
+    testCourse.setEnrolledStudentCount(3);
+    testCourse.reassignInstructor("Jae Lee");
+    testCourse.reassignLocation("301 URIS");
+    testCourse.reassignTime("4:10-5:25");
+    assertEquals(version + 6, testCourse.getVersion(), "Expected one step per change.");
+
+    testCourse.setEnrolledStudentCount(0);
+    testCourse.dropStudent();
+    assertEquals(version + 7, testCourse.getVersion(), "Expected a failed drop to keep it.");
+  }
 }
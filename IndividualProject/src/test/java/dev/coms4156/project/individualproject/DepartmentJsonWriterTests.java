@@ -0,0 +1,111 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link DepartmentJsonWriter} class.
+ *
+ * <p>This class contains test cases to validate that departments are written as valid JSON, that
+ * strings are escaped, and that the cached course fragments follow changes to the course.
+ */
+public class DepartmentJsonWriterTests {
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  private static JsonNode write(Department department) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DepartmentJsonWriter.write(department, out);
+    return JSON.readTree(out.toByteArray());
+  }
+
+  /** Tests if the department and its courses are written with their current values. */
+  @Test
+  public void writesDepartmentAndCourses() throws IOException {
+    Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400);
+    course.setEnrolledStudentCount(249);
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("1004", course);
+    Department department = new Department("COMS", courses, "Luca Carloni", 2700);
+
+    JsonNode json = write(department);
+
+    assertEquals("COMS", json.get("deptCode").asText());
+    assertEquals("Luca Carloni", json.get("departmentChair").asText());
+    assertEquals(2700, json.get("numberOfMajors").asInt());
+    JsonNode written = json.get("courses").get("1004");
+    assertEquals("Adam Cannon", written.get("instructorName").asText());
+    assertEquals("417 IAB", written.get("courseLocation").asText());
+    assertEquals("11:40-12:55", written.get("courseTimeSlot").asText());
+    assertEquals(400, written.get("enrollmentCapacity").asInt());
+    assertEquals(249, written.get("enrolledStudentCount").asInt());
+  }
+
+  /** Tests if quotes, backslashes, control and non-ASCII characters are escaped or encoded. */
+  @Test
+  public void escapesStrings() throws IOException {
+    Course course = new Course("Zoë \"Z\" Smith\\", "Room\t1", "1:10-3:40", 10);
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("A\"1", course);
+    Department department = new Department("ÉTUD", courses, "Chair ☃", 0);
+
+    JsonNode json = write(department);
+
+    assertEquals("ÉTUD", json.get("deptCode").asText());
+    assertEquals("Chair ☃", json.get("departmentChair").asText());
+    JsonNode written = json.get("courses").get("A\"1");
+    assertEquals("Zoë \"Z\" Smith\\", written.get("instructorName").asText());
+    assertEquals("Room\t1", written.get("courseLocation").asText());
+  }
+
+  /** Tests if the course fragment is reused, and rebuilt once a field in it is reassigned. */
+  @Test
+  public void courseFragmentFollowsReassignment() throws IOException {
+    Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400);
+    byte[] fragment = course.jsonFragment();
+    course.enrollStudent();
+    assertSame(fragment, course.jsonFragment());
+
+    course.reassignInstructor("Jae Lee");
+    assertNotSame(fragment, course.jsonFragment());
+    course.reassignLocation("301 URIS");
+    course.reassignTime("4:10-5:25");
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("1004", course);
+
+    JsonNode written = write(new Department("COMS", courses, "Luca Carloni", 1)).get("courses");
+
+    assertEquals("Jae Lee", written.get("1004").get("instructorName").asText());
+    assertEquals("301 URIS", written.get("1004").get("courseLocation").asText());
+    assertEquals("4:10-5:25", written.get("1004").get("courseTimeSlot").asText());
+    assertEquals(1, written.get("1004").get("enrolledStudentCount").asInt());
+  }
+
+  /** Tests if a department much larger than the write buffer is written completely. */
+  @Test
+  public void writesDepartmentLargerThanBuffer() throws IOException {
+    Map<String, Course> courses = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      Course course = new Course("Instructor " + i, "Room " + i, "10:10-11:25", 100 + i);
+      course.setEnrolledStudentCount(i % 100);
+      courses.put(Integer.toString(1000 + i), course);
+    }
+    Department department = new Department("BIG", courses, "Chair", Integer.MAX_VALUE);
+
+    JsonNode json = write(department);
+
+    assertEquals(Integer.MAX_VALUE, json.get("numberOfMajors").asInt());
+    assertEquals(5000, json.get("courses").size());
+    assertEquals(5099, json.get("courses").get("5999").get("enrollmentCapacity").asInt());
+    assertEquals(99, json.get("courses").get("5999").get("enrolledStudentCount").asInt());
+  }
+}
@@ -0,0 +1,140 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.coms4156.project.individualproject.DepartmentStatistics.Totals;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link DepartmentStatistics} class.
+ *
+ * <p>This class contains test cases to validate that the totals of a department follow every
+ * enrollment, drop, count set and added or replaced course, also under concurrent enrollment and
+ * while a course is added, and agree with counting the courses one by one.
+ */
+public class DepartmentStatisticsTests {
+
+  private Department department;
+  private Course small;
+
+  /** Builds a department with a nearly full course and an empty one. */
+  @BeforeEach
+  public void departmentStatisticsSetUp() {
+    small = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 2);
+    small.setEnrolledStudentCount(1);
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("1004", small);
+    courses.put("3134", new Course("Brian Borowski", "301 URIS", "4:10-5:25", 250));
+    department = new Department("COMS", courses, "Luca Carloni", 2700);
+  }
+
+  /** Tests if the totals count the courses the department was built with. */
+  @Test
+  public void totalsCountInitialCourses() {
+    assertEquals(new Totals(2, 252, 1, 0, 100.0 / 252), department.getStatistics());
+    assertEquals(recount(department), department.getStatistics());
+  }
+
+  /** Tests if enrolling, dropping and setting the count move the totals and the full courses. */
+  @Test
+  public void enrollmentChangesAreCounted() {
+    small.enrollStudent();
+    assertEquals(2, department.getStatistics().enrolled());
+    assertEquals(1, department.getStatistics().fullCourses());
+
+    small.enrollStudent();
+    small.dropStudent();
+    assertEquals(1, department.getStatistics().enrolled());
+    assertEquals(0, department.getStatistics().fullCourses());
+
+    department.getCourseSelection().get("3134").setEnrolledStudentCount(250);
+    small.setEnrolledStudentCount(5);
+    assertEquals(255, department.getStatistics().enrolled());
+    assertEquals(2, department.getStatistics().fullCourses());
+    assertEquals(recount(department), department.getStatistics());
+  }
+
+  /** Tests if added courses are counted and replaced ones are no longer followed. */
+  @Test
+  public void addedAndReplacedCoursesAreCounted() {
+    department.createCourse("3157", "Jae Lee", "417 IAB", "4:10-5:25", 400);
+    Course replacement = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 10);
+    replacement.setEnrolledStudentCount(3);
+    department.addCourse("1004", replacement);
+    department.addCourse("1004", replacement);
+
+    small.enrollStudent();
+    assertEquals(new Totals(3, 660, 3, 0, 100.0 * 3 / 660), department.getStatistics());
+    assertEquals(recount(department), department.getStatistics());
+  }
+
+  /** Tests if the totals stay exact while threads enroll and drop at once. */
+  @Test
+  public void concurrentEnrollmentIsCounted() throws InterruptedException {
+    Course course = department.getCourseSelection().get("3134");
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  if (ThreadLocalRandom.current().nextBoolean()) {
+                    course.enrollStudent();
+                  } else {
+                    course.dropStudent();
+                  }
+                }
+              }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(recount(department), department.getStatistics());
+  }
+
+  /** Tests if a course added while threads enroll in it counts each enrollment once. */
+  @Test
+  public void courseAddedWhileEnrollingIsCountedOnce() throws InterruptedException {
+    Course course = new Course("Jae Lee", "501 NWC", "4:10-5:25", 100_000);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(
+          new Thread(
+              () -> {
+                for (int i = 0; i < 10_000; i++) {
+                  course.enrollStudent();
+                }
+              }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    department.addCourse("3157", course);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(recount(department), department.getStatistics());
+    assertEquals(40_001, department.getStatistics().enrolled());
+  }
+
+  private static Totals recount(Department department) {
+    long capacity = 0;
+    long enrolled = 0;
+    long full = 0;
+    for (Course course : department.getCourseSelection().values()) {
+      capacity += course.getEnrollmentCapacity();
+      enrolled += course.getEnrolledStudentCount();
+      full += course.isCourseFull() ? 1 : 0;
+    }
+    return Totals.of(department.getCourseSelection().size(), capacity, enrolled, full);
+  }
+}
@@ -2,10 +2,25 @@ package dev.coms4156.project.individualproject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -222,6 +237,155 @@ public class DepartmentTests {
         capacity, newCourse.getEnrollmentCapacity(), "Expected course capacity to be 250.");
   }
 
+  /** Tests if getCourse() finds courses by their numeric course code. */
+  @Test
+  public void getCourseFindsCourseByCode() {
+    assertSame(course1, department.getCourse(1004), "Expected course 1004.");
+    assertSame(course2, department.getCourse(3251), "Expected course 3251.");
+    assertNull(department.getCourse(4156), "Expected null for an unknown course code.");
+  }
+
+  /** Tests if getCourse() sees courses added or replaced through addCourse(). */
+  @Test
+  public void getCourseSeesAddedCourses() {
+    Course replacement = new Course("Adam Cannon", "501 NWC", "4:10-5:25", 150);
+    department.createCourse("4156", "Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+    department.addCourse("1004", replacement);
+
+    assertSame(
+        department.getCourseSelection().get("4156"),
+        department.getCourse(4156),
+        "Expected the created course.");
+    assertSame(replacement, department.getCourse(1004), "Expected the replacement course.");
+  }
+
+  /** Tests if the course selection cannot be changed other than through addCourse(). */
+  @Test
+  public void courseSelectionIsReadOnly() {
+    Course course3 = new Course("Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+    Map<String, Course> selection = department.getCourseSelection();
+
+    assertThrows(UnsupportedOperationException.class, () -> selection.put("4156", course3));
+    assertThrows(UnsupportedOperationException.class, () -> selection.remove("1004"));
+    assertNull(department.getCourse(4156), "Expected no course put into the map.");
+    assertSame(course1, department.getCourse(1004), "Expected course 1004 to stay.");
+  }
+
+  /** Tests if the department keeps its own copy of the course map it was constructed with. */
+  @Test
+  public void constructorCopiesCourseMap() {
+    courses.put("4156", new Course("Gail Kaiser", "501 NWC", "10:10-11:25", 120));
+
+    assertNull(department.getCourse(4156), "Expected later changes to the argument not to leak.");
+    assertEquals(2, department.getCourseSelection().size(), "Expected the two original courses.");
+  }
+
+  /**
+   * Tests if concurrent addPersonToMajor() and dropPersonFromMajor() calls lose no update and
+   * never drop below zero majors.
+   */
+  @Test
+  public void majorsConcurrentUpdatesAreNotLost() throws Exception {
+    int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    int updatesPerThread = 5_000;
+    // enough majors that the droppers can never run out, however the threads interleave
+    int initialMajors = threads * updatesPerThread;
+    Department busy = new Department("COMS", courses, "Luca Carloni", initialMajors);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        boolean adds = t % 2 == 0;
+        results.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < updatesPerThread; i++) {
+                    if (adds) {
+                      busy.addPersonToMajor();
+                    } else {
+                      busy.dropPersonFromMajor();
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get(30, TimeUnit.SECONDS);
+      }
+
+      int adders = (threads + 1) / 2;
+      int droppers = threads / 2;
+      assertEquals(
+          initialMajors + (adders - droppers) * updatesPerThread,
+          busy.getNumberOfMajors(),
+          "Expected every add and drop to be counted.");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Tests if courses added while another thread reads the course selection are all seen, without
+   * the reader failing.
+   */
+  @Test
+  public void addCourseWhileReadingCourseSelection() throws Exception {
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> writer =
+          pool.submit(
+              () -> {
+                for (int i = 0; i < 2_000; i++) {
+                  // each in its own room with its own instructor, so that none clashes
+                  String id = Integer.toString(5000 + i);
+                  department.createCourse(id, "Instructor " + id, "Room " + id, "10:10-11:25", 120);
+                }
+              });
+      while (!writer.isDone()) {
+        for (Course course : department.getCourseSelection().values()) {
+          assertNotNull(course, "Expected no torn entries.");
+        }
+      }
+      writer.get(30, TimeUnit.SECONDS);
+
+      assertEquals(2_002, department.getCourseSelection().size(), "Expected every course added.");
+      assertEquals(2_002, department.getStatistics().courses(), "Expected every course counted.");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /** Tests if only canonical numeric course ids can be found by course code. */
+  @Test
+  public void getCourseIgnoresNonNumericIds() {
+    department.addCourse("01004", new Course("Adam Cannon", "417 IAB", "4:10-5:25", 30));
+    department.addCourse("COMS-X", new Course("Adam Cannon", "417 IAB", "6:10-7:25", 30));
+
+    assertSame(course1, department.getCourse(1004), "Expected '01004' not to shadow '1004'.");
+  }
+
+  /** Tests if the course table is rebuilt when a department is deserialized. */
+  @Test
+  public void getCourseAfterJavaSerialization() throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(department);
+    }
+    Department copy;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (Department) in.readObject();
+    }
+
+    assertEquals(
+        course2.toString(), copy.getCourse(3251).toString(), "Expected course 3251 after reload.");
+    copy.createCourse("4156", "Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+    assertNotNull(copy.getCourse(4156), "Expected the reloaded department to accept courses.");
+  }
+
   /**
    * Tests if toString() returns the correct string representation of the department and its
    * courses.
@@ -237,4 +401,41 @@ public class DepartmentTests {
         "Expected to return the department representation including all courses with their "
             + "details.");
   }
+
+  /** Tests if the version stamps follow changes to the department and to its courses. */
+  @Test
+  public void versionsFollowDepartmentAndCourseChanges() {
+    int version = department.getVersion();
+    final long stamp = department.getModificationCount();
+
+    course1.enrollStudent();
+    course1.reassignLocation("501 NWC");
+    assertEquals(version, department.getVersion(), "Expected course changes to be separate.");
+    assertEquals(stamp + 2, department.getModificationCount());
+
+    department.addPersonToMajor();
+    department.dropPersonFromMajor();
+    department.createCourse("4156", "Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+    assertEquals(version + 3, department.getVersion(), "Expected one step per change.");
+    assertEquals(stamp + 5, department.getModificationCount());
+  }
+
+  /**
+   * Tests if replacing a course with one of a lower version still changes the modification count,
+   * and if the replaced course no longer changes it.
+   */
+  @Test
+  public void replacingCourseNeverRepeatsModificationCount() {
+    Course replaced = department.getCourse(1004);
+    replaced.enrollStudent();
+    replaced.enrollStudent();
+    long stamp = department.getModificationCount();
+
+    department.addCourse("1004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 30));
+    assertTrue(department.getModificationCount() > stamp, "Expected the replacement to count.");
+
+    long replacedStamp = department.getModificationCount();
+    replaced.dropStudent();
+    assertEquals(replacedStamp, department.getModificationCount());
+  }
 }
@@ -0,0 +1,73 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link EntityTags} class.
+ *
+ * <p>This class contains test cases to validate the format of entity tags and how If-None-Match
+ * headers are matched against them.
+ */
+public class EntityTagsTests {
+
+  private static final String TAG = course("abc.1", 1004, 52, 3);
+
+  private static String course(String epoch, int courseCode, long identity, int version) {
+    return EntityTags.ofCourse(
+        epoch, ResponseCache.Endpoint.RETRIEVE_COURSE, "COMS", courseCode, identity, version);
+  }
+
+  private static String department(String epoch, long snapshotVersion, long count) {
+    return EntityTags.ofDepartment(
+        epoch, snapshotVersion, ResponseCache.Endpoint.GET_MAJOR_COUNT, "COMS", count);
+  }
+
+  /** Tests if a course tag is quoted and names the epoch, endpoint, course and its version. */
+  @Test
+  public void courseTagNamesEpochEndpointCourseAndVersion() {
+    assertEquals("\"abc.1/RETRIEVE_COURSE/COMS/1004/52.3\"", TAG);
+    assertNotEquals(TAG, course("abc.2", 1004, 52, 3));
+    assertNotEquals(TAG, course("abc.1", 1004, 53, 3));
+    assertNotEquals(TAG, course("abc.1", 1004, 52, 4));
+  }
+
+  /** Tests if a department tag is quoted and names the epoch, snapshot, endpoint and count. */
+  @Test
+  public void departmentTagNamesEpochSnapshotEndpointAndCount() {
+    String tag = department("abc.1", 4, 17);
+    assertEquals("\"abc.1-4/GET_MAJOR_COUNT/COMS/17\"", tag);
+    assertNotEquals(tag, department("abc.2", 4, 17));
+    assertNotEquals(tag, department("abc.1", 5, 17));
+    assertNotEquals(tag, department("abc.1", 4, 18));
+  }
+
+  /** Tests if different courses and endpoints never share a tag. */
+  @Test
+  public void tagsOfDifferentEntitiesDiffer() {
+    assertNotEquals(TAG, course("abc.1", 3251, 52, 3));
+    assertNotEquals(
+        TAG,
+        EntityTags.ofCourse("abc.1", ResponseCache.Endpoint.FIND_COURSE_TIME, "COMS", 1004, 52, 3));
+    assertNotEquals(
+        TAG,
+        EntityTags.ofCourse("abc.1", ResponseCache.Endpoint.RETRIEVE_COURSE, "ECON", 1004, 52, 3));
+  }
+
+  /** Tests if If-None-Match headers are matched with the weak comparison. */
+  @Test
+  public void matchesIfNoneMatchHeaders() {
+    assertTrue(EntityTags.matches(TAG, TAG));
+    assertTrue(EntityTags.matches("W/" + TAG, TAG));
+    assertTrue(EntityTags.matches("\"other\", " + TAG, TAG));
+    assertTrue(EntityTags.matches("*", TAG));
+    assertFalse(EntityTags.matches(null, TAG));
+    assertFalse(EntityTags.matches("", TAG));
+    assertFalse(EntityTags.matches("abc.1/RETRIEVE_COURSE/COMS/1004/52.3", TAG));
+    assertFalse(EntityTags.matches(course("abc.1", 1004, 52, 2), TAG));
+  }
+}
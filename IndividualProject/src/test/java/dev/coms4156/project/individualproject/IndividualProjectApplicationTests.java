@@ -2,10 +2,13 @@ package dev.coms4156.project.individualproject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.HashSet;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -86,6 +89,23 @@ public class IndividualProjectApplicationTests extends InitializeDatabase {
     verify(mockDb, times(1)).setMapping(testDepartmentMapping);
   }
 
+  /** Tests if the clashes in the data of resetDataFile() are found, each once. */
+  @Test
+  void resetDataFileHasRoomConflicts() {
+    IndividualProjectApplication.myFileDatabase = db;
+    ipa.resetDataFile();
+
+    List<String> conflicts =
+        db.getSnapshot().findConflicts().stream()
+            .map(c -> c.course().courseLocation() + " " + c.course().deptCode() + " "
+                + c.course().courseCode() + " " + c.other().deptCode() + " "
+                + c.other().courseCode())
+            .toList();
+    assertTrue(conflicts.contains("501 NWC COMS 4156 IEOR 4106"), conflicts.toString());
+    assertTrue(conflicts.contains("428 PUP ECON 2257 PHYS 1602"), conflicts.toString());
+    assertEquals(conflicts.size(), new HashSet<>(conflicts).size());
+  }
+
   /** Tests if the onTermination() method calls saveContentsToFile() when saveData is true. */
   @Test
   void onTerminationSaveDataTrue() {
@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
 /**
@@ -22,8 +23,9 @@ public abstract class InitializeDatabase {
    */
   @BeforeEach
   public void initializeDatabaseSetUp() throws IOException {
-    // delete FILE_PATH (data.txt) if it exists, for fresh start
+    // delete FILE_PATH (data.txt) and its write-ahead log if they exist, for fresh start
     Files.deleteIfExists(Paths.get(FILE_PATH));
+    Files.deleteIfExists(Paths.get(FILE_PATH + ".wal"));
 
     // init test department mapping
     testDepartmentMapping = new HashMap<>();
@@ -48,4 +50,10 @@ public abstract class InitializeDatabase {
     testDepartmentMapping.put("ECON", econDepartment);
     db = new MyFileDatabase(1, FILE_PATH);
   }
+
+  /** Closes the database, which stops its write-ahead log flusher. */
+  @AfterEach
+  public void initializeDatabaseTearDown() {
+    db.close();
+  }
 }
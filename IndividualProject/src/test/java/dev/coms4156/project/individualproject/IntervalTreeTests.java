@@ -0,0 +1,88 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link IntervalTree} class.
+ *
+ * <p>This class contains test cases to validate that queries find exactly the overlapping
+ * intervals, treating intervals as half-open, and that removals keep the tree consistent.
+ */
+public class IntervalTreeTests {
+
+  /** Tests if back-to-back intervals do not overlap and nested ones do. */
+  @Test
+  public void overlapsAreHalfOpen() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    tree.insert(610, 685, "10:10-11:25");
+    tree.insert(700, 775, "11:40-12:55");
+    tree.insert(540, 690, "9:00-11:30");
+
+    assertEquals(List.of("9:00-11:30", "10:10-11:25"), values(tree, 600, 700));
+    assertEquals(List.of("11:40-12:55"), values(tree, 690, 701));
+    assertEquals(List.of(), values(tree, 775, 800));
+    assertEquals(List.of("9:00-11:30"), values(tree, 539, 541));
+    assertThrows(IllegalArgumentException.class, () -> tree.insert(700, 700, "empty"));
+  }
+
+  /** Tests if queries agree with a linear scan while intervals are added and removed. */
+  @Test
+  public void queriesMatchLinearScan() {
+    IntervalTree<Integer> tree = new IntervalTree<>();
+    List<IntervalTree.Interval<Integer>> inserted = new ArrayList<>();
+    Random random = new Random(4156);
+    for (int i = 0; i < 2000; i++) {
+      int start = random.nextInt(1440);
+      inserted.add(tree.insert(start, start + 1 + random.nextInt(180), i));
+      if (i % 3 == 0) {
+        assertTrue(tree.remove(inserted.remove(random.nextInt(inserted.size()))));
+      }
+    }
+    assertEquals(inserted.size(), tree.size());
+
+    for (int q = 0; q < 200; q++) {
+      int start = random.nextInt(1440);
+      int end = start + 1 + random.nextInt(120);
+      List<Integer> expected = new ArrayList<>();
+      for (IntervalTree.Interval<Integer> interval : inserted) {
+        if (interval.getStart() < end && interval.getEnd() > start) {
+          expected.add(interval.getValue());
+        }
+      }
+      List<Integer> found = new ArrayList<>();
+      tree.forEachOverlapping(start, end, interval -> found.add(interval.getValue()));
+      expected.sort(null);
+      found.sort(null);
+      assertEquals(expected, found);
+    }
+  }
+
+  /** Tests if an interval is removed once, and intervals of other trees not at all. */
+  @Test
+  public void removeOnlyRemovesOwnIntervals() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    IntervalTree<String> other = new IntervalTree<>();
+    IntervalTree.Interval<String> interval = tree.insert(600, 675, "a");
+    IntervalTree.Interval<String> foreign = other.insert(600, 675, "b");
+
+    assertFalse(tree.remove(foreign));
+    assertTrue(tree.remove(interval));
+    assertFalse(tree.remove(interval));
+    assertTrue(tree.isEmpty());
+    assertEquals(1, other.size());
+  }
+
+  private static List<String> values(IntervalTree<String> tree, int start, int end) {
+    List<String> values = new ArrayList<>();
+    tree.forEachOverlapping(start, end, interval -> values.add(interval.getValue()));
+    return values;
+  }
+}
@@ -0,0 +1,55 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link LatencyHistogram} class.
+ *
+ * <p>This class contains test cases to validate that every value falls into a bucket that bounds it
+ * within the promised precision, and that quantiles, counts and sums are reported correctly.
+ */
+public class LatencyHistogramTests {
+
+  /** Tests if each bucket covers its values and is at most 1/16 of them wide. */
+  @Test
+  public void bucketsBoundValuesWithinPrecision() {
+    long[] values = {0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456, 999_999_999L,
+        LatencyHistogram.MAX_VALUE};
+    for (long value : values) {
+      int index = LatencyHistogram.bucketIndex(value);
+      long upper = LatencyHistogram.bucketUpperBound(index);
+      assertTrue(upper >= value, "Expected the bucket of " + value + " to contain it.");
+      assertTrue(
+          upper - value <= value / LatencyHistogram.SUB_BUCKETS,
+          "Expected the bucket of " + value + " to be narrow.");
+      if (index > 0) {
+        assertTrue(
+            LatencyHistogram.bucketUpperBound(index - 1) < value,
+            "Expected " + value + " to be above the previous bucket.");
+      }
+    }
+  }
+
+  /** Tests if quantiles, count and sum are reported from the recorded values. */
+  @Test
+  public void reportsQuantilesCountAndSum() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1_000L);
+    }
+    histogram.record(-5);
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1001, snapshot.getCount());
+    assertEquals(500_500_000L, snapshot.getSum());
+    long median = snapshot.valueAt(0.5);
+    assertTrue(median >= 500_000 && median <= 500_000 * 17 / 16, "Median was " + median);
+    long p99 = snapshot.valueAt(0.99);
+    assertTrue(p99 >= 990_000 && p99 <= 990_000 * 17 / 16, "p99 was " + p99);
+    assertEquals(0, snapshot.valueAt(0));
+    assertEquals(0, new LatencyHistogram().snapshot().valueAt(0.99));
+  }
+}
@@ -0,0 +1,146 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link MappedCatalog} class.
+ *
+ * <p>This class contains test cases to validate lazy decoding of a memory-mapped binary catalog.
+ */
+public class MappedCatalogTests {
+
+  @TempDir Path tempDir;
+
+  private Map<String, Department> mapping;
+  private Path catalogFile;
+
+  /** Writes a two-department binary catalog to a temporary file. */
+  @BeforeEach
+  public void mappedCatalogSetUp() throws IOException {
+    Map<String, Course> csCourses = new HashMap<>();
+    csCourses.put("1004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400));
+    csCourses.put("3251", new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 125));
+    Map<String, Course> econCourses = new HashMap<>();
+    econCourses.put("1105", new Course("Waseem Noor", "309 HAV", "2:40-3:55", 210));
+    mapping = new LinkedHashMap<>();
+    mapping.put("COMS", new Department("COMS", csCourses, "Luca Carloni", 2700));
+    mapping.put("ECON", new Department("ECON", econCourses, "Michael Woodford", 2345));
+
+    catalogFile = tempDir.resolve("data.txt");
+    try (OutputStream out = Files.newOutputStream(catalogFile)) {
+      BinaryCatalogFormat.write(mapping, out);
+    }
+  }
+
+  /** Tests if opening the catalog decodes no departments, while keys and size are available. */
+  @Test
+  public void openDecodesNothing() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+
+    assertEquals(2, catalog.size(), "Expected the directory to list both departments.");
+    assertTrue(catalog.containsKey("ECON"), "Expected ECON to be listed.");
+    assertFalse(catalog.containsKey("MATH"), "Expected MATH to be absent.");
+    assertEquals(0, catalog.getDecodedDepartmentCount(), "Expected nothing to be decoded yet.");
+  }
+
+  /** Tests if get() decodes only the requested department and caches it. */
+  @Test
+  public void getDecodesOnlyRequestedDepartment() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+    Department coms = catalog.get("COMS");
+
+    assertEquals(1, catalog.getDecodedDepartmentCount(), "Expected one decoded department.");
+    assertEquals("Luca Carloni", coms.getDepartmentChair(), "Expected the chair to be decoded.");
+    assertEquals(
+        mapping.get("COMS").toString(), coms.toString(), "Expected the courses to be decoded.");
+    assertSame(coms, catalog.get("COMS"), "Expected repeated lookups to share one instance.");
+    assertNull(catalog.get("MATH"), "Expected unknown departments to return null.");
+  }
+
+  /** Tests if mutations of a decoded department survive later lookups. */
+  @Test
+  public void mutationsOfDecodedDepartmentAreKept() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+    catalog.get("COMS").getCourseSelection().get("1004").enrollStudent();
+
+    assertEquals(
+        1,
+        catalog.get("COMS").getCourseSelection().get("1004").getEnrolledStudentCount(),
+        "Expected the enrollment to be kept.");
+  }
+
+  /** Tests if the statistics match the mapping without decoding, and follow decoded changes. */
+  @Test
+  public void statisticsDecodeNothing() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+
+    DepartmentStatistics.Report report = catalog.statistics();
+    assertEquals(0, catalog.getDecodedDepartmentCount(), "Expected nothing to be decoded.");
+    assertEquals(
+        mapping.get("ECON").getStatistics(),
+        report.departments().get("ECON"),
+        "Expected the totals in the file.");
+    assertEquals(
+        mapping.get("COMS").getStatistics().plus(mapping.get("ECON").getStatistics()),
+        report.campus(),
+        "Expected the campus to sum the departments.");
+
+    catalog.get("COMS").getCourseSelection().get("3251").setEnrolledStudentCount(125);
+    report = catalog.statistics();
+    assertEquals(1, catalog.getDecodedDepartmentCount(), "Expected only COMS to be decoded.");
+    assertEquals(125, report.departments().get("COMS").enrolled(), "Expected the change.");
+    assertEquals(125, report.campus().enrolled(), "Expected the campus to follow it.");
+    assertEquals(1, report.campus().fullCourses(), "Expected the full course to be counted.");
+    assertEquals(3, report.campus().courses(), "Expected COMS to be counted once.");
+  }
+
+  /** Tests if iterating the catalog decodes every department in file order. */
+  @Test
+  public void iterationDecodesEveryDepartment() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+
+    assertEquals(mapping.toString(), catalog.toString(), "Expected the same string output.");
+    assertEquals(2, catalog.getDecodedDepartmentCount(), "Expected both to be decoded.");
+  }
+
+  /** Tests if the catalog cannot be modified in place. */
+  @Test
+  public void catalogIsUnmodifiable() throws IOException {
+    MappedCatalog catalog = MappedCatalog.open(catalogFile);
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> catalog.put("MATH", mapping.get("COMS")),
+        "Expected put() to be rejected.");
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> catalog.keySet().remove("COMS"),
+        "Expected key removal to be rejected.");
+  }
+
+  /** Tests if a file that is not a binary catalog is rejected. */
+  @Test
+  public void openRejectsNonCatalogFile() throws IOException {
+    Path other = tempDir.resolve("other.txt");
+    Files.writeString(other, "not a catalog");
+
+    assertThrows(
+        IOException.class, () -> MappedCatalog.open(other), "Expected an IOException.");
+  }
+}
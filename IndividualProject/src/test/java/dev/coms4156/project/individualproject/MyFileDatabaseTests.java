@@ -1,16 +1,20 @@
 package dev.coms4156.project.individualproject;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -55,24 +59,176 @@ public class MyFileDatabaseTests extends InitializeDatabase {
   }
 
   /**
-   * Tests if the saveContentsToFile() method correctly writes and serializes the department mapping
-   * to a file.
+   * Tests if setMapping() publishes a new snapshot version and leaves previously obtained snapshots
+   * untouched.
    */
   @Test
-  public void saveContentsToFileValidation() throws IOException, ClassNotFoundException {
+  public void setMappingPublishesNewSnapshotVersion() {
+    CatalogSnapshot before = db.getSnapshot();
+    db.setMapping(testDepartmentMapping);
+    CatalogSnapshot after = db.getSnapshot();
+
+    assertEquals(before.getVersion() + 1, after.getVersion(), "Expected version to increase.");
+    assertTrue(before.getDepartmentMapping().isEmpty(), "Expected old snapshot to be unchanged.");
+    assertEquals(
+        testDepartmentMapping,
+        after.getDepartmentMapping(),
+        "Expected new snapshot to hold the published mapping.");
+  }
+
+  /** Tests if later changes to the map passed to setMapping() are not visible to readers. */
+  @Test
+  public void setMappingCopiesCallerMap() {
+    Map<String, Department> mapping = new HashMap<>(testDepartmentMapping);
+    db.setMapping(mapping);
+    mapping.remove("COMS");
+
+    assertTrue(
+        db.getDepartmentMapping().containsKey("COMS"),
+        "Expected published snapshot to be isolated from the caller's map.");
+  }
+
+  /** Tests if the department mapping handed to readers cannot be modified in place. */
+  @Test
+  public void getDepartmentMappingIsUnmodifiable() {
+    db.setMapping(testDepartmentMapping);
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> db.getDepartmentMapping().remove("COMS"),
+        "Expected readers to receive an unmodifiable mapping.");
+  }
+
+  /** Tests if putDepartment() adds a department in a new snapshot version. */
+  @Test
+  public void putDepartmentPublishesNewSnapshot() {
+    db.setMapping(testDepartmentMapping);
+    CatalogSnapshot before = db.getSnapshot();
+    Department math = new Department("MATH", new HashMap<>(), "Chiu-Chu Melissa Liu", 150);
+    db.putDepartment(math);
+
+    assertFalse(
+        before.getDepartmentMapping().containsKey("MATH"),
+        "Expected old snapshot to not contain the new department.");
+    assertEquals(math, db.getDepartmentMapping().get("MATH"), "Expected MATH to be published.");
+    assertEquals(3, db.getDepartmentMapping().size(), "Expected existing departments to remain.");
+  }
+
+  /** Tests if each snapshot resolves courses of its own departments through findCourse(). */
+  @Test
+  public void findCourseUsesCurrentSnapshot() {
+    db.setMapping(testDepartmentMapping);
+    CatalogSnapshot before = db.getSnapshot();
+    Course coms1004 = before.findCourse("COMS", 1004);
+    assertSame(
+        testDepartmentMapping.get("COMS").getCourseSelection().get("1004"),
+        coms1004,
+        "Expected the course from the mapping.");
+
+    Map<String, Course> courses = new HashMap<>();
+    Course replacement = new Course("Adam Cannon", "501 NWC", "4:10-5:25", 150);
+    courses.put("1004", replacement);
+    db.putDepartment(new Department("COMS", courses, "Luca Carloni", 2700));
+
+    assertSame(replacement, db.getSnapshot().findCourse("COMS", 1004), "Expected the new course.");
+    assertSame(coms1004, before.findCourse("COMS", 1004), "Expected old snapshots to be stable.");
+  }
+
+  /**
+   * Tests if a course update recorded after the last save survives a restart that skips
+   * saveContentsToFile(), as after a crash.
+   */
+  @Test
+  public void recordCourseUpdateSurvivesRestartWithoutSave() throws IOException {
+    db.setMapping(testDepartmentMapping);
+    Course course = db.getDepartmentMapping().get("COMS").getCourseSelection().get("1004");
+    course.setEnrolledStudentCount(17);
+    db.recordCourseUpdate("COMS", "1004", course);
+    Department econ = db.getDepartmentMapping().get("ECON");
+    econ.addPersonToMajor();
+    db.recordDepartmentUpdate(econ);
+
+    try (MyFileDatabase restarted = new MyFileDatabase(0, FILE_PATH)) {
+      assertEquals(
+          17,
+          restarted
+              .getDepartmentMapping()
+              .get("COMS")
+              .getCourseSelection()
+              .get("1004")
+              .getEnrolledStudentCount(),
+          "Expected the logged enrolled count to be replayed.");
+      assertEquals(
+          2346,
+          restarted.getDepartmentMapping().get("ECON").getNumberOfMajors(),
+          "Expected the logged number of majors to be replayed.");
+    }
+    Files.deleteIfExists(Paths.get(FILE_PATH + ".wal"));
+  }
+
+  /** Tests if a closed database refuses to log further mutations. */
+  @Test
+  public void closeStopsWriteAheadLog() {
+    db.setMapping(testDepartmentMapping);
+    Department econ = db.getDepartmentMapping().get("ECON");
+    db.recordDepartmentUpdate(econ);
+    db.close();
+    db.close();
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> db.recordDepartmentUpdate(econ),
+        "Expected the closed write-ahead log to reject records.");
+  }
+
+  /**
+   * Tests if the saveContentsToFile() method correctly writes the department mapping to a file in
+   * the binary catalog format.
+   */
+  @Test
+  public void saveContentsToFileValidation() throws IOException {
     db.setMapping(testDepartmentMapping);
     db.saveContentsToFile();
 
-    // basically deSerializeObjectFromFile()
-    ObjectInputStream in = new ObjectInputStream(new FileInputStream(FILE_PATH));
-    @SuppressWarnings("unchecked")
-    HashMap<String, Department> deserializedMapping = (HashMap<String, Department>) in.readObject();
+    Map<String, Department> savedMapping;
+    try (FileInputStream in = new FileInputStream(FILE_PATH)) {
+      savedMapping = BinaryCatalogFormat.read(in);
+    }
 
     // ensure output from file matches the provided output in testDepartmentMapping
     assertEquals(
         testDepartmentMapping.toString(),
-        deserializedMapping.toString(),
-        "Expected testDepartmentMapping and deserializedMapping to have the same string output.");
+        savedMapping.toString(),
+        "Expected testDepartmentMapping and savedMapping to have the same string output.");
+  }
+
+  /**
+   * Tests if a data file written with Java serialization is still loaded, and is rewritten in the
+   * binary catalog format on the next save.
+   */
+  @Test
+  public void loadLegacyFileAndMigrateOnSave() throws IOException {
+    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
+      out.writeObject(new HashMap<>(testDepartmentMapping));
+    }
+
+    try (MyFileDatabase legacy = new MyFileDatabase(0, FILE_PATH)) {
+      assertEquals(
+          testDepartmentMapping.toString(),
+          legacy.getDepartmentMapping().toString(),
+          "Expected the legacy file to be loaded.");
+
+      legacy.saveContentsToFile();
+    }
+    byte[] header = Files.readAllBytes(Paths.get(FILE_PATH));
+    assertTrue(
+        BinaryCatalogFormat.isBinaryCatalog(header, header.length),
+        "Expected the file to be migrated to the binary format.");
+    try (MyFileDatabase migrated = new MyFileDatabase(0, FILE_PATH)) {
+      assertEquals(
+          testDepartmentMapping.toString(),
+          migrated.getDepartmentMapping().toString(),
+          "Expected the migrated file to load the same mapping.");
+    }
   }
 
   /** Tests if the saveContentsToFile() method creates the file at the specified path. */
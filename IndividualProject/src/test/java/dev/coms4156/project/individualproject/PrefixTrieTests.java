@@ -0,0 +1,114 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link PrefixTrie} class.
+ *
+ * <p>This class contains test cases to validate that walks visit the values of every term with
+ * the prefix in order of term and value, stop when asked, respect the bounds on values, and agree
+ * with a sorted map while terms are added and removed.
+ */
+public class PrefixTrieTests {
+
+  /** Tests if values are visited by term, shorter terms first, then by value. */
+  @Test
+  public void visitsInOrderOfTermThenValue() {
+    PrefixTrie<Integer> trie = new PrefixTrie<>(Comparator.naturalOrder());
+    trie.add("cannon", 3);
+    trie.add("can", 2);
+    trie.addAll("cannon", List.of(5, 1));
+    trie.add("cab", 4);
+    trie.add("dear", 6);
+
+    assertEquals(List.of(4, 2, 1, 3, 5), values(trie, "ca"));
+    assertEquals(List.of(2, 1, 3, 5), values(trie, "can"));
+    assertEquals(List.of(1, 3, 5), values(trie, "cann"));
+    assertEquals(List.of(), values(trie, "cannons"));
+    assertEquals(List.of(), values(trie, "x"));
+    assertEquals(6, values(trie, "").size());
+  }
+
+  /** Tests if the walk stops when the visitor says so and skips values outside the bounds. */
+  @Test
+  public void walkStopsAndRespectsBounds() {
+    PrefixTrie<Integer> trie = new PrefixTrie<>(Comparator.naturalOrder());
+    trie.addAll("4156", List.of(10, 20, 30));
+    trie.addAll("4111", List.of(15, 25));
+    List<Integer> visited = new ArrayList<>();
+
+    assertFalse(trie.forEachWithPrefix("41", value -> visited.add(value) && visited.size() < 3));
+    assertEquals(List.of(15, 25, 10), visited);
+
+    visited.clear();
+    assertTrue(trie.forEachWithPrefix("41", 20, 30, visited::add));
+    assertEquals(List.of(25, 20), visited);
+  }
+
+  /** Tests if removing values removes empty terms without disturbing the others. */
+  @Test
+  public void removeDropsEmptyTerms() {
+    PrefixTrie<Integer> trie = new PrefixTrie<>(Comparator.naturalOrder());
+    trie.add("adam cannon", 1);
+    trie.add("adam", 2);
+    trie.add("", 3);
+
+    assertTrue(trie.remove("adam", 2));
+    assertFalse(trie.remove("adam", 2));
+    assertFalse(trie.remove("ada", 1));
+    assertEquals(List.of(3, 1), values(trie, ""));
+    assertTrue(trie.remove("adam cannon", 1));
+    assertTrue(trie.remove("", 3));
+    assertEquals(List.of(), values(trie, ""));
+    trie.add("adam", 4);
+    assertEquals(List.of(4), values(trie, "a"));
+  }
+
+  /** Tests if walks agree with a sorted map while terms are added and removed at random. */
+  @Test
+  public void walksMatchSortedMap() {
+    PrefixTrie<Integer> trie = new PrefixTrie<>(Comparator.naturalOrder());
+    TreeMap<String, TreeSet<Integer>> expected = new TreeMap<>();
+    Random random = new Random(4156);
+    for (int i = 0; i < 5000; i++) {
+      String term = Integer.toString(random.nextInt(400), 3);
+      int value = random.nextInt(8);
+      TreeSet<Integer> values = expected.computeIfAbsent(term, t -> new TreeSet<>());
+      if (values.contains(value)) {
+        assertTrue(trie.remove(term, value));
+        values.remove(value);
+        if (values.isEmpty()) {
+          expected.remove(term);
+        }
+      } else {
+        trie.add(term, value);
+        values.add(value);
+      }
+      String prefix = Integer.toString(random.nextInt(40), 3);
+      List<Integer> scanned = new ArrayList<>();
+      expected.forEach(
+          (t, v) -> {
+            if (t.startsWith(prefix)) {
+              scanned.addAll(v);
+            }
+          });
+      assertEquals(scanned, values(trie, prefix));
+    }
+  }
+
+  private static List<Integer> values(PrefixTrie<Integer> trie, String prefix) {
+    List<Integer> values = new ArrayList<>();
+    trie.forEachWithPrefix(prefix, values::add);
+    return values;
+  }
+}
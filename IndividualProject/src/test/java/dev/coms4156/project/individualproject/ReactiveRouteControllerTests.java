@@ -0,0 +1,393 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for the {@link ReactiveRouteController} class.
+ *
+ * <p>This class contains test cases to validate that reads answer like {@link RouteController},
+ * that courses are found by attribute and by prefix, that the catalog is listed in pages and
+ * totalled, that changes which double-book a room are refused, that writes are acknowledged once
+ * they are logged and survive a restart, and that /seatAvailability streams events.
+ */
+public class ReactiveRouteControllerTests extends InitializeDatabase {
+
+  private CatalogReads reads;
+  private ReactiveRouteController controller;
+  private WebTestClient client;
+
+  /** Binds a test client to a controller over the test database. */
+  @BeforeEach
+  public void setUp() {
+    db.setMapping(testDepartmentMapping);
+    IndividualProjectApplication.myFileDatabase = db;
+    reads = new CatalogReads();
+    controller = new ReactiveRouteController(reads);
+    client = WebTestClient.bindToController(controller).build();
+  }
+
+  /** Completes the open streams. */
+  @AfterEach
+  public void tearDown() {
+    reads.close();
+  }
+
+  /** Tests if reads answer with the body and entity tag of the servlet routes. */
+  @Test
+  public void readsMatchServletRoutes() {
+    String tag =
+        client
+            .get()
+            .uri("/retrieveCourse?deptCode=COMS&courseCode=1004")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .value(body -> assertTrue(body.contains("Adam Cannon")))
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+    client
+        .get()
+        .uri("/retrieveCourse?deptCode=COMS&courseCode=1004")
+        .header(HttpHeaders.IF_NONE_MATCH, tag)
+        .exchange()
+        .expectStatus()
+        .isNotModified();
+    client
+        .get()
+        .uri("/retrieveDept?deptCode=ECON")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .value(body -> assertTrue(body.contains("Michael Woodford")));
+    client
+        .get()
+        .uri("/retrieveDept?deptCode=MATH")
+        .exchange()
+        .expectStatus()
+        .isNotFound()
+        .expectBody(String.class)
+        .isEqualTo("Department Not Found");
+  }
+
+  /** Tests if a course is rendered off the event loop, on the bounded elastic scheduler. */
+  @Test
+  public void readsRenderOffTheEventLoop() {
+    AtomicReference<String> renderedOn = new AtomicReference<>();
+    testDepartmentMapping
+        .get("COMS")
+        .addCourse(
+            "4156",
+            new Course("Gail Kaiser", "501 NWC", "10:10-11:25", 120) {
+              @Override
+              public String toString() {
+                renderedOn.set(Thread.currentThread().getName());
+                return super.toString();
+              }
+            });
+
+    client
+        .get()
+        .uri("/retrieveCourse?deptCode=COMS&courseCode=4156")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    assertTrue(renderedOn.get().startsWith("boundedElastic"), renderedOn.get());
+  }
+
+  /** Tests if the attribute queries list matching courses and follow reassignments. */
+  @Test
+  public void coursesAreFoundByAttribute() {
+    client
+        .get()
+        .uri("/coursesByLocation?location=417 iab")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .isEqualTo(
+            "[{\"deptCode\":\"COMS\",\"courseCode\":\"1004\",\"instructorName\":\"Adam Cannon\","
+                + "\"courseLocation\":\"417 IAB\",\"courseTimeSlot\":\"11:40-12:55\"}]");
+    client
+        .patch()
+        .uri("/changeCourseTeacher?deptCode=ECON&courseCode=2257&teacher=Adam Cannon")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .get()
+        .uri("/coursesByInstructor?name=Adam Cannon")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .value(body -> assertTrue(body.contains("\"1004\"") && body.contains("\"2257\"")));
+    client
+        .get()
+        .uri("/coursesByTime?time=02:40-03:55")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .value(body -> assertTrue(body.contains("\"1105\"")));
+    client
+        .get()
+        .uri("/coursesByTime?time=noon")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  /** Tests if /search finds courses by the start of their number or instructor name. */
+  @Test
+  public void coursesAreFoundByPrefix() {
+    client
+        .get()
+        .uri("/search?q=coms 10")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .isEqualTo(
+            "[{\"deptCode\":\"COMS\",\"courseCode\":\"1004\",\"instructorName\":\"Adam Cannon\","
+                + "\"courseLocation\":\"417 IAB\",\"courseTimeSlot\":\"11:40-12:55\"}]");
+    client
+        .get()
+        .uri("/search?q=econ&limit=1")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .value(body -> assertTrue(body.contains("\"1105\"") && !body.contains("\"2257\"")));
+    client
+        .get()
+        .uri("/search?q=gash")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .value(body -> assertTrue(body.contains("\"2257\"")));
+    client.get().uri("/search?q=coms&limit=0").exchange().expectStatus().isBadRequest();
+  }
+
+  /** Tests if /departments and /courses list the catalog in pages linked by cursors. */
+  @Test
+  public void catalogIsListedInPages() {
+    client
+        .get()
+        .uri("/departments?limit=1")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.items[0].deptCode")
+        .isEqualTo("COMS")
+        .jsonPath("$.nextCursor")
+        .isNotEmpty();
+    String cursor =
+        client
+            .get()
+            .uri("/courses?deptCode=econ&limit=1")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(CatalogPages.Page.class)
+            .returnResult()
+            .getResponseBody()
+            .nextCursor();
+    client
+        .get()
+        .uri("/courses?deptCode=ECON&limit=1&cursor=" + cursor)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.items[0].courseCode")
+        .isEqualTo("2257")
+        .jsonPath("$.items[0].enrollmentCapacity")
+        .isNumber()
+        .jsonPath("$.nextCursor")
+        .doesNotExist();
+    client.get().uri("/courses?deptCode=XYZ").exchange().expectStatus().isNotFound();
+    client.get().uri("/courses?cursor=@@").exchange().expectStatus().isBadRequest();
+  }
+
+  /** Tests if /statistics follows enrollments, per department and campus-wide. */
+  @Test
+  public void statisticsFollowEnrollment() {
+    client
+        .patch()
+        .uri("/enrollStudentInCourses?deptCode=COMS&courseCode=1004")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .get()
+        .uri("/statistics?deptCode=coms")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.courses")
+        .isEqualTo(2)
+        .jsonPath("$.capacity")
+        .isEqualTo(155)
+        .jsonPath("$.enrolled")
+        .isEqualTo(1)
+        .jsonPath("$.fullCourses")
+        .isEqualTo(0);
+    client
+        .get()
+        .uri("/statistics")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.campus.capacity")
+        .isEqualTo(490)
+        .jsonPath("$.campus.enrolled")
+        .isEqualTo(1)
+        .jsonPath("$.departments.ECON.courses")
+        .isEqualTo(2);
+    client.get().uri("/statistics?deptCode=XYZ").exchange().expectStatus().isNotFound();
+  }
+
+  /** Tests if a change that double-books a room is refused with the clashing course. */
+  @Test
+  public void conflictingChangeIsRefused() {
+    client
+        .patch()
+        .uri("/changeCourseLocation?deptCode=ECON&courseCode=2257&location=417 IAB")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .patch()
+        .uri("/changeCourseTime?deptCode=ECON&courseCode=2257&time=11:00-12:15")
+        .exchange()
+        .expectStatus()
+        .isEqualTo(409)
+        .expectBody(String.class)
+        .value(
+            body ->
+                assertTrue(
+                    body.contains("\"resource\":\"ROOM\"") && body.contains("\"1004\""),
+                    body));
+    client
+        .get()
+        .uri("/scheduleConflicts")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .isEqualTo("[]");
+    assertEquals(
+        "10:10-11:25",
+        db.getDepartmentMapping().get("ECON").getCourseSelection().get("2257").getCourseTimeSlot());
+  }
+
+  /** Tests if writes are acknowledged with the servlet messages and are in the log. */
+  @Test
+  public void writesAreLoggedBeforeTheyAreAcknowledged() {
+    client
+        .patch()
+        .uri("/enrollStudentInCourses?deptCode=COMS&courseCode=1004&deptCode=econ&courseCode=1105")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .isEqualTo("Student has been enrolled.");
+    client
+        .patch()
+        .uri("/addMajorToDept?deptCode=econ")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(String.class)
+        .isEqualTo("Attribute was updated successfully.");
+    client
+        .patch()
+        .uri("/changeCourseTeacher?deptCode=COMS&courseCode=3251&teacher=Someone Else")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .patch()
+        .uri("/dropStudentFromCourse?deptCode=COMS&courseCode=9999")
+        .exchange()
+        .expectStatus()
+        .isNotFound()
+        .expectBody(String.class)
+        .isEqualTo("Course Not Found");
+
+    try (MyFileDatabase restarted = new MyFileDatabase(0, FILE_PATH)) {
+      Department coms = restarted.getDepartmentMapping().get("COMS");
+      Department econ = restarted.getDepartmentMapping().get("ECON");
+      assertEquals(1, coms.getCourseSelection().get("1004").getEnrolledStudentCount());
+      assertEquals(1, econ.getCourseSelection().get("1105").getEnrolledStudentCount());
+      assertEquals(2346, econ.getNumberOfMajors());
+      assertEquals(
+          "Someone Else", coms.getCourseSelection().get("3251").getInstructorName());
+    }
+  }
+
+  /** Tests if enrolling in a full course is rejected. */
+  @Test
+  public void fullCourseIsRejected() {
+    client
+        .patch()
+        .uri("/setEnrollmentCount?deptCode=COMS&courseCode=1004&count=30")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    client
+        .patch()
+        .uri("/enrollStudentInCourses?deptCode=COMS&courseCode=1004")
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody(String.class)
+        .isEqualTo("Student has not been enrolled.");
+  }
+
+  /** Tests if /seatAvailability sends the current state of the course as an event. */
+  @Test
+  public void seatAvailabilityStreamsEvents() {
+    Flux<String> events =
+        client
+            .get()
+            .uri("/seatAvailability?deptCode=COMS&courseCode=1004")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(String.class)
+            .getResponseBody();
+
+    StepVerifier.create(events)
+        .assertNext(event -> assertTrue(event.contains("\"enrolledStudentCount\":0")))
+        .thenCancel()
+        .verify(Duration.ofSeconds(10));
+    client
+        .get()
+        .uri("/seatAvailability?deptCode=COMS&courseCode=9999")
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+  }
+}
@@ -0,0 +1,123 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.coms4156.project.individualproject.ResponseCache.Endpoint;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ResponseCache} class.
+ *
+ * <p>This class contains test cases to validate cache hits, invalidation when the cached entity
+ * changes or is replaced, size-bounded eviction and the reported statistics.
+ */
+public class ResponseCacheTests {
+
+  private ResponseCache cache;
+  private Course course;
+  private AtomicInteger renders;
+
+  /** Sets up a 1 KB cache, a course and a render counter. */
+  @BeforeEach
+  public void setUp() {
+    cache = new ResponseCache(1024);
+    course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400);
+    renders = new AtomicInteger();
+  }
+
+  private byte[] location(Course source, int courseCode) {
+    return cache.get(
+        Endpoint.FIND_COURSE_LOCATION,
+        "COMS",
+        courseCode,
+        source,
+        source.getVersion(),
+        () -> {
+          renders.incrementAndGet();
+          return source.getCourseLocation().getBytes(StandardCharsets.UTF_8);
+        });
+  }
+
+  /** Tests if a repeated lookup is answered from the cache with the same bytes. */
+  @Test
+  public void repeatedLookupHits() {
+    byte[] first = location(course, 1004);
+    byte[] second = location(course, 1004);
+
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    ResponseCache.Stats stats = cache.stats();
+    assertEquals(1, stats.hits());
+    assertEquals(1, stats.misses());
+    assertEquals(0.5, stats.hitRatio());
+    assertEquals(1, stats.entries());
+    assertEquals(7, stats.bytes());
+  }
+
+  /** Tests if changing the course makes the next lookup render again. */
+  @Test
+  public void mutationInvalidatesEntry() {
+    location(course, 1004);
+    course.reassignLocation("301 URIS");
+
+    assertArrayEquals("301 URIS".getBytes(StandardCharsets.UTF_8), location(course, 1004));
+    course.enrollStudent();
+    location(course, 1004);
+
+    assertEquals(3, renders.get());
+    assertEquals(2, cache.stats().invalidations());
+    assertEquals(1, cache.stats().entries());
+  }
+
+  /** Tests if an entry rendered from one course is not served for another at the same key. */
+  @Test
+  public void replacedSourceInvalidatesEntry() {
+    location(course, 1004);
+    Course replacement = new Course("Adam Cannon", "501 NWC", "11:40-12:55", 400);
+
+    assertArrayEquals("501 NWC".getBytes(StandardCharsets.UTF_8), location(replacement, 1004));
+    assertEquals(1, cache.stats().invalidations());
+  }
+
+  /** Tests if the cache stays within its size, evicting entries that were not hit first. */
+  @Test
+  public void evictsLeastRecentlyUsedToStayWithinSize() {
+    Course big = new Course("Adam Cannon", "x".repeat(64), "11:40-12:55", 400);
+    for (int i = 0; i < 16; i++) {
+      location(big, i);
+    }
+    // keep entry 0 hot, so the clock gives it a second chance
+    location(big, 0);
+    for (int i = 16; i < 20; i++) {
+      location(big, i);
+    }
+
+    ResponseCache.Stats stats = cache.stats();
+    assertTrue(stats.bytes() <= 1024, "Expected the cache to stay within its size.");
+    assertEquals(4, stats.evictions());
+    int before = renders.get();
+    location(big, 0);
+    assertEquals(before, renders.get(), "Expected the hot entry to survive.");
+    location(big, 1);
+    assertEquals(before + 1, renders.get(), "Expected a cold entry to be evicted.");
+  }
+
+  /** Tests if bodies larger than a sixteenth of the cache are returned but not kept. */
+  @Test
+  public void oversizedBodiesAreNotCached() {
+    Course big = new Course("Adam Cannon", "x".repeat(100), "11:40-12:55", 400);
+    location(big, 1004);
+    location(big, 1004);
+
+    assertEquals(2, renders.get());
+    assertEquals(0, cache.stats().entries());
+    assertThrows(IllegalArgumentException.class, () -> new ResponseCache(0));
+  }
+}
@@ -0,0 +1,154 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for the {@link RouteController} class.
+ *
+ * <p>This class contains test cases that call the route handlers directly, to validate how they
+ * resolve departments and courses and how they answer.
+ */
+public class RouteControllerTests extends InitializeDatabase {
+
+  private CatalogReads reads;
+  private RouteController controller;
+
+  /** Points the controller at the test database. */
+  @BeforeEach
+  public void setUp() {
+    db.setMapping(testDepartmentMapping);
+    IndividualProjectApplication.myFileDatabase = db;
+    reads = new CatalogReads();
+    controller = new RouteController(reads);
+  }
+
+  /** Stops the seat availability stream of the reads. */
+  @AfterEach
+  public void tearDown() {
+    reads.close();
+  }
+
+  /** Tests if the major count routes accept a department code in any case, like the others. */
+  @Test
+  public void majorRoutesIgnoreDeptCodeCase() {
+    ResponseEntity<?> added = controller.addMajorToDept("econ");
+    assertEquals(HttpStatus.OK, added.getStatusCode(), String.valueOf(added.getBody()));
+    assertEquals(2346, testDepartmentMapping.get("ECON").getNumberOfMajors());
+
+    ResponseEntity<?> removed = controller.removeMajorFromDept("Econ");
+    assertEquals(HttpStatus.OK, removed.getStatusCode(), String.valueOf(removed.getBody()));
+    assertEquals(2345, testDepartmentMapping.get("ECON").getNumberOfMajors());
+
+    assertEquals(HttpStatus.NOT_FOUND, controller.addMajorToDept("math").getStatusCode());
+  }
+
+  /**
+   * Tests if enrolling in a batch where one course is full enrolls the student in none of the
+   * courses.
+   */
+  @Test
+  public void enrollStudentInCoursesRollsBackWhenOneIsFull() {
+    final Course first = testDepartmentMapping.get("COMS").getCourse(1004);
+    Course full = testDepartmentMapping.get("ECON").getCourse(2257);
+    final Course last = testDepartmentMapping.get("COMS").getCourse(3251);
+    full.setEnrolledStudentCount(125);
+
+    ResponseEntity<?> response =
+        controller.enrollStudentInCourses(
+            new String[] {"COMS", "ECON", "COMS"}, new int[] {1004, 2257, 3251});
+
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Student has not been enrolled.", response.getBody());
+    assertEquals(0, first.getEnrolledStudentCount());
+    assertEquals(125, full.getEnrolledStudentCount());
+    assertEquals(0, last.getEnrolledStudentCount());
+  }
+
+  /** Tests if a batch enrollment whose code lists differ in length is rejected unchanged. */
+  @Test
+  public void enrollStudentInCoursesRejectsMismatchedLists() {
+    final Course course = testDepartmentMapping.get("COMS").getCourse(1004);
+
+    ResponseEntity<?> moreDepts =
+        controller.enrollStudentInCourses(new String[] {"COMS", "ECON"}, new int[] {1004});
+    assertEquals(HttpStatus.BAD_REQUEST, moreDepts.getStatusCode());
+    assertEquals("Each deptCode needs a matching courseCode.", moreDepts.getBody());
+
+    ResponseEntity<?> moreCourses =
+        controller.enrollStudentInCourses(new String[] {"COMS"}, new int[] {1004, 3251});
+    assertEquals(HttpStatus.BAD_REQUEST, moreCourses.getStatusCode());
+    assertEquals("Each deptCode needs a matching courseCode.", moreCourses.getBody());
+
+    assertEquals(0, course.getEnrolledStudentCount());
+  }
+
+  /**
+   * Tests if a course replaced by another one at the same version gets a new entity tag, so that a
+   * client holding the old tag is sent the new course instead of a 304.
+   */
+  @Test
+  public void replacedCourseGetsNewEntityTag() {
+    ResponseEntity<?> first = controller.retrieveCourse("COMS", 1004, null);
+    assertEquals(HttpStatus.OK, first.getStatusCode());
+    String tag = first.getHeaders().getETag();
+    assertEquals(
+        HttpStatus.NOT_MODIFIED, controller.retrieveCourse("COMS", 1004, tag).getStatusCode());
+
+    Course replacement = new Course("Gail Kaiser", "501 NWC", "11:40-12:55", 30);
+    Department department = testDepartmentMapping.get("COMS");
+    assertEquals(department.getCourse(1004).getVersion(), replacement.getVersion());
+    department.addCourse("1004", replacement);
+
+    ResponseEntity<?> second = controller.retrieveCourse("COMS", 1004, tag);
+    assertEquals(HttpStatus.OK, second.getStatusCode());
+    assertNotEquals(tag, second.getHeaders().getETag());
+    assertTrue(
+        new String((byte[]) second.getBody(), StandardCharsets.UTF_8).contains("Gail Kaiser"));
+  }
+
+  /**
+   * Tests if changes to other courses of the department leave the entity tag of a course alone,
+   * while a change to the course itself gets it a new one.
+   */
+  @Test
+  public void courseTagIgnoresOtherCoursesOfDepartment() {
+    String tag = controller.retrieveCourse("COMS", 1004, null).getHeaders().getETag();
+
+    assertEquals(
+        HttpStatus.OK,
+        controller
+            .enrollStudentInCourses(new String[] {"COMS"}, new int[] {3251})
+            .getStatusCode());
+    assertEquals(
+        HttpStatus.NOT_MODIFIED, controller.retrieveCourse("COMS", 1004, tag).getStatusCode());
+
+    assertEquals(
+        HttpStatus.OK,
+        controller
+            .enrollStudentInCourses(new String[] {"COMS"}, new int[] {1004})
+            .getStatusCode());
+    assertEquals(HttpStatus.OK, controller.retrieveCourse("COMS", 1004, tag).getStatusCode());
+  }
+
+  /** Tests if the same tag is never sent for two different courses or endpoints. */
+  @Test
+  public void entityTagsNameEndpointAndCourse() {
+    String course = controller.retrieveCourse("COMS", 1004, null).getHeaders().getETag();
+    String other = controller.retrieveCourse("COMS", 3251, null).getHeaders().getETag();
+    String time = controller.findCourseTime("COMS", 1004, null).getHeaders().getETag();
+
+    assertNotEquals(course, other);
+    assertNotEquals(course, time);
+    assertEquals(
+        HttpStatus.OK, controller.retrieveCourse("COMS", 3251, course).getStatusCode());
+  }
+}
@@ -0,0 +1,63 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link RouteMetrics} class.
+ *
+ * <p>This class contains test cases to validate that requests are counted per route and outcome,
+ * and that the Prometheus text output contains the latency summaries and enrollment contention.
+ */
+public class RouteMetricsTests {
+
+  /** Tests if outcomes are counted per route and written in the Prometheus text format. */
+  @Test
+  public void countsOutcomesPerRoute() {
+    RouteMetrics metrics = new RouteMetrics();
+    metrics.record("/retrieveCourse", 200, false, 120_000);
+    metrics.record("/retrieveCourse", 304, false, 40_000);
+    metrics.record("/retrieveCourse", 404, false, 50_000);
+    metrics.record("/enrollStudentInCourses", 200, true, 2_000_000);
+    metrics.record("/enrollStudentInCourses", 500, false, 3_000_000);
+
+    String text = metrics.scrape();
+    assertTrue(text.contains("# TYPE http_server_requests_seconds summary\n"));
+    assertTrue(
+        text.contains(
+            "http_server_requests_total{route=\"/retrieveCourse\",outcome=\"success\"} 2\n"));
+    assertTrue(
+        text.contains(
+            "http_server_requests_total{route=\"/retrieveCourse\",outcome=\"client_error\"} 1\n"));
+    assertTrue(
+        text.contains(
+            "http_server_requests_total{route=\"/enrollStudentInCourses\",outcome=\"error\"} 2\n"));
+    assertTrue(
+        text.contains(
+            "http_server_requests_seconds_count{route=\"/retrieveCourse\"} 3\n"));
+    assertTrue(
+        text.contains("http_server_requests_seconds_sum{route=\"/retrieveCourse\"} 2.1E-4\n"));
+    assertTrue(text.contains("http_server_requests_seconds{route=\"/retrieveCourse\","));
+    assertFalse(text.contains("/isCourseFull"));
+  }
+
+  /** Tests if the enrollment contention of courses is part of the output. */
+  @Test
+  public void exportsEnrollmentContention() {
+    long before = Course.getContentionStats().rejectedFull();
+    Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 1);
+    Course other = new Course("Tony Dear", "402 CHANDLER", "1:10-3:40", 1);
+    other.enrollStudent();
+    Course.enrollAll(List.of(course, other));
+
+    Course.ContentionStats stats = Course.getContentionStats();
+    assertTrue(stats.rejectedFull() > before);
+    assertTrue(stats.batchRollbacks() > 0);
+    String text = new RouteMetrics().scrape();
+    assertTrue(text.contains("# TYPE course_enrollment_rejected_full_total counter\n"));
+    assertTrue(text.contains("course_enrollment_retries_total "));
+  }
+}
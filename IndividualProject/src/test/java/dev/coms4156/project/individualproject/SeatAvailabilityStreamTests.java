@@ -0,0 +1,272 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link SeatAvailabilityStream} class.
+ *
+ * <p>This class contains test cases to validate that subscribers receive the current state of the
+ * courses they watch, that changes within one window are coalesced into one event per course, that
+ * one event reaches every subscriber, that changes are sent without a manual flush, that failed
+ * and slow subscribers are dropped, and that many subscribers share a fixed pool of senders.
+ */
+public class SeatAvailabilityStreamTests {
+
+  private Course intro;
+  private Course advanced;
+  private CatalogSnapshot snapshot;
+  private SeatAvailabilityStream stream;
+
+  /** Records the events sent to it instead of writing them to a response. */
+  private static final class RecordingSink implements SeatAvailabilityStream.Sink {
+    // read by the tests while senders write
+    private final List<byte[]> sent = new CopyOnWriteArrayList<>();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean blocking;
+
+    @Override
+    public void send(byte[] event) throws IOException {
+      if (failing) {
+        throw new IOException("Broken pipe");
+      }
+      if (blocking) {
+        // a client that stops reading
+        try {
+          released.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted", e);
+        }
+      }
+      sent.add(event);
+      events.add(new String(event, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void complete() {}
+
+    @Override
+    public void onClose(Runnable callback) {}
+  }
+
+  /**
+   * Sets up a department with two courses and a stream whose flusher never fires on its own, and
+   * which sends on the flushing thread.
+   */
+  @BeforeEach
+  public void setUp() {
+    intro = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 3);
+    advanced = new Course("Gail Kaiser", "501 NWC", "10:10-11:25", 120);
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("1004", intro);
+    courses.put("4156", advanced);
+    Map<String, Department> mapping = new HashMap<>();
+    mapping.put("COMS", new Department("COMS", courses, "Luca Carloni", 2700));
+    snapshot = CatalogSnapshot.EMPTY.next(mapping);
+    stream = new SeatAvailabilityStream(() -> snapshot, 3_600_000, Runnable::run, 4);
+  }
+
+  /** Stops the flusher. */
+  @AfterEach
+  public void tearDown() {
+    stream.close();
+  }
+
+  /** Tests if a new subscriber receives the current state with the next flush. */
+  @Test
+  public void subscriberReceivesCurrentState() {
+    intro.enrollStudent();
+    RecordingSink sink = new RecordingSink();
+
+    stream.subscribe(sink, "COMS", 1004);
+    stream.flush();
+
+    assertEquals(
+        List.of(
+            "event:seats\ndata:{\"deptCode\":\"COMS\",\"courseCode\":1004,"
+                + "\"enrolledStudentCount\":1,\"enrollmentCapacity\":3,\"courseFull\":false}\n\n"),
+        sink.events);
+    stream.flush();
+    assertEquals(1, sink.events.size());
+  }
+
+  /** Tests if changes within one window become a single event with the latest state. */
+  @Test
+  public void changesWithinWindowAreCoalesced() {
+    RecordingSink sink = new RecordingSink();
+    stream.subscribe(sink, "COMS", 1004);
+    stream.flush();
+
+    intro.enrollStudent();
+    intro.enrollStudent();
+    intro.enrollStudent();
+    intro.enrollStudent();
+    stream.flush();
+    // the count did not change, so a new instructor is not an event
+    intro.reassignInstructor("Someone Else");
+    stream.flush();
+    intro.dropStudent();
+    intro.enrollStudent();
+    stream.flush();
+
+    assertEquals(2, sink.events.size());
+    assertTrue(sink.events.get(1).contains("\"enrolledStudentCount\":3"));
+    assertTrue(sink.events.get(1).contains("\"courseFull\":true"));
+  }
+
+  /** Tests if every subscriber of a course gets the same event and only for its courses. */
+  @Test
+  public void eventsAreFannedOutPerCourse() {
+    RecordingSink first = new RecordingSink();
+    RecordingSink second = new RecordingSink();
+    RecordingSink department = new RecordingSink();
+    stream.subscribe(first, "COMS", 1004);
+    stream.subscribe(second, "COMS", 4156);
+    stream.subscribe(department, "COMS", 1004, 4156);
+    stream.flush();
+
+    advanced.setEnrolledStudentCount(109);
+    stream.flush();
+
+    assertEquals(1, first.events.size());
+    assertEquals(2, second.events.size());
+    assertEquals(3, department.events.size());
+    // encoded once for all subscribers
+    assertSame(second.sent.get(1), department.sent.get(2));
+    assertTrue(department.events.get(2).contains("\"enrolledStudentCount\":109"));
+    assertEquals(3, stream.subscriberCount());
+  }
+
+  /** Tests if a subscriber whose connection fails is dropped without affecting the others. */
+  @Test
+  public void failedSubscriberIsDropped() {
+    RecordingSink healthy = new RecordingSink();
+    RecordingSink broken = new RecordingSink();
+    stream.subscribe(healthy, "COMS", 1004);
+    stream.subscribe(broken, "COMS", 1004);
+    stream.flush();
+
+    broken.failing = true;
+    intro.enrollStudent();
+    stream.flush();
+    intro.enrollStudent();
+    stream.flush();
+
+    assertEquals(1, stream.subscriberCount());
+    assertEquals(3, healthy.events.size());
+    assertEquals(1, broken.events.size());
+  }
+
+  /** Tests if a closed stream accepts no more subscribers. */
+  @Test
+  public void closedStreamRejectsSubscribers() {
+    stream.close();
+
+    assertThrows(
+        IllegalStateException.class, () -> stream.subscribe(new RecordingSink(), "COMS", 1004));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SeatAvailabilityStream(() -> CatalogSnapshot.EMPTY, 0));
+  }
+
+  /** Tests if changes reach subscribers within a window without anyone flushing. */
+  @Test
+  public void changesAreSignalled() throws InterruptedException {
+    try (SeatAvailabilityStream signalled =
+        new SeatAvailabilityStream(() -> snapshot, 10, Runnable::run, 4)) {
+      RecordingSink sink = new RecordingSink();
+      signalled.subscribe(sink, "COMS", 1004);
+      awaitTrue(() -> sink.events.size() == 1);
+
+      intro.enrollStudent();
+      awaitTrue(() -> sink.events.size() == 2);
+      assertTrue(sink.events.get(1).contains("\"enrolledStudentCount\":1"));
+    }
+  }
+
+  /** Tests if a client that stops reading is dropped and does not hold up the others. */
+  @Test
+  public void slowSubscriberIsDropped() throws InterruptedException {
+    try (SeatAvailabilityStream pooled =
+        new SeatAvailabilityStream(
+            () -> snapshot, 3_600_000, Executors.newCachedThreadPool(), 4)) {
+      RecordingSink slow = new RecordingSink();
+      slow.blocking = true;
+      RecordingSink healthy = new RecordingSink();
+      pooled.subscribe(slow, "COMS", 4156);
+      pooled.subscribe(healthy, "COMS", 4156);
+      pooled.flush();
+
+      for (int i = 0; i < 10; i++) {
+        int sent = i + 1;
+        awaitTrue(() -> healthy.events.size() == sent);
+        advanced.enrollStudent();
+        pooled.flush();
+      }
+
+      awaitTrue(() -> healthy.events.size() == 11);
+      assertEquals(1, pooled.subscriberCount());
+      slow.released.countDown();
+      assertTrue(slow.events.size() <= 5, "Expected the slow client to be cut off.");
+    }
+  }
+
+  /** Tests if a thousand clients that stop reading do not each get a sender thread. */
+  @Test
+  public void sendersDoNotGrowWithSubscribers() throws InterruptedException {
+    final long before = senderThreads();
+    List<RecordingSink> sinks = new ArrayList<>();
+    try (SeatAvailabilityStream pooled = new SeatAvailabilityStream(() -> snapshot, 3_600_000)) {
+      for (int i = 0; i < 1_000; i++) {
+        RecordingSink sink = new RecordingSink();
+        sink.blocking = true;
+        sinks.add(sink);
+        pooled.subscribe(sink, "COMS", 1004);
+      }
+      pooled.flush();
+      // every sender is now stuck in a write, with the other clients queued behind
+      Thread.sleep(100);
+
+      assertTrue(
+          senderThreads() <= before + Runtime.getRuntime().availableProcessors(),
+          "Expected one sender per core.");
+      for (RecordingSink sink : sinks) {
+        sink.released.countDown();
+      }
+      awaitTrue(() -> sinks.stream().allMatch(sink -> sink.events.size() == 1));
+    }
+  }
+
+  private static long senderThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> "seat-availability-sender".equals(thread.getName()))
+        .count();
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Timed out.");
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link TimeSlots} class.
+ *
+ * <p>This class contains test cases to validate the packed minutes returned by the parser and
+ * that it accepts exactly the strings the original time slot pattern accepted.
+ */
+public class TimeSlotsTests {
+
+  /** The pattern Course.isValidTimeSlot used before the hand-written parser. */
+  private static final Pattern ORIGINAL =
+      Pattern.compile("^([01]?\\d|2[0-3]):[0-5]\\d-([01]?\\d|2[0-3]):[0-5]\\d$");
+
+  private static void assertAgreesWithPattern(String timeSlot) {
+    assertEquals(
+        ORIGINAL.matcher(timeSlot).matches(),
+        TimeSlots.parse(timeSlot) != TimeSlots.INVALID,
+        "Expected the parser to agree with the pattern on '" + timeSlot + "'.");
+  }
+
+  /** Tests if valid time slots are parsed into their start and end minutes. */
+  @Test
+  public void parseReturnsPackedMinutes() {
+    int packed = TimeSlots.parse("11:40-12:55");
+    assertEquals(11 * 60 + 40, TimeSlots.startMinute(packed), "Expected 11:40.");
+    assertEquals(12 * 60 + 55, TimeSlots.endMinute(packed), "Expected 12:55.");
+
+    packed = TimeSlots.parse("0:00-23:59");
+    assertEquals(0, TimeSlots.startMinute(packed), "Expected 0:00.");
+    assertEquals(23 * 60 + 59, TimeSlots.endMinute(packed), "Expected 23:59.");
+
+    packed = TimeSlots.parse("09:05-1:10");
+    assertEquals(9 * 60 + 5, TimeSlots.startMinute(packed), "Expected 09:05.");
+    assertEquals(60 + 10, TimeSlots.endMinute(packed), "Expected 1:10.");
+  }
+
+  /** Tests if malformed time slots are rejected. */
+  @Test
+  public void parseRejectsInvalidTimeSlots() {
+    String[] invalid = {
+      null, "", " ", "24:00-1:00", "1:60-2:00", "1:0-2:00", "123:00-1:00", "1:00 - 2:00",
+      "1:00-2:00 ", " 1:00-2:00", "1:00-2:00\n", "1:00/2:00", "1:00-", "29:00-1:00", "a:00-1:00"
+    };
+    for (String timeSlot : invalid) {
+      assertEquals(
+          TimeSlots.INVALID, TimeSlots.parse(timeSlot), "Expected '" + timeSlot + "' rejected.");
+    }
+  }
+
+  /** Tests if the parser agrees with the original pattern on every hour and minute. */
+  @Test
+  public void parseAgreesWithPatternOnAllTimes() {
+    for (int hour = 0; hour < 30; hour++) {
+      for (int minute = 0; minute < 100; minute++) {
+        String time = String.format("%d:%02d", hour, minute);
+        String padded = String.format("%02d:%02d", hour, minute);
+        assertAgreesWithPattern(time + "-1:00");
+        assertAgreesWithPattern(padded + "-1:00");
+        assertAgreesWithPattern("12:30-" + time);
+        assertAgreesWithPattern("12:30-" + padded);
+      }
+    }
+  }
+
+  /** Tests if the parser agrees with the original pattern on random strings of time characters. */
+  @Test
+  public void parseAgreesWithPatternOnRandomStrings() {
+    String alphabet = "0123456789:- x";
+    Random random = new Random(4156);
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder timeSlot = new StringBuilder();
+      int length = random.nextInt(13);
+      for (int j = 0; j < length; j++) {
+        // bias towards digits, colons and dashes in the right places to reach deep branches
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+        if (random.nextInt(3) == 0) {
+          c = "1:00-2:00".charAt(j % 9);
+        }
+        timeSlot.append(c);
+      }
+      assertAgreesWithPattern(timeSlot.toString());
+    }
+  }
+}
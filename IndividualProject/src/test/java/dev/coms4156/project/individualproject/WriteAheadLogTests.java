@@ -0,0 +1,361 @@
+package dev.coms4156.project.individualproject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the {@link WriteAheadLog} class.
+ *
+ * <p>This class contains test cases to validate appending, replaying, and checkpointing of logged
+ * catalog mutations.
+ */
+public class WriteAheadLogTests {
+
+  @TempDir Path tempDir;
+
+  private Path logPath;
+  private WriteAheadLog log;
+  private AtomicInteger snapshotsWritten;
+
+  /** Sets up an empty log whose snapshot writer only counts invocations. */
+  @BeforeEach
+  public void writeAheadLogSetUp() {
+    logPath = tempDir.resolve("data.txt.wal");
+    snapshotsWritten = new AtomicInteger();
+    log = new WriteAheadLog(logPath, snapshotsWritten::incrementAndGet, Long.MAX_VALUE);
+  }
+
+  /** Stops the flusher thread after each test. */
+  @AfterEach
+  public void writeAheadLogTearDown() throws IOException {
+    log.close();
+  }
+
+  /** Builds a fresh single-department mapping in its initial state. */
+  private static Map<String, Department> freshMapping() {
+    Map<String, Course> courses = new HashMap<>();
+    courses.put("1004", new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400));
+    Map<String, Department> mapping = new HashMap<>();
+    mapping.put("COMS", new Department("COMS", courses, "Luca Carloni", 2700));
+    return mapping;
+  }
+
+  /** Tests if replay() restores every logged course and department change. */
+  @Test
+  public void replayRestoresLoggedState() throws IOException {
+    Map<String, Department> live = freshMapping();
+    Course course = live.get("COMS").getCourseSelection().get("1004");
+    course.setEnrolledStudentCount(42);
+    course.reassignInstructor("Gail Kaiser");
+    course.reassignLocation("501 NWC");
+    course.reassignTime("4:10-5:25");
+    log.appendCourse("COMS", "1004", course).join();
+    live.get("COMS").addPersonToMajor();
+    log.appendDepartment(live.get("COMS")).join();
+
+    Map<String, Department> recovered = freshMapping();
+    assertEquals(2, log.replay(recovered), "Expected both records to be applied.");
+    Course restored = recovered.get("COMS").getCourseSelection().get("1004");
+    assertEquals(42, restored.getEnrolledStudentCount(), "Expected enrolled count restored.");
+    assertEquals("Gail Kaiser", restored.getInstructorName(), "Expected instructor restored.");
+    assertEquals("501 NWC", restored.getCourseLocation(), "Expected location restored.");
+    assertEquals("4:10-5:25", restored.getCourseTimeSlot(), "Expected time slot restored.");
+    assertEquals(2701, recovered.get("COMS").getNumberOfMajors(), "Expected majors restored.");
+  }
+
+  /** Tests if replay() keeps intact records and discards a torn tail left by a crash. */
+  @Test
+  public void replayIgnoresTornTail() throws IOException {
+    Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+    course.setEnrolledStudentCount(7);
+    log.appendCourse("COMS", "1004", course).join();
+    Files.write(logPath, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+    Map<String, Department> recovered = freshMapping();
+    assertEquals(1, log.replay(recovered), "Expected only the intact record to be applied.");
+    assertEquals(
+        7,
+        recovered.get("COMS").getCourseSelection().get("1004").getEnrolledStudentCount(),
+        "Expected the intact record's state to be restored.");
+  }
+
+  /** Tests if records for unknown departments or courses are skipped during replay. */
+  @Test
+  public void replaySkipsUnknownEntities() throws IOException {
+    Course course = new Course("Adam Cannon", "417 IAB", "11:40-12:55", 400);
+    log.appendCourse("MATH", "1101", course).join();
+    log.appendCourse("COMS", "9999", course).join();
+
+    assertEquals(0, log.replay(freshMapping()), "Expected no records to be applied.");
+  }
+
+  /** Tests if concurrent appends are all made durable and all replayed. */
+  @Test
+  public void concurrentAppendsAreAllDurable() throws IOException {
+    Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      futures.add(
+          CompletableFuture.supplyAsync(() -> log.appendCourse("COMS", "1004", course))
+              .thenCompose(durable -> durable));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+    assertEquals(500, log.replay(freshMapping()), "Expected every append to be replayed.");
+  }
+
+  /** Tests if checkpoint() writes a snapshot and empties the log. */
+  @Test
+  public void checkpointWritesSnapshotAndEmptiesLog() throws IOException {
+    Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+    log.appendCourse("COMS", "1004", course).join();
+    assertTrue(log.getSizeInBytes() > 0, "Expected the log to hold the appended record.");
+
+    log.checkpoint();
+    assertEquals(1, snapshotsWritten.get(), "Expected exactly one snapshot to be written.");
+    assertEquals(0, log.getSizeInBytes(), "Expected the log to be empty after a checkpoint.");
+    assertEquals(0, log.replay(freshMapping()), "Expected nothing left to replay.");
+  }
+
+  /**
+   * Tests if records appended while a checkpoint writes its snapshot are made durable without
+   * waiting for the snapshot, and are kept in the log afterwards.
+   */
+  @Test
+  public void appendsDuringCheckpointAreNotBlockedAndKept() throws Exception {
+    CountDownLatch snapshotStarted = new CountDownLatch(1);
+    CountDownLatch snapshotMayFinish = new CountDownLatch(1);
+    Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+    try (WriteAheadLog slow =
+        new WriteAheadLog(
+            logPath,
+            () -> {
+              snapshotStarted.countDown();
+              try {
+                snapshotMayFinish.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            Long.MAX_VALUE)) {
+      slow.appendCourse("COMS", "1004", course).join();
+      final CompletableFuture<Void> checkpoint =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  slow.checkpoint();
+                } catch (IOException e) {
+                  throw new IllegalStateException(e);
+                }
+              });
+      assertTrue(snapshotStarted.await(10, TimeUnit.SECONDS), "Expected the snapshot to start.");
+
+      course.setEnrolledStudentCount(9);
+      slow.appendCourse("COMS", "1004", course).get(10, TimeUnit.SECONDS);
+      assertFalse(checkpoint.isDone(), "Expected the append to finish before the snapshot.");
+
+      snapshotMayFinish.countDown();
+      checkpoint.get(10, TimeUnit.SECONDS);
+      Map<String, Department> recovered = freshMapping();
+      assertEquals(1, slow.replay(recovered), "Expected only the later record to remain.");
+      assertEquals(
+          9,
+          recovered.get("COMS").getCourseSelection().get("1004").getEnrolledStudentCount(),
+          "Expected the later record's state to be restored.");
+    }
+  }
+
+  /** Tests if the log takes a checkpoint on its own once it grows past the threshold. */
+  @Test
+  public void checkpointTriggeredByThreshold() throws IOException {
+    try (WriteAheadLog small = new WriteAheadLog(logPath, snapshotsWritten::incrementAndGet, 1)) {
+      Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+      small.appendCourse("COMS", "1004", course).join();
+    }
+    assertEquals(1, snapshotsWritten.get(), "Expected the threshold to trigger a checkpoint.");
+  }
+
+  /**
+   * Tests if a batch torn by a failed write is cut off, so that records acknowledged after it are
+   * still replayed.
+   */
+  @Test
+  public void failedBatchIsCutOff() throws Exception {
+    Course course = freshMapping().get("COMS").getCourseSelection().get("1004");
+    TearingChannel[] opened = new TearingChannel[1];
+    try (WriteAheadLog flaky =
+        new WriteAheadLog(
+            logPath,
+            snapshotsWritten::incrementAndGet,
+            Long.MAX_VALUE,
+            path -> {
+              opened[0] =
+                  new TearingChannel(
+                      FileChannel.open(
+                          path,
+                          StandardOpenOption.CREATE,
+                          StandardOpenOption.WRITE,
+                          StandardOpenOption.APPEND));
+              return opened[0];
+            })) {
+      course.setEnrolledStudentCount(3);
+      flaky.appendCourse("COMS", "1004", course).join();
+      final long durable = flaky.getSizeInBytes();
+
+      opened[0].tearNextWrite = true;
+      course.setEnrolledStudentCount(5);
+      CompletableFuture<Void> torn = flaky.appendCourse("COMS", "1004", course);
+      assertThrows(ExecutionException.class, () -> torn.get(10, TimeUnit.SECONDS));
+      assertEquals(durable, Files.size(logPath), "Expected the torn bytes to be cut off.");
+
+      course.setEnrolledStudentCount(9);
+      flaky.appendCourse("COMS", "1004", course).get(10, TimeUnit.SECONDS);
+
+      Map<String, Department> recovered = freshMapping();
+      assertEquals(2, flaky.replay(recovered), "Expected both acknowledged records.");
+      assertEquals(
+          9,
+          recovered.get("COMS").getCourseSelection().get("1004").getEnrolledStudentCount(),
+          "Expected the record after the failed batch to be restored.");
+    }
+  }
+
+  /** Tests if a checkpoint before any append does not create an empty log file. */
+  @Test
+  public void checkpointWithoutAppendsCreatesNoFile() throws IOException {
+    log.checkpoint();
+    assertFalse(Files.exists(logPath), "Expected no log file to be created.");
+  }
+
+  /** A file channel that can be told to write half of a buffer and then fail. */
+  private static final class TearingChannel extends FileChannel {
+    private final FileChannel delegate;
+    private volatile boolean tearNextWrite;
+
+    TearingChannel(FileChannel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      if (tearNextWrite) {
+        tearNextWrite = false;
+        ByteBuffer half = src.duplicate();
+        half.limit(src.position() + src.remaining() / 2);
+        delegate.write(half);
+        throw new IOException("Disk full");
+      }
+      return delegate.write(src);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      return delegate.write(srcs, offset, length);
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+      return delegate.write(src, position);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      return delegate.read(dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+      return delegate.read(dsts, offset, length);
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+      return delegate.read(dst, position);
+    }
+
+    @Override
+    public long position() throws IOException {
+      return delegate.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+      delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return delegate.size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+      delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+      delegate.force(metaData);
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target)
+        throws IOException {
+      return delegate.transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count)
+        throws IOException {
+      return delegate.transferFrom(src, position, count);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+      return delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+      return delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+      return delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+      delegate.close();
+    }
+  }
+}